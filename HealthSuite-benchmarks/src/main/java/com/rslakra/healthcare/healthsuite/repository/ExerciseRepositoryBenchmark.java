@@ -0,0 +1,39 @@
+package com.rslakra.healthcare.healthsuite.repository;
+
+import com.rslakra.healthcare.healthsuite.model.Exercise;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ExerciseRepositoryImpl#findByUserIdAndDateRange} over date ranges of different lengths.
+ *
+ * @author rslakra
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExerciseRepositoryBenchmark {
+
+    @Param({"7", "30", "365"})
+    public int days;
+
+    @Benchmark
+    public List<Exercise> findByUserIdAndDateRange(SeededDatabase database) {
+        return database.exerciseRepository.findByUserIdAndDateRange(database.users.get(0).getId(),
+            SeededDatabase.LAST_DAY.minusDays(days - 1), SeededDatabase.LAST_DAY);
+    }
+}
@@ -0,0 +1,126 @@
+package com.rslakra.healthcare.healthsuite.repository;
+
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the row mappers alone, over in-memory result sets, so database time doesn't hide mapping cost.
+ * Scores are per result set of <code>rows</code> rows.
+ *
+ * @author rslakra
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    @Param({"100"})
+    public int rows;
+
+    private SimpleResultSet exercises;
+    private SimpleResultSet goals;
+    private SimpleResultSet users;
+
+    private final ExerciseRepositoryImpl.ExerciseRowMapper exerciseRowMapper = new ExerciseRepositoryImpl.ExerciseRowMapper();
+    private final GoalRepositoryImpl.GoalRowMapper goalRowMapper = new GoalRepositoryImpl.GoalRowMapper();
+    private final UserRepositoryImpl.UserRowMapper userRowMapper = new UserRepositoryImpl.UserRowMapper();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.of(2025, 12, 31, 12, 0));
+
+        exercises = newResultSet();
+        exercises.addColumn("id", Types.BIGINT, 19, 0);
+        exercises.addColumn("user_id", Types.BIGINT, 19, 0);
+        exercises.addColumn("activity_type", Types.VARCHAR, 64, 0);
+        exercises.addColumn("minutes", Types.INTEGER, 10, 0);
+        exercises.addColumn("description", Types.VARCHAR, 255, 0);
+        exercises.addColumn("exercise_date", Types.DATE, 10, 0);
+        exercises.addColumn("created_at", Types.TIMESTAMP, 26, 6);
+        exercises.addColumn("updated_at", Types.TIMESTAMP, 26, 6);
+        for (long i = 1; i <= rows; i++) {
+            exercises.addRow(i, 1L, "Run", (int) (10 + i % 50), "Exercise " + i,
+                Date.valueOf(LocalDate.of(2025, 12, 31).minusDays(i % 365)), now, now);
+        }
+
+        goals = newResultSet();
+        goals.addColumn("id", Types.BIGINT, 19, 0);
+        goals.addColumn("user_id", Types.BIGINT, 19, 0);
+        goals.addColumn("activity_type", Types.VARCHAR, 64, 0);
+        goals.addColumn("minutes", Types.INTEGER, 10, 0);
+        goals.addColumn("created_at", Types.TIMESTAMP, 26, 6);
+        goals.addColumn("updated_at", Types.TIMESTAMP, 26, 6);
+        for (long i = 1; i <= rows; i++) {
+            goals.addRow(i, 1L, "Run", 30, now, now);
+        }
+
+        users = newResultSet();
+        users.addColumn("id", Types.BIGINT, 19, 0);
+        users.addColumn("username", Types.VARCHAR, 64, 0);
+        users.addColumn("email", Types.VARCHAR, 128, 0);
+        users.addColumn("first_name", Types.VARCHAR, 64, 0);
+        users.addColumn("last_name", Types.VARCHAR, 64, 0);
+        users.addColumn("password", Types.VARCHAR, 128, 0);
+        users.addColumn("enabled", Types.BOOLEAN, 1, 0);
+        users.addColumn("created_at", Types.TIMESTAMP, 26, 6);
+        users.addColumn("updated_at", Types.TIMESTAMP, 26, 6);
+        for (long i = 1; i <= rows; i++) {
+            users.addRow(i, "user" + i, "user" + i + "@example.com", "First", "Last", "secret", true, now, now);
+        }
+    }
+
+    @Benchmark
+    public void exerciseRowMapper(Blackhole blackhole) throws SQLException {
+        mapAll(exercises, exerciseRowMapper, blackhole);
+    }
+
+    @Benchmark
+    public void goalRowMapper(Blackhole blackhole) throws SQLException {
+        mapAll(goals, goalRowMapper, blackhole);
+    }
+
+    @Benchmark
+    public void userRowMapper(Blackhole blackhole) throws SQLException {
+        mapAll(users, userRowMapper, blackhole);
+    }
+
+    private static SimpleResultSet newResultSet() {
+        SimpleResultSet resultSet = new SimpleResultSet();
+        // allows beforeFirst(), so one result set is replayed by every invocation
+        resultSet.setAutoClose(false);
+        return resultSet;
+    }
+
+    private static void mapAll(ResultSet resultSet, RowMapper<?> rowMapper, Blackhole blackhole) throws SQLException {
+        resultSet.beforeFirst();
+        int rowNum = 0;
+        while (resultSet.next()) {
+            blackhole.consume(rowMapper.mapRow(resultSet, rowNum++));
+        }
+    }
+}
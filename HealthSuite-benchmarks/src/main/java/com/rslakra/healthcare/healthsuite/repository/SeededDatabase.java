@@ -0,0 +1,95 @@
+package com.rslakra.healthcare.healthsuite.repository;
+
+import com.rslakra.healthcare.healthsuite.model.ActivityType;
+import com.rslakra.healthcare.healthsuite.model.Exercise;
+import com.rslakra.healthcare.healthsuite.model.Goal;
+import com.rslakra.healthcare.healthsuite.model.User;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.security.core.userdetails.cache.NullUserCache;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Embedded H2 database with the HealthSuite schema, its default users, and generated exercises and goals.
+ * The repositories are wired the same way as in the application, minus Spring.
+ *
+ * @author rslakra
+ */
+@State(Scope.Benchmark)
+public class SeededDatabase {
+
+    /** Day the generated exercise history ends on. */
+    public static final LocalDate LAST_DAY = LocalDate.of(2025, 12, 31);
+
+    @Param({"2000"})
+    public int exercisesPerUser;
+
+    @Param({"4"})
+    public int poolSize;
+
+    private HikariDataSource dataSource;
+
+    public UserRepositoryImpl userRepository;
+    public ExerciseRepositoryImpl exerciseRepository;
+    public GoalRepositoryImpl goalRepository;
+    public List<User> users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:benchmarks-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(poolSize);
+        new ResourceDatabasePopulator(new ClassPathResource("db/schema.sql")).execute(dataSource);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate transactionTemplate =
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        userRepository = new UserRepositoryImpl(jdbcTemplate, new NullUserCache());
+        exerciseRepository = new ExerciseRepositoryImpl(jdbcTemplate, transactionTemplate,
+            new ExerciseRollupRepositoryImpl(jdbcTemplate, transactionTemplate), 1000, 500);
+        goalRepository = new GoalRepositoryImpl(jdbcTemplate);
+        users = userRepository.findAll();
+
+        ActivityType[] activityTypes = ActivityType.values();
+        for (User user : users) {
+            List<Exercise> exercises = new ArrayList<>(exercisesPerUser);
+            for (int i = 0; i < exercisesPerUser; i++) {
+                Exercise exercise = new Exercise();
+                exercise.setUserId(user.getId());
+                exercise.setActivity(activityTypes[i % activityTypes.length].getCode());
+                exercise.setMinutes(10 + i % 50);
+                exercise.setDescription("Exercise " + i);
+                exercise.setExerciseDate(LAST_DAY.minusDays(i % 365));
+                exercises.add(exercise);
+            }
+            exerciseRepository.saveAll(exercises);
+
+            for (ActivityType activityType : activityTypes) {
+                Goal goal = new Goal();
+                goal.setUserId(user.getId());
+                goal.setActivityType(activityType.getCode());
+                goal.setMinutes(30);
+                goalRepository.save(goal);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+}
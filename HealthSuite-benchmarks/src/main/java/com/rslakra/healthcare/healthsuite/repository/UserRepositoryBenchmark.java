@@ -0,0 +1,46 @@
+package com.rslakra.healthcare.healthsuite.repository;
+
+import com.rslakra.healthcare.healthsuite.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link UserRepositoryImpl} lookups used by login and every authenticated request.
+ *
+ * @author rslakra
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserRepositoryBenchmark {
+
+    @Benchmark
+    public User findByUsername(SeededDatabase database) {
+        return database.userRepository.findByUsername("rslakra");
+    }
+
+    @Benchmark
+    public User findById(SeededDatabase database) {
+        return database.userRepository.findById(database.users.get(0).getId());
+    }
+
+    @Benchmark
+    public boolean existsByUsername(SeededDatabase database) {
+        return database.userRepository.existsByUsername("rslakra");
+    }
+
+    @Benchmark
+    public List<User> findAll(SeededDatabase database) {
+        return database.userRepository.findAll();
+    }
+}
@@ -0,0 +1,102 @@
+#!/bin/bash
+# Author: Rohtash Lakra
+#
+# Compares request throughput on platform threads and on virtual threads.
+# Starts the packaged WAR once per mode (in-memory H2), logs in, seeds SEED_EXERCISES
+# exercises and fires REQUESTS GET requests with CONCURRENCY parallel clients at an
+# uncached endpoint, so every request runs a query.
+#
+# Usage: LOAD_TEST_USERNAME=<user> LOAD_TEST_PASSWORD=<password> ./loadTest.sh [REQUESTS] [CONCURRENCY]
+# Build the WAR first with: mvn clean package -DskipTests
+#
+REQUESTS="${1:-2000}"
+CONCURRENCY="${2:-100}"
+PORT="${PORT:-18080}"
+WAR="target/HealthSuite.war"
+BASE_URL="http://localhost:${PORT}/HealthSuite"
+ENDPOINT="${ENDPOINT:-/api/exercises?size=50}"
+SEED_EXERCISES="${SEED_EXERCISES:-1000}"
+COOKIES=$(mktemp)
+LOG=$(mktemp)
+
+if [[ -z "${LOAD_TEST_USERNAME}" || -z "${LOAD_TEST_PASSWORD}" ]]; then
+  echo "Set LOAD_TEST_USERNAME and LOAD_TEST_PASSWORD to the account to run the load test with"
+  exit 1
+fi
+
+if [[ ! -f "${WAR}" ]]; then
+  echo "${WAR} not found, build it first with: mvn clean package -DskipTests"
+  exit 1
+fi
+
+# Start the application with the given virtual threads flag and wait until it is up
+function startApp() {
+  java -Dspring.threads.virtual.enabled="$1" \
+    -Dspring.datasource.url="jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1" \
+    -Dserver.port="${PORT}" -Dmanagement.server.port=$((PORT + 1)) \
+    -Dlogging.level.root=WARN -jar "${WAR}" > "${LOG}" 2>&1 &
+  APP_PID=$!
+  for i in $(seq 1 120); do
+    curl -s -o /dev/null "${BASE_URL}/login" && return 0
+    sleep 1
+  done
+  echo "Application did not start, see ${LOG}"
+  kill ${APP_PID}
+  exit 1
+}
+
+# Print the CSRF token of the form on the given page
+function csrfToken() {
+  curl -s -c "${COOKIES}" -b "${COOKIES}" "${BASE_URL}$1" \
+    | grep -o 'name="_csrf"[^>]*value="[^"]*"' | head -1 | sed 's/.*value="//;s/"//'
+}
+
+# Log in with the load test account and keep the session cookie
+function login() {
+  rm -f "${COOKIES}"
+  TOKEN=$(csrfToken /login)
+  LOCATION=$(curl -s -o /dev/null -w "%{redirect_url}" -c "${COOKIES}" -b "${COOKIES}" \
+    --data-urlencode "username=${LOAD_TEST_USERNAME}" --data-urlencode "password=${LOAD_TEST_PASSWORD}" \
+    -d "_csrf=${TOKEN}" "${BASE_URL}/login")
+  if [[ "${LOCATION}" == *error* ]]; then
+    echo "Login as ${LOAD_TEST_USERNAME} failed"
+    kill ${APP_PID}
+    exit 1
+  fi
+}
+
+# Create SEED_EXERCISES exercises for the first user through the bulk API
+function seed() {
+  TOKEN=$(csrfToken /add-exercise)
+  seq 1 "${SEED_EXERCISES}" \
+    | awk '{ printf "%s{\"userId\":1,\"activity\":\"Running\",\"minutes\":%d,\"exerciseDate\":\"2026-%02d-%02d\"}", (NR > 1 ? "," : "["), NR % 120 + 1, NR % 12 + 1, NR % 28 + 1 } END { print "]" }' \
+    | curl -s -o /dev/null -b "${COOKIES}" -H "X-CSRF-TOKEN: ${TOKEN}" -H "Content-Type: application/json" \
+      -H "Accept: application/x-ndjson" --data-binary @- "${BASE_URL}/api/exercises/batch"
+}
+
+# Fire the requests and print the throughput
+function runLoad() {
+  # warm up
+  seq 1 200 | xargs -P 10 -I{} curl -s -o /dev/null -b "${COOKIES}" -H "Accept: application/json" "${BASE_URL}${ENDPOINT}"
+  START=$(date +%s.%N)
+  FAILED=$(seq 1 "${REQUESTS}" | xargs -P "${CONCURRENCY}" -I{} \
+    curl -s -o /dev/null -w "%{http_code}\n" -b "${COOKIES}" -H "Accept: application/json" "${BASE_URL}${ENDPOINT}" \
+    | grep -vc '^200$')
+  END=$(date +%s.%N)
+  echo "$1: ${REQUESTS} requests, ${CONCURRENCY} clients, ${FAILED} failed, $(awk "BEGIN { printf \"%.1f\", ${REQUESTS} / (${END} - ${START}) }") req/s"
+}
+
+for VIRTUAL in false true; do
+  startApp ${VIRTUAL}
+  login
+  seed
+  if [[ "${VIRTUAL}" == "true" ]]; then
+    runLoad "virtual threads "
+  else
+    runLoad "platform threads"
+  fi
+  kill ${APP_PID}
+  wait ${APP_PID} 2>/dev/null
+done
+
+rm -f "${COOKIES}" "${LOG}"
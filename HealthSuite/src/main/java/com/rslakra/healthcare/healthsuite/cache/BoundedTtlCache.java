@@ -0,0 +1,131 @@
+package com.rslakra.healthcare.healthsuite.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded, expiring in-memory cache.
+ *
+ * The least recently used entry is dropped once the cache is full, and entries older than the TTL are
+ * treated as missing and removed when read. All operations lock the whole cache, which is fine for the
+ * small, read-mostly lookups it is used for. Hits, misses and evictions are counted for metrics.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @author rslakra
+ */
+public class BoundedTtlCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+    private final Map<K, Entry<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedTtlCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    /**
+     * @param maxSize the maximum number of entries
+     * @param ttl how long an entry stays valid after it was put
+     * @param nanoTime the clock, {@link System#nanoTime()} outside of tests
+     */
+    public BoundedTtlCache(int maxSize, Duration ttl, LongSupplier nanoTime) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedTtlCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the value of the key and marks it as most recently used.
+     *
+     * @param key the key
+     * @return the value, or null if missing or expired
+     */
+    public V get(K key) {
+        Entry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && nanoTime.getAsLong() - entry.putAt >= ttlNanos) {
+                entries.remove(key);
+                evictions.increment();
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, nanoTime.getAsLong()));
+        }
+    }
+
+    public void remove(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Returns the number of entries, including expired ones not read since they expired.
+     *
+     * @return the cache size
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of entries dropped because the cache was full or they expired
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long putAt;
+
+        private Entry(V value, long putAt) {
+            this.value = value;
+            this.putAt = putAt;
+        }
+    }
+}
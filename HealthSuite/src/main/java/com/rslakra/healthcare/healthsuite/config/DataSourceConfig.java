@@ -0,0 +1,154 @@
+package com.rslakra.healthcare.healthsuite.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DataSource configuration for HealthSuite application.
+ *
+ * The Hikari pool is sized from the number of cores and the expected number of concurrent database users,
+ * unless <code>spring.datasource.hikari.maximumPoolSize</code> is set explicitly (bound after sizing, so it wins).
+ * Connection wait time, active and pending counts are published as <code>hikaricp.connections.*</code> metrics,
+ * and slow connection acquisitions are logged as warnings.
+ *
+ * When <code>datasource.limiter.enabled</code> is on (by default whenever virtual threads are enabled),
+ * the pool is wrapped in a {@link ConnectionLimitingDataSource} with one permit per pooled connection.
+ *
+ * @author rslakra
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    /**
+     * Hikari DataSource built from the <code>spring.datasource.*</code> properties, optionally behind a limiter.
+     */
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${datasource.pool.expectedConcurrency:20}") int expectedConcurrency,
+                                 @Value("${datasource.pool.slowAcquisitionThreshold:PT0.1S}") Duration slowAcquisitionThreshold,
+                                 @Value("${datasource.limiter.enabled:${spring.threads.virtual.enabled:false}}") boolean limiterEnabled) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        int poolSize = poolSize(Runtime.getRuntime().availableProcessors(), expectedConcurrency);
+        dataSource.setMaximumPoolSize(poolSize);
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        LOGGER.info("Sizing connection pool to {} connections (expectedConcurrency={})",
+            dataSource.getMaximumPoolSize(), expectedConcurrency);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        MetricsTrackerFactory delegate = registry != null ? new MicrometerMetricsTrackerFactory(registry) : null;
+        dataSource.setMetricsTrackerFactory(new SlowAcquisitionTrackerFactory(delegate, slowAcquisitionThreshold));
+        if (!limiterEnabled) {
+            return dataSource;
+        }
+
+        LOGGER.info("Limiting concurrent connection use to {} callers", dataSource.getMaximumPoolSize());
+        ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(dataSource,
+            dataSource.getMaximumPoolSize(), Duration.ofMillis(dataSource.getConnectionTimeout()));
+        if (registry != null) {
+            Gauge.builder("healthsuite.datasource.limiter.waiting", limited, ConnectionLimitingDataSource::getQueueLength)
+                .description("Callers waiting for a connection permit")
+                .register(registry);
+        }
+        return limited;
+    }
+
+    /**
+     * Returns the pool size for the given cores and concurrency.
+     * A JDBC call mostly waits on I/O, so about two connections per core keep the CPUs busy;
+     * more than that only queues work inside the database. Fewer are needed if fewer callers are expected.
+     *
+     * @param cores the number of available cores
+     * @param expectedConcurrency the expected number of concurrent database users
+     * @return the pool size, at least 2
+     */
+    static int poolSize(int cores, int expectedConcurrency) {
+        return Math.max(2, Math.min(cores * 2 + 1, expectedConcurrency));
+    }
+
+    /**
+     * Wraps the Micrometer tracker factory (if any) to warn when a connection took too long to acquire.
+     * Warnings are limited to one per second, so a saturated pool doesn't flood the log.
+     */
+    private static final class SlowAcquisitionTrackerFactory implements MetricsTrackerFactory {
+
+        private static final long WARN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+        private final MetricsTrackerFactory delegate;
+        private final long thresholdNanos;
+        private final AtomicLong lastWarnAt = new AtomicLong(System.nanoTime() - WARN_INTERVAL_NANOS);
+
+        private SlowAcquisitionTrackerFactory(MetricsTrackerFactory delegate, Duration threshold) {
+            this.delegate = delegate;
+            this.thresholdNanos = threshold.toNanos();
+        }
+
+        @Override
+        public IMetricsTracker create(String poolName, PoolStats poolStats) {
+            IMetricsTracker tracker = delegate != null ? delegate.create(poolName, poolStats) : new IMetricsTracker() {
+            };
+            return new IMetricsTracker() {
+
+                @Override
+                public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                    tracker.recordConnectionCreatedMillis(connectionCreatedMillis);
+                }
+
+                @Override
+                public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                    tracker.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+                    if (elapsedAcquiredNanos > thresholdNanos) {
+                        warn(poolName, poolStats, elapsedAcquiredNanos);
+                    }
+                }
+
+                @Override
+                public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                    tracker.recordConnectionUsageMillis(elapsedBorrowedMillis);
+                }
+
+                @Override
+                public void recordConnectionTimeout() {
+                    tracker.recordConnectionTimeout();
+                }
+
+                @Override
+                public void close() {
+                    tracker.close();
+                }
+            };
+        }
+
+        private void warn(String poolName, PoolStats poolStats, long elapsedAcquiredNanos) {
+            long now = System.nanoTime();
+            long last = lastWarnAt.get();
+            if (now - last >= WARN_INTERVAL_NANOS && lastWarnAt.compareAndSet(last, now)) {
+                LOGGER.warn("Slow connection acquisition from {}: {} ms (active={}, idle={}, pending={}, max={})",
+                    poolName, TimeUnit.NANOSECONDS.toMillis(elapsedAcquiredNanos), poolStats.getActiveConnections(),
+                    poolStats.getIdleConnections(), poolStats.getPendingThreads(), poolStats.getMaxConnections());
+            }
+        }
+    }
+}
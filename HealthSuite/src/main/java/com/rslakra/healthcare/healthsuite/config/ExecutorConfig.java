@@ -0,0 +1,48 @@
+package com.rslakra.healthcare.healthsuite.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor configuration for HealthSuite application.
+ * 
+ * @author rslakra
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Bounded executor used to compute goal progress of several users in parallel.
+     * Every task holds a database connection, so the pool should stay below the connection pool size.
+     * When the queue is full, tasks are rejected rather than run on the request thread, which would hold
+     * connections beyond the pool size.
+     * With virtual threads enabled, each task gets a virtual thread and at most <code>threads</code> run at once.
+     */
+    @Bean(name = "goalProgressExecutor")
+    public TaskExecutor goalProgressExecutor(@Value("${goals.progress.threads:2}") int threads,
+                                             @Value("${goals.progress.queueCapacity:100}") int queueCapacity,
+                                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("goal-progress-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(threads);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("goal-progress-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,11 +1,16 @@
 package com.rslakra.healthcare.healthsuite.config;
 
+import com.rslakra.healthcare.healthsuite.security.LruUserCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.jdbc.JdbcDaoImpl;
 import org.springframework.security.crypto.password.NoOpPasswordEncoder;
@@ -14,6 +19,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
 import javax.sql.DataSource;
+import java.time.Duration;
 
 /**
  * Security configuration for HealthSuite application.
@@ -69,16 +75,28 @@ public class SecurityConfig {
         return jdbcUserDetailsService;
     }
 
+    /**
+     * Cache of the users and authorities loaded by the UserDetailsService, so logins skip both queries.
+     * Also binds its hit/miss metrics.
+     */
+    @Bean
+    public LruUserCache userCache(@Value("${users.cache.maxSize:1000}") int maxSize,
+                                  @Value("${users.cache.ttl:PT5M}") Duration ttl) {
+        return new LruUserCache(maxSize, ttl);
+    }
+
     /**
      * AuthenticationProvider using JDBC UserDetailsService.
-     * This configures authentication with the password encoder.
+     * This configures authentication with the password encoder and the user cache.
      */
     @Bean
     public DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService, 
-                                                             PasswordEncoder passwordEncoder) {
+                                                             PasswordEncoder passwordEncoder,
+                                                             UserCache userCache) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserCache(userCache);
         return authProvider;
     }
 
@@ -111,6 +129,11 @@ public class SecurityConfig {
                     new AntPathRequestMatcher("/js/**"),
                     new AntPathRequestMatcher("/images/**")
                 ).permitAll()
+                // Exposes the goal progress of every user
+                .requestMatchers(new AntPathRequestMatcher("/api/goals/progress/users")).hasRole("ADMIN")
+                // Only health is public; the other actuator endpoints, such as the cache metrics, need an admin
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .csrf(csrf -> csrf
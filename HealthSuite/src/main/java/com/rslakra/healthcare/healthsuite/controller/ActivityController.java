@@ -1,14 +1,25 @@
 package com.rslakra.healthcare.healthsuite.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rslakra.healthcare.healthsuite.model.Activity;
 import com.rslakra.healthcare.healthsuite.model.Exercise;
+import com.rslakra.healthcare.healthsuite.model.ExercisePage;
+import com.rslakra.healthcare.healthsuite.model.ExerciseSummary;
 import com.rslakra.healthcare.healthsuite.model.Goal;
+import com.rslakra.healthcare.healthsuite.model.GoalProgress;
+import com.rslakra.healthcare.healthsuite.model.SummaryGranularity;
+import com.rslakra.healthcare.healthsuite.model.User;
 import com.rslakra.healthcare.healthsuite.service.ExerciseService;
+import com.rslakra.healthcare.healthsuite.service.GoalProgressService;
 import com.rslakra.healthcare.healthsuite.service.GoalService;
 import com.rslakra.healthcare.healthsuite.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -22,15 +33,30 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.SessionAttribute;
 import org.springframework.web.bind.annotation.SessionAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
 
 /**
  * Controller for handling activity operations, goals, and minutes tracking.
@@ -43,6 +69,13 @@ public class ActivityController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ActivityController.class);
 
+    private static final String ROLE_ADMIN = "ROLE_ADMIN";
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private static final String CSV_HEADER =
+        "id,user_id,activity_type,minutes,description,exercise_date,created_at,updated_at";
+
     @Autowired
     private ExerciseService exerciseService;
 
@@ -52,6 +85,21 @@ public class ActivityController {
     @Autowired
     private GoalService goalService;
 
+    @Autowired
+    private GoalProgressService goalProgressService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${exercises.batchSize:1000}")
+    private int batchSize;
+
+    @Value("${exercises.pageSize:50}")
+    private int pageSize;
+
     /**
      * Add authentication info to model for all requests.
      * 
@@ -237,17 +285,30 @@ public class ActivityController {
     }
 
     /**
-     * Display list of exercises.
+     * Display a page of exercises.
      * 
+     * @param cursor the next-cursor token of the previous page, or null for the first page
+     * @param size the page size, defaults to the configured page size
      * @param model the model
      * @return the exercises list view
      */
     @RequestMapping(value = "/exercises", method = RequestMethod.GET)
-    public String listExercises(Model model) {
-        LOGGER.debug("+listExercises({})", model);
-        List<Exercise> exercises = exerciseService.findAllExercises();
-        model.addAttribute("exercises", exercises);
-        LOGGER.debug("-listExercises(), found {} exercises", exercises.size());
+    public String listExercises(@RequestParam(value = "cursor", required = false) String cursor,
+                                @RequestParam(value = "size", required = false) Integer size,
+                                Model model) {
+        LOGGER.debug("+listExercises({}, {}, {})", cursor, size, model);
+        ExercisePage page;
+        try {
+            page = exerciseService.findExercisesPage(cursor, size != null ? size : pageSize);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Invalid exercises cursor: {}", cursor);
+            return "redirect:/exercises";
+        }
+        model.addAttribute("exercises", page.getExercises());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("firstPage", cursor == null || cursor.isEmpty());
+        model.addAttribute("pageSize", page.getSize());
+        LOGGER.debug("-listExercises(), found {} exercises", page.getExercises().size());
         return "listActivities";
     }
 
@@ -365,6 +426,97 @@ public class ActivityController {
         }
     }
 
+    /**
+     * REST API: Create exercises in bulk.
+     * The exercises are saved in chunks of the configured batch size, and the result of each chunk
+     * is streamed back as one NDJSON line as soon as that chunk has been written.
+     * 
+     * @param exercises the exercises data
+     * @return ResponseEntity streaming one result line per chunk
+     */
+    @RequestMapping(value = "/api/exercises/batch", method = RequestMethod.POST,
+                   consumes = MediaType.APPLICATION_JSON_VALUE,
+                   produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<StreamingResponseBody> createExercises(@RequestBody List<Exercise> exercises) {
+        LOGGER.debug("+createExercises({})", exercises.size());
+        final int chunkSize = Math.max(1, batchSize);
+        StreamingResponseBody body = outputStream -> {
+            for (int fromIndex = 0; fromIndex < exercises.size(); fromIndex += chunkSize) {
+                int toIndex = Math.min(fromIndex + chunkSize, exercises.size());
+                Map<String, Object> result = saveChunk(exercises.subList(fromIndex, toIndex), fromIndex);
+                outputStream.write(objectMapper.writeValueAsBytes(result));
+                outputStream.write('\n');
+                outputStream.flush();
+            }
+            LOGGER.debug("-createExercises()");
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Validates and saves one chunk of a bulk request.
+     * Invalid exercises are reported by their index in the request and skipped.
+     * 
+     * @param chunk the exercises of this chunk
+     * @param offset the index of the first exercise of this chunk in the request
+     * @return the result of the chunk
+     */
+    private Map<String, Object> saveChunk(List<Exercise> chunk, int offset) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("offset", offset);
+        result.put("count", chunk.size());
+
+        List<Exercise> validExercises = new ArrayList<>(chunk.size());
+        List<Map<String, Object>> errors = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Exercise exercise = chunk.get(i);
+            String message = validate(exercise);
+            if (message == null) {
+                validExercises.add(exercise);
+                continue;
+            }
+            Map<String, Object> error = new HashMap<>();
+            error.put("index", offset + i);
+            error.put("message", message);
+            errors.add(error);
+        }
+
+        try {
+            List<Exercise> saved = exerciseService.saveAllExercises(validExercises);
+            result.put("success", errors.isEmpty());
+            result.put("saved", saved.size());
+            result.put("ids", saved.stream().map(Exercise::getId).collect(Collectors.toList()));
+        } catch (Exception e) {
+            LOGGER.error("Error creating exercises at offset {}: {}", offset, e.getMessage(), e);
+            result.put("success", false);
+            result.put("saved", 0);
+            result.put("message", "An error occurred while creating the exercises: " + e.getMessage());
+        }
+        result.put("errors", errors);
+
+        return result;
+    }
+
+    /**
+     * Validates one exercise of a bulk request against the constraints of {@link Exercise}.
+     * 
+     * @param exercise the exercise
+     * @return the validation error message, or null if the exercise is valid
+     */
+    private String validate(Exercise exercise) {
+        if (exercise == null) {
+            return "Exercise is required";
+        }
+
+        Set<ConstraintViolation<Exercise>> violations = validator.validate(exercise);
+        return violations.isEmpty() ? null : violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
     /**
      * REST API: Get exercise by ID.
      * 
@@ -393,25 +545,36 @@ public class ActivityController {
     }
 
     /**
-     * REST API: Get all exercises.
+     * REST API: Get a page of exercises.
+     * The response carries an opaque <code>nextCursor</code> token to pass back for the next page,
+     * which is null on the last page.
      * 
-     * @return ResponseEntity with list of exercises
+     * @param cursor the next-cursor token of the previous page, or null for the first page
+     * @param size the page size, defaults to the configured page size
+     * @return ResponseEntity with the page of exercises
      */
     @RequestMapping(value = "/api/exercises", method = RequestMethod.GET,
                    produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
-    public ResponseEntity<Map<String, Object>> getAllExercises() {
-        LOGGER.debug("+getAllExercises()");
+    public ResponseEntity<Map<String, Object>> getAllExercises(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        LOGGER.debug("+getAllExercises({}, {})", cursor, size);
 
         Map<String, Object> response = new HashMap<>();
 
         try {
-            List<Exercise> exercises = exerciseService.findAllExercises();
+            ExercisePage page = exerciseService.findExercisesPage(cursor, size != null ? size : pageSize);
             response.put("success", true);
-            response.put("data", exercises);
-            response.put("count", exercises.size());
-            LOGGER.debug("-getAllExercises(), found {} exercises", exercises.size());
+            response.put("data", page.getExercises());
+            response.put("count", page.getExercises().size());
+            response.put("nextCursor", page.getNextCursor());
+            LOGGER.debug("-getAllExercises(), found {} exercises", page.getExercises().size());
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", "Invalid cursor");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         } catch (Exception e) {
             LOGGER.error("Error getting exercises: {}", e.getMessage(), e);
             response.put("success", false);
@@ -449,6 +612,229 @@ public class ActivityController {
         }
     }
 
+    /**
+     * REST API: Summarize the exercise minutes of a user per day or week and activity type.
+     * Users can summarize their own exercises; other users' exercises need the ADMIN role.
+     * 
+     * @param userId the user ID
+     * @param startDate the start date (inclusive), ISO format
+     * @param endDate the end date (inclusive), ISO format
+     * @param granularity the period size, <code>DAY</code> or <code>WEEK</code>
+     * @return ResponseEntity with list of summaries, 403 if the current user may not read them
+     */
+    @RequestMapping(value = "/api/exercises/user/{userId}/summary", method = RequestMethod.GET,
+                   produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> summarizeExercises(
+            @PathVariable Long userId,
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "granularity", defaultValue = "DAY") SummaryGranularity granularity) {
+        LOGGER.debug("+summarizeExercises({}, {}, {}, {})", userId, startDate, endDate, granularity);
+
+        Map<String, Object> response = new HashMap<>();
+
+        if (!canAccessUser(userId)) {
+            LOGGER.warn("Denied the summary of the exercises of user {}", userId);
+            response.put("success", false);
+            response.put("message", "Access denied");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+        }
+
+        try {
+            List<ExerciseSummary> summaries = exerciseService.summarize(userId, startDate, endDate, granularity);
+            response.put("success", true);
+            response.put("data", summaries);
+            response.put("count", summaries.size());
+            LOGGER.debug("-summarizeExercises(), found {} summaries", summaries.size());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            LOGGER.error("Error summarizing exercises: {}", e.getMessage(), e);
+            response.put("success", false);
+            response.put("message", "An error occurred while summarizing exercises: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * REST API: Get today's (or the given day's) progress of the current user towards their goals.
+     * 
+     * @param date the day, ISO format; defaults to today
+     * @return ResponseEntity with list of goal progress
+     */
+    @RequestMapping(value = "/api/goals/progress", method = RequestMethod.GET,
+                   produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getGoalProgress(
+            @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        LOGGER.debug("+getGoalProgress({})", date);
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            Long userId = userService.getCurrentUserId();
+            if (userId == null) {
+                response.put("success", false);
+                response.put("message", "User not authenticated");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+            }
+
+            List<GoalProgress> progress =
+                goalProgressService.findProgressByUserId(userId, date == null ? LocalDate.now() : date);
+            response.put("success", true);
+            response.put("data", progress);
+            response.put("count", progress.size());
+            LOGGER.debug("-getGoalProgress(), found {} goals", progress.size());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            LOGGER.error("Error getting goal progress: {}", e.getMessage(), e);
+            response.put("success", false);
+            response.put("message", "An error occurred while retrieving goal progress: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * REST API: Get the progress of all users towards their goals, keyed by user ID.
+     * Restricted to administrators, see SecurityConfig.
+     * 
+     * @param date the day, ISO format; defaults to today
+     * @return ResponseEntity with goal progress per user
+     */
+    @RequestMapping(value = "/api/goals/progress/users", method = RequestMethod.GET,
+                   produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getGoalProgressOfUsers(
+            @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        LOGGER.debug("+getGoalProgressOfUsers({})", date);
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            List<Long> userIds = userService.findAllUsers().stream()
+                .map(User::getId)
+                .collect(Collectors.toList());
+            Map<Long, List<GoalProgress>> progress =
+                goalProgressService.findProgressByUserIds(userIds, date == null ? LocalDate.now() : date);
+            response.put("success", true);
+            response.put("data", progress);
+            response.put("count", progress.size());
+            LOGGER.debug("-getGoalProgressOfUsers(), found {} users", progress.size());
+            return ResponseEntity.ok(response);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Goal progress executor is saturated: {}", e.getMessage());
+            response.put("success", false);
+            response.put("message", "Too many goal progress requests, please retry later");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        } catch (Exception e) {
+            LOGGER.error("Error getting goal progress of users: {}", e.getMessage(), e);
+            response.put("success", false);
+            response.put("message", "An error occurred while retrieving goal progress: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * REST API: Export the exercise history of a user.
+     * Rows are streamed from the database straight into the response as NDJSON (default) or CSV,
+     * so memory use stays constant no matter how long the history is.
+     * Users can export their own history; other users' histories need the ADMIN role.
+     * 
+     * @param userId the user ID
+     * @param format the export format, <code>ndjson</code> or <code>csv</code>
+     * @return ResponseEntity streaming the exercises, 403 if the current user may not read them
+     */
+    @RequestMapping(value = "/api/exercises/user/{userId}/export", method = RequestMethod.GET)
+    @ResponseBody
+    public ResponseEntity<StreamingResponseBody> exportExercisesByUserId(
+            @PathVariable Long userId,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format) {
+        LOGGER.debug("+exportExercisesByUserId({}, {})", userId, format);
+        if (!canAccessUser(userId)) {
+            LOGGER.warn("Denied the export of the exercises of user {}", userId);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        final boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            LOGGER.warn("Unsupported export format: {}", format);
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            try {
+                exerciseService.streamExercisesByUserId(userId, exercise -> {
+                    try {
+                        writer.write(csv ? toCsvLine(exercise) : objectMapper.writeValueAsString(exercise));
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+            LOGGER.debug("-exportExercisesByUserId()");
+        };
+
+        String fileName = "exercises-user-" + userId + (csv ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+            .contentType(csv ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+            .body(body);
+    }
+
+    /**
+     * Checks whether the current user may read the exercises of a user: their own, or any user's for administrators.
+     * 
+     * @param userId the user ID
+     * @return true if the current user is that user or an administrator
+     */
+    private boolean canAccessUser(Long userId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getAuthorities().stream()
+            .anyMatch(authority -> ROLE_ADMIN.equals(authority.getAuthority()))) {
+            return true;
+        }
+
+        return userId.equals(userService.getCurrentUserId());
+    }
+
+    /**
+     * Formats an exercise as one CSV line, in the column order of {@link #CSV_HEADER}.
+     * 
+     * @param exercise the exercise
+     * @return the CSV line without line terminator
+     */
+    private static String toCsvLine(Exercise exercise) {
+        return String.join(",",
+            csvValue(exercise.getId()),
+            csvValue(exercise.getUserId()),
+            csvValue(exercise.getActivity()),
+            csvValue(exercise.getMinutes()),
+            csvValue(exercise.getDescription()),
+            csvValue(exercise.getExerciseDate()),
+            csvValue(exercise.getCreatedAt()),
+            csvValue(exercise.getUpdatedAt()));
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
     /**
      * REST API: Update an exercise.
      * 
@@ -0,0 +1,83 @@
+package com.rslakra.healthcare.healthsuite.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Keyset position in the exercise listing, ordered by (exercise_date, created_at, id) descending.
+ * Clients only ever see the opaque token produced by {@link #encode()}.
+ * 
+ * @author rslakra
+ */
+public class ExerciseCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDate exerciseDate;
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public ExerciseCursor(LocalDate exerciseDate, LocalDateTime createdAt, Long id) {
+        this.exerciseDate = Objects.requireNonNull(exerciseDate, "exerciseDate");
+        this.createdAt = Objects.requireNonNull(createdAt, "createdAt");
+        this.id = Objects.requireNonNull(id, "id");
+    }
+
+    /**
+     * Create a cursor positioned after the given exercise.
+     * 
+     * @param exercise the last exercise of a page
+     * @return the cursor
+     */
+    public static ExerciseCursor of(Exercise exercise) {
+        return new ExerciseCursor(exercise.getExerciseDate(), exercise.getCreatedAt(), exercise.getId());
+    }
+
+    /**
+     * Decode an opaque cursor token.
+     * 
+     * @param token the token produced by {@link #encode()}
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static ExerciseCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = value.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new ExerciseCursor(LocalDate.parse(parts[0]), LocalDateTime.parse(parts[1]),
+                Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    /**
+     * Encode this cursor as an opaque, URL-safe token.
+     * 
+     * @return the token
+     */
+    public String encode() {
+        String value = exerciseDate + SEPARATOR + createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getExerciseDate() {
+        return exerciseDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,43 @@
+package com.rslakra.healthcare.healthsuite.model;
+
+import java.util.List;
+
+/**
+ * One page of the keyset-paginated exercise listing.
+ * 
+ * @author rslakra
+ */
+public class ExercisePage {
+
+    private final List<Exercise> exercises;
+    private final String nextCursor;
+    private final int size;
+
+    public ExercisePage(List<Exercise> exercises, String nextCursor, int size) {
+        this.exercises = exercises;
+        this.nextCursor = nextCursor;
+        this.size = size;
+    }
+
+    public List<Exercise> getExercises() {
+        return exercises;
+    }
+
+    /**
+     * @return the token of the next page, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * @return the page size the page was loaded with, after capping the requested size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.rslakra.healthcare.healthsuite.model;
+
+import java.time.LocalDate;
+
+/**
+ * Total minutes and number of exercises of one activity type within one period (day or week).
+ * 
+ * @author rslakra
+ */
+public class ExerciseSummary {
+
+    private LocalDate periodStart;
+    private String activityType;
+    private long totalMinutes;
+    private int exerciseCount;
+
+    public ExerciseSummary() {
+    }
+
+    public ExerciseSummary(LocalDate periodStart, String activityType, long totalMinutes, int exerciseCount) {
+        this.periodStart = periodStart;
+        this.activityType = activityType;
+        this.totalMinutes = totalMinutes;
+        this.exerciseCount = exerciseCount;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public String getActivityType() {
+        return activityType;
+    }
+
+    public void setActivityType(String activityType) {
+        this.activityType = activityType;
+    }
+
+    public long getTotalMinutes() {
+        return totalMinutes;
+    }
+
+    public void setTotalMinutes(long totalMinutes) {
+        this.totalMinutes = totalMinutes;
+    }
+
+    public int getExerciseCount() {
+        return exerciseCount;
+    }
+
+    public void setExerciseCount(int exerciseCount) {
+        this.exerciseCount = exerciseCount;
+    }
+}
@@ -0,0 +1,103 @@
+package com.rslakra.healthcare.healthsuite.model;
+
+import java.time.LocalDate;
+
+/**
+ * Progress of one goal on a given day: the goal minutes against the minutes logged for its activity type.
+ * 
+ * @author rslakra
+ */
+public class GoalProgress {
+
+    private Long goalId;
+    private Long userId;
+    private String activityType;
+    private LocalDate date;
+    private int goalMinutes;
+    private long loggedMinutes;
+    private int exerciseCount;
+
+    public GoalProgress() {
+    }
+
+    public GoalProgress(Long goalId, Long userId, String activityType, LocalDate date,
+                        int goalMinutes, long loggedMinutes, int exerciseCount) {
+        this.goalId = goalId;
+        this.userId = userId;
+        this.activityType = activityType;
+        this.date = date;
+        this.goalMinutes = goalMinutes;
+        this.loggedMinutes = loggedMinutes;
+        this.exerciseCount = exerciseCount;
+    }
+
+    public Long getGoalId() {
+        return goalId;
+    }
+
+    public void setGoalId(Long goalId) {
+        this.goalId = goalId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getActivityType() {
+        return activityType;
+    }
+
+    public void setActivityType(String activityType) {
+        this.activityType = activityType;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public int getGoalMinutes() {
+        return goalMinutes;
+    }
+
+    public void setGoalMinutes(int goalMinutes) {
+        this.goalMinutes = goalMinutes;
+    }
+
+    public long getLoggedMinutes() {
+        return loggedMinutes;
+    }
+
+    public void setLoggedMinutes(long loggedMinutes) {
+        this.loggedMinutes = loggedMinutes;
+    }
+
+    public int getExerciseCount() {
+        return exerciseCount;
+    }
+
+    public void setExerciseCount(int exerciseCount) {
+        this.exerciseCount = exerciseCount;
+    }
+
+    /**
+     * @return the logged minutes as a percentage of the goal, capped at 100
+     */
+    public int getPercentComplete() {
+        if (goalMinutes <= 0) {
+            return 100;
+        }
+        return (int) Math.min(100, loggedMinutes * 100 / goalMinutes);
+    }
+
+    public boolean isAchieved() {
+        return loggedMinutes >= goalMinutes;
+    }
+}
@@ -0,0 +1,30 @@
+package com.rslakra.healthcare.healthsuite.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Enumeration of the period sizes exercise summaries can be rolled up to.
+ * Weeks start on Monday (ISO-8601).
+ * 
+ * @author rslakra
+ */
+public enum SummaryGranularity {
+    DAY,
+    WEEK;
+
+    /**
+     * Get the first day of the period containing the given date.
+     * 
+     * @param date the date
+     * @return the start of the period
+     */
+    public LocalDate periodStart(LocalDate date) {
+        if (this == WEEK) {
+            return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+        
+        return date;
+    }
+}
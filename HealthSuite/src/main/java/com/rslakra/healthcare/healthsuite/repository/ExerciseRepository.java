@@ -1,9 +1,11 @@
 package com.rslakra.healthcare.healthsuite.repository;
 
 import com.rslakra.healthcare.healthsuite.model.Exercise;
+import com.rslakra.healthcare.healthsuite.model.ExerciseCursor;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Repository interface for exercise operations.
@@ -20,6 +22,14 @@ public interface ExerciseRepository {
      */
     Exercise save(Exercise exercise);
 
+    /**
+     * Save exercises using JDBC batching, one round trip per chunk of the configured batch size.
+     * 
+     * @param exercises the exercises to save
+     * @return the saved exercises with generated IDs, in the same order
+     */
+    List<Exercise> saveAll(List<Exercise> exercises);
+
     /**
      * Find an exercise by ID.
      * 
@@ -36,6 +46,16 @@ public interface ExerciseRepository {
      */
     List<Exercise> findByUserId(Long userId);
 
+    /**
+     * Stream all exercises of a user, newest first, to the given consumer.
+     * Rows are read through a forward-only cursor with the configured fetch size and are never
+     * collected into a list, so memory use does not depend on the length of the history.
+     * 
+     * @param userId the user ID
+     * @param consumer the consumer invoked for each exercise
+     */
+    void streamByUserId(Long userId, Consumer<Exercise> consumer);
+
     /**
      * Find exercises by user ID and date range.
      * 
@@ -53,6 +73,16 @@ public interface ExerciseRepository {
      */
     List<Exercise> findAll();
 
+    /**
+     * Find a page of exercises ordered by exercise date, creation time and ID (all descending),
+     * starting right after the given cursor.
+     * 
+     * @param cursor the position to continue from, or null for the first page
+     * @param limit the maximum number of exercises to return
+     * @return list of exercises
+     */
+    List<Exercise> findPage(ExerciseCursor cursor, int limit);
+
     /**
      * Update an existing exercise.
      * 
@@ -1,14 +1,19 @@
 package com.rslakra.healthcare.healthsuite.repository;
 
 import com.rslakra.healthcare.healthsuite.model.Exercise;
+import com.rslakra.healthcare.healthsuite.model.ExerciseCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.sql.Date;
 import java.sql.PreparedStatement;
@@ -18,10 +23,15 @@ import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * JDBC implementation of ExerciseRepository.
  * 
+ * Every write also maintains the daily and weekly rollups in the same transaction,
+ * see {@link ExerciseRollupRepository}.
+ * 
  * @author rslakra
  */
 @Repository
@@ -31,9 +41,25 @@ public class ExerciseRepositoryImpl implements ExerciseRepository {
 
     private final JdbcTemplate jdbcTemplate;
 
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExerciseRollupRepository exerciseRollupRepository;
+
+    private final int batchSize;
+
+    private final int fetchSize;
+
     @Autowired
-    public ExerciseRepositoryImpl(JdbcTemplate jdbcTemplate) {
+    public ExerciseRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  ExerciseRollupRepository exerciseRollupRepository,
+                                  @Value("${exercises.batchSize:1000}") int batchSize,
+                                  @Value("${exercises.fetchSize:500}") int fetchSize) {
         this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.exerciseRollupRepository = exerciseRollupRepository;
+        this.batchSize = Math.max(1, batchSize);
+        this.fetchSize = Math.max(1, fetchSize);
     }
 
     private static final String INSERT_SQL = 
@@ -48,6 +74,10 @@ public class ExerciseRepositoryImpl implements ExerciseRepository {
         "SELECT id, user_id, activity_type, minutes, description, exercise_date, created_at, updated_at " +
         "FROM exercises WHERE id = ?";
 
+    private static final String FIND_BY_ID_FOR_UPDATE_SQL = 
+        "SELECT id, user_id, activity_type, minutes, description, exercise_date, created_at, updated_at " +
+        "FROM exercises WHERE id = ? FOR UPDATE";
+
     private static final String FIND_BY_USER_ID_SQL = 
         "SELECT id, user_id, activity_type, minutes, description, exercise_date, created_at, updated_at " +
         "FROM exercises WHERE user_id = ? ORDER BY exercise_date DESC, created_at DESC";
@@ -61,6 +91,15 @@ public class ExerciseRepositoryImpl implements ExerciseRepository {
         "SELECT id, user_id, activity_type, minutes, description, exercise_date, created_at, updated_at " +
         "FROM exercises ORDER BY exercise_date DESC, created_at DESC";
 
+    private static final String FIND_FIRST_PAGE_SQL = 
+        "SELECT id, user_id, activity_type, minutes, description, exercise_date, created_at, updated_at " +
+        "FROM exercises ORDER BY exercise_date DESC, created_at DESC, id DESC LIMIT ?";
+
+    private static final String FIND_PAGE_AFTER_SQL = 
+        "SELECT id, user_id, activity_type, minutes, description, exercise_date, created_at, updated_at " +
+        "FROM exercises WHERE (exercise_date, created_at, id) < (?, ?, ?) " +
+        "ORDER BY exercise_date DESC, created_at DESC, id DESC LIMIT ?";
+
     private static final String DELETE_BY_ID_SQL = 
         "DELETE FROM exercises WHERE id = ?";
 
@@ -70,28 +109,17 @@ public class ExerciseRepositoryImpl implements ExerciseRepository {
         try {
             KeyHolder keyHolder = new GeneratedKeyHolder();
             
-            jdbcTemplate.update(connection -> {
-                PreparedStatement ps = connection.prepareStatement(INSERT_SQL, 
-                    Statement.RETURN_GENERATED_KEYS);
-                ps.setLong(1, exercise.getUserId());
-                ps.setString(2, exercise.getActivity());
-                ps.setInt(3, exercise.getMinutes());
-                ps.setString(4, exercise.getDescription());
-                ps.setDate(5, Date.valueOf(exercise.getExerciseDate()));
-                return ps;
-            }, keyHolder);
-
-            Long generatedId = null;
-            if (keyHolder.getKeys() != null && !keyHolder.getKeys().isEmpty()) {
-                Object id = keyHolder.getKeys().get("ID");
-                if (id == null) {
-                    // Try lowercase as fallback
-                    id = keyHolder.getKeys().get("id");
-                }
-                if (id != null) {
-                    generatedId = ((Number) id).longValue();
-                }
-            }
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(connection -> {
+                    PreparedStatement ps = connection.prepareStatement(INSERT_SQL, 
+                        Statement.RETURN_GENERATED_KEYS);
+                    setInsertValues(ps, exercise);
+                    return ps;
+                }, keyHolder);
+                exerciseRollupRepository.add(exercise);
+            });
+
+            Long generatedId = GeneratedKeys.extractId(keyHolder.getKeys());
             exercise.setId(generatedId);
             LOGGER.debug("Exercise saved with ID: {}", generatedId);
             return exercise;
@@ -101,6 +129,45 @@ public class ExerciseRepositoryImpl implements ExerciseRepository {
         }
     }
 
+    @Override
+    public List<Exercise> saveAll(List<Exercise> exercises) {
+        LOGGER.debug("Saving {} exercises in batches of {}", exercises.size(), batchSize);
+        try {
+            for (int fromIndex = 0; fromIndex < exercises.size(); fromIndex += batchSize) {
+                List<Exercise> chunk = exercises.subList(fromIndex,
+                    Math.min(fromIndex + batchSize, exercises.size()));
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL,
+                        Statement.RETURN_GENERATED_KEYS), new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            setInsertValues(ps, chunk.get(i));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    }, keyHolder);
+                    exerciseRollupRepository.addAll(chunk);
+                });
+
+                // Generated keys are returned in the same order as the batched rows
+                List<Map<String, Object>> keys = keyHolder.getKeyList();
+                for (int i = 0; i < chunk.size() && i < keys.size(); i++) {
+                    chunk.get(i).setId(GeneratedKeys.extractId(keys.get(i)));
+                }
+                LOGGER.debug("Saved batch of {} exercises starting at index {}", chunk.size(), fromIndex);
+            }
+            return exercises;
+        } catch (Exception e) {
+            LOGGER.error("Error saving exercises: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to save exercises", e);
+        }
+    }
+
     @Override
     public Exercise findById(Long id) {
         LOGGER.debug("Finding exercise by ID: {}", id);
@@ -125,6 +192,19 @@ public class ExerciseRepositoryImpl implements ExerciseRepository {
         }
     }
 
+    @Override
+    public void streamByUserId(Long userId, Consumer<Exercise> consumer) {
+        LOGGER.debug("Streaming exercises by user ID: {} with fetch size: {}", userId, fetchSize);
+        ExerciseRowMapper rowMapper = new ExerciseRowMapper();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(FIND_BY_USER_ID_SQL,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, userId);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(rowMapper.mapRow(rs, rs.getRow())));
+    }
+
     @Override
     public List<Exercise> findByUserIdAndDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
         LOGGER.debug("Finding exercises by user ID {} and date range {} to {}", userId, startDate, endDate);
@@ -148,19 +228,46 @@ public class ExerciseRepositoryImpl implements ExerciseRepository {
         }
     }
 
+    @Override
+    public List<Exercise> findPage(ExerciseCursor cursor, int limit) {
+        LOGGER.debug("Finding page of {} exercises after cursor: {}", limit, cursor != null ? cursor.getId() : null);
+        try {
+            if (cursor == null) {
+                return jdbcTemplate.query(FIND_FIRST_PAGE_SQL, new ExerciseRowMapper(), limit);
+            }
+            return jdbcTemplate.query(FIND_PAGE_AFTER_SQL, new ExerciseRowMapper(),
+                Date.valueOf(cursor.getExerciseDate()),
+                Timestamp.valueOf(cursor.getCreatedAt()),
+                cursor.getId(),
+                limit);
+        } catch (Exception e) {
+            LOGGER.error("Error finding page of exercises: {}", e.getMessage(), e);
+            return List.of();
+        }
+    }
+
     @Override
     public boolean update(Exercise exercise) {
         LOGGER.debug("Updating exercise: {}", exercise.getId());
         try {
-            int rowsAffected = jdbcTemplate.update(UPDATE_SQL,
-                exercise.getUserId(),
-                exercise.getActivity(),
-                exercise.getMinutes(),
-                exercise.getDescription(),
-                Date.valueOf(exercise.getExerciseDate()),
-                exercise.getId());
+            Integer rowsAffected = transactionTemplate.execute(status -> {
+                Exercise previous = findByIdForUpdate(exercise.getId());
+                if (previous == null) {
+                    return 0;
+                }
+                int rows = jdbcTemplate.update(UPDATE_SQL,
+                    exercise.getUserId(),
+                    exercise.getActivity(),
+                    exercise.getMinutes(),
+                    exercise.getDescription(),
+                    Date.valueOf(exercise.getExerciseDate()),
+                    exercise.getId());
+                exerciseRollupRepository.remove(previous);
+                exerciseRollupRepository.add(exercise);
+                return rows;
+            });
             LOGGER.debug("Exercise updated, rows affected: {}", rowsAffected);
-            return rowsAffected > 0;
+            return rowsAffected != null && rowsAffected > 0;
         } catch (Exception e) {
             LOGGER.error("Error updating exercise: {}", e.getMessage(), e);
             return false;
@@ -171,16 +278,41 @@ public class ExerciseRepositoryImpl implements ExerciseRepository {
     public boolean deleteById(Long id) {
         LOGGER.debug("Deleting exercise by ID: {}", id);
         try {
-            int rowsAffected = jdbcTemplate.update(DELETE_BY_ID_SQL, id);
+            Integer rowsAffected = transactionTemplate.execute(status -> {
+                Exercise previous = findByIdForUpdate(id);
+                if (previous == null) {
+                    return 0;
+                }
+                int rows = jdbcTemplate.update(DELETE_BY_ID_SQL, id);
+                exerciseRollupRepository.remove(previous);
+                return rows;
+            });
             LOGGER.debug("Exercise deleted, rows affected: {}", rowsAffected);
-            return rowsAffected > 0;
+            return rowsAffected != null && rowsAffected > 0;
         } catch (Exception e) {
             LOGGER.error("Error deleting exercise: {}", e.getMessage(), e);
             return false;
         }
     }
 
-    private static class ExerciseRowMapper implements RowMapper<Exercise> {
+    /**
+     * Reads and locks the current row, so its old values can be taken out of the rollups.
+     */
+    private Exercise findByIdForUpdate(Long id) {
+        List<Exercise> exercises = jdbcTemplate.query(FIND_BY_ID_FOR_UPDATE_SQL, new ExerciseRowMapper(), id);
+        return exercises.isEmpty() ? null : exercises.get(0);
+    }
+
+    private static void setInsertValues(PreparedStatement ps, Exercise exercise) throws SQLException {
+        ps.setLong(1, exercise.getUserId());
+        ps.setString(2, exercise.getActivity());
+        ps.setInt(3, exercise.getMinutes());
+        ps.setString(4, exercise.getDescription());
+        ps.setDate(5, Date.valueOf(exercise.getExerciseDate()));
+    }
+
+    // Package-private so HealthSuite-benchmarks can measure it
+    static class ExerciseRowMapper implements RowMapper<Exercise> {
         @Override
         public Exercise mapRow(ResultSet rs, int rowNum) throws SQLException {
             Exercise exercise = new Exercise();
@@ -0,0 +1,66 @@
+package com.rslakra.healthcare.healthsuite.repository;
+
+import com.rslakra.healthcare.healthsuite.model.Exercise;
+import com.rslakra.healthcare.healthsuite.model.ExerciseSummary;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for the pre-aggregated daily and weekly exercise rollups.
+ * The rollups are maintained incrementally by {@link ExerciseRepository} in the same transaction as the
+ * exercise writes, and must never be written from anywhere else.
+ * 
+ * @author rslakra
+ */
+public interface ExerciseRollupRepository {
+
+    /**
+     * Add an exercise to the daily and weekly rollups.
+     * 
+     * @param exercise the saved exercise
+     */
+    void add(Exercise exercise);
+
+    /**
+     * Add exercises to the daily and weekly rollups, one update per distinct rollup row.
+     * 
+     * @param exercises the saved exercises
+     */
+    void addAll(List<Exercise> exercises);
+
+    /**
+     * Remove an exercise from the daily and weekly rollups.
+     * 
+     * @param exercise the exercise as it was before being updated or deleted
+     */
+    void remove(Exercise exercise);
+
+    /**
+     * Find the daily rollups of a user.
+     * 
+     * @param userId the user ID
+     * @param startDate the first day (inclusive)
+     * @param endDate the last day (inclusive)
+     * @return list of daily summaries ordered by day and activity type
+     */
+    List<ExerciseSummary> findDaily(Long userId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Find the weekly rollups of a user.
+     * 
+     * @param userId the user ID
+     * @param firstWeekStart the Monday of the first week (inclusive)
+     * @param lastWeekStart the Monday of the last week (inclusive)
+     * @return list of weekly summaries ordered by week and activity type
+     */
+    List<ExerciseSummary> findWeekly(Long userId, LocalDate firstWeekStart, LocalDate lastWeekStart);
+
+    /**
+     * Rebuild the rollups from the exercises table if they are empty while exercises exist,
+     * e.g. on the first start after the rollup tables were introduced.
+     * 
+     * @return true if the rollups were rebuilt
+     */
+    boolean rebuildIfEmpty();
+}
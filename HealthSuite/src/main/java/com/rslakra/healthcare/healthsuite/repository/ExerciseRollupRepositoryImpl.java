@@ -0,0 +1,259 @@
+package com.rslakra.healthcare.healthsuite.repository;
+
+import com.rslakra.healthcare.healthsuite.model.Exercise;
+import com.rslakra.healthcare.healthsuite.model.ExerciseSummary;
+import com.rslakra.healthcare.healthsuite.model.SummaryGranularity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * JDBC implementation of ExerciseRollupRepository.
+ * 
+ * Rollup rows are merged with relative deltas in a single statement, which inserts the row when it does not exist yet.
+ * If two transactions create the same row concurrently, the loser fails on the primary key once the winner commits.
+ * Each merge therefore runs behind a savepoint: a duplicate key rolls back to it, and the merge is run again, now
+ * updating the row the other transaction inserted, so the exercise write itself does not fail.
+ * Rows whose count drops to zero are kept and filtered out on read, so a delete never needs an extra statement.
+ * 
+ * @author rslakra
+ */
+@Repository
+public class ExerciseRollupRepositoryImpl implements ExerciseRollupRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExerciseRollupRepositoryImpl.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Runs a merge behind a savepoint of the caller's transaction
+    private final TransactionTemplate savepointTemplate;
+
+    @Autowired
+    public ExerciseRollupRepositoryImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.savepointTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.savepointTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+    }
+
+    // Adds a delta to a rollup row, inserting the row if it does not exist yet. A negative delta never inserts.
+    private static final String MERGE_SQL = 
+        "MERGE INTO %1$s r USING (VALUES (CAST(? AS BIGINT), CAST(? AS INT), CAST(? AS BIGINT), CAST(? AS DATE), " +
+        "CAST(? AS VARCHAR(64)))) AS d (total_minutes, exercise_count, user_id, %2$s, activity_type) " +
+        "ON r.user_id = d.user_id AND r.%2$s = d.%2$s AND r.activity_type = d.activity_type " +
+        "WHEN MATCHED THEN UPDATE SET total_minutes = r.total_minutes + d.total_minutes, " +
+        "exercise_count = r.exercise_count + d.exercise_count " +
+        "WHEN NOT MATCHED AND d.exercise_count > 0 THEN " +
+        "INSERT (user_id, %2$s, activity_type, total_minutes, exercise_count) " +
+        "VALUES (d.user_id, d.%2$s, d.activity_type, d.total_minutes, d.exercise_count)";
+
+    private static final String MERGE_DAILY_SQL = String.format(MERGE_SQL, "exercise_daily_rollups", "exercise_date");
+
+    private static final String MERGE_WEEKLY_SQL = String.format(MERGE_SQL, "exercise_weekly_rollups", "week_start");
+
+    private static final String INSERT_WEEKLY_SQL = 
+        "INSERT INTO exercise_weekly_rollups (total_minutes, exercise_count, user_id, week_start, activity_type) " +
+        "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String FIND_DAILY_SQL = 
+        "SELECT exercise_date AS period_start, activity_type, total_minutes, exercise_count " +
+        "FROM exercise_daily_rollups WHERE user_id = ? AND exercise_date BETWEEN ? AND ? AND exercise_count > 0 " +
+        "ORDER BY exercise_date, activity_type";
+
+    private static final String FIND_WEEKLY_SQL = 
+        "SELECT week_start AS period_start, activity_type, total_minutes, exercise_count " +
+        "FROM exercise_weekly_rollups WHERE user_id = ? AND week_start BETWEEN ? AND ? AND exercise_count > 0 " +
+        "ORDER BY week_start, activity_type";
+
+    private static final String HAS_DAILY_ROLLUPS_SQL = 
+        "SELECT COUNT(*) FROM (SELECT 1 FROM exercise_daily_rollups LIMIT 1) r";
+
+    private static final String HAS_EXERCISES_SQL = 
+        "SELECT COUNT(*) FROM (SELECT 1 FROM exercises LIMIT 1) e";
+
+    private static final String REBUILD_DAILY_SQL = 
+        "INSERT INTO exercise_daily_rollups (user_id, exercise_date, activity_type, total_minutes, exercise_count) " +
+        "SELECT user_id, exercise_date, activity_type, SUM(minutes), COUNT(*) " +
+        "FROM exercises GROUP BY user_id, exercise_date, activity_type";
+
+    private static final String FIND_ALL_DAILY_SQL = 
+        "SELECT user_id, exercise_date, activity_type, total_minutes, exercise_count FROM exercise_daily_rollups";
+
+    private static final String DELETE_ALL_WEEKLY_SQL = 
+        "DELETE FROM exercise_weekly_rollups";
+
+    @Override
+    public void add(Exercise exercise) {
+        applyDelta(new RollupKey(exercise), exercise.getMinutes(), 1);
+    }
+
+    @Override
+    public void addAll(List<Exercise> exercises) {
+        // Collapse the exercises to one delta per daily row, so a bulk import of a single day is one update
+        Map<RollupKey, long[]> deltas = new LinkedHashMap<>();
+        for (Exercise exercise : exercises) {
+            long[] delta = deltas.computeIfAbsent(new RollupKey(exercise), key -> new long[2]);
+            delta[0] += exercise.getMinutes();
+            delta[1]++;
+        }
+        deltas.forEach((key, delta) -> applyDelta(key, delta[0], (int) delta[1]));
+    }
+
+    @Override
+    public void remove(Exercise exercise) {
+        applyDelta(new RollupKey(exercise), -exercise.getMinutes(), -1);
+    }
+
+    @Override
+    public List<ExerciseSummary> findDaily(Long userId, LocalDate startDate, LocalDate endDate) {
+        LOGGER.debug("Finding daily rollups by user ID {} and date range {} to {}", userId, startDate, endDate);
+        try {
+            return jdbcTemplate.query(FIND_DAILY_SQL, new ExerciseSummaryRowMapper(),
+                userId, Date.valueOf(startDate), Date.valueOf(endDate));
+        } catch (Exception e) {
+            LOGGER.error("Error finding daily rollups: {}", e.getMessage(), e);
+            return List.of();
+        }
+    }
+
+    @Override
+    public List<ExerciseSummary> findWeekly(Long userId, LocalDate firstWeekStart, LocalDate lastWeekStart) {
+        LOGGER.debug("Finding weekly rollups by user ID {} and weeks {} to {}", userId, firstWeekStart, lastWeekStart);
+        try {
+            return jdbcTemplate.query(FIND_WEEKLY_SQL, new ExerciseSummaryRowMapper(),
+                userId, Date.valueOf(firstWeekStart), Date.valueOf(lastWeekStart));
+        } catch (Exception e) {
+            LOGGER.error("Error finding weekly rollups: {}", e.getMessage(), e);
+            return List.of();
+        }
+    }
+
+    @Override
+    public boolean rebuildIfEmpty() {
+        Boolean rebuilt = transactionTemplate.execute(status -> {
+            if (count(HAS_DAILY_ROLLUPS_SQL) > 0 || count(HAS_EXERCISES_SQL) == 0) {
+                return false;
+            }
+
+            LOGGER.info("Rebuilding exercise rollups from the exercises table");
+            int dailyRows = jdbcTemplate.update(REBUILD_DAILY_SQL);
+
+            // Derive the weeks from the daily rows rather than from the (larger) exercises table
+            Map<RollupKey, long[]> weeks = new LinkedHashMap<>();
+            jdbcTemplate.query(FIND_ALL_DAILY_SQL, (RowCallbackHandler) rs -> {
+                LocalDate weekStart = SummaryGranularity.WEEK.periodStart(rs.getDate("exercise_date").toLocalDate());
+                RollupKey key = new RollupKey(rs.getLong("user_id"), rs.getString("activity_type"), weekStart);
+                long[] totals = weeks.computeIfAbsent(key, k -> new long[2]);
+                totals[0] += rs.getLong("total_minutes");
+                totals[1] += rs.getInt("exercise_count");
+            });
+            jdbcTemplate.update(DELETE_ALL_WEEKLY_SQL);
+            List<Object[]> weeklyRows = new ArrayList<>(weeks.size());
+            weeks.forEach((key, totals) -> weeklyRows.add(new Object[] {
+                totals[0], (int) totals[1], key.userId, Date.valueOf(key.date), key.activityType}));
+            jdbcTemplate.batchUpdate(INSERT_WEEKLY_SQL, weeklyRows);
+
+            LOGGER.info("Rebuilt {} daily and {} weekly exercise rollups", dailyRows, weeklyRows.size());
+            return true;
+        });
+        
+        return Boolean.TRUE.equals(rebuilt);
+    }
+
+    private int count(String sql) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Applies a delta to the daily row of the key and to the weekly row of its week.
+     */
+    private void applyDelta(RollupKey key, long minutes, int count) {
+        LocalDate weekStart = SummaryGranularity.WEEK.periodStart(key.date);
+        merge(MERGE_DAILY_SQL, key, key.date, minutes, count);
+        merge(MERGE_WEEKLY_SQL, key, weekStart, minutes, count);
+    }
+
+    private void merge(String mergeSql, RollupKey key, LocalDate date, long minutes, int count) {
+        Object[] args = {minutes, count, key.userId, Date.valueOf(date), key.activityType};
+        Integer rows;
+        try {
+            rows = savepointTemplate.execute(status -> jdbcTemplate.update(mergeSql, args));
+        } catch (DuplicateKeyException e) {
+            // Another transaction inserted the row first, so the merge now updates it
+            LOGGER.debug("Rollup row for user ID {}, activity {} and date {} was inserted concurrently, merging again",
+                key.userId, key.activityType, date);
+            rows = jdbcTemplate.update(mergeSql, args);
+        }
+        if (rows == null || rows == 0) {
+            LOGGER.warn("No rollup row to remove from for user ID {}, activity {} and date {}",
+                key.userId, key.activityType, date);
+        }
+    }
+
+    private static final class RollupKey {
+
+        private final Long userId;
+        private final String activityType;
+        private final LocalDate date;
+
+        private RollupKey(Exercise exercise) {
+            this(exercise.getUserId(), exercise.getActivity(), exercise.getExerciseDate());
+        }
+
+        private RollupKey(Long userId, String activityType, LocalDate date) {
+            this.userId = userId;
+            this.activityType = activityType;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof RollupKey)) {
+                return false;
+            }
+            RollupKey that = (RollupKey) other;
+            return Objects.equals(userId, that.userId)
+                && Objects.equals(activityType, that.activityType)
+                && Objects.equals(date, that.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, activityType, date);
+        }
+    }
+
+    private static class ExerciseSummaryRowMapper implements RowMapper<ExerciseSummary> {
+        @Override
+        public ExerciseSummary mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new ExerciseSummary(
+                rs.getDate("period_start").toLocalDate(),
+                rs.getString("activity_type"),
+                rs.getLong("total_minutes"),
+                rs.getInt("exercise_count"));
+        }
+    }
+}
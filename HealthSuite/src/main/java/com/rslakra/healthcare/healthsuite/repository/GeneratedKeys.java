@@ -0,0 +1,33 @@
+package com.rslakra.healthcare.healthsuite.repository;
+
+import java.util.Map;
+
+/**
+ * Reads the generated id from the keys returned by an insert.
+ * H2 returns every generated column (id, created_at, updated_at), so <code>KeyHolder.getKey()</code> can't be used.
+ *
+ * @author rslakra
+ */
+final class GeneratedKeys {
+
+    private GeneratedKeys() {
+    }
+
+    /**
+     * Returns the generated id of one inserted row.
+     *
+     * @param keys the generated keys of the row
+     * @return the id, or null if there is none
+     */
+    static Long extractId(Map<String, Object> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return null;
+        }
+        Object id = keys.get("ID");
+        if (id == null) {
+            // Try lowercase as fallback
+            id = keys.get("id");
+        }
+        return id != null ? ((Number) id).longValue() : null;
+    }
+}
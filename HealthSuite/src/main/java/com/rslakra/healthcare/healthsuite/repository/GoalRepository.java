@@ -1,7 +1,9 @@
 package com.rslakra.healthcare.healthsuite.repository;
 
 import com.rslakra.healthcare.healthsuite.model.Goal;
+import com.rslakra.healthcare.healthsuite.model.GoalProgress;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -42,6 +44,17 @@ public interface GoalRepository {
      */
     List<Goal> findAll();
 
+    /**
+     * Find the progress of all goals of a user on a given day.
+     * Goals are joined against the daily exercise rollups per activity type in a single aggregate query.
+     * 
+     * @param userId the user ID
+     * @param date the day
+     * @return list of goal progress
+     * @throws org.springframework.dao.DataAccessException if the query fails
+     */
+    List<GoalProgress> findProgressByUserId(Long userId, LocalDate date);
+
     /**
      * Update an existing goal.
      * 
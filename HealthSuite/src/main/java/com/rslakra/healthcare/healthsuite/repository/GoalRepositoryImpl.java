@@ -1,6 +1,7 @@
 package com.rslakra.healthcare.healthsuite.repository;
 
 import com.rslakra.healthcare.healthsuite.model.Goal;
+import com.rslakra.healthcare.healthsuite.model.GoalProgress;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,11 +11,13 @@ import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -51,6 +54,17 @@ public class GoalRepositoryImpl implements GoalRepository {
         "SELECT id, user_id, activity_type, minutes, created_at, updated_at " +
         "FROM goals ORDER BY created_at DESC";
 
+    private static final String FIND_PROGRESS_BY_USER_ID_SQL = 
+        "SELECT g.id, g.user_id, g.activity_type, g.minutes, " +
+        "COALESCE(SUM(r.total_minutes), 0) AS logged_minutes, " +
+        "COALESCE(SUM(r.exercise_count), 0) AS exercise_count " +
+        "FROM goals g " +
+        "LEFT JOIN exercise_daily_rollups r ON r.user_id = g.user_id " +
+        "AND r.activity_type = g.activity_type AND r.exercise_date = ? " +
+        "WHERE g.user_id = ? " +
+        "GROUP BY g.id, g.user_id, g.activity_type, g.minutes " +
+        "ORDER BY g.activity_type, g.id";
+
     private static final String UPDATE_SQL = 
         "UPDATE goals SET user_id = ?, activity_type = ?, minutes = ? " +
         "WHERE id = ?";
@@ -73,7 +87,7 @@ public class GoalRepositoryImpl implements GoalRepository {
                 return ps;
             }, keyHolder);
 
-            Long generatedId = keyHolder.getKey() != null ? keyHolder.getKey().longValue() : null;
+            Long generatedId = GeneratedKeys.extractId(keyHolder.getKeys());
             goal.setId(generatedId);
             goal.setCreatedAt(LocalDateTime.now());
             LOGGER.debug("Goal saved with ID: {}", generatedId);
@@ -119,6 +133,20 @@ public class GoalRepositoryImpl implements GoalRepository {
         }
     }
 
+    @Override
+    public List<GoalProgress> findProgressByUserId(Long userId, LocalDate date) {
+        LOGGER.debug("Finding goal progress by user ID {} on {}", userId, date);
+        // Errors are not swallowed here, the progress is cached and an empty result would stick for the day
+        return jdbcTemplate.query(FIND_PROGRESS_BY_USER_ID_SQL, (rs, rowNum) -> new GoalProgress(
+            rs.getLong("id"),
+            rs.getLong("user_id"),
+            rs.getString("activity_type"),
+            date,
+            rs.getInt("minutes"),
+            rs.getLong("logged_minutes"),
+            rs.getInt("exercise_count")), Date.valueOf(date), userId);
+    }
+
     @Override
     public boolean update(Goal goal) {
         LOGGER.debug("Updating goal: {}", goal.getId());
@@ -149,7 +177,8 @@ public class GoalRepositoryImpl implements GoalRepository {
         }
     }
 
-    private static class GoalRowMapper implements RowMapper<Goal> {
+    // Package-private so HealthSuite-benchmarks can measure it
+    static class GoalRowMapper implements RowMapper<Goal> {
         @Override
         public Goal mapRow(ResultSet rs, int rowNum) throws SQLException {
             Goal goal = new Goal();
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
@@ -23,10 +24,12 @@ public class UserRepositoryImpl implements UserRepository {
     private static final Logger LOGGER = LoggerFactory.getLogger(UserRepositoryImpl.class);
 
     private final JdbcTemplate jdbcTemplate;
+    private final UserCache userCache;
 
     @Autowired
-    public UserRepositoryImpl(JdbcTemplate jdbcTemplate) {
+    public UserRepositoryImpl(JdbcTemplate jdbcTemplate, UserCache userCache) {
         this.jdbcTemplate = jdbcTemplate;
+        this.userCache = userCache;
     }
 
     private static final String UPDATE_SQL = 
@@ -56,18 +59,23 @@ public class UserRepositoryImpl implements UserRepository {
     public boolean save(User user) {
         LOGGER.debug("Saving user: {}", user.getUsername());
         try {
-            boolean exists = existsByUsername(user.getUsername());
+            User existing = findByUsername(user.getUsername());
             int rowsAffected;
             
-            if (exists) {
+            if (existing != null) {
                 // Update existing user profile fields
+                boolean enabled = user.getEnabled() != null ? user.getEnabled() : true;
                 rowsAffected = jdbcTemplate.update(UPDATE_SQL,
                     user.getEmail(),
                     user.getFirstName(),
                     user.getLastName(),
-                    user.getEnabled() != null ? user.getEnabled() : true,
+                    enabled,
                     user.getUsername());
                 LOGGER.debug("User updated, rows affected: {}", rowsAffected);
+                // Logins must see a disabled (or re-enabled) account right away
+                if (rowsAffected > 0 && !Boolean.valueOf(enabled).equals(existing.getEnabled())) {
+                    userCache.removeUserFromCache(user.getUsername());
+                }
             } else {
                 // Insert new user
                 if (user.getPassword() == null || user.getPassword().isEmpty()) {
@@ -82,6 +90,7 @@ public class UserRepositoryImpl implements UserRepository {
                     user.getPassword(),
                     user.getEnabled() != null ? user.getEnabled() : true);
                 LOGGER.debug("User created, rows affected: {}", rowsAffected);
+                userCache.removeUserFromCache(user.getUsername());
             }
             
             return rowsAffected > 0;
@@ -139,7 +148,8 @@ public class UserRepositoryImpl implements UserRepository {
         }
     }
 
-    private static class UserRowMapper implements RowMapper<User> {
+    // Package-private so HealthSuite-benchmarks can measure it
+    static class UserRowMapper implements RowMapper<User> {
         @Override
         public User mapRow(ResultSet rs, int rowNum) throws SQLException {
             User user = new User();
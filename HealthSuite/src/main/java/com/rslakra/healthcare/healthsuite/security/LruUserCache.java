@@ -0,0 +1,82 @@
+package com.rslakra.healthcare.healthsuite.security;
+
+import com.rslakra.healthcare.healthsuite.cache.BoundedTtlCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+
+/**
+ * Size-bounded, expiring {@link UserCache} for the users and authorities loaded by the JDBC user details service,
+ * backed by a {@link BoundedTtlCache}. Hits, misses, evictions and the current size are published as metrics.
+ * 
+ * Users are copied on the way in and out: the returned user becomes the authentication principal and
+ * has its password erased after login, which must not affect the cached copy.
+ * 
+ * @author rslakra
+ */
+public class LruUserCache implements UserCache, MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LruUserCache.class);
+
+    private final BoundedTtlCache<String, UserDetails> users;
+
+    public LruUserCache(int maxSize, Duration ttl) {
+        this(new BoundedTtlCache<>(maxSize, ttl));
+    }
+
+    LruUserCache(BoundedTtlCache<String, UserDetails> users) {
+        this.users = users;
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        UserDetails cached = users.get(username);
+        return cached != null ? User.withUserDetails(cached).build() : null;
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        users.put(user.getUsername(), User.withUserDetails(user).build());
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        LOGGER.debug("Removing user from cache: {}", username);
+        users.remove(username);
+    }
+
+    /**
+     * Returns the number of cached users, including expired ones not yet removed.
+     * 
+     * @return the cache size
+     */
+    public int size() {
+        return users.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("healthsuite.users.cache.gets", users, BoundedTtlCache::hitCount)
+            .tag("result", "hit")
+            .description("User details lookups served from the cache")
+            .register(registry);
+        FunctionCounter.builder("healthsuite.users.cache.gets", users, BoundedTtlCache::missCount)
+            .tag("result", "miss")
+            .description("User details lookups that went to the database")
+            .register(registry);
+        FunctionCounter.builder("healthsuite.users.cache.evictions", users, BoundedTtlCache::evictionCount)
+            .description("User details dropped because the cache was full or the entry expired")
+            .register(registry);
+        Gauge.builder("healthsuite.users.cache.size", this, LruUserCache::size)
+            .description("Number of cached user details")
+            .register(registry);
+    }
+}
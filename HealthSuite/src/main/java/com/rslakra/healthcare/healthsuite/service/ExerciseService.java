@@ -2,9 +2,13 @@ package com.rslakra.healthcare.healthsuite.service;
 
 import com.rslakra.healthcare.healthsuite.model.Activity;
 import com.rslakra.healthcare.healthsuite.model.Exercise;
+import com.rslakra.healthcare.healthsuite.model.ExercisePage;
+import com.rslakra.healthcare.healthsuite.model.ExerciseSummary;
+import com.rslakra.healthcare.healthsuite.model.SummaryGranularity;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for exercise operations.
@@ -28,6 +32,14 @@ public interface ExerciseService {
      */
     Exercise saveExercise(Exercise exercise);
 
+    /**
+     * Save exercises in JDBC batches.
+     * 
+     * @param exercises the exercises to save
+     * @return the saved exercises with generated IDs
+     */
+    List<Exercise> saveAllExercises(List<Exercise> exercises);
+
     /**
      * Find an exercise by ID.
      * 
@@ -44,6 +56,14 @@ public interface ExerciseService {
      */
     List<Exercise> findExercisesByUserId(Long userId);
 
+    /**
+     * Stream all exercises of a user to the given consumer without materializing them.
+     * 
+     * @param userId the user ID
+     * @param consumer the consumer invoked for each exercise
+     */
+    void streamExercisesByUserId(Long userId, Consumer<Exercise> consumer);
+
     /**
      * Find exercises by user ID and date range.
      * 
@@ -54,6 +74,19 @@ public interface ExerciseService {
      */
     List<Exercise> findExercisesByUserIdAndDateRange(Long userId, LocalDate startDate, LocalDate endDate);
 
+    /**
+     * Summarize the exercise minutes of a user per period and activity type.
+     * Reads only the pre-aggregated rollups, never the raw exercises.
+     * 
+     * @param userId the user ID
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @param granularity the period size
+     * @return list of summaries ordered by period and activity type
+     */
+    List<ExerciseSummary> summarize(Long userId, LocalDate startDate, LocalDate endDate,
+                                    SummaryGranularity granularity);
+
     /**
      * Find all exercises.
      * 
@@ -61,6 +94,16 @@ public interface ExerciseService {
      */
     List<Exercise> findAllExercises();
 
+    /**
+     * Find a page of exercises using keyset pagination, so every page costs the same as the first one.
+     * 
+     * @param cursor the opaque next-cursor token of the previous page, or null for the first page
+     * @param size the page size
+     * @return the page of exercises with the token of the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    ExercisePage findExercisesPage(String cursor, int size);
+
     /**
      * Update an exercise.
      * 
@@ -3,13 +3,27 @@ package com.rslakra.healthcare.healthsuite.service;
 import com.rslakra.healthcare.healthsuite.model.Activity;
 import com.rslakra.healthcare.healthsuite.model.ActivityType;
 import com.rslakra.healthcare.healthsuite.model.Exercise;
+import com.rslakra.healthcare.healthsuite.model.ExerciseCursor;
+import com.rslakra.healthcare.healthsuite.model.ExercisePage;
+import com.rslakra.healthcare.healthsuite.model.ExerciseSummary;
+import com.rslakra.healthcare.healthsuite.model.SummaryGranularity;
 import com.rslakra.healthcare.healthsuite.repository.ExerciseRepository;
+import com.rslakra.healthcare.healthsuite.repository.ExerciseRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Service implementation for exercise operations.
@@ -17,11 +31,34 @@ import java.util.List;
  * @author rslakra
  */
 @Service("exerciseService")
-public class ExerciseServiceImpl implements ExerciseService {
+public class ExerciseServiceImpl implements ExerciseService, SmartInitializingSingleton {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExerciseServiceImpl.class);
+
+    private static final int MAX_PAGE_SIZE = 500;
 
     @Autowired
     private ExerciseRepository exerciseRepository;
 
+    @Autowired
+    private ExerciseRollupRepository exerciseRollupRepository;
+
+    @Autowired
+    private GoalProgressService goalProgressService;
+
+    /**
+     * Backfill the rollups in case exercises predate the rollup tables.
+     * Runs once all singletons exist, before the web server is started and any exercise can be written.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            exerciseRollupRepository.rebuildIfEmpty();
+        } catch (Exception e) {
+            LOGGER.error("Error rebuilding exercise rollups: {}", e.getMessage(), e);
+        }
+    }
+
     @Override
     public List<Activity> findAllActivities() {
         List<Activity> activities = new ArrayList<>();
@@ -38,7 +75,21 @@ public class ExerciseServiceImpl implements ExerciseService {
 
     @Override
     public Exercise saveExercise(Exercise exercise) {
-        return exerciseRepository.save(exercise);
+        try {
+            return exerciseRepository.save(exercise);
+        } finally {
+            goalProgressService.evict(exercise.getUserId());
+        }
+    }
+
+    @Override
+    public List<Exercise> saveAllExercises(List<Exercise> exercises) {
+        try {
+            return exerciseRepository.saveAll(exercises);
+        } finally {
+            // Chunks saved before a failure are committed, so evict in any case
+            exercises.stream().map(Exercise::getUserId).distinct().forEach(goalProgressService::evict);
+        }
     }
 
     @Override
@@ -51,6 +102,11 @@ public class ExerciseServiceImpl implements ExerciseService {
         return exerciseRepository.findByUserId(userId);
     }
 
+    @Override
+    public void streamExercisesByUserId(Long userId, Consumer<Exercise> consumer) {
+        exerciseRepository.streamByUserId(userId, consumer);
+    }
+
     @Override
     public List<Exercise> findExercisesByUserIdAndDateRange(Long userId, 
                                                                    LocalDate startDate, 
@@ -58,18 +114,91 @@ public class ExerciseServiceImpl implements ExerciseService {
         return exerciseRepository.findByUserIdAndDateRange(userId, startDate, endDate);
     }
 
+    @Override
+    public List<ExerciseSummary> summarize(Long userId, LocalDate startDate, LocalDate endDate,
+                                           SummaryGranularity granularity) {
+        LOGGER.debug("Summarizing exercises by user ID {} from {} to {} per {}", userId, startDate, endDate, granularity);
+        if (startDate.isAfter(endDate)) {
+            return List.of();
+        }
+        if (granularity == SummaryGranularity.DAY) {
+            return exerciseRollupRepository.findDaily(userId, startDate, endDate);
+        }
+
+        // Whole weeks come from the weekly rollups, the partial weeks at both ends from the daily ones
+        LocalDate firstFullWeek = startDate.with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+        LocalDate lastFullWeekEnd = endDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY));
+        List<ExerciseSummary> rollups = new ArrayList<>();
+        if (firstFullWeek.isAfter(lastFullWeekEnd)) {
+            rollups.addAll(exerciseRollupRepository.findDaily(userId, startDate, endDate));
+        } else {
+            if (startDate.isBefore(firstFullWeek)) {
+                rollups.addAll(exerciseRollupRepository.findDaily(userId, startDate, firstFullWeek.minusDays(1)));
+            }
+            rollups.addAll(exerciseRollupRepository.findWeekly(userId, firstFullWeek,
+                granularity.periodStart(lastFullWeekEnd)));
+            if (lastFullWeekEnd.isBefore(endDate)) {
+                rollups.addAll(exerciseRollupRepository.findDaily(userId, lastFullWeekEnd.plusDays(1), endDate));
+            }
+        }
+
+        Map<String, ExerciseSummary> summaries = new LinkedHashMap<>();
+        for (ExerciseSummary rollup : rollups) {
+            LocalDate periodStart = granularity.periodStart(rollup.getPeriodStart());
+            ExerciseSummary summary = summaries.computeIfAbsent(periodStart + "|" + rollup.getActivityType(),
+                key -> new ExerciseSummary(periodStart, rollup.getActivityType(), 0, 0));
+            summary.setTotalMinutes(summary.getTotalMinutes() + rollup.getTotalMinutes());
+            summary.setExerciseCount(summary.getExerciseCount() + rollup.getExerciseCount());
+        }
+
+        List<ExerciseSummary> result = new ArrayList<>(summaries.values());
+        result.sort(Comparator.comparing(ExerciseSummary::getPeriodStart)
+            .thenComparing(ExerciseSummary::getActivityType));
+        return result;
+    }
+
     @Override
     public List<Exercise> findAllExercises() {
         return exerciseRepository.findAll();
     }
 
+    @Override
+    public ExercisePage findExercisesPage(String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        ExerciseCursor after = (cursor == null || cursor.isEmpty()) ? null : ExerciseCursor.decode(cursor);
+
+        // Fetch one extra row to find out whether there is a next page
+        List<Exercise> exercises = exerciseRepository.findPage(after, limit + 1);
+        String nextCursor = null;
+        if (exercises.size() > limit) {
+            exercises = exercises.subList(0, limit);
+            nextCursor = ExerciseCursor.of(exercises.get(limit - 1)).encode();
+        }
+
+        return new ExercisePage(exercises, nextCursor, limit);
+    }
+
     @Override
     public boolean updateExercise(Exercise exercise) {
-        return exerciseRepository.update(exercise);
+        Exercise existing = exerciseRepository.findById(exercise.getId());
+        boolean updated = exerciseRepository.update(exercise);
+        if (updated) {
+            // The exercise may have moved to another user
+            if (existing != null) {
+                goalProgressService.evict(existing.getUserId());
+            }
+            goalProgressService.evict(exercise.getUserId());
+        }
+        return updated;
     }
 
     @Override
     public boolean deleteExercise(Long id) {
-        return exerciseRepository.deleteById(id);
+        Exercise existing = exerciseRepository.findById(id);
+        boolean deleted = exerciseRepository.deleteById(id);
+        if (deleted && existing != null) {
+            goalProgressService.evict(existing.getUserId());
+        }
+        return deleted;
     }
 }
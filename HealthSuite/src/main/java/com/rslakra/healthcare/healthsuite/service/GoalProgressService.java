@@ -0,0 +1,46 @@
+package com.rslakra.healthcare.healthsuite.service;
+
+import com.rslakra.healthcare.healthsuite.model.GoalProgress;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service interface for computing the progress of goals against logged exercises.
+ * 
+ * @author rslakra
+ */
+public interface GoalProgressService {
+
+    /**
+     * Get the progress of all goals of a user on a given day.
+     * The result is cached per user until that user's goals or exercises change.
+     * A failed query is not cached, its exception is thrown to every caller waiting for it.
+     * 
+     * @param userId the user ID
+     * @param date the day
+     * @return list of goal progress
+     */
+    List<GoalProgress> findProgressByUserId(Long userId, LocalDate date);
+
+    /**
+     * Get the progress of the goals of several users on a given day, computed in parallel
+     * on a bounded executor.
+     * 
+     * @param userIds the user IDs
+     * @param date the day
+     * @return goal progress per user ID, in the order of the given IDs
+     * @throws java.util.concurrent.RejectedExecutionException if the executor has no room for any worker
+     */
+    Map<Long, List<GoalProgress>> findProgressByUserIds(Collection<Long> userIds, LocalDate date);
+
+    /**
+     * Drop the cached progress of a user.
+     * Must be called whenever a goal or an exercise of the user is created, updated or deleted.
+     * 
+     * @param userId the user ID
+     */
+    void evict(Long userId);
+}
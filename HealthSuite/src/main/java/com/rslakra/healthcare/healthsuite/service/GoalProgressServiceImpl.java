@@ -0,0 +1,165 @@
+package com.rslakra.healthcare.healthsuite.service;
+
+import com.rslakra.healthcare.healthsuite.model.GoalProgress;
+import com.rslakra.healthcare.healthsuite.repository.GoalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Service implementation for goal progress.
+ *
+ * The cache keeps one day of progress per user. An entry is a future that the first caller installs and then
+ * completes by running the query outside of the map, while concurrent callers for the same user wait on it.
+ * A failed load is removed again, so errors are never cached.
+ *
+ * An {@link #evict(Long)} removes the entry even while it is still loading. Any entry present after an eviction
+ * was therefore installed after it, and its query started after the write that caused the eviction was committed.
+ *
+ * @author rslakra
+ */
+@Service("goalProgressService")
+public class GoalProgressServiceImpl implements GoalProgressService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GoalProgressServiceImpl.class);
+
+    private final ConcurrentMap<Long, CachedProgress> cache = new ConcurrentHashMap<>();
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    @Qualifier("goalProgressExecutor")
+    private TaskExecutor goalProgressExecutor;
+
+    @Value("${goals.progress.threads:2}")
+    private int threads;
+
+    @Override
+    public List<GoalProgress> findProgressByUserId(Long userId, LocalDate date) {
+        while (true) {
+            CachedProgress cached = cache.get(userId);
+            if (cached != null && cached.date.equals(date)) {
+                return join(cached);
+            }
+
+            CachedProgress loading = new CachedProgress(date);
+            boolean installed = cached == null
+                ? cache.putIfAbsent(userId, loading) == null
+                : cache.replace(userId, cached, loading);
+            if (installed) {
+                return load(userId, loading);
+            }
+            // Another caller installed or evicted an entry in between, look again
+        }
+    }
+
+    private List<GoalProgress> load(Long userId, CachedProgress loading) {
+        LOGGER.debug("Loading goal progress by user ID {} on {}", userId, loading.date);
+        try {
+            List<GoalProgress> progress = List.copyOf(goalRepository.findProgressByUserId(userId, loading.date));
+            loading.progress.complete(progress);
+            return progress;
+        } catch (RuntimeException e) {
+            cache.remove(userId, loading);
+            loading.progress.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static List<GoalProgress> join(CachedProgress cached) {
+        try {
+            return cached.progress.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        return e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+    }
+
+    /**
+     * Runs at most <code>goals.progress.threads</code> tasks per call, which take the next user ID from a shared
+     * queue until it is empty, so a request for many users never floods the executor's queue.
+     */
+    @Override
+    public Map<Long, List<GoalProgress>> findProgressByUserIds(Collection<Long> userIds, LocalDate date) {
+        LOGGER.debug("Finding goal progress of {} users on {}", userIds.size(), date);
+        Queue<Long> pending = new ConcurrentLinkedQueue<>(userIds);
+        Map<Long, List<GoalProgress>> loaded = new ConcurrentHashMap<>();
+        int workers = Math.min(Math.max(1, threads), userIds.size());
+        List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            try {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        Long userId;
+                        while ((userId = pending.poll()) != null) {
+                            loaded.put(userId, findProgressByUserId(userId, date));
+                        }
+                    } catch (RuntimeException e) {
+                        // Stop the other workers, the call fails anyway
+                        pending.clear();
+                        throw e;
+                    }
+                }, goalProgressExecutor));
+            } catch (RejectedExecutionException e) {
+                if (futures.isEmpty()) {
+                    throw e;
+                }
+                // The executor is saturated, the workers already submitted take the remaining users
+                LOGGER.debug("Loading goal progress with {} of {} workers", futures.size(), workers);
+                break;
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+
+        Map<Long, List<GoalProgress>> progress = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            progress.put(userId, loaded.get(userId));
+        }
+        return progress;
+    }
+
+    @Override
+    public void evict(Long userId) {
+        if (userId != null) {
+            LOGGER.debug("Evicting goal progress of user ID {}", userId);
+            cache.remove(userId);
+        }
+    }
+
+    private static final class CachedProgress {
+
+        private final LocalDate date;
+        private final CompletableFuture<List<GoalProgress>> progress = new CompletableFuture<>();
+
+        private CachedProgress(LocalDate date) {
+            this.date = date;
+        }
+    }
+}
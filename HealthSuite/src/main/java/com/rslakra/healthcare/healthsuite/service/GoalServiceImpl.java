@@ -22,10 +22,15 @@ public class GoalServiceImpl implements GoalService {
     @Autowired
     private GoalRepository goalRepository;
 
+    @Autowired
+    private GoalProgressService goalProgressService;
+
     @Override
     public Goal saveGoal(Goal goal) {
         LOGGER.debug("Saving goal: {}", goal);
-        return goalRepository.save(goal);
+        Goal saved = goalRepository.save(goal);
+        goalProgressService.evict(saved.getUserId());
+        return saved;
     }
 
     @Override
@@ -49,13 +54,26 @@ public class GoalServiceImpl implements GoalService {
     @Override
     public boolean updateGoal(Goal goal) {
         LOGGER.debug("Updating goal: {}", goal.getId());
-        return goalRepository.update(goal);
+        Goal existing = goalRepository.findById(goal.getId());
+        boolean updated = goalRepository.update(goal);
+        if (updated) {
+            if (existing != null) {
+                goalProgressService.evict(existing.getUserId());
+            }
+            goalProgressService.evict(goal.getUserId());
+        }
+        return updated;
     }
 
     @Override
     public boolean deleteGoal(Long id) {
         LOGGER.debug("Deleting goal by ID: {}", id);
-        return goalRepository.deleteById(id);
+        Goal existing = goalRepository.findById(id);
+        boolean deleted = goalRepository.deleteById(id);
+        if (deleted && existing != null) {
+            goalProgressService.evict(existing.getUserId());
+        }
+        return deleted;
     }
 }
 
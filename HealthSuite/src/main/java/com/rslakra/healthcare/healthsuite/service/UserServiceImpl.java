@@ -1,31 +1,61 @@
 package com.rslakra.healthcare.healthsuite.service;
 
+import com.rslakra.healthcare.healthsuite.cache.BoundedTtlCache;
 import com.rslakra.healthcare.healthsuite.model.User;
 import com.rslakra.healthcare.healthsuite.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+
 /**
  * Service implementation for user operations.
  * 
+ * The ID of the current user is cached by username, as it never changes once the user exists.
+ * The cache is a {@link BoundedTtlCache}: least recently used entries are dropped first and entries expire after a TTL.
+ * Its hits, misses, evictions and current size are published as <code>healthsuite.users.idcache.*</code> metrics.
+ * 
  * @author rslakra
  */
 @Service("userService")
-public class UserServiceImpl implements UserService {
+public class UserServiceImpl implements UserService, MeterBinder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UserServiceImpl.class);
 
     @Autowired
     private UserRepository userRepository;
 
+    @Value("${users.idCache.maxSize:1000}")
+    private int idCacheMaxSize;
+
+    @Value("${users.idCache.ttl:PT10M}")
+    private Duration idCacheTtl;
+
+    private BoundedTtlCache<String, Long> userIds;
+
+    @PostConstruct
+    public void init() {
+        userIds = new BoundedTtlCache<>(idCacheMaxSize, idCacheTtl);
+    }
+
     @Override
     public boolean saveUser(User user) {
         LOGGER.debug("Saving user: {}", user.getUsername());
-        return userRepository.save(user);
+        try {
+            return userRepository.save(user);
+        } finally {
+            userIds.remove(user.getUsername());
+        }
     }
 
     @Override
@@ -51,17 +81,53 @@ public class UserServiceImpl implements UserService {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.isAuthenticated() && 
             !authentication.getName().equals("anonymousUser")) {
-            String username = authentication.getName();
-            User user = userRepository.findByUsername(username);
-            return user != null ? user.getId() : null;
+            return findUserIdByUsername(authentication.getName());
         }
         return null;
     }
 
+    /**
+     * Returns the ID of the user with the given username, from the cache when present and not expired.
+     * Unknown usernames are not cached.
+     * 
+     * @param username the username
+     * @return the user ID, or null if not found
+     */
+    private Long findUserIdByUsername(String username) {
+        Long cached = userIds.get(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        User user = userRepository.findByUsername(username);
+        if (user == null || user.getId() == null) {
+            return null;
+        }
+        userIds.put(username, user.getId());
+        return user.getId();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("healthsuite.users.idcache.gets", userIds, BoundedTtlCache::hitCount)
+            .tag("result", "hit")
+            .description("Current user ID lookups served from the cache")
+            .register(registry);
+        FunctionCounter.builder("healthsuite.users.idcache.gets", userIds, BoundedTtlCache::missCount)
+            .tag("result", "miss")
+            .description("Current user ID lookups that went to the database")
+            .register(registry);
+        FunctionCounter.builder("healthsuite.users.idcache.evictions", userIds, BoundedTtlCache::evictionCount)
+            .description("User IDs dropped because the cache was full or the entry expired")
+            .register(registry);
+        Gauge.builder("healthsuite.users.idcache.size", userIds, BoundedTtlCache::size)
+            .description("Number of cached user IDs")
+            .register(registry);
+    }
+
     @Override
     public java.util.List<User> findAllUsers() {
         LOGGER.debug("Finding all users");
         return userRepository.findAll();
     }
 }
-
@@ -98,7 +98,7 @@ create table if not exists `exercises` (
 	minutes int not null,
 	description varchar(500),
 	exercise_date date not null,
-	created_at timestamp default current_timestamp,
+	created_at timestamp not null default current_timestamp,
 	updated_at timestamp default current_timestamp on update current_timestamp,
 	constraint FK_EXERCISES_USERS
 		foreign key (user_id) references users(id) on delete cascade
@@ -107,6 +107,41 @@ create table if not exists `exercises` (
 create index if not exists IDX_EXERCISES_USER_ID on exercises (user_id);
 create index if not exists IDX_EXERCISES_ACTIVITY_TYPE on exercises (activity_type);
 create index if not exists IDX_EXERCISES_EXERCISE_DATE on exercises (exercise_date);
+-- created_at is part of the listing's keyset, so backfill rows of databases created before it was not null
+update exercises set created_at = coalesce(updated_at, cast(exercise_date as timestamp)) where created_at is null;
+alter table exercises alter column created_at set not null;
+-- Serves the keyset-paginated listing ordered by (exercise_date, created_at, id) descending
+create index if not exists IDX_EXERCISES_DATE_CREATED_ID_DESC
+	on exercises (exercise_date desc, created_at desc, id desc);
+
+-- ============================================================================
+-- EXERCISE ROLLUP TABLES
+-- ============================================================================
+-- Pre-aggregated minutes per user, day/week and activity type. Maintained
+-- incrementally by ExerciseRepositoryImpl on every exercise write, and rebuilt
+-- from the exercises table on startup when empty (see ExerciseRollupRepositoryImpl)
+create table if not exists `exercise_daily_rollups` (
+	user_id bigint not null,
+	exercise_date date not null,
+	activity_type varchar(64) not null,
+	total_minutes bigint not null default 0,
+	exercise_count int not null default 0,
+	primary key (user_id, exercise_date, activity_type),
+	constraint FK_EXERCISE_DAILY_ROLLUPS_USERS
+		foreign key (user_id) references users(id) on delete cascade
+);
+
+-- Weeks start on Monday (ISO-8601)
+create table if not exists `exercise_weekly_rollups` (
+	user_id bigint not null,
+	week_start date not null,
+	activity_type varchar(64) not null,
+	total_minutes bigint not null default 0,
+	exercise_count int not null default 0,
+	primary key (user_id, week_start, activity_type),
+	constraint FK_EXERCISE_WEEKLY_ROLLUPS_USERS
+		foreign key (user_id) references users(id) on delete cascade
+);
 
 
 
@@ -0,0 +1,105 @@
+package com.rslakra.healthcare.healthsuite.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the expiry and the least recently used eviction of {@link BoundedTtlCache}.
+ *
+ * @author rslakra
+ */
+class BoundedTtlCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private BoundedTtlCache<String, Long> cache(int maxSize) {
+        return new BoundedTtlCache<>(maxSize, TTL, now::get);
+    }
+
+    @Test
+    void testGet_ShouldReturnUntilTheTtlHasPassed() {
+        BoundedTtlCache<String, Long> cache = cache(10);
+        cache.put("alice", 1L);
+
+        now.addAndGet(TTL.toNanos() - 1);
+        assertEquals(1L, cache.get("alice"));
+
+        now.incrementAndGet();
+        assertNull(cache.get("alice"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void testGet_ShouldNotExtendTheTtl() {
+        BoundedTtlCache<String, Long> cache = cache(10);
+        cache.put("alice", 1L);
+
+        now.addAndGet(TTL.toNanos() / 2);
+        assertEquals(1L, cache.get("alice"));
+        now.addAndGet(TTL.toNanos() / 2);
+        assertNull(cache.get("alice"));
+    }
+
+    @Test
+    void testPut_ShouldRestartTheTtl() {
+        BoundedTtlCache<String, Long> cache = cache(10);
+        cache.put("alice", 1L);
+        now.addAndGet(TTL.toNanos() - 1);
+        cache.put("alice", 2L);
+
+        now.addAndGet(TTL.toNanos() - 1);
+        assertEquals(2L, cache.get("alice"));
+    }
+
+    @Test
+    void testPut_WhenFull_ShouldDropTheLeastRecentlyUsed() {
+        BoundedTtlCache<String, Long> cache = cache(3);
+        cache.put("alice", 1L);
+        cache.put("bob", 2L);
+        cache.put("carol", 3L);
+
+        // alice becomes the most recently used, bob the eldest
+        assertEquals(1L, cache.get("alice"));
+        cache.put("dave", 4L);
+
+        assertEquals(3, cache.size());
+        assertNull(cache.get("bob"));
+        assertEquals(1L, cache.get("alice"));
+        assertEquals(3L, cache.get("carol"));
+        assertEquals(4L, cache.get("dave"));
+        assertEquals(1, cache.evictionCount());
+
+        // The reads above left alice as the least recently used
+        cache.put("erin", 5L);
+        assertNull(cache.get("alice"));
+        assertEquals(3L, cache.get("carol"));
+        assertEquals(2, cache.evictionCount());
+    }
+
+    @Test
+    void testRemove_ShouldDropTheEntry() {
+        BoundedTtlCache<String, Long> cache = cache(3);
+        cache.put("alice", 1L);
+
+        cache.remove("alice");
+
+        assertNull(cache.get("alice"));
+        assertEquals(0, cache.evictionCount());
+    }
+
+    @Test
+    void testConstructor_NonPositiveMaxSize_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> cache(0));
+    }
+}
@@ -0,0 +1,149 @@
+package com.rslakra.healthcare.healthsuite.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the bound and the timeout of {@link ConnectionLimitingDataSource}.
+ *
+ * @author rslakra
+ */
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(targetDataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    }
+
+    private static CompletableFuture<Connection> getConnectionAsync(DataSource dataSource) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static void awaitQueueLength(ConnectionLimitingDataSource dataSource, int queueLength) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dataSource.getQueueLength() != queueLength) {
+            assertTrue(System.nanoTime() < deadline, "Queue length never reached " + queueLength);
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void testGetConnection_BeyondTheLimit_ShouldWaitForAClose() throws Exception {
+        ConnectionLimitingDataSource dataSource =
+            new ConnectionLimitingDataSource(targetDataSource, 2, Duration.ofSeconds(5));
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        CompletableFuture<Connection> third = getConnectionAsync(dataSource);
+        awaitQueueLength(dataSource, 1);
+        assertThrows(TimeoutException.class, () -> third.get(50, TimeUnit.MILLISECONDS));
+
+        first.close();
+        assertNotNull(third.get(5, TimeUnit.SECONDS));
+        assertEquals(0, dataSource.getQueueLength());
+        verify(targetDataSource, times(3)).getConnection();
+    }
+
+    @Test
+    void testGetConnection_Timeout_ShouldThrowTransientException() throws Exception {
+        ConnectionLimitingDataSource dataSource =
+            new ConnectionLimitingDataSource(targetDataSource, 1, Duration.ofMillis(50));
+        dataSource.getConnection();
+
+        long start = System.nanoTime();
+        SQLTransientConnectionException e =
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(e.getMessage().contains("timed out after 50ms"), e.getMessage());
+        verify(targetDataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void testClose_Twice_ShouldReleaseOnePermit() throws Exception {
+        ConnectionLimitingDataSource dataSource =
+            new ConnectionLimitingDataSource(targetDataSource, 1, Duration.ofMillis(50));
+        Connection connection = dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+    }
+
+    @Test
+    void testClose_ShouldCloseTheTargetConnection() throws Exception {
+        Connection target = mock(Connection.class);
+        when(targetDataSource.getConnection()).thenReturn(target);
+        ConnectionLimitingDataSource dataSource =
+            new ConnectionLimitingDataSource(targetDataSource, 1, Duration.ofMillis(50));
+
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        connection.close();
+
+        verify(target).setAutoCommit(false);
+        verify(target).close();
+    }
+
+    @Test
+    void testGetConnection_TargetFailure_ShouldReleaseThePermit() throws Exception {
+        when(targetDataSource.getConnection())
+            .thenThrow(new SQLException("Pool exhausted"))
+            .thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource dataSource =
+            new ConnectionLimitingDataSource(targetDataSource, 1, Duration.ofMillis(50));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertNotNull(dataSource.getConnection());
+    }
+
+    @Test
+    void testGetConnection_Interrupted_ShouldThrowAndKeepTheFlag() throws Exception {
+        ConnectionLimitingDataSource dataSource =
+            new ConnectionLimitingDataSource(targetDataSource, 1, Duration.ofSeconds(5));
+        dataSource.getConnection();
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+}
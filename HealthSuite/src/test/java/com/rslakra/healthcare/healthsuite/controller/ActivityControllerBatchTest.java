@@ -0,0 +1,175 @@
+package com.rslakra.healthcare.healthsuite.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rslakra.healthcare.healthsuite.model.Exercise;
+import com.rslakra.healthcare.healthsuite.service.ExerciseService;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the validation of POST /api/exercises/batch.
+ *
+ * @author rslakra
+ */
+@ExtendWith(MockitoExtension.class)
+class ActivityControllerBatchTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    private static ValidatorFactory validatorFactory;
+
+    @Mock
+    private ExerciseService exerciseService;
+
+    @InjectMocks
+    private ActivityController activityController;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void setUpValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(activityController, "validator", validatorFactory.getValidator());
+        ReflectionTestUtils.setField(activityController, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(activityController, "batchSize", 3);
+
+        AtomicLong ids = new AtomicLong();
+        when(exerciseService.saveAllExercises(anyList())).thenAnswer(invocation -> {
+            List<Exercise> exercises = invocation.getArgument(0);
+            exercises.forEach(exercise -> exercise.setId(ids.incrementAndGet()));
+            return exercises;
+        });
+    }
+
+    private static Exercise exercise(String activity, Integer minutes, String description) {
+        return new Exercise(1L, activity, minutes, description, TODAY);
+    }
+
+    private List<Map<String, Object>> post(List<Exercise> exercises) throws Exception {
+        ResponseEntity<StreamingResponseBody> response = activityController.createExercises(exercises);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        List<Map<String, Object>> lines = new ArrayList<>();
+        for (String line : outputStream.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readValue(line, new TypeReference<Map<String, Object>>() {}));
+        }
+        return lines;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> errors(Map<String, Object> line) {
+        return (List<Map<String, Object>>) line.get("errors");
+    }
+
+    @Test
+    void testCreateExercises_AllValid_ShouldSaveEveryChunk() throws Exception {
+        List<Map<String, Object>> lines = post(Arrays.asList(
+            exercise("Running", 30, null),
+            exercise("Cycling", 120, "Long ride"),
+            exercise("Yoga", 1, ""),
+            exercise("Walking", 45, null)));
+
+        assertEquals(2, lines.size());
+        assertEquals(Boolean.TRUE, lines.get(0).get("success"));
+        assertEquals(3, lines.get(0).get("saved"));
+        assertEquals(Boolean.TRUE, lines.get(1).get("success"));
+        assertEquals(1, lines.get(1).get("saved"));
+        assertEquals(3, lines.get(1).get("offset"));
+        verify(exerciseService, times(2)).saveAllExercises(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateExercises_MixedInput_ShouldSkipInvalidByIndex() throws Exception {
+        List<Map<String, Object>> lines = post(Arrays.asList(
+            exercise("Running", 30, null),
+            exercise(" ", 30, null),
+            exercise("x".repeat(65), 30, null),
+            exercise("Cycling", 121, null),
+            exercise("Swimming", 0, null),
+            exercise("Rowing", 20, "d".repeat(501)),
+            null,
+            exercise("Yoga", 60, "d".repeat(500))));
+
+        assertEquals(3, lines.size());
+
+        List<Map<String, Object>> errors = new ArrayList<>();
+        int saved = 0;
+        for (Map<String, Object> line : lines) {
+            errors.addAll(errors(line));
+            saved += (Integer) line.get("saved");
+        }
+        assertEquals(2, saved);
+        assertEquals(6, errors.size());
+        assertEquals(1, errors.get(0).get("index"));
+        assertTrue(((String) errors.get(0).get("message")).contains("Activity type is required"));
+        assertEquals(2, errors.get(1).get("index"));
+        assertEquals("Activity type must not exceed 64 characters", errors.get(1).get("message"));
+        assertEquals(3, errors.get(2).get("index"));
+        assertEquals("Minutes must be between 1 and 120", errors.get(2).get("message"));
+        assertEquals(4, errors.get(3).get("index"));
+        assertEquals("Minutes must be at least 1, Minutes must be between 1 and 120", errors.get(3).get("message"));
+        assertEquals(5, errors.get(4).get("index"));
+        assertEquals("Description must not exceed 500 characters", errors.get(4).get("message"));
+        assertEquals(6, errors.get(5).get("index"));
+        assertEquals("Exercise is required", errors.get(5).get("message"));
+        assertFalse((Boolean) lines.get(0).get("success"));
+
+        ArgumentCaptor<List<Exercise>> captor = ArgumentCaptor.forClass(List.class);
+        verify(exerciseService, times(3)).saveAllExercises(captor.capture());
+        List<String> activities = new ArrayList<>();
+        captor.getAllValues().forEach(chunk -> chunk.forEach(exercise -> activities.add(exercise.getActivity())));
+        assertEquals(Arrays.asList("Running", "Yoga"), activities);
+    }
+
+    @Test
+    void testCreateExercises_MissingRequiredFields_ShouldReportEach() throws Exception {
+        Exercise exercise = new Exercise();
+        List<Map<String, Object>> lines = post(List.of(exercise));
+
+        assertEquals(1, lines.size());
+        assertEquals(0, lines.get(0).get("saved"));
+        assertEquals("Activity type is required, Exercise date is required, Minutes is required, User ID is required",
+                     errors(lines.get(0)).get(0).get("message"));
+    }
+}
@@ -0,0 +1,196 @@
+package com.rslakra.healthcare.healthsuite.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rslakra.healthcare.healthsuite.model.Exercise;
+import com.rslakra.healthcare.healthsuite.model.SummaryGranularity;
+import com.rslakra.healthcare.healthsuite.service.ExerciseService;
+import com.rslakra.healthcare.healthsuite.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests GET /api/exercises/user/{userId}/export, and the ownership check it shares with the summary.
+ *
+ * @author rslakra
+ */
+@ExtendWith(MockitoExtension.class)
+class ActivityControllerExportTest {
+
+    private static final Long USER_ID = 7L;
+
+    @Mock
+    private ExerciseService exerciseService;
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private ActivityController activityController;
+
+    // Configured like the application's mapper, which writes dates as ISO strings
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(activityController, "objectMapper", objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void login(String... roles) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            "user", null, AuthorityUtils.createAuthorityList(roles)));
+    }
+
+    private static Exercise exercise(Long id, String activity, String description) {
+        Exercise exercise = new Exercise(USER_ID, activity, 30, description, LocalDate.of(2026, 10, 18));
+        exercise.setId(id);
+        exercise.setCreatedAt(LocalDateTime.of(2026, 10, 18, 7, 30));
+        return exercise;
+    }
+
+    private void givenExercises(Exercise... exercises) {
+        doAnswer(invocation -> {
+            Consumer<Exercise> consumer = invocation.getArgument(1);
+            for (Exercise exercise : exercises) {
+                consumer.accept(exercise);
+            }
+            return null;
+        }).when(exerciseService).streamExercisesByUserId(eq(USER_ID), any());
+    }
+
+    private static String write(ResponseEntity<StreamingResponseBody> response) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testExport_Ndjson_ShouldWriteOneObjectPerLine() throws Exception {
+        login("ROLE_USER");
+        when(userService.getCurrentUserId()).thenReturn(USER_ID);
+        givenExercises(exercise(1L, "Running", null), exercise(2L, "Yoga", "Morning"));
+
+        ResponseEntity<StreamingResponseBody> response = activityController.exportExercisesByUserId(USER_ID, "ndjson");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        String[] lines = write(response).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1, first.get("id").asInt());
+        assertEquals("Running", first.get("activity").asText());
+        assertEquals("2026-10-18", first.get("exerciseDate").asText());
+        assertEquals("2026-10-18T07:30:00", first.get("createdAt").asText());
+        assertEquals("Morning", objectMapper.readTree(lines[1]).get("description").asText());
+    }
+
+    @Test
+    void testExport_Csv_ShouldWriteHeaderAndQuoteValues() throws Exception {
+        login("ROLE_USER");
+        when(userService.getCurrentUserId()).thenReturn(USER_ID);
+        givenExercises(exercise(1L, "Running", null), exercise(2L, "Yoga", "Slow, then \"fast\"\nand done"));
+
+        ResponseEntity<StreamingResponseBody> response = activityController.exportExercisesByUserId(USER_ID, "CSV");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("text/csv;charset=UTF-8", response.getHeaders().getContentType().toString());
+        assertEquals("id,user_id,activity_type,minutes,description,exercise_date,created_at,updated_at\n"
+                     + "1,7,Running,30,,2026-10-18,2026-10-18T07:30,\n"
+                     + "2,7,Yoga,30,\"Slow, then \"\"fast\"\"\nand done\",2026-10-18,2026-10-18T07:30,\n",
+                     write(response));
+    }
+
+    @Test
+    void testExport_UnknownFormat_ShouldAnswerBadRequest() {
+        login("ROLE_USER");
+        when(userService.getCurrentUserId()).thenReturn(USER_ID);
+
+        ResponseEntity<StreamingResponseBody> response = activityController.exportExercisesByUserId(USER_ID, "xml");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(exerciseService);
+    }
+
+    @Test
+    void testExport_OtherUser_ShouldAnswerForbidden() {
+        login("ROLE_USER");
+        when(userService.getCurrentUserId()).thenReturn(8L);
+
+        ResponseEntity<StreamingResponseBody> response = activityController.exportExercisesByUserId(USER_ID, "ndjson");
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        assertNull(response.getBody());
+        verifyNoInteractions(exerciseService);
+    }
+
+    @Test
+    void testExport_NotAuthenticated_ShouldAnswerForbidden() {
+        when(userService.getCurrentUserId()).thenReturn(null);
+
+        ResponseEntity<StreamingResponseBody> response = activityController.exportExercisesByUserId(USER_ID, "ndjson");
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verifyNoInteractions(exerciseService);
+    }
+
+    @Test
+    void testExport_Admin_ShouldExportOtherUser() throws Exception {
+        login("ROLE_ADMIN");
+        givenExercises(exercise(1L, "Running", null));
+
+        ResponseEntity<StreamingResponseBody> response = activityController.exportExercisesByUserId(USER_ID, "ndjson");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Running", objectMapper.readTree(write(response).trim()).get("activity").asText());
+    }
+
+    @Test
+    void testSummarize_OtherUser_ShouldAnswerForbidden() {
+        login("ROLE_USER");
+        when(userService.getCurrentUserId()).thenReturn(8L);
+
+        ResponseEntity<Map<String, Object>> response = activityController.summarizeExercises(
+            USER_ID, LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 18), SummaryGranularity.WEEK);
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        assertEquals(Boolean.FALSE, response.getBody().get("success"));
+        verifyNoInteractions(exerciseService);
+    }
+}
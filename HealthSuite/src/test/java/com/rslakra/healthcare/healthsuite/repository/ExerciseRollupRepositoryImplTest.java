@@ -0,0 +1,188 @@
+package com.rslakra.healthcare.healthsuite.repository;
+
+import com.rslakra.healthcare.healthsuite.model.Exercise;
+import com.rslakra.healthcare.healthsuite.model.ExerciseSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that the rollups follow the exercise writes, and their rebuild from the exercises table.
+ *
+ * @author rslakra
+ */
+class ExerciseRollupRepositoryImplTest {
+
+    // A Sunday, so the day after starts a new week
+    private static final LocalDate SUNDAY = LocalDate.of(2026, 10, 18);
+    private static final LocalDate MONDAY = SUNDAY.plusDays(1);
+    private static final LocalDate LAST_MONDAY = SUNDAY.minusDays(6);
+
+    private TestDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ExerciseRollupRepositoryImpl exerciseRollupRepository;
+    private ExerciseRepositoryImpl exerciseRepository;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        database = new TestDatabase();
+        jdbcTemplate = database.getJdbcTemplate();
+        exerciseRollupRepository = new ExerciseRollupRepositoryImpl(jdbcTemplate, database.getTransactionTemplate());
+        exerciseRepository = new ExerciseRepositoryImpl(jdbcTemplate, database.getTransactionTemplate(),
+            exerciseRollupRepository, 2, 500);
+        userId = database.userId("rslakra");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private Exercise exercise(String activity, int minutes, LocalDate exerciseDate) {
+        return new Exercise(userId, activity, minutes, null, exerciseDate);
+    }
+
+    private static String format(List<ExerciseSummary> summaries) {
+        return summaries.stream()
+            .map(summary -> summary.getPeriodStart() + " " + summary.getActivityType() + " "
+                + summary.getTotalMinutes() + "/" + summary.getExerciseCount())
+            .collect(Collectors.joining(", "));
+    }
+
+    private String daily() {
+        return format(exerciseRollupRepository.findDaily(userId, LAST_MONDAY, MONDAY));
+    }
+
+    private String weekly() {
+        return format(exerciseRollupRepository.findWeekly(userId, LAST_MONDAY, MONDAY));
+    }
+
+    @Test
+    void testSave_ShouldAddToDailyAndWeeklyRows() {
+        exerciseRepository.save(exercise("Running", 30, SUNDAY));
+        exerciseRepository.save(exercise("Running", 15, SUNDAY));
+        exerciseRepository.save(exercise("Running", 20, MONDAY));
+        exerciseRepository.save(exercise("Yoga", 40, LAST_MONDAY));
+
+        assertEquals("2026-10-12 Yoga 40/1, 2026-10-18 Running 45/2, 2026-10-19 Running 20/1", daily());
+        assertEquals("2026-10-12 Running 45/2, 2026-10-12 Yoga 40/1, 2026-10-19 Running 20/1", weekly());
+    }
+
+    @Test
+    void testSaveAll_ShouldCollapseDeltasAcrossChunks() {
+        exerciseRepository.saveAll(List.of(
+            exercise("Running", 10, SUNDAY),
+            exercise("Running", 20, SUNDAY),
+            exercise("Running", 30, SUNDAY),
+            exercise("Cycling", 60, MONDAY),
+            exercise("Running", 5, LAST_MONDAY)));
+
+        assertEquals("2026-10-12 Running 5/1, 2026-10-18 Running 60/3, 2026-10-19 Cycling 60/1", daily());
+        assertEquals("2026-10-12 Running 65/4, 2026-10-19 Cycling 60/1", weekly());
+    }
+
+    @Test
+    void testSave_ConcurrentFirstInsert_ShouldMergeAgain() {
+        // The first daily merge loses the race for the row, as if another transaction had just inserted it
+        AtomicInteger duplicates = new AtomicInteger(1);
+        JdbcTemplate racingTemplate = new JdbcTemplate(database.getDataSource()) {
+            @Override
+            public int update(String sql, Object... args) {
+                if (sql.startsWith("MERGE INTO exercise_daily_rollups") && duplicates.getAndDecrement() > 0) {
+                    // Committed on another connection, outside the transaction of the save
+                    CompletableFuture.runAsync(() -> jdbcTemplate.update("INSERT INTO exercise_daily_rollups"
+                        + " (user_id, exercise_date, activity_type, total_minutes, exercise_count)"
+                        + " VALUES (?, ?, 'Running', 15, 1)", userId, Date.valueOf(SUNDAY))).join();
+                    throw new DuplicateKeyException("Unique index or primary key violation");
+                }
+                return super.update(sql, args);
+            }
+        };
+        exerciseRollupRepository = new ExerciseRollupRepositoryImpl(racingTemplate, database.getTransactionTemplate());
+        exerciseRepository = new ExerciseRepositoryImpl(racingTemplate, database.getTransactionTemplate(),
+            exerciseRollupRepository, 2, 500);
+
+        exerciseRepository.save(exercise("Running", 30, SUNDAY));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM exercises", Integer.class));
+        assertEquals("2026-10-18 Running 45/2", daily());
+        assertEquals("2026-10-12 Running 30/1", weekly());
+    }
+
+    @Test
+    void testUpdate_ShouldMoveTheExerciseBetweenRows() {
+        Exercise exercise = exerciseRepository.save(exercise("Running", 30, SUNDAY));
+        exerciseRepository.save(exercise("Running", 10, SUNDAY));
+
+        Exercise updated = exercise("Cycling", 50, MONDAY);
+        updated.setId(exercise.getId());
+        assertTrue(exerciseRepository.update(updated));
+
+        assertEquals("2026-10-18 Running 10/1, 2026-10-19 Cycling 50/1", daily());
+        assertEquals("2026-10-12 Running 10/1, 2026-10-19 Cycling 50/1", weekly());
+    }
+
+    @Test
+    void testDelete_ShouldHideRowsThatDropToZero() {
+        Exercise exercise = exerciseRepository.save(exercise("Running", 30, SUNDAY));
+        exerciseRepository.save(exercise("Yoga", 10, SUNDAY));
+
+        assertTrue(exerciseRepository.deleteById(exercise.getId()));
+
+        assertEquals("2026-10-18 Yoga 10/1", daily());
+        assertEquals("2026-10-12 Yoga 10/1", weekly());
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT total_minutes FROM exercise_daily_rollups WHERE activity_type = 'Running'", Long.class));
+    }
+
+    @Test
+    void testRemove_WithoutRow_ShouldNotInsertNegativeRow() {
+        exerciseRollupRepository.remove(exercise("Running", 30, SUNDAY));
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM exercise_daily_rollups", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM exercise_weekly_rollups", Integer.class));
+    }
+
+    @Test
+    void testRebuildIfEmpty_ShouldMatchIncrementalRollups() {
+        exerciseRepository.saveAll(List.of(
+            exercise("Running", 10, SUNDAY),
+            exercise("Running", 20, SUNDAY),
+            exercise("Cycling", 60, MONDAY),
+            exercise("Yoga", 5, LAST_MONDAY)));
+        String expectedDaily = daily();
+        String expectedWeekly = weekly();
+
+        jdbcTemplate.update("DELETE FROM exercise_daily_rollups");
+        jdbcTemplate.update("DELETE FROM exercise_weekly_rollups");
+        assertTrue(exerciseRollupRepository.rebuildIfEmpty());
+
+        assertEquals(expectedDaily, daily());
+        assertEquals(expectedWeekly, weekly());
+    }
+
+    @Test
+    void testRebuildIfEmpty_ShouldSkipWhenRollupsOrExercisesExist() {
+        assertFalse(exerciseRollupRepository.rebuildIfEmpty());
+
+        jdbcTemplate.update("INSERT INTO exercises (user_id, activity_type, minutes, exercise_date) VALUES (?, ?, ?, ?)",
+            userId, "Running", 30, Date.valueOf(SUNDAY));
+        assertTrue(exerciseRollupRepository.rebuildIfEmpty());
+        assertFalse(exerciseRollupRepository.rebuildIfEmpty());
+        assertEquals("2026-10-18 Running 30/1", daily());
+    }
+}
@@ -0,0 +1,60 @@
+package com.rslakra.healthcare.healthsuite.repository;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Private in-memory H2 database initialized from db/schema.sql, the same way the application does on startup.
+ *
+ * @author rslakra
+ */
+public class TestDatabase {
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public TestDatabase() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:test-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        runSchema();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    /**
+     * Run db/schema.sql again, as a restart of the application would.
+     */
+    public void runSchema() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/schema.sql")).execute(dataSource);
+    }
+
+    /**
+     * @param username the username of one of the default users
+     * @return the id of the user
+     */
+    public Long userId(String username) {
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, username);
+    }
+
+    public void shutdown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    public TransactionTemplate getTransactionTemplate() {
+        return transactionTemplate;
+    }
+}
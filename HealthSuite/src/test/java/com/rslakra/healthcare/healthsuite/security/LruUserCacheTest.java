@@ -0,0 +1,127 @@
+package com.rslakra.healthcare.healthsuite.security;
+
+import com.rslakra.healthcare.healthsuite.cache.BoundedTtlCache;
+import com.rslakra.healthcare.healthsuite.repository.TestDatabase;
+import com.rslakra.healthcare.healthsuite.repository.UserRepositoryImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the login user cache, its metrics, and its eviction by {@link UserRepositoryImpl}.
+ *
+ * @author rslakra
+ */
+class LruUserCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private LruUserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new LruUserCache(new BoundedTtlCache<>(2, TTL, now::get));
+        userCache.bindTo(registry);
+    }
+
+    private static UserDetails user(String username) {
+        return User.withUsername(username).password("secret").roles("USER").build();
+    }
+
+    private double gets(String result) {
+        return registry.get("healthsuite.users.cache.gets").tag("result", result).functionCounter().count();
+    }
+
+    private double evictions() {
+        return registry.get("healthsuite.users.cache.evictions").functionCounter().count();
+    }
+
+    @Test
+    void testGetUserFromCache_ShouldReturnCopiesThatSurviveErasure() {
+        userCache.putUserInCache(user("alice"));
+
+        User principal = (User) userCache.getUserFromCache("alice");
+        principal.eraseCredentials();
+
+        UserDetails cached = userCache.getUserFromCache("alice");
+        assertEquals("secret", cached.getPassword());
+        assertEquals(principal.getAuthorities(), cached.getAuthorities());
+    }
+
+    @Test
+    void testPutUserInCache_ShouldStoreACopy() {
+        User user = (User) user("alice");
+        userCache.putUserInCache(user);
+        user.eraseCredentials();
+
+        assertEquals("secret", userCache.getUserFromCache("alice").getPassword());
+    }
+
+    @Test
+    void testGetUserFromCache_ShouldCountHitsAndMisses() {
+        assertNull(userCache.getUserFromCache("alice"));
+        userCache.putUserInCache(user("alice"));
+        assertNotNull(userCache.getUserFromCache("alice"));
+        assertNotNull(userCache.getUserFromCache("alice"));
+
+        assertEquals(2, gets("hit"));
+        assertEquals(1, gets("miss"));
+    }
+
+    @Test
+    void testGetUserFromCache_Expired_ShouldMissAndCountAnEviction() {
+        userCache.putUserInCache(user("alice"));
+        now.addAndGet(TTL.toNanos());
+
+        assertNull(userCache.getUserFromCache("alice"));
+        assertEquals(1, evictions());
+        assertEquals(0, registry.get("healthsuite.users.cache.size").gauge().value());
+    }
+
+    @Test
+    void testPutUserInCache_WhenFull_ShouldDropTheLeastRecentlyUsed() {
+        userCache.putUserInCache(user("alice"));
+        userCache.putUserInCache(user("bob"));
+        userCache.getUserFromCache("alice");
+        userCache.putUserInCache(user("carol"));
+
+        assertNull(userCache.getUserFromCache("bob"));
+        assertNotNull(userCache.getUserFromCache("alice"));
+        assertEquals(1, evictions());
+        assertEquals(2, registry.get("healthsuite.users.cache.size").gauge().value());
+    }
+
+    @Test
+    void testUserRepositorySave_ShouldEvictOnlyWhenEnabledChanges() {
+        TestDatabase database = new TestDatabase();
+        try {
+            UserRepositoryImpl userRepository = new UserRepositoryImpl(database.getJdbcTemplate(), userCache);
+            com.rslakra.healthcare.healthsuite.model.User user = userRepository.findByUsername("rlakra");
+            userCache.putUserInCache(user("rlakra"));
+
+            user.setFirstName("Renamed");
+            assertTrue(userRepository.save(user));
+            assertNotNull(userCache.getUserFromCache("rlakra"));
+
+            user.setEnabled(false);
+            assertTrue(userRepository.save(user));
+            assertNull(userCache.getUserFromCache("rlakra"));
+            assertFalse(userRepository.findByUsername("rlakra").getEnabled());
+        } finally {
+            database.shutdown();
+        }
+    }
+}
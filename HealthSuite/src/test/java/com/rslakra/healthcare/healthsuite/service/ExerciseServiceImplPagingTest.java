@@ -0,0 +1,168 @@
+package com.rslakra.healthcare.healthsuite.service;
+
+import com.rslakra.healthcare.healthsuite.model.Exercise;
+import com.rslakra.healthcare.healthsuite.model.ExerciseCursor;
+import com.rslakra.healthcare.healthsuite.model.ExercisePage;
+import com.rslakra.healthcare.healthsuite.repository.ExerciseRepositoryImpl;
+import com.rslakra.healthcare.healthsuite.repository.ExerciseRollupRepositoryImpl;
+import com.rslakra.healthcare.healthsuite.repository.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the keyset pagination of the exercise listing against the real schema.
+ *
+ * @author rslakra
+ */
+class ExerciseServiceImplPagingTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 18);
+    private static final LocalDateTime NOON = DAY.atTime(12, 0);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO exercises (user_id, activity_type, minutes, exercise_date, created_at) VALUES (?, 'Running', 30, ?, ?)";
+
+    private TestDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ExerciseServiceImpl exerciseService;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        database = new TestDatabase();
+        jdbcTemplate = database.getJdbcTemplate();
+        ExerciseRepositoryImpl exerciseRepository = new ExerciseRepositoryImpl(jdbcTemplate,
+            database.getTransactionTemplate(),
+            new ExerciseRollupRepositoryImpl(jdbcTemplate, database.getTransactionTemplate()), 1000, 500);
+        exerciseService = new ExerciseServiceImpl();
+        ReflectionTestUtils.setField(exerciseService, "exerciseRepository", exerciseRepository);
+        userId = database.userId("rslakra");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private Long insert(LocalDate exerciseDate, LocalDateTime createdAt) {
+        jdbcTemplate.update(INSERT_SQL, userId, Date.valueOf(exerciseDate),
+            createdAt != null ? Timestamp.valueOf(createdAt) : null);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM exercises", Long.class);
+    }
+
+    private List<List<Long>> walk(int size) {
+        List<List<Long>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            ExercisePage page = exerciseService.findExercisesPage(cursor, size);
+            pages.add(page.getExercises().stream().map(Exercise::getId).collect(Collectors.toList()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return pages;
+    }
+
+    @Test
+    void testFindExercisesPage_FullLastPage_ShouldHaveNoNextCursor() {
+        Long first = insert(DAY, NOON);
+        Long second = insert(DAY, NOON.plusHours(1));
+        Long third = insert(DAY.minusDays(1), NOON);
+        Long fourth = insert(DAY.minusDays(2), NOON);
+
+        assertEquals(List.of(List.of(second, first), List.of(third, fourth)), walk(2));
+        assertEquals(List.of(List.of(second, first, third, fourth)), walk(4));
+        assertEquals(List.of(List.of(second, first, third), List.of(fourth)), walk(3));
+    }
+
+    @Test
+    void testFindExercisesPage_TiedTimestamps_ShouldBreakTiesById() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(insert(DAY, NOON));
+        }
+
+        List<List<Long>> pages = walk(2);
+        assertEquals(List.of(List.of(ids.get(4), ids.get(3)), List.of(ids.get(2), ids.get(1)), List.of(ids.get(0))),
+            pages);
+    }
+
+    @Test
+    void testFindExercisesPage_Empty_ShouldReturnSingleEmptyPage() {
+        ExercisePage page = exerciseService.findExercisesPage(null, 10);
+
+        assertEquals(0, page.getExercises().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testFindExercisesPage_ShouldCapPageSize() {
+        insert(DAY, NOON);
+
+        assertEquals(500, exerciseService.findExercisesPage(null, 10_000).getSize());
+        assertEquals(1, exerciseService.findExercisesPage(null, 0).getSize());
+        assertEquals(1, exerciseService.findExercisesPage(null, -5).getSize());
+    }
+
+    @Test
+    void testFindExercisesPage_MalformedCursor_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> exerciseService.findExercisesPage("not-a-cursor", 10));
+        String noCreatedAt = Base64.getUrlEncoder().encodeToString("2026-10-18|null|1".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> exerciseService.findExercisesPage(noCreatedAt, 10));
+    }
+
+    @Test
+    void testInsert_NullCreatedAt_ShouldBeRejected() {
+        assertThrows(DataIntegrityViolationException.class, () -> insert(DAY, null));
+    }
+
+    @Test
+    void testSchema_NullCreatedAtFromOlderDatabase_ShouldBeBackfilled() {
+        // A database created before created_at was not null
+        jdbcTemplate.execute("ALTER TABLE exercises ALTER COLUMN created_at SET NULL");
+        Long withTimestamp = insert(DAY, NOON);
+        Long withoutTimestamp = insert(DAY, null);
+        Long olderWithoutTimestamp = insert(DAY.minusDays(1), null);
+        jdbcTemplate.update("UPDATE exercises SET updated_at = NULL WHERE id = ?", olderWithoutTimestamp);
+
+        database.runSchema();
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM exercises WHERE created_at IS NULL", Integer.class));
+        assertEquals(DAY.minusDays(1).atStartOfDay(), jdbcTemplate.queryForObject(
+            "SELECT created_at FROM exercises WHERE id = ?", Timestamp.class, olderWithoutTimestamp).toLocalDateTime());
+        assertThrows(DataIntegrityViolationException.class, () -> insert(DAY, null));
+
+        List<Long> ids = walk(1).stream().flatMap(List::stream).collect(Collectors.toList());
+        assertEquals(3, ids.size());
+        assertEquals(olderWithoutTimestamp, ids.get(2));
+        assertEquals(List.of(withTimestamp, withoutTimestamp), List.of(ids.get(0), ids.get(1)).stream().sorted()
+            .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testCursor_ShouldRoundTrip() {
+        ExerciseCursor cursor = new ExerciseCursor(DAY, NOON.withNano(123_000_000), 42L);
+        ExerciseCursor decoded = ExerciseCursor.decode(cursor.encode());
+
+        assertEquals(cursor.getExerciseDate(), decoded.getExerciseDate());
+        assertEquals(cursor.getCreatedAt(), decoded.getCreatedAt());
+        assertEquals(cursor.getId(), decoded.getId());
+    }
+}
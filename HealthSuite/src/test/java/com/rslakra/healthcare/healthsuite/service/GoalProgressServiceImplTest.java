@@ -0,0 +1,242 @@
+package com.rslakra.healthcare.healthsuite.service;
+
+import com.rslakra.healthcare.healthsuite.config.ExecutorConfig;
+import com.rslakra.healthcare.healthsuite.model.GoalProgress;
+import com.rslakra.healthcare.healthsuite.repository.GoalRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the per-user goal progress cache and its eviction.
+ *
+ * @author rslakra
+ */
+@ExtendWith(MockitoExtension.class)
+class GoalProgressServiceImplTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+    private static final Long USER_ID = 2L;
+
+    @Mock
+    private GoalRepository goalRepository;
+
+    @InjectMocks
+    private GoalProgressServiceImpl goalProgressService;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        useExecutor(2, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    private void useExecutor(int threads, int queueCapacity) {
+        if (executor != null) {
+            executor.shutdown();
+        }
+        TaskExecutor taskExecutor = new ExecutorConfig().goalProgressExecutor(threads, queueCapacity, false);
+        executor = (ThreadPoolTaskExecutor) taskExecutor;
+        ReflectionTestUtils.setField(goalProgressService, "goalProgressExecutor", executor);
+        ReflectionTestUtils.setField(goalProgressService, "threads", threads);
+    }
+
+    private static List<GoalProgress> progress(Long userId, long loggedMinutes) {
+        return List.of(new GoalProgress(1L, userId, "Running", TODAY, 30, loggedMinutes, 1));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void testFindProgressByUserId_ShouldCacheForTheDay() {
+        when(goalRepository.findProgressByUserId(USER_ID, TODAY)).thenReturn(progress(USER_ID, 10));
+
+        List<GoalProgress> first = goalProgressService.findProgressByUserId(USER_ID, TODAY);
+        List<GoalProgress> second = goalProgressService.findProgressByUserId(USER_ID, TODAY);
+
+        assertSame(first, second);
+        verify(goalRepository, times(1)).findProgressByUserId(USER_ID, TODAY);
+    }
+
+    @Test
+    void testFindProgressByUserId_OtherDay_ShouldReplaceTheEntry() {
+        LocalDate tomorrow = TODAY.plusDays(1);
+        when(goalRepository.findProgressByUserId(eq(USER_ID), any())).thenReturn(progress(USER_ID, 10));
+
+        goalProgressService.findProgressByUserId(USER_ID, TODAY);
+        goalProgressService.findProgressByUserId(USER_ID, tomorrow);
+        goalProgressService.findProgressByUserId(USER_ID, tomorrow);
+
+        verify(goalRepository, times(1)).findProgressByUserId(USER_ID, TODAY);
+        verify(goalRepository, times(1)).findProgressByUserId(USER_ID, tomorrow);
+    }
+
+    @Test
+    void testEvict_ShouldReload() {
+        when(goalRepository.findProgressByUserId(USER_ID, TODAY))
+            .thenReturn(progress(USER_ID, 10))
+            .thenReturn(progress(USER_ID, 40));
+
+        goalProgressService.findProgressByUserId(USER_ID, TODAY);
+        goalProgressService.evict(USER_ID);
+        List<GoalProgress> reloaded = goalProgressService.findProgressByUserId(USER_ID, TODAY);
+
+        assertEquals(40, reloaded.get(0).getLoggedMinutes());
+        verify(goalRepository, times(2)).findProgressByUserId(USER_ID, TODAY);
+    }
+
+    @Test
+    void testFindProgressByUserId_Failure_ShouldPropagateAndNotBeCached() {
+        when(goalRepository.findProgressByUserId(USER_ID, TODAY))
+            .thenThrow(new DataAccessResourceFailureException("Database down"))
+            .thenReturn(progress(USER_ID, 10));
+
+        assertThrows(DataAccessResourceFailureException.class,
+            () -> goalProgressService.findProgressByUserId(USER_ID, TODAY));
+        List<GoalProgress> loaded = goalProgressService.findProgressByUserId(USER_ID, TODAY);
+
+        assertEquals(1, loaded.size());
+        verify(goalRepository, times(2)).findProgressByUserId(USER_ID, TODAY);
+    }
+
+    @Test
+    void testFindProgressByUserId_ConcurrentCallers_ShouldShareOneLoad() {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(goalRepository.findProgressByUserId(USER_ID, TODAY)).thenAnswer(invocation -> {
+            loading.countDown();
+            await(release);
+            return progress(USER_ID, 10);
+        });
+
+        CompletableFuture<List<GoalProgress>> first =
+            CompletableFuture.supplyAsync(() -> goalProgressService.findProgressByUserId(USER_ID, TODAY));
+        await(loading);
+        CompletableFuture<List<GoalProgress>> second =
+            CompletableFuture.supplyAsync(() -> goalProgressService.findProgressByUserId(USER_ID, TODAY));
+        release.countDown();
+
+        assertSame(first.join(), second.join());
+        verify(goalRepository, times(1)).findProgressByUserId(USER_ID, TODAY);
+    }
+
+    @Test
+    void testEvict_DuringLoad_ShouldNotBlockAndShouldDropTheLoadingEntry() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        when(goalRepository.findProgressByUserId(USER_ID, TODAY)).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() == 1) {
+                loading.countDown();
+                await(release);
+                return progress(USER_ID, 10);
+            }
+            return progress(USER_ID, 40);
+        });
+
+        CompletableFuture<List<GoalProgress>> stale =
+            CompletableFuture.supplyAsync(() -> goalProgressService.findProgressByUserId(USER_ID, TODAY));
+        await(loading);
+        // Returns while the query is still running, no lock is held during it
+        CompletableFuture.runAsync(() -> goalProgressService.evict(USER_ID)).get(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        assertEquals(10, stale.join().get(0).getLoggedMinutes());
+        assertEquals(40, goalProgressService.findProgressByUserId(USER_ID, TODAY).get(0).getLoggedMinutes());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testFindProgressByUserIds_ShouldKeepTheOrderOfTheUserIds() {
+        when(goalRepository.findProgressByUserId(anyLong(), eq(TODAY)))
+            .thenAnswer(invocation -> progress(invocation.getArgument(0), 10));
+        List<Long> userIds = List.of(5L, 3L, 9L, 1L, 7L);
+
+        Map<Long, List<GoalProgress>> progress = goalProgressService.findProgressByUserIds(userIds, TODAY);
+
+        assertEquals(userIds, List.copyOf(progress.keySet()));
+        progress.forEach((userId, goals) -> assertEquals(userId, goals.get(0).getUserId()));
+    }
+
+    @Test
+    void testFindProgressByUserIds_ShouldRunAtMostThreadsLoadsAtOnce() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(goalRepository.findProgressByUserId(anyLong(), eq(TODAY))).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            return progress(invocation.getArgument(0), 10);
+        });
+        List<Long> userIds = List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+
+        assertEquals(8, goalProgressService.findProgressByUserIds(userIds, TODAY).size());
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    void testFindProgressByUserIds_Failure_ShouldPropagate() {
+        when(goalRepository.findProgressByUserId(anyLong(), eq(TODAY))).thenAnswer(invocation -> {
+            if (invocation.getArgument(0).equals(3L)) {
+                throw new DataAccessResourceFailureException("Database down");
+            }
+            return progress(invocation.getArgument(0), 10);
+        });
+
+        assertThrows(DataAccessResourceFailureException.class,
+            () -> goalProgressService.findProgressByUserIds(List.of(1L, 2L, 3L, 4L), TODAY));
+    }
+
+    @Test
+    void testFindProgressByUserIds_SaturatedExecutor_ShouldRejectInsteadOfRunningOnTheCaller() {
+        useExecutor(1, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> await(release));
+
+        try {
+            assertThrows(RejectedExecutionException.class,
+                () -> goalProgressService.findProgressByUserIds(List.of(1L, 2L), TODAY));
+        } finally {
+            release.countDown();
+        }
+    }
+}
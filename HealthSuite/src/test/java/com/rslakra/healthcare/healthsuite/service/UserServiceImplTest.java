@@ -0,0 +1,76 @@
+package com.rslakra.healthcare.healthsuite.service;
+
+import com.rslakra.healthcare.healthsuite.model.User;
+import com.rslakra.healthcare.healthsuite.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the cached current user ID and its metrics.
+ *
+ * @author rslakra
+ */
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserServiceImpl userService;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userService, "idCacheMaxSize", 10);
+        ReflectionTestUtils.setField(userService, "idCacheTtl", Duration.ofMinutes(10));
+        userService.init();
+        userService.bindTo(registry);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            "alice", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private double gets(String result) {
+        return registry.get("healthsuite.users.idcache.gets").tag("result", result).functionCounter().count();
+    }
+
+    @Test
+    void testGetCurrentUserId_ShouldCacheAndPublishMetrics() {
+        User alice = new User();
+        alice.setId(7L);
+        alice.setUsername("alice");
+        when(userRepository.findByUsername("alice")).thenReturn(alice);
+
+        assertEquals(7L, userService.getCurrentUserId());
+        assertEquals(7L, userService.getCurrentUserId());
+
+        verify(userRepository, times(1)).findByUsername("alice");
+        assertEquals(1, gets("hit"));
+        assertEquals(1, gets("miss"));
+        assertEquals(0, registry.get("healthsuite.users.idcache.evictions").functionCounter().count());
+        assertEquals(1, registry.get("healthsuite.users.idcache.size").gauge().value());
+    }
+}
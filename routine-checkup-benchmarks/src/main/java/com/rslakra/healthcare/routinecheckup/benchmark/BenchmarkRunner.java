@@ -0,0 +1,28 @@
+package com.rslakra.healthcare.routinecheckup.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the JMH benchmarks, writing JSON results to <code>target/jmh-result.json</code>
+ * unless a result format or file is given on the command line. All JMH options are accepted.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf") && !options.contains("-rff")) {
+            options.addAll(List.of("-rf", "json", "-rff", "target/jmh-result.json"));
+        }
+        Main.main(options.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,115 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.security;
+
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.JwtConstants;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.Messages;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.RegistrationConstants;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.impl.DefaultClaims;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.crypto.SecretKey;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-token cost of {@link TokenServiceImpl} against the previous implementation,
+ * which derived the key and built a new parser on every call (the <code>*PerCall</code> benchmarks).
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenServiceBenchmark {
+
+    private static final String KEY
+        = "ZlTwN91K_Jj-hGiTuHLEGEleRvZa8I2gmjxaroh6EExOmMmmRB0K42FTBmKfQljwABCDEFGHIJKLMNOPQRSTUVWXYZ1234567890";
+    private static final String PREVIOUS_KEY
+        = "2kc_g4UZh_lty07ow5PW4-mj2vjfgh3DOJh3W6_ONEZSgKNau_CtANzUp0psBG0BABCDEFGHIJKLMNOPQRSTUVWXYZ1234567890";
+    private static final String LOGIN_FIELD_NAME = "login";
+    private static final long EXPIRATION_TIME_MS = TimeUnit.DAYS.toMillis(1);
+
+    private TokenServiceImpl tokenService;
+    private UserDetails userDetails;
+    private String token;
+    private String previousKeyToken;
+
+    @Setup
+    public void setUp() {
+        JwtConstants jwtConstants = stub(JwtConstants.class, Map.of(
+            "getJwtKey", KEY,
+            "getPreviousJwtKeys", new String[] {PREVIOUS_KEY},
+            "getExpirationTimeMs", EXPIRATION_TIME_MS,
+            "getLoginFieldName", LOGIN_FIELD_NAME));
+        RegistrationConstants registrationConstants = stub(RegistrationConstants.class, Map.of(
+            "getRegistrationTokenKey", PREVIOUS_KEY,
+            "getPreviousRegistrationTokenKeys", new String[0]));
+        tokenService = new TokenServiceImpl(jwtConstants, registrationConstants, stub(Messages.class, Map.of()));
+
+        userDetails = User.withUsername("rslakra").password("secret").roles("USER").build();
+        token = tokenService.generateToken(userDetails);
+        previousKeyToken = new JwtKeySet(PREVIOUS_KEY).sign(Map.of(LOGIN_FIELD_NAME, "rslakra"),
+            new Date(System.currentTimeMillis() + EXPIRATION_TIME_MS));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateTokenPerCall() {
+        long nowMs = System.currentTimeMillis();
+        SecretKey key = Keys.hmacShaKeyFor(KEY.getBytes(StandardCharsets.UTF_8));
+        return Jwts.builder()
+            .claims(Map.of(Claims.ISSUED_AT, nowMs / 1000, Claims.NOT_BEFORE, nowMs / 1000,
+                LOGIN_FIELD_NAME, userDetails.getUsername()))
+            .expiration(new Date(nowMs + EXPIRATION_TIME_MS))
+            .signWith(key)
+            .compact();
+    }
+
+    @Benchmark
+    public DefaultClaims parse() {
+        return tokenService.parse(token);
+    }
+
+    @Benchmark
+    public DefaultClaims parsePreviousKey() {
+        return tokenService.parse(previousKeyToken);
+    }
+
+    @Benchmark
+    public DefaultClaims parsePerCall() {
+        SecretKey key = Keys.hmacShaKeyFor(KEY.getBytes(StandardCharsets.UTF_8));
+        return (DefaultClaims) Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Implements the constants interface with the given getter values (null for the others).
+     */
+    private static <T> T stub(Class<T> type, Map<String, Object> values) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+            (proxy, method, args) -> values.get(method.getName())));
+    }
+}
@@ -4,12 +4,14 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.data.map.repository.config.EnableMapRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @PropertySource(value = {
     "classpath:messages.properties",
     "classpath:mail_messages.properties"
 }, encoding = "UTF-8")
 @EnableMapRepositories
+@EnableScheduling
 @SpringBootApplication
 public class RoutineCheckupApplication {
 
@@ -4,8 +4,10 @@ import com.rslakra.healthcare.routinecheckup.service.UserService;
 import com.rslakra.healthcare.routinecheckup.utils.constants.ViewNames;
 import com.rslakra.healthcare.routinecheckup.utils.security.Roles;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
@@ -50,6 +52,7 @@ import jakarta.servlet.Filter;
  *   <li>Static resources (CSS, JS, images)</li>
  *   <li>H2 console (development only)</li>
  *   <li>Login and registration pages</li>
+ *   <li>Actuator endpoints, served on the loopback management port only</li>
  * </ul>
  * 
  * @author Rohtash Lakra
@@ -102,6 +105,30 @@ public class SecurityConfig {
      */
     private final Filter loginDebugFilter;
 
+    /**
+     * Configures the security filter chain of the actuator endpoints.
+     * 
+     * <p>The endpoints are only served on the management port, which listens on 127.0.0.1, so they are
+     * permitted without going through the JWT and form-login chain below.
+     * 
+     * @param http the HttpSecurity object to configure
+     * @return the configured SecurityFilterChain
+     * @throws Exception if configuration fails
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                );
+
+        return http.build();
+    }
+
     /**
      * Configures the security filter chain for the application.
      * 
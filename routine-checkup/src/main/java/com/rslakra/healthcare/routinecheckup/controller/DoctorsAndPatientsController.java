@@ -2,8 +2,8 @@ package com.rslakra.healthcare.routinecheckup.controller;
 
 
 import com.rslakra.healthcare.routinecheckup.dto.request.ProfilePicRequestDto;
-import com.rslakra.healthcare.routinecheckup.dto.response.UserDoctorsAndPatients;
-import com.rslakra.healthcare.routinecheckup.service.UserService;
+import com.rslakra.healthcare.routinecheckup.dto.response.UserDoctorsAndPatientsView;
+import com.rslakra.healthcare.routinecheckup.service.DoctorsAndPatientsReadModel;
 import com.rslakra.healthcare.routinecheckup.utils.constants.ModelAttributesNames;
 import com.rslakra.healthcare.routinecheckup.utils.constants.ViewNames;
 import lombok.RequiredArgsConstructor;
@@ -23,13 +23,13 @@ import java.security.Principal;
 @RequiredArgsConstructor
 public class DoctorsAndPatientsController {
 
-    private final UserService userService;
+    private final DoctorsAndPatientsReadModel doctorsAndPatientsReadModel;
 
     @GetMapping
     public String doctorsAndPatientsList(Model model, Principal principal) {
         String login = principal.getName();
-        UserDoctorsAndPatients userAndPatients
-            = userService.getUserDoctorsAndPatientsByLogin(login);
+        UserDoctorsAndPatientsView userAndPatients
+            = doctorsAndPatientsReadModel.getByLogin(login);
 
         model.addAttribute(
             ModelAttributesNames.USER_DOCTORS_AND_PATIENTS_NAME,
@@ -1,11 +1,18 @@
 package com.rslakra.healthcare.routinecheckup.controller;
 
 import com.rslakra.healthcare.routinecheckup.dto.request.UpdateMonthlyReportRequestDto;
+import com.rslakra.healthcare.routinecheckup.dto.response.MonthlyReportContentDto;
 import com.rslakra.healthcare.routinecheckup.dto.response.MonthlyReportResponseDto;
 import com.rslakra.healthcare.routinecheckup.service.MonthlyReportsService;
 import com.rslakra.healthcare.routinecheckup.utils.constants.ModelAttributesNames;
 import com.rslakra.healthcare.routinecheckup.utils.constants.ViewNames;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,6 +24,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.util.List;
 
@@ -89,6 +97,37 @@ public class MonthlyReportController {
         return "redirect:" + ViewNames.MONTHLY_REPORTS_URL;
     }
 
+    /**
+     * Streams the report from disk. Range requests are answered with 206 and only the requested regions,
+     * and the checksum serves as the ETag.
+     */
+    @GetMapping(value = ViewNames.MONTHLY_REPORTS_URL + "/{file_name}/content")
+    public ResponseEntity<Resource> downloadReport(
+        @PathVariable("file_name") String fileName,
+        Principal principal
+    ) {
+        String login = principal.getName();
+        MonthlyReportContentDto dto
+            = monthlyReportsService.getReportContent(fileName, login);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(
+                MediaTypeFactory.getMediaType(dto.getFileName())
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM)
+            )
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment()
+                    .filename(dto.getFileName(), StandardCharsets.UTF_8)
+                    .build()
+                    .toString()
+            );
+        if (dto.getChecksum() != null) {
+            response.eTag(dto.getChecksum());
+        }
+        return response.body(dto.getContent());
+    }
+
     @DeleteMapping(value = ViewNames.MONTHLY_REPORTS_URL + "/{file_name}")
     @ResponseBody
     public MonthlyReportResponseDto deleteReport(
@@ -0,0 +1,31 @@
+package com.rslakra.healthcare.routinecheckup.dto.response;
+
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * The fields of a doctor shown on the doctors and patients page, read with a JPQL constructor projection.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Getter
+public class DoctorSummaryView {
+
+    private final String id;
+
+    private final UUID userId;
+
+    private final String speciality;
+
+    private final String lastName;
+
+    public DoctorSummaryView(UUID id, UUID userId, String speciality, String lastName) {
+        this.id = id.toString();
+        this.userId = userId;
+        this.speciality = speciality;
+        this.lastName = lastName;
+    }
+
+}
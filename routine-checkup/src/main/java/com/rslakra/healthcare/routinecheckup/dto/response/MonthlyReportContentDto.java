@@ -0,0 +1,19 @@
+package com.rslakra.healthcare.routinecheckup.dto.response;
+
+import lombok.Data;
+import org.springframework.core.io.Resource;
+
+/**
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Data
+public class MonthlyReportContentDto {
+
+    private String fileName;
+
+    private String checksum;
+
+    private Resource content;
+
+}
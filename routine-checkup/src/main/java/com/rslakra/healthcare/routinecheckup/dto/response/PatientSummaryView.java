@@ -0,0 +1,47 @@
+package com.rslakra.healthcare.routinecheckup.dto.response;
+
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * The fields of a patient and its doctor shown on the doctors and patients page,
+ * read with a JPQL constructor projection.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Getter
+public class PatientSummaryView {
+
+    private final String id;
+
+    private final String disease;
+
+    private final Date diseaseOnsetTime;
+
+    private final Date endTimeOfIllness;
+
+    private final DoctorSummaryView doctor;
+
+    public PatientSummaryView(
+        UUID id,
+        String disease,
+        Date diseaseOnsetTime,
+        Date endTimeOfIllness,
+        UUID doctorId,
+        UUID doctorUserId,
+        String doctorSpeciality,
+        String doctorLastName
+    ) {
+        this.id = id.toString();
+        this.disease = disease;
+        this.diseaseOnsetTime = diseaseOnsetTime;
+        this.endTimeOfIllness = endTimeOfIllness;
+        this.doctor = doctorId == null
+            ? null
+            : new DoctorSummaryView(doctorId, doctorUserId, doctorSpeciality, doctorLastName);
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.rslakra.healthcare.routinecheckup.dto.response;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Read model of the doctors and patients page of a user: only what the page shows, immutable so it can be cached.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Getter
+public class UserDoctorsAndPatientsView {
+
+    private final UserSummaryView user;
+
+    private final String userPicUrl;
+
+    private final List<DoctorSummaryView> doctors;
+
+    private final List<PatientSummaryView> patients;
+
+    public UserDoctorsAndPatientsView(
+        UserSummaryView user,
+        List<DoctorSummaryView> doctors,
+        List<PatientSummaryView> patients
+    ) {
+        this.user = user;
+        this.userPicUrl = user.getProfilePicUrl();
+        this.doctors = List.copyOf(doctors);
+        this.patients = List.copyOf(patients);
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.rslakra.healthcare.routinecheckup.dto.response;
+
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * The fields of a user shown on the doctors and patients page, read with a JPQL constructor projection.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Getter
+public class UserSummaryView {
+
+    private final UUID id;
+
+    private final String firstName;
+
+    private final String lastName;
+
+    private final String profilePicUrl;
+
+    public UserSummaryView(UUID id, String firstName, String lastName, String profilePicUrl) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.profilePicUrl = profilePicUrl;
+    }
+
+}
@@ -18,4 +18,10 @@ public class UsersDoctorsAndPatients {
 
     private List<UserDoctorsAndPatients> userDoctorsAndPatients;
 
+    private int page;
+
+    private int size;
+
+    private long totalUsers;
+
 }
@@ -0,0 +1,91 @@
+package com.rslakra.healthcare.routinecheckup.entity;
+
+import com.rslakra.healthcare.routinecheckup.service.mail.EmailType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * An email waiting to be sent, sent, or given up on after too many failed attempts.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Entity
+@Table(
+    name = "mail_outbox",
+    indexes = @Index(name = "idx_mail_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class MailOutboxEntity {
+
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "email_type", length = 32)
+    private EmailType emailType;
+
+    @Column(name = "recipient")
+    private String recipient;
+
+    @Column(name = "subject")
+    private String subject;
+
+    @Lob
+    @Column(name = "body")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 16)
+    private Status status;
+
+    @Column(name = "attempts")
+    private int attempts;
+
+    /**
+     * When the email is due, or while it is being sent, when the dispatcher's claim on it expires
+     */
+    @Column(name = "next_attempt_at")
+    private Date nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at")
+    private Date createdAt;
+
+    @Column(name = "sent_at")
+    private Date sentAt;
+
+    @PrePersist
+    public void prePersist() {
+        id = UUID.randomUUID();
+    }
+
+    public enum Status {
+
+        PENDING,
+
+        SENT,
+
+        DEAD
+
+    }
+
+}
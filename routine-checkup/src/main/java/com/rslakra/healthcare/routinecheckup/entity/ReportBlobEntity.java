@@ -0,0 +1,40 @@
+package com.rslakra.healthcare.routinecheckup.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+/**
+ * The stored content of one or more user files, keyed by its SHA-256, with the number of files referencing it.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Entity
+@Table(name = "report_blobs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReportBlobEntity {
+
+    @Id
+    @Column(name = "checksum", length = 64)
+    private String checksum;
+
+    @Column(name = "file_size")
+    private long fileSize;
+
+    @Column(name = "ref_count")
+    private long refCount;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+}
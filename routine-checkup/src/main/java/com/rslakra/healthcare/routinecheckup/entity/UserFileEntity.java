@@ -6,6 +6,7 @@ import lombok.Setter;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -31,6 +32,13 @@ public class UserFileEntity {
     @Column(name = "original_file_name")
     private String originalFileName;
 
+    /**
+     * The stored content, null for files stored before content addressing until they are migrated
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blob_checksum")
+    private ReportBlobEntity blob;
+
     @ManyToOne
     @JoinColumn(name = "owner_id")
     private UserEntity owner;
@@ -1,13 +1,18 @@
 package com.rslakra.healthcare.routinecheckup.repository;
 
 
+import com.rslakra.healthcare.routinecheckup.dto.response.DoctorSummaryView;
 import com.rslakra.healthcare.routinecheckup.entity.DoctorEntity;
+import com.rslakra.healthcare.routinecheckup.entity.UserEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -17,9 +22,41 @@ import java.util.UUID;
 @Repository
 public interface DoctorRepository extends CrudRepository<DoctorEntity, UUID> {
 
-    @Query("from DoctorEntity d where d.speciality like %:search% or "
-            + "concat(d.userEntity.lastName, ' ', d.userEntity.firstName) like %:search% or "
-            + "concat(d.userEntity.lastName, ' ', d.userEntity.firstName) like %:search%")
-    List<DoctorEntity> findAllBySearchString(@Param("search") String search);
+    String SELECT_SEARCH_DOCUMENTS = "select d.id as id, u.id as userId, d.speciality as speciality,"
+        + " u.firstName as firstName, u.lastName as lastName"
+        + " from DoctorEntity d join d.userEntity u";
+
+    /**
+     * @return The searchable fields of every doctor
+     */
+    @Query(SELECT_SEARCH_DOCUMENTS)
+    List<SearchDocument> findAllSearchDocuments();
+
+    @Query(SELECT_SEARCH_DOCUMENTS + " where d.id = :id")
+    Optional<SearchDocument> findSearchDocumentById(@Param("id") UUID id);
+
+    @Query(SELECT_SEARCH_DOCUMENTS + " where u.id = :userId")
+    List<SearchDocument> findSearchDocumentsByUserId(@Param("userId") UUID userId);
+
+    @EntityGraph(attributePaths = {"userEntity", "userEntity.role"})
+    List<DoctorEntity> findAllByUserEntityIn(Collection<UserEntity> users);
+
+    @Query("select new com.rslakra.healthcare.routinecheckup.dto.response.DoctorSummaryView("
+        + "d.id, u.id, d.speciality, u.lastName) from DoctorEntity d join d.userEntity u where u.id = :userId")
+    List<DoctorSummaryView> findSummariesByUserId(@Param("userId") UUID userId);
+
+    interface SearchDocument {
+
+        UUID getId();
+
+        UUID getUserId();
+
+        String getSpeciality();
+
+        String getFirstName();
+
+        String getLastName();
+
+    }
 
 }
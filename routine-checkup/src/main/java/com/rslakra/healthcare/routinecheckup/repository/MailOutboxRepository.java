@@ -0,0 +1,63 @@
+package com.rslakra.healthcare.routinecheckup.repository;
+
+import com.rslakra.healthcare.routinecheckup.entity.MailOutboxEntity;
+import com.rslakra.healthcare.routinecheckup.entity.MailOutboxEntity.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Repository
+public interface MailOutboxRepository extends CrudRepository<MailOutboxEntity, UUID> {
+
+    List<MailOutboxEntity> findAllByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(
+        Status status,
+        Date now,
+        Pageable pageable
+    );
+
+    long countByStatus(Status status);
+
+    /**
+     * Claims a pending email until <code>claimedUntil</code>, unless another dispatcher claimed it first.
+     *
+     * @return 1 if claimed, 0 otherwise
+     */
+    @Modifying
+    @Query("update MailOutboxEntity m set m.nextAttemptAt = :claimedUntil"
+        + " where m.id = :id and m.status = :status and m.nextAttemptAt = :nextAttemptAt")
+    int claim(
+        @Param("id") UUID id,
+        @Param("status") Status status,
+        @Param("nextAttemptAt") Date nextAttemptAt,
+        @Param("claimedUntil") Date claimedUntil
+    );
+
+    @Modifying
+    @Query("update MailOutboxEntity m set m.status = :status, m.sentAt = :sentAt, m.lastError = null"
+        + " where m.id in :ids")
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("status") Status status, @Param("sentAt") Date sentAt);
+
+    /**
+     * Makes claimed emails due again, without counting an attempt.
+     */
+    @Modifying
+    @Query("update MailOutboxEntity m set m.nextAttemptAt = :now where m.id in :ids and m.status = :status")
+    int release(@Param("ids") Collection<UUID> ids, @Param("status") Status status, @Param("now") Date now);
+
+    @Modifying
+    @Query("delete from MailOutboxEntity m where m.status = :status and m.sentAt < :before")
+    int deleteSentBefore(@Param("status") Status status, @Param("before") Date before);
+
+}
@@ -1,9 +1,16 @@
 package com.rslakra.healthcare.routinecheckup.repository;
 
+import com.rslakra.healthcare.routinecheckup.dto.response.PatientSummaryView;
 import com.rslakra.healthcare.routinecheckup.entity.PatientEntity;
+import com.rslakra.healthcare.routinecheckup.entity.UserEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -13,4 +20,14 @@ import java.util.UUID;
 @Repository
 public interface PatientRepository extends CrudRepository<PatientEntity, UUID> {
 
+    @EntityGraph(attributePaths = {
+        "userEntity", "userEntity.role", "doctor", "doctor.userEntity", "doctor.userEntity.role"
+    })
+    List<PatientEntity> findAllByUserEntityIn(Collection<UserEntity> users);
+
+    @Query("select new com.rslakra.healthcare.routinecheckup.dto.response.PatientSummaryView("
+        + "p.id, p.disease, p.diseaseOnsetTime, p.endTimeOfIllness, d.id, du.id, d.speciality, du.lastName)"
+        + " from PatientEntity p left join p.doctor d left join d.userEntity du where p.userEntity.id = :userId")
+    List<PatientSummaryView> findSummariesByUserId(@Param("userId") UUID userId);
+
 }
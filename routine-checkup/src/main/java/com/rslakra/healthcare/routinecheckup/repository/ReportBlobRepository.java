@@ -0,0 +1,38 @@
+package com.rslakra.healthcare.routinecheckup.repository;
+
+import com.rslakra.healthcare.routinecheckup.entity.ReportBlobEntity;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Repository
+public interface ReportBlobRepository extends CrudRepository<ReportBlobEntity, String> {
+
+    /**
+     * @param shard The leading characters of the checksums
+     * @return The blobs of the shard, with their reference count and the number of files actually referencing them
+     */
+    @Query("select b.checksum as checksum, b.refCount as refCount, count(f) as fileCount"
+        + " from ReportBlobEntity b left join UserFileEntity f on f.blob = b"
+        + " where b.checksum like concat(:shard, '%')"
+        + " group by b.checksum, b.refCount")
+    List<BlobReferences> findReferencesByShard(@Param("shard") String shard);
+
+    interface BlobReferences {
+
+        String getChecksum();
+
+        long getRefCount();
+
+        long getFileCount();
+
+    }
+
+}
@@ -20,4 +20,8 @@ public interface UserFileRepository extends CrudRepository<UserFileEntity, UUID>
 
     List<UserFileEntity> getAllByOwner(UserEntity owner);
 
+    List<UserFileEntity> findAllByBlobIsNull();
+
+    long countByBlobChecksum(String checksum);
+
 }
@@ -1,7 +1,13 @@
 package com.rslakra.healthcare.routinecheckup.repository;
 
+import com.rslakra.healthcare.routinecheckup.dto.response.UserSummaryView;
 import com.rslakra.healthcare.routinecheckup.entity.UserEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Date;
@@ -17,6 +23,13 @@ public interface UserRepository extends CrudRepository<UserEntity, UUID> {
 
     Optional<UserEntity> findByLogin(String login);
 
+    @Query("select new com.rslakra.healthcare.routinecheckup.dto.response.UserSummaryView("
+        + "u.id, u.firstName, u.lastName, u.profilePicUrl) from UserEntity u where u.login = :login")
+    Optional<UserSummaryView> findSummaryByLogin(@Param("login") String login);
+
+    @EntityGraph(attributePaths = "role")
+    Page<UserEntity> findAllBy(Pageable pageable);
+
     void deleteUserEntitiesByCreationTimeBeforeAndIsTemporary(Date registrationExpiredDate, Boolean isTemporary);
 
     boolean existsByLogin(String login);
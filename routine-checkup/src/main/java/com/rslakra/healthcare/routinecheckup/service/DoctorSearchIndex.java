@@ -0,0 +1,48 @@
+package com.rslakra.healthcare.routinecheckup.service;
+
+import com.rslakra.healthcare.routinecheckup.dto.response.DoctorResponseDto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Searches the doctors in memory by speciality and name, instead of scanning the doctors table.
+ * The index is built at startup, rebuilt every <code>doctor_search.rebuild_interval_ms</code> and
+ * refreshed after the transactions that change a doctor or its user commit.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+public interface DoctorSearchIndex {
+
+    /**
+     * Finds the doctors whose speciality or name contains the search string, ignoring case.
+     * Exact matches come first, then matches at the start of a word, then the others, each by name;
+     * at most <code>doctor_search.max_results</code> are returned.
+     *
+     * @param searchString The search string
+     * @return The matching doctors, best first
+     */
+    List<DoctorResponseDto> search(String searchString);
+
+    /**
+     * Reads the doctor in the current transaction, and indexes it once the transaction commits.
+     *
+     * @param doctorId The id of the saved doctor
+     */
+    void refreshDoctor(UUID doctorId);
+
+    /**
+     * Reads the doctors of the user in the current transaction, and re-indexes them once the transaction
+     * commits. Doctors no longer found, for example because the user was deleted, are removed.
+     *
+     * @param userId The id of the updated or deleted user
+     */
+    void refreshUser(UUID userId);
+
+    /**
+     * Builds the index again from the database.
+     */
+    void rebuild();
+
+}
@@ -0,0 +1,31 @@
+package com.rslakra.healthcare.routinecheckup.service;
+
+import com.rslakra.healthcare.routinecheckup.dto.response.UserDoctorsAndPatientsView;
+
+import java.util.UUID;
+
+/**
+ * Serves the doctors and patients page of each user from a cache of read models, keyed by login.
+ * A read model is loaded with three projection queries, kept for <code>doctors_and_patients.cache.ttl_ms</code>,
+ * and dropped as soon as a write to one of the users it shows commits.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+public interface DoctorsAndPatientsReadModel {
+
+    /**
+     * @param login The login of the user
+     * @return The doctors and patients page of the user
+     */
+    UserDoctorsAndPatientsView getByLogin(String login);
+
+    /**
+     * Drops the cached pages that show the user, its doctors or its patients, once the current transaction
+     * commits (or at once, outside a transaction).
+     *
+     * @param userId The id of the user that was written, or that owns the written doctor or patient
+     */
+    void invalidateUser(UUID userId);
+
+}
@@ -1,10 +1,12 @@
 package com.rslakra.healthcare.routinecheckup.service;
 
 import com.rslakra.healthcare.routinecheckup.entity.UserFileEntity;
+import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * @author Rohtash Lakra
@@ -27,4 +29,23 @@ public interface FileComponent {
 
     UserFileEntity getUserFile(String fileName, String login);
 
+    Resource getFileContent(UserFileEntity userFile);
+
+    /**
+     * Moves the content of a file stored before content addressing into its blob.
+     *
+     * @param fileId The ID of the file
+     * @return Whether the file was migrated
+     */
+    boolean migrateLegacyFile(UUID fileId) throws IOException;
+
+    /**
+     * Sets the reference count of the blob to the number of files referencing it,
+     * deleting the blob (and its file) if there are none.
+     *
+     * @param checksum The checksum of the blob, which may only exist on disk
+     * @return Whether the blob was changed or deleted
+     */
+    boolean reconcileBlob(String checksum);
+
 }
@@ -0,0 +1,19 @@
+package com.rslakra.healthcare.routinecheckup.service;
+
+/**
+ * Keeps the doctor payments of the financial report (<code>filestor.path.financial_report</code>) in memory,
+ * parsed once per version of the file. The file's modification time and size are checked at most every
+ * <code>filestor.financial_report.check_interval_ms</code>, and the index is rebuilt when they change.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+public interface FinancialReportIndex {
+
+    /**
+     * @param doctorId The <code>doc_id</code> of the doctor in the report
+     * @return The payment of the doctor, or null if the doctor or the report is missing
+     */
+    Integer getPayment(String doctorId);
+
+}
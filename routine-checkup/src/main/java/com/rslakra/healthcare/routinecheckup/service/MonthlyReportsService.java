@@ -1,6 +1,7 @@
 package com.rslakra.healthcare.routinecheckup.service;
 
 import com.rslakra.healthcare.routinecheckup.dto.request.UpdateMonthlyReportRequestDto;
+import com.rslakra.healthcare.routinecheckup.dto.response.MonthlyReportContentDto;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -21,4 +22,6 @@ public interface MonthlyReportsService {
 
     String getReportName(String reportName, String login);
 
+    MonthlyReportContentDto getReportContent(String reportName, String login);
+
 }
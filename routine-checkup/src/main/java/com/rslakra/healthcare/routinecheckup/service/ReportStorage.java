@@ -0,0 +1,100 @@
+package com.rslakra.healthcare.routinecheckup.service;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores the report contents on disk under <code>filestor.path.monthly_report</code> as blobs keyed by
+ * the SHA-256 of their content, so identical reports are stored once. Reference counting is left to the caller.
+ * The blobs are spread over two levels of shard directories named after the leading characters of the checksum.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+public interface ReportStorage {
+
+    /**
+     * Streams the content to a temporary file, computing its checksum.
+     *
+     * @param content The content, read to its end and closed
+     * @return The staged report, to {@link #publish} or {@link #discard}
+     */
+    StagedReport stage(InputStream content) throws IOException;
+
+    /**
+     * Atomically renames the staged report into place as the blob of its checksum,
+     * unless that blob is already stored.
+     *
+     * @param staged The staged report
+     * @return Whether the blob was created
+     */
+    boolean publish(StagedReport staged) throws IOException;
+
+    /**
+     * Deletes the temporary file of the staged report, if it was not published.
+     *
+     * @param staged The staged report
+     */
+    void discard(StagedReport staged);
+
+    /**
+     * @param checksum The checksum of the blob
+     * @return The blob, which may not exist
+     */
+    Resource load(String checksum);
+
+    /**
+     * @param checksum The checksum of the blob
+     * @return Whether the blob existed
+     */
+    boolean delete(String checksum) throws IOException;
+
+    /**
+     * @param fileName The name of a report stored before content addressing (<code>fileId.extension</code>)
+     * @return The file, which may not exist
+     */
+    Resource loadLegacy(String fileName);
+
+    /**
+     * @param fileName The name of a report stored before content addressing
+     * @return Whether the file existed
+     */
+    boolean deleteLegacy(String fileName) throws IOException;
+
+    /**
+     * @return The names of the top level shards; every blob belongs to exactly one
+     */
+    List<String> getShards();
+
+    /**
+     * @param shard A top level shard
+     * @return The checksum of each blob in the shard, with its last modification time
+     */
+    Map<String, Instant> listBlobs(String shard) throws IOException;
+
+    /**
+     * @return The name of each report stored before content addressing, with its last modification time
+     */
+    Map<String, Instant> listLegacyFiles() throws IOException;
+
+    /**
+     * Deletes the temporary files left behind by uploads that never completed.
+     *
+     * @param cutoff Only files last modified before it are deleted
+     * @return The number of files deleted
+     */
+    int deleteStaleTempFiles(Instant cutoff) throws IOException;
+
+    /**
+     * Moves the blobs stored directly in the base directory into their shards.
+     *
+     * @return The number of blobs moved
+     */
+    int migrateToShardedLayout() throws IOException;
+
+}
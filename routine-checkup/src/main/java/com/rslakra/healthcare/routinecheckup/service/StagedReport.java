@@ -0,0 +1,33 @@
+package com.rslakra.healthcare.routinecheckup.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * A report written to a temporary file by the {@link ReportStorage}, not yet published.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Getter
+@AllArgsConstructor
+public class StagedReport {
+
+    /**
+     * The SHA-256 of the content, hex encoded, which is also the key of the stored blob
+     */
+    private final String checksum;
+
+    /**
+     * The size of the content in bytes
+     */
+    private final long size;
+
+    /**
+     * The temporary file
+     */
+    private final Path file;
+
+}
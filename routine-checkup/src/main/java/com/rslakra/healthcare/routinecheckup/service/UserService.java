@@ -3,11 +3,11 @@ package com.rslakra.healthcare.routinecheckup.service;
 
 import com.rslakra.healthcare.routinecheckup.dto.UserRequestDto;
 import com.rslakra.healthcare.routinecheckup.dto.request.ProfilePicRequestDto;
-import com.rslakra.healthcare.routinecheckup.dto.response.UserDoctorsAndPatients;
 import com.rslakra.healthcare.routinecheckup.dto.response.UserResponseDto;
 import com.rslakra.healthcare.routinecheckup.dto.response.UsersDoctorsAndPatients;
 import com.rslakra.healthcare.routinecheckup.entity.UserEntity;
 import com.rslakra.healthcare.routinecheckup.utils.security.Roles;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 /**
@@ -33,9 +33,15 @@ public interface UserService extends UserDetailsService {
 
     UserResponseDto deleteUserById(String id);
 
-    UserDoctorsAndPatients getUserDoctorsAndPatientsByLogin(String login);
-
-    UsersDoctorsAndPatients getAllUsersDoctorsAndPatients();
+    /**
+     * Loads a page of users, ordered by login unless it is sorted, with their doctors and patients in a fixed number of queries.
+     *
+     * No controller renders the <code>admin</code> template yet, so nothing calls this.
+     *
+     * @param pageable The page to load
+     * @return The users of the page, with their doctors and patients
+     */
+    UsersDoctorsAndPatients getAllUsersDoctorsAndPatients(Pageable pageable);
 
     void completeRegistration(String registrationToken);
 
@@ -13,7 +13,5 @@ public interface XPathService {
 
     NodeList evaluateXpathExpression(String expression, String fullFileName) throws FileNotFoundException;
 
-    String sanitizeExpressionParam(String param);
-
 }
 
@@ -0,0 +1,285 @@
+package com.rslakra.healthcare.routinecheckup.service.filter;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps a copy of the first bytes of a body while it streams through, and counts the rest.
+ * Unlike <code>ContentCachingRequestWrapper</code>/<code>ContentCachingResponseWrapper</code>,
+ * nothing is buffered beyond the cap and the body reaches the client as it is written.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+final class BodyCapture {
+
+    private static final String MASK = "***";
+    /** A JSON field with a string (possibly cut off by the capture cap) or scalar value */
+    private static final Pattern JSON_FIELD = Pattern.compile(
+        "\"((?:[^\"\\\\]|\\\\.)*)\"(\\s*:\\s*)(\"(?:[^\"\\\\]|\\\\.)*(?:\"|$)|[^,{}\\[\\]\\s\"]+)");
+    /** A form field, <code>name=value</code> */
+    private static final Pattern FORM_FIELD = Pattern.compile("(^|&)([^&=]*)=([^&]*)");
+
+    private final byte[] head;
+    private int headLength;
+    private long size;
+    private StringBuilder chars;
+
+    /**
+     * @param maxBytes The number of bytes kept
+     */
+    BodyCapture(int maxBytes) {
+        this.head = new byte[Math.max(0, maxBytes)];
+    }
+
+    /**
+     * @return The number of bytes (or characters, if written with a writer) that went through
+     */
+    long getSize() {
+        return size;
+    }
+
+    /**
+     * @param charset The charset of the body
+     * @return The captured head of the body, with "..." appended if the body was longer
+     */
+    String getHead(Charset charset) {
+        String text = chars != null ? chars.toString() : new String(head, 0, headLength, charset);
+        return size > (chars != null ? chars.length() : headLength) ? text + "..." : text;
+    }
+
+    /**
+     * Masks the values of the sensitive fields of a JSON or form encoded body.
+     *
+     * @param body The captured body
+     * @param sensitive Tells if a field name is sensitive
+     * @return The body with the value of each sensitive field replaced by "***"
+     */
+    static String mask(String body, Predicate<String> sensitive) {
+        String trimmed = body.stripLeading();
+        if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+            return JSON_FIELD.matcher(body).replaceAll(field -> {
+                if (!sensitive.test(field.group(1))) {
+                    return Matcher.quoteReplacement(field.group());
+                }
+                String value = field.group(3).startsWith("\"") ? "\"" + MASK + "\"" : MASK;
+                return Matcher.quoteReplacement("\"" + field.group(1) + "\"" + field.group(2) + value);
+            });
+        }
+
+        return FORM_FIELD.matcher(body).replaceAll(field -> Matcher.quoteReplacement(
+            sensitive.test(field.group(2)) ? field.group(1) + field.group(2) + "=" + MASK : field.group()));
+    }
+
+    private static Charset charsetOf(String encoding) {
+        try {
+            return encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        } catch (RuntimeException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private void capture(int b) {
+        size++;
+        if (headLength < head.length) {
+            head[headLength++] = (byte) b;
+        }
+    }
+
+    private void capture(byte[] b, int off, int len) {
+        size += len;
+        int copied = Math.min(len, head.length - headLength);
+        if (copied > 0) {
+            System.arraycopy(b, off, head, headLength, copied);
+            headLength += copied;
+        }
+    }
+
+    private void capture(char[] cbuf, int off, int len) {
+        if (chars == null) {
+            chars = new StringBuilder(Math.min(head.length, 256));
+        }
+        size += len;
+        int copied = Math.min(len, head.length - chars.length());
+        if (copied > 0) {
+            chars.append(cbuf, off, copied);
+        }
+    }
+
+    /**
+     * Request wrapper capturing the body as the application reads it.
+     */
+    static final class Request extends HttpServletRequestWrapper {
+
+        private final BodyCapture capture;
+        private ServletInputStream inputStream;
+
+        Request(HttpServletRequest request, int maxBytes) {
+            super(request);
+            this.capture = new BodyCapture(maxBytes);
+        }
+
+        BodyCapture getCapture() {
+            return capture;
+        }
+
+        /**
+         * @return The charset of the request, UTF-8 if unknown
+         */
+        Charset getCharset() {
+            return charsetOf(getCharacterEncoding());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                ServletInputStream delegate = super.getInputStream();
+                inputStream = new ServletInputStream() {
+
+                    @Override
+                    public int read() throws IOException {
+                        int b = delegate.read();
+                        if (b >= 0) {
+                            capture.capture(b);
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        int read = delegate.read(b, off, len);
+                        if (read > 0) {
+                            capture.capture(b, off, read);
+                        }
+                        return read;
+                    }
+
+                    @Override
+                    public boolean isFinished() {
+                        return delegate.isFinished();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setReadListener(ReadListener readListener) {
+                        delegate.setReadListener(readListener);
+                    }
+                };
+            }
+            return inputStream;
+        }
+    }
+
+    /**
+     * Response wrapper capturing the body as the application writes it.
+     */
+    static final class Response extends HttpServletResponseWrapper {
+
+        private final BodyCapture capture;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        Response(HttpServletResponse response, int maxBytes) {
+            super(response);
+            this.capture = new BodyCapture(maxBytes);
+        }
+
+        BodyCapture getCapture() {
+            return capture;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        capture.capture(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        capture.capture(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        delegate.setWriteListener(writeListener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                PrintWriter delegate = super.getWriter();
+                writer = new PrintWriter(new Writer() {
+
+                    @Override
+                    public void write(char[] cbuf, int off, int len) {
+                        delegate.write(cbuf, off, len);
+                        capture.capture(cbuf, off, len);
+                    }
+
+                    @Override
+                    public void flush() {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() {
+                        delegate.close();
+                    }
+                });
+            }
+            return writer;
+        }
+
+        /**
+         * @return The charset of the response, UTF-8 if unknown
+         */
+        Charset getCharset() {
+            return charsetOf(getCharacterEncoding());
+        }
+    }
+}
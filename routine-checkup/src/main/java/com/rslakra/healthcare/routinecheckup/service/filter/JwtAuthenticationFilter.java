@@ -2,6 +2,8 @@ package com.rslakra.healthcare.routinecheckup.service.filter;
 
 import com.rslakra.healthcare.routinecheckup.dto.security.JwtTokenAuthentication;
 import com.rslakra.healthcare.routinecheckup.service.security.TokenService;
+import com.rslakra.healthcare.routinecheckup.service.security.VerifiedTokenCache;
+import io.jsonwebtoken.impl.DefaultClaims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,6 +21,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 /**
+ * Authenticates the request from the session token. Tokens already verified are taken from the
+ * {@link VerifiedTokenCache}, so only the first request with a token verifies it and loads the user.
+ *
  * @author Rohtash Lakra
  * @created 8/12/21 4:17 PM
  */
@@ -30,6 +35,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
 
+    private final VerifiedTokenCache verifiedTokenCache;
+
     @Override
     protected void doFilterInternal(
         HttpServletRequest request,
@@ -45,9 +52,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         String token = tokenOpt.get();
 
-        String login = tokenService.getLoginFromToken(token);
-        UserDetails userDetails
-            = userDetailsService.loadUserByUsername(login);
+        UserDetails userDetails = verifiedTokenCache.getUserDetails(token)
+            .orElseGet(() -> verify(token));
         Authentication result = new JwtTokenAuthentication(userDetails, token);
         result.setAuthenticated(true);
         SecurityContextHolder.getContext().setAuthentication(result);
@@ -55,4 +61,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Verifies the token, loads its user and caches both until the token expires.
+     *
+     * @param token
+     * @return
+     */
+    private UserDetails verify(String token) {
+        DefaultClaims claims = tokenService.parse(token);
+        String login = tokenService.getLoginFromClaims(claims);
+        // Read first, so a change of the user committed during the load keeps the details out of the cache
+        long generation = verifiedTokenCache.generation();
+        UserDetails userDetails
+            = userDetailsService.loadUserByUsername(login);
+        verifiedTokenCache.put(token, claims, userDetails, generation);
+
+        return userDetails;
+    }
+
 }
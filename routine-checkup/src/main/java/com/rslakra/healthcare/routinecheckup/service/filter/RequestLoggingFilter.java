@@ -1,28 +1,43 @@
 package com.rslakra.healthcare.routinecheckup.service.filter;
 
+import com.rslakra.healthcare.routinecheckup.service.metrics.RequestMetricsService;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.RequestLoggingConstants;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.time.Instant;
-import java.time.format.DateTimeFormatter;
-import java.util.Enumeration;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Request logging filter to log all HTTP requests with timing, parameters, and response details
- * 
+ * Request logging filter writing one structured access-log event per HTTP request, with timing,
+ * parameters and response details as key/value pairs.
+ *
+ * Requests slower than 5s are logged at WARN, slower than 1s at INFO, all others at DEBUG.
+ * Nothing is formatted unless that level is enabled, and the events are written by the asynchronous
+ * <code>ACCESS</code> appender (see logback.xml), so the request thread never waits on the console.
+ *
+ * Bodies are only captured for the paths in <code>request_logging.body_paths</code> (Ant patterns),
+ * up to <code>request_logging.body_max_bytes</code>; they still stream to the client as they are written.
+ * Sensitive JSON and form fields (passwords, CSRF and session tokens, ...) are masked in the logged bodies,
+ * as they are in the logged parameters.
+ *
+ * Every request is also recorded in the {@link RequestMetricsService}, whatever the log level.
+ * A request whose exception propagates out of the chain is logged and recorded as a 500, the status the
+ * container sends for it, unless the response was already committed.
+ *
  * @author Rohtash Lakra
  * @created 11/22/25
  */
@@ -31,8 +46,24 @@ import java.util.Map;
 @Slf4j
 public class RequestLoggingFilter extends OncePerRequestFilter {
 
-    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ISO_INSTANT;
-    private static final String[] SENSITIVE_PARAMS = {"password", "pwd", "pass", "token", "secret", "key"};
+    private static final String[] SENSITIVE_PARAMS = {"password", "pwd", "pass", "token", "secret", "key", "csrf", "jwt"};
+    private static final long WARN_DURATION_MS = 5000;
+    private static final long INFO_DURATION_MS = 1000;
+
+    private final String[] bodyPaths;
+    private final int bodyMaxBytes;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final RequestMetricsService requestMetricsService;
+
+    public RequestLoggingFilter(RequestLoggingConstants requestLoggingConstants,
+                                RequestMetricsService requestMetricsService) {
+        this.requestMetricsService = requestMetricsService;
+        this.bodyPaths = Arrays.stream(requestLoggingConstants.getBodyPaths())
+            .filter(path -> !path.isBlank())
+            .map(String::trim)
+            .toArray(String[]::new);
+        this.bodyMaxBytes = requestLoggingConstants.getBodyMaxBytes();
+    }
 
     @Override
     protected void doFilterInternal(
@@ -40,131 +71,109 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain
     ) throws ServletException, IOException {
-        
-        // Wrap request and response to enable reading body multiple times
-        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
-        
-        // Record start time
-        long startTime = System.currentTimeMillis();
-        Instant startInstant = Instant.now();
-        String startTimestamp = TIMESTAMP_FORMATTER.format(startInstant);
-        
+        long startTime = System.nanoTime();
+        BodyCapture.Request capturingRequest = null;
+        BodyCapture.Response capturingResponse = null;
+        if (log.isWarnEnabled() && isBodyCaptured(request)) {
+            capturingRequest = new BodyCapture.Request(request, bodyMaxBytes);
+            capturingResponse = new BodyCapture.Response(response, bodyMaxBytes);
+        }
+
+        boolean failed = true;
         try {
-            // Process the request
-            filterChain.doFilter(wrappedRequest, wrappedResponse);
+            filterChain.doFilter(capturingRequest != null ? capturingRequest : request,
+                capturingResponse != null ? capturingResponse : response);
+            failed = false;
         } finally {
-            // Record end time
-            long endTime = System.currentTimeMillis();
-            Instant endInstant = Instant.now();
-            String endTimestamp = TIMESTAMP_FORMATTER.format(endInstant);
-            long duration = endTime - startTime;
-            
-            // Log request details
-            logRequestDetails(wrappedRequest, wrappedResponse, startTimestamp, endTimestamp, duration);
-            
-            // Copy response body back to original response
-            wrappedResponse.copyBodyToResponse();
+            long durationNanos = System.nanoTime() - startTime;
+            // The status is still the default 200 while an unresolved exception propagates
+            int status = failed && !response.isCommitted()
+                ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            requestMetricsService.record(request, status, durationNanos);
+            long duration = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+            Level level = duration > WARN_DURATION_MS ? Level.WARN
+                : duration > INFO_DURATION_MS ? Level.INFO : Level.DEBUG;
+            if (log.isEnabledForLevel(level)) {
+                logRequest(log.atLevel(level), request, response, status, duration, capturingRequest,
+                    capturingResponse);
+            }
         }
     }
 
-    private void logRequestDetails(
-            ContentCachingRequestWrapper request,
-            ContentCachingResponseWrapper response,
-            String startTimestamp,
-            String endTimestamp,
-            long duration
+    private void logRequest(
+            LoggingEventBuilder event,
+            HttpServletRequest request,
+            HttpServletResponse response,
+            int status,
+            long duration,
+            BodyCapture.Request capturingRequest,
+            BodyCapture.Response capturingResponse
     ) {
         try {
-            StringBuilder logMessage = new StringBuilder();
-            logMessage.append("\n");
-            logMessage.append("═══════════════════════════════════════════════════════════════════════════════\n");
-            logMessage.append("HTTP REQUEST LOG\n");
-            logMessage.append("═══════════════════════════════════════════════════════════════════════════════\n");
-            
-            // Request Information
-            logMessage.append("REQUEST:\n");
-            logMessage.append("  Method      : ").append(request.getMethod()).append("\n");
-            logMessage.append("  URI         : ").append(request.getRequestURI()).append("\n");
-            logMessage.append("  Query String: ").append(request.getQueryString() != null ? request.getQueryString() : "N/A").append("\n");
-            logMessage.append("  Protocol    : ").append(request.getProtocol()).append("\n");
-            logMessage.append("  Remote Addr : ").append(request.getRemoteAddr()).append("\n");
-            logMessage.append("  Remote Host : ").append(request.getRemoteHost()).append("\n");
-            logMessage.append("  User Agent  : ").append(request.getHeader("User-Agent")).append("\n");
-            
-            // Timing Information
-            logMessage.append("\nTIMING:\n");
-            logMessage.append("  Start Time  : ").append(startTimestamp).append("\n");
-            logMessage.append("  End Time    : ").append(endTimestamp).append("\n");
-            logMessage.append("  Duration    : ").append(duration).append(" ms (").append(formatDuration(duration)).append(")\n");
-            
-            // Request Parameters
-            Map<String, String> params = getRequestParameters(request);
+            event.addKeyValue("method", request.getMethod())
+                .addKeyValue("uri", request.getRequestURI())
+                .addKeyValue("status", status)
+                .addKeyValue("durationMs", duration)
+                .addKeyValue("remoteAddr", request.getRemoteAddr());
+            if (request.getQueryString() != null) {
+                event.addKeyValue("query", request.getQueryString());
+            }
+            if (response.getContentType() != null) {
+                event.addKeyValue("contentType", response.getContentType());
+            }
+            if (capturingResponse != null) {
+                event.addKeyValue("size", capturingResponse.getCapture().getSize());
+            } else if (response.getHeader(HttpHeaders.CONTENT_LENGTH) != null) {
+                event.addKeyValue("size", response.getHeader(HttpHeaders.CONTENT_LENGTH));
+            }
+
+            Map<String, String[]> params = request.getParameterMap();
             if (!params.isEmpty()) {
-                logMessage.append("\nREQUEST PARAMETERS:\n");
-                params.forEach((key, value) -> {
-                    if (isSensitive(key)) {
-                        logMessage.append("  ").append(key).append(" = ").append(maskSensitiveValue(value)).append("\n");
-                    } else {
-                        logMessage.append("  ").append(key).append(" = ").append(value).append("\n");
-                    }
-                });
+                event.addKeyValue("params", formatParameters(params));
             }
-            
-            // Request Headers (optional - can be enabled if needed)
-            // logMessage.append("\nREQUEST HEADERS:\n");
-            // Enumeration<String> headerNames = request.getHeaderNames();
-            // while (headerNames.hasMoreElements()) {
-            //     String headerName = headerNames.nextElement();
-            //     logMessage.append("  ").append(headerName).append(": ").append(request.getHeader(headerName)).append("\n");
-            // }
-            
-            // Response Information
-            logMessage.append("\nRESPONSE:\n");
-            logMessage.append("  Status Code : ").append(response.getStatus()).append("\n");
-            logMessage.append("  Content Type: ").append(response.getContentType() != null ? response.getContentType() : "N/A").append("\n");
-            logMessage.append("  Content Size: ").append(response.getContentSize()).append(" bytes\n");
-            
-            // Response Body (only for small responses to avoid log bloat)
-            if (response.getContentSize() > 0 && response.getContentSize() < 1000) {
-                try {
-                    byte[] contentAsByteArray = response.getContentAsByteArray();
-                    String responseBody = new String(contentAsByteArray, response.getCharacterEncoding());
-                    if (responseBody.length() > 0) {
-                        logMessage.append("  Body        : ").append(responseBody.length() > 500 ? responseBody.substring(0, 500) + "..." : responseBody).append("\n");
-                    }
-                } catch (UnsupportedEncodingException e) {
-                    logMessage.append("  Body        : [Unable to decode response body]\n");
-                }
-            } else if (response.getContentSize() >= 1000) {
-                logMessage.append("  Body        : [Response body too large to log (").append(response.getContentSize()).append(" bytes)]\n");
+            if (capturingRequest != null && capturingRequest.getCapture().getSize() > 0) {
+                event.addKeyValue("requestBody",
+                    formatBody(capturingRequest.getCapture().getHead(capturingRequest.getCharset())));
             }
-            
-            logMessage.append("═══════════════════════════════════════════════════════════════════════════════\n");
-            
-            // Log based on duration - use different log levels
-            if (duration > 5000) {
-                log.warn(logMessage.toString());
-            } else if (duration > 1000) {
-                log.info(logMessage.toString());
-            } else {
-                log.debug(logMessage.toString());
+            if (capturingResponse != null && capturingResponse.getCapture().getSize() > 0) {
+                event.addKeyValue("responseBody",
+                    formatBody(capturingResponse.getCapture().getHead(capturingResponse.getCharset())));
             }
-            
+            event.addKeyValue("userAgent", request.getHeader(HttpHeaders.USER_AGENT))
+                .log("request");
         } catch (Exception e) {
             log.error("Error logging request details", e);
         }
     }
 
-    private Map<String, String> getRequestParameters(HttpServletRequest request) {
-        Map<String, String> params = new HashMap<>();
-        Enumeration<String> paramNames = request.getParameterNames();
-        while (paramNames.hasMoreElements()) {
-            String paramName = paramNames.nextElement();
-            String paramValue = request.getParameter(paramName);
-            params.put(paramName, paramValue);
+    private boolean isBodyCaptured(HttpServletRequest request) {
+        if (bodyPaths.length == 0 || bodyMaxBytes <= 0) {
+            return false;
         }
-        return params;
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String bodyPath : bodyPaths) {
+            if (pathMatcher.match(bodyPath, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String formatBody(String body) {
+        return BodyCapture.mask(body, this::isSensitive).replace("\r", "\\r").replace("\n", "\\n");
+    }
+
+    private String formatParameters(Map<String, String[]> params) {
+        StringBuilder result = new StringBuilder();
+        params.forEach((key, values) -> {
+            if (result.length() > 0) {
+                result.append(", ");
+            }
+            String value = values.length > 0 ? values[0] : "";
+            result.append(key).append('=').append(isSensitive(key) ? maskSensitiveValue(value) : value);
+        });
+        return result.toString();
     }
 
     private boolean isSensitive(String paramName) {
@@ -189,17 +198,4 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
         }
         return value.substring(0, 2) + "***" + value.substring(value.length() - 2);
     }
-
-    private String formatDuration(long milliseconds) {
-        if (milliseconds < 1000) {
-            return milliseconds + "ms";
-        } else if (milliseconds < 60000) {
-            return String.format("%.2fs", milliseconds / 1000.0);
-        } else {
-            long minutes = milliseconds / 60000;
-            long seconds = (milliseconds % 60000) / 1000;
-            return String.format("%dm %ds", minutes, seconds);
-        }
-    }
 }
-
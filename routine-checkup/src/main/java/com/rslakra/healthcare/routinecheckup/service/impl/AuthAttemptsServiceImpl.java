@@ -2,32 +2,43 @@ package com.rslakra.healthcare.routinecheckup.service.impl;
 
 import com.rslakra.healthcare.routinecheckup.entity.UserLoginAttempts;
 import com.rslakra.healthcare.routinecheckup.entity.UserRegistrationAttempts;
-import com.rslakra.healthcare.routinecheckup.repository.UserLoginAttemptsRepository;
-import com.rslakra.healthcare.routinecheckup.repository.UserRegistrationAttemptsRepository;
 import com.rslakra.healthcare.routinecheckup.service.AuthAttemptsService;
 import com.rslakra.healthcare.routinecheckup.service.AuthAttemptType;
 import com.rslakra.healthcare.routinecheckup.utils.components.holder.LoginAttemptsConstants;
 import com.rslakra.healthcare.routinecheckup.utils.components.holder.RegistrationConstants;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.Date;
-import java.util.Optional;
 
 /**
- * Unified service implementation for handling all authentication attempt tracking
+ * Unified service implementation for handling all authentication attempt tracking.
+ *
+ * The attempts of each IP address are counted in memory over a sliding window
+ * (<code>max_allowable_time_span_ms</code> of the login and registration settings), with a lock-free
+ * {@link SlidingWindowCounter} per attempt type, so concurrent attempts from one IP are all counted.
+ * IP addresses without attempts for a whole window are dropped periodically.
  *
  * @author Rohtash Lakra
  * @created 8/12/21 4:20 PM
  */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class AuthAttemptsServiceImpl implements AuthAttemptsService {
 
-    private final UserLoginAttemptsRepository userLoginAttemptsRepository;
-    private final UserRegistrationAttemptsRepository userRegistrationAttemptsRepository;
     private final LoginAttemptsConstants loginAttemptsConstants;
     private final RegistrationConstants registrationConstants;
+    private final SlidingWindowCounter loginAttempts;
+    private final SlidingWindowCounter registrationAttempts;
+
+    public AuthAttemptsServiceImpl(LoginAttemptsConstants loginAttemptsConstants,
+                                   RegistrationConstants registrationConstants) {
+        this.loginAttemptsConstants = loginAttemptsConstants;
+        this.registrationConstants = registrationConstants;
+        this.loginAttempts = new SlidingWindowCounter(loginAttemptsConstants.getMaxAllowableTimeSpanMS());
+        this.registrationAttempts = new SlidingWindowCounter(registrationConstants.getMaxAllowableTimeSpanMS());
+    }
 
     @Override
     public UserLoginAttempts commitNewLoginAttempt(String userIp) {
@@ -43,9 +54,11 @@ public class AuthAttemptsServiceImpl implements AuthAttemptsService {
     public Object commitNewAttempt(AuthAttemptType attemptType, String userIp) {
         switch (attemptType) {
             case LOGIN:
-                return commitLoginAttempt(userIp);
+                loginAttempts.increment(userIp, System.currentTimeMillis());
+                return getLoginAttempts(userIp);
             case REGISTRATION:
-                return commitRegistrationAttempt(userIp);
+                registrationAttempts.increment(userIp, System.currentTimeMillis());
+                return getRegistrationAttempts(userIp);
             default:
                 throw new IllegalArgumentException("Unsupported attempt type: " + attemptType);
         }
@@ -68,96 +81,48 @@ public class AuthAttemptsServiceImpl implements AuthAttemptsService {
 
     @Override
     public boolean isExtraAttempt(AuthAttemptType attemptType, String userIp, boolean commitNewAttempt) {
+        long nowMs = System.currentTimeMillis();
         switch (attemptType) {
             case LOGIN:
-                UserLoginAttempts loginAttempts = commitNewAttempt 
-                    ? commitLoginAttempt(userIp) 
-                    : getLoginAttempts(userIp);
-                return loginAttempts.getCurrentAttemptsCount() > loginAttemptsConstants.getMaxAttemptsCount();
-            
+                int loginCount = commitNewAttempt
+                    ? loginAttempts.increment(userIp, nowMs)
+                    : loginAttempts.count(userIp, nowMs);
+                return loginCount > loginAttemptsConstants.getMaxAttemptsCount();
+
             case REGISTRATION:
-                UserRegistrationAttempts registrationAttempts = commitNewAttempt 
-                    ? commitRegistrationAttempt(userIp) 
-                    : getRegistrationAttempts(userIp);
-                return registrationAttempts.getCurrentAttemptsCount() > registrationConstants.getMaxAttemptsCount();
-            
+                int registrationCount = commitNewAttempt
+                    ? registrationAttempts.increment(userIp, nowMs)
+                    : registrationAttempts.count(userIp, nowMs);
+                return registrationCount > registrationConstants.getMaxAttemptsCount();
+
             default:
                 throw new IllegalArgumentException("Unsupported attempt type: " + attemptType);
         }
     }
 
-    private UserLoginAttempts commitLoginAttempt(String userIp) {
-        Optional<UserLoginAttempts> attemptsOptional = userLoginAttemptsRepository.findById(userIp);
-
-        if (attemptsOptional.isPresent()) {
-            UserLoginAttempts attempts = attemptsOptional.get();
-            attempts.setCurrentAttemptsCount(getCurrentLoginAttemptCount(attempts));
-            attempts.setLastAttemptDate(new Date());
-            userLoginAttemptsRepository.save(attempts);
-            return attempts;
-        }
-
-        UserLoginAttempts attempts = new UserLoginAttempts(userIp);
-        return userLoginAttemptsRepository.save(attempts);
-    }
-
-    private UserRegistrationAttempts commitRegistrationAttempt(String userIp) {
-        Optional<UserRegistrationAttempts> attemptsOptional = userRegistrationAttemptsRepository.findById(userIp);
-
-        if (attemptsOptional.isPresent()) {
-            UserRegistrationAttempts attempts = attemptsOptional.get();
-            attempts.setCurrentAttemptsCount(getCurrentRegistrationAttemptCount(attempts));
-            attempts.setLastAttemptDate(new Date());
-            userRegistrationAttemptsRepository.save(attempts);
-            return attempts;
-        }
-
-        UserRegistrationAttempts attempts = new UserRegistrationAttempts(userIp);
-        return userRegistrationAttemptsRepository.save(attempts);
+    /**
+     * Drops the IP addresses without attempts in the last window.
+     */
+    @Scheduled(fixedDelayString = "${security.attempts.expiry_interval_ms}")
+    public void expireIdleAttempts() {
+        long nowMs = System.currentTimeMillis();
+        int expiredLogins = loginAttempts.expireIdle(nowMs);
+        int expiredRegistrations = registrationAttempts.expireIdle(nowMs);
+        log.debug("Expired idle attempts of {} login and {} registration IPs, tracking {} and {}",
+            expiredLogins, expiredRegistrations, loginAttempts.size(), registrationAttempts.size());
     }
 
     private UserLoginAttempts getLoginAttempts(String userIp) {
-        Optional<UserLoginAttempts> attemptsOptional = userLoginAttemptsRepository.findById(userIp);
-        return attemptsOptional.orElseGet(() -> {
-            UserLoginAttempts newAttempt = new UserLoginAttempts(userIp);
-            return userLoginAttemptsRepository.save(newAttempt);
-        });
+        UserLoginAttempts attempts = new UserLoginAttempts(userIp);
+        attempts.setCurrentAttemptsCount(loginAttempts.count(userIp, System.currentTimeMillis()));
+        attempts.setLastAttemptDate(new Date(loginAttempts.getLastEventMs(userIp)));
+        return attempts;
     }
 
     private UserRegistrationAttempts getRegistrationAttempts(String userIp) {
-        Optional<UserRegistrationAttempts> attemptsOptional = userRegistrationAttemptsRepository.findById(userIp);
-        return attemptsOptional.orElseGet(() -> {
-            UserRegistrationAttempts newAttempt = new UserRegistrationAttempts(userIp);
-            return userRegistrationAttemptsRepository.save(newAttempt);
-        });
-    }
-
-    private Integer getCurrentLoginAttemptCount(UserLoginAttempts attempts) {
-        Date lastAttemptDate = attempts.getLastAttemptDate();
-        Date currentDate = new Date();
-        Date expirationDate = new Date(
-            lastAttemptDate.getTime() + loginAttemptsConstants.getMaxAllowableTimeSpanMS()
-        );
-
-        if (currentDate.after(expirationDate)) {
-            return 1;
-        } else {
-            return attempts.getCurrentAttemptsCount() + 1;
-        }
-    }
-
-    private Integer getCurrentRegistrationAttemptCount(UserRegistrationAttempts attempts) {
-        Date lastAttemptDate = attempts.getLastAttemptDate();
-        Date currentDate = new Date();
-        Date expirationDate = new Date(
-            lastAttemptDate.getTime() + registrationConstants.getMaxAllowableTimeSpanMS()
-        );
-
-        if (currentDate.after(expirationDate)) {
-            return 1;
-        } else {
-            return attempts.getCurrentAttemptsCount() + 1;
-        }
+        UserRegistrationAttempts attempts = new UserRegistrationAttempts(userIp);
+        attempts.setCurrentAttemptsCount(registrationAttempts.count(userIp, System.currentTimeMillis()));
+        attempts.setLastAttemptDate(new Date(registrationAttempts.getLastEventMs(userIp)));
+        return attempts;
     }
 }
-
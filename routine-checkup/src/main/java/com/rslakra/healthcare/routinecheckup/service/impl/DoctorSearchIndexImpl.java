@@ -0,0 +1,331 @@
+package com.rslakra.healthcare.routinecheckup.service.impl;
+
+import com.rslakra.healthcare.routinecheckup.dto.response.DoctorResponseDto;
+import com.rslakra.healthcare.routinecheckup.repository.DoctorRepository;
+import com.rslakra.healthcare.routinecheckup.repository.DoctorRepository.SearchDocument;
+import com.rslakra.healthcare.routinecheckup.service.DoctorSearchIndex;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.DoctorSearchConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Indexes every substring of up to three characters of the normalized speciality and names of each doctor.
+ * A search string of up to three characters is looked up directly; a longer one by intersecting the doctors
+ * of each of its three character substrings, whose fields are then checked to actually contain it.
+ * Matching is the same as the <code>like %search%</code> query this replaces, but ignoring case.
+ * <p>
+ * Searches read the maps without locking; changes are applied one at a time, and a rebuild swaps in
+ * a new index, holding the same lock while it reads the database so no committed change is lost.
+ * A change re-reads the doctors after its transaction commits, under the same lock, so concurrent
+ * updates cannot be applied out of order and leave an older version in the index.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorSearchIndexImpl implements DoctorSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int EXACT_MATCH = 3;
+    private static final int WORD_PREFIX_MATCH = 2;
+    private static final int SUBSTRING_MATCH = 1;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Comparator<String> NAME_ORDER
+        = Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER);
+    private static final Comparator<Match> MATCH_ORDER
+        = Comparator.<Match>comparingInt(match -> match.score).reversed()
+        .thenComparing(match -> match.entry.lastName, NAME_ORDER)
+        .thenComparing(match -> match.entry.firstName, NAME_ORDER)
+        .thenComparing(match -> match.entry.id);
+
+    private final DoctorRepository doctorRepository;
+    private final DoctorSearchConstants doctorSearchConstants;
+
+    private volatile Index index;
+
+    @Override
+    public List<DoctorResponseDto> search(String searchString) {
+        String query = normalize(searchString);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+
+        Index current = current();
+        List<Match> matches = new ArrayList<>();
+        for (UUID id : current.candidates(query)) {
+            Entry entry = current.entries.get(id);
+            int score = entry == null ? 0 : entry.score(query);
+            if (score > 0) {
+                matches.add(new Match(entry, score));
+            }
+        }
+
+        matches.sort(MATCH_ORDER);
+        return matches.stream()
+            .limit(doctorSearchConstants.getMaxResults())
+            .map(match -> match.entry.toDto())
+            .toList();
+    }
+
+    @Override
+    public void refreshDoctor(UUID doctorId) {
+        afterCommit(() -> update(current -> {
+            Entry entry = doctorRepository.findSearchDocumentById(doctorId)
+                .map(Entry::new)
+                .orElse(null);
+            if (entry == null) {
+                current.remove(doctorId);
+            } else {
+                current.put(entry);
+            }
+        }));
+    }
+
+    @Override
+    public void refreshUser(UUID userId) {
+        afterCommit(() -> update(current -> {
+            List<Entry> entries = doctorRepository.findSearchDocumentsByUserId(userId).stream()
+                .map(Entry::new)
+                .toList();
+            Set<UUID> found = new HashSet<>();
+            entries.forEach(entry -> found.add(entry.id));
+            current.entries.values().stream()
+                .filter(entry -> userId.equals(entry.userId) && !found.contains(entry.id))
+                .map(entry -> entry.id)
+                .toList()
+                .forEach(current::remove);
+            entries.forEach(current::put);
+        }));
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+        fixedDelayString = "${doctor_search.rebuild_interval_ms}",
+        initialDelayString = "${doctor_search.rebuild_interval_ms}"
+    )
+    public synchronized void rebuild() {
+        long startTime = System.nanoTime();
+        Index rebuilt = new Index();
+        for (SearchDocument document : doctorRepository.findAllSearchDocuments()) {
+            rebuilt.put(new Entry(document));
+        }
+
+        index = rebuilt;
+        log.debug("Indexed {} doctors in {} ms",
+            rebuilt.entries.size(), (System.nanoTime() - startTime) / 1_000_000);
+    }
+
+    private Index current() {
+        Index current = index;
+        if (current == null) {
+            synchronized (this) {
+                if (index == null) {
+                    rebuild();
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Applies the change to the index, unless it is not built yet and will read the change from the database.
+     * A change that fails is logged, as its transaction has already committed; the next rebuild picks it up.
+     */
+    private synchronized void update(Consumer<Index> change) {
+        if (index == null) {
+            return;
+        }
+
+        try {
+            change.accept(index);
+        } catch (RuntimeException e) {
+            log.error("Cannot update the doctor search index until the next rebuild", e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(value.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The doctors and the postings of each substring of up to {@link #GRAM_LENGTH} characters.
+     */
+    private static final class Index {
+
+        private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+        private final Map<String, Set<UUID>> postings = new ConcurrentHashMap<>();
+
+        /**
+         * @return The doctors that may match the query, a superset of those that do
+         */
+        private Collection<UUID> candidates(String query) {
+            if (query.length() <= GRAM_LENGTH) {
+                return postings.getOrDefault(query, Set.of());
+            }
+
+            List<Set<UUID>> gramPostings = new ArrayList<>();
+            for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+                Set<UUID> ids = postings.get(query.substring(i, i + GRAM_LENGTH));
+                if (ids == null) {
+                    return Set.of();
+                }
+                gramPostings.add(ids);
+            }
+
+            gramPostings.sort(Comparator.comparingInt(Set::size));
+            List<UUID> result = new ArrayList<>();
+            for (UUID id : gramPostings.get(0)) {
+                if (gramPostings.stream().allMatch(ids -> ids.contains(id))) {
+                    result.add(id);
+                }
+            }
+            return result;
+        }
+
+        private void put(Entry entry) {
+            Entry old = entries.put(entry.id, entry);
+            for (String gram : entry.grams) {
+                postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(entry.id);
+            }
+            if (old != null) {
+                old.grams.stream()
+                    .filter(gram -> !entry.grams.contains(gram))
+                    .forEach(gram -> removePosting(gram, entry.id));
+            }
+        }
+
+        private void remove(UUID id) {
+            Entry old = entries.remove(id);
+            if (old != null) {
+                old.grams.forEach(gram -> removePosting(gram, id));
+            }
+        }
+
+        private void removePosting(String gram, UUID id) {
+            postings.computeIfPresent(gram, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * A doctor with its normalized searchable fields: the speciality and the name in both orders.
+     */
+    private static final class Entry {
+
+        private final UUID id;
+        private final UUID userId;
+        private final String speciality;
+        private final String firstName;
+        private final String lastName;
+        private final List<String> fields = new ArrayList<>();
+        private final Set<String> grams = new HashSet<>();
+
+        private Entry(SearchDocument document) {
+            id = document.getId();
+            userId = document.getUserId();
+            speciality = document.getSpeciality();
+            firstName = document.getFirstName();
+            lastName = document.getLastName();
+
+            addField(speciality);
+            if (firstName != null && lastName != null) {
+                addField(lastName + " " + firstName);
+                addField(firstName + " " + lastName);
+            }
+        }
+
+        private void addField(String value) {
+            String field = normalize(value);
+            if (field.isEmpty()) {
+                return;
+            }
+
+            fields.add(field);
+            for (int length = 1; length <= GRAM_LENGTH; length++) {
+                for (int i = 0; i + length <= field.length(); i++) {
+                    grams.add(field.substring(i, i + length));
+                }
+            }
+        }
+
+        private int score(String query) {
+            int score = 0;
+            for (String field : fields) {
+                if (field.equals(query)) {
+                    return EXACT_MATCH;
+                } else if (field.startsWith(query) || field.contains(" " + query)) {
+                    score = WORD_PREFIX_MATCH;
+                } else if (score == 0 && field.contains(query)) {
+                    score = SUBSTRING_MATCH;
+                }
+            }
+            return score;
+        }
+
+        private DoctorResponseDto toDto() {
+            return DoctorResponseDto.builder()
+                .id(id.toString())
+                .speciality(speciality)
+                .firstName(firstName)
+                .lastName(lastName)
+                .build();
+        }
+    }
+
+    private static final class Match {
+
+        private final Entry entry;
+        private final int score;
+
+        private Match(Entry entry, int score) {
+            this.entry = entry;
+            this.score = score;
+        }
+    }
+
+}
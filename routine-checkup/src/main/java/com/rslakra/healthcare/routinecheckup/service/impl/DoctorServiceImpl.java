@@ -5,7 +5,9 @@ import com.rslakra.healthcare.routinecheckup.dto.response.DoctorResponseDto;
 import com.rslakra.healthcare.routinecheckup.entity.DoctorEntity;
 import com.rslakra.healthcare.routinecheckup.entity.UserEntity;
 import com.rslakra.healthcare.routinecheckup.repository.DoctorRepository;
+import com.rslakra.healthcare.routinecheckup.service.DoctorSearchIndex;
 import com.rslakra.healthcare.routinecheckup.service.DoctorService;
+import com.rslakra.healthcare.routinecheckup.service.DoctorsAndPatientsReadModel;
 import com.rslakra.healthcare.routinecheckup.service.UserService;
 import com.rslakra.healthcare.routinecheckup.utils.components.DtoUtils;
 import com.rslakra.healthcare.routinecheckup.utils.components.holder.Messages;
@@ -35,6 +37,8 @@ public class DoctorServiceImpl implements DoctorService {
     private final Messages messages;
     private final DtoUtils dtoUtils;
     private final UserService userService;
+    private final DoctorSearchIndex doctorSearchIndex;
+    private final DoctorsAndPatientsReadModel doctorsAndPatientsReadModel;
 
     @Override
     @Transactional(readOnly = true)
@@ -51,6 +55,8 @@ public class DoctorServiceImpl implements DoctorService {
         DoctorEntity doctorEntity = dtoUtils.convertDoctor(sanitizedDoctor);
         validateDoctorBelongsToUser(doctorEntity, currentUserLogin);
         DoctorEntity saved = doctorRepository.save(doctorEntity);
+        doctorSearchIndex.refreshDoctor(saved.getId());
+        doctorsAndPatientsReadModel.invalidateUser(saved.getUserEntity().getId());
         DoctorResponseDto result = dtoUtils.convertDoctor(saved);
         return result;
     }
@@ -67,6 +73,8 @@ public class DoctorServiceImpl implements DoctorService {
         doctorEntity.getUserEntity().setId(old.getUserEntity().getId());
 
         DoctorEntity updated = doctorRepository.save(toUpdate);
+        doctorSearchIndex.refreshDoctor(updated.getId());
+        doctorsAndPatientsReadModel.invalidateUser(old.getUserEntity().getId());
 
         DoctorResponseDto result = dtoUtils.convertDoctor(updated);
         return result;
@@ -96,13 +104,7 @@ public class DoctorServiceImpl implements DoctorService {
 
     @Override
     public List<DoctorResponseDto> searchDoctor(String searchString) {
-        List<DoctorEntity> allBySearchString
-                = doctorRepository.findAllBySearchString(searchString);
-
-        List<DoctorResponseDto> result = allBySearchString.stream()
-                .map(dtoUtils::convertDoctor)
-                .collect(Collectors.toList());
-        return result;
+        return doctorSearchIndex.search(searchString);
     }
 
     private DoctorEntity findById(UUID id) {
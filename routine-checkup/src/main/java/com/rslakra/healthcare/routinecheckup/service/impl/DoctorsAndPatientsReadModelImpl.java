@@ -0,0 +1,148 @@
+package com.rslakra.healthcare.routinecheckup.service.impl;
+
+import com.rslakra.healthcare.routinecheckup.dto.response.DoctorSummaryView;
+import com.rslakra.healthcare.routinecheckup.dto.response.PatientSummaryView;
+import com.rslakra.healthcare.routinecheckup.dto.response.UserDoctorsAndPatientsView;
+import com.rslakra.healthcare.routinecheckup.dto.response.UserSummaryView;
+import com.rslakra.healthcare.routinecheckup.exceptions.UserNotFoundException;
+import com.rslakra.healthcare.routinecheckup.repository.DoctorRepository;
+import com.rslakra.healthcare.routinecheckup.repository.PatientRepository;
+import com.rslakra.healthcare.routinecheckup.repository.UserRepository;
+import com.rslakra.healthcare.routinecheckup.service.DoctorsAndPatientsReadModel;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.DoctorsAndPatientsConstants;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.Messages;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps at most <code>doctors_and_patients.cache.max_size</code> pages, dropping the least recently used first.
+ * Each page remembers the users it shows: its owner and the users of the doctors treating its patients.
+ * <p>
+ * The queries of a page run outside the cache lock. Invalidations bump a generation, and a page loaded
+ * while the generation changed is returned but not cached, as it may have read data from before the write.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Service
+public class DoctorsAndPatientsReadModelImpl implements DoctorsAndPatientsReadModel {
+
+    private final UserRepository userRepository;
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+    private final Messages messages;
+    private final DoctorsAndPatientsConstants doctorsAndPatientsConstants;
+
+    private final Map<String, CachedView> views;
+    private long generation;
+
+    public DoctorsAndPatientsReadModelImpl(
+        UserRepository userRepository,
+        DoctorRepository doctorRepository,
+        PatientRepository patientRepository,
+        Messages messages,
+        DoctorsAndPatientsConstants doctorsAndPatientsConstants
+    ) {
+        this.userRepository = userRepository;
+        this.doctorRepository = doctorRepository;
+        this.patientRepository = patientRepository;
+        this.messages = messages;
+        this.doctorsAndPatientsConstants = doctorsAndPatientsConstants;
+
+        int maxSize = doctorsAndPatientsConstants.getCacheMaxSize();
+        this.views = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedView> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public UserDoctorsAndPatientsView getByLogin(String login) {
+        long now = System.nanoTime();
+        long loadGeneration;
+        synchronized (views) {
+            CachedView cached = views.get(login);
+            if (cached != null && now - cached.loadedAt < doctorsAndPatientsConstants.getCacheTtlMs() * 1_000_000) {
+                return cached.view;
+            }
+            loadGeneration = generation;
+        }
+
+        UserSummaryView user = userRepository.findSummaryByLogin(login).orElseThrow(() -> {
+            String userNotFoundTemplate = messages.getUserNotFoundByLoginTemplate();
+            return new UserNotFoundException(String.format(userNotFoundTemplate, login));
+        });
+        List<DoctorSummaryView> doctors = doctorRepository.findSummariesByUserId(user.getId());
+        List<PatientSummaryView> patients = patientRepository.findSummariesByUserId(user.getId());
+        UserDoctorsAndPatientsView view = new UserDoctorsAndPatientsView(user, doctors, patients);
+
+        Set<UUID> users = new HashSet<>();
+        users.add(user.getId());
+        patients.stream()
+            .filter(patient -> patient.getDoctor() != null)
+            .forEach(patient -> users.add(patient.getDoctor().getUserId()));
+        synchronized (views) {
+            if (generation == loadGeneration) {
+                views.put(login, new CachedView(view, users, now));
+            }
+        }
+        return view;
+    }
+
+    @Override
+    public void invalidateUser(UUID userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(userId);
+                }
+            }
+        );
+    }
+
+    private void invalidate(UUID userId) {
+        synchronized (views) {
+            generation++;
+            views.values().removeIf(cached -> cached.users.contains(userId));
+        }
+    }
+
+    /**
+     * @return The number of cached pages
+     */
+    public int size() {
+        synchronized (views) {
+            return views.size();
+        }
+    }
+
+    private static final class CachedView {
+
+        private final UserDoctorsAndPatientsView view;
+        private final Set<UUID> users;
+        private final long loadedAt;
+
+        private CachedView(UserDoctorsAndPatientsView view, Set<UUID> users, long loadedAt) {
+            this.view = view;
+            this.users = users;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+}
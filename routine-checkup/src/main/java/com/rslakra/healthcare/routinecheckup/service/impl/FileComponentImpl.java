@@ -1,30 +1,40 @@
 package com.rslakra.healthcare.routinecheckup.service.impl;
 
+import com.rslakra.healthcare.routinecheckup.entity.ReportBlobEntity;
 import com.rslakra.healthcare.routinecheckup.entity.UserEntity;
 import com.rslakra.healthcare.routinecheckup.entity.UserFileEntity;
+import com.rslakra.healthcare.routinecheckup.repository.ReportBlobRepository;
 import com.rslakra.healthcare.routinecheckup.repository.UserFileRepository;
 import com.rslakra.healthcare.routinecheckup.service.FileComponent;
+import com.rslakra.healthcare.routinecheckup.service.ReportStorage;
+import com.rslakra.healthcare.routinecheckup.service.StagedReport;
 import com.rslakra.healthcare.routinecheckup.service.UserService;
-import com.rslakra.healthcare.routinecheckup.utils.components.holder.FileStorageConstants;
 import com.rslakra.healthcare.routinecheckup.utils.components.holder.Messages;
 import com.rslakra.healthcare.routinecheckup.exceptions.IncorrectFIleException;
 import lombok.RequiredArgsConstructor;
 import org.owasp.encoder.Encode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
+ * Keeps the metadata of the user files, whose content is stored once per distinct content by the
+ * {@link ReportStorage}. Each {@link ReportBlobEntity} counts the files referencing it, so rename and delete
+ * only touch metadata, and a blob is deleted from disk with its last reference. Files stored before content
+ * addressing have no blob until {@link #migrateLegacyFile(UUID)} moves them.
+ *
  * @author Rohtash Lakra
  * @created 8/12/21 4:18 PM
  */
@@ -32,30 +42,37 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class FileComponentImpl implements FileComponent {
 
+    private static final int BLOB_LOCK_STRIPES = 64;
+
     private final UserFileRepository userFileRepository;
 
     private final UserService userService;
 
     private final Messages messages;
 
-    private final FileStorageConstants fileStorageConstants;
+    private final ReportStorage reportStorage;
+
+    private final ReportBlobRepository reportBlobRepository;
+
+    private final Lock[] blobLocks = newBlobLocks();
 
     private final Logger logger
         = LoggerFactory.getLogger(FileComponentImpl.class);
 
     @Override
-    @Transactional
+    @Transactional(rollbackFor = IOException.class)
     public UserFileEntity saveFile(
         MultipartFile file,
         String login
     ) throws IOException {
-        UserFileEntity userFile = saveUserFile(file, login);
-
-        String fullFileName = getFullFileName(userFile);
-        File fileToSave = new File(fullFileName);
-        file.transferTo(fileToSave);
-
-        return userFile;
+        StagedReport staged = reportStorage.stage(file.getInputStream());
+        try {
+            UserFileEntity userFile = saveUserFile(file, login);
+            userFile.setBlob(acquireBlob(staged));
+            return userFile;
+        } finally {
+            reportStorage.discard(staged);
+        }
     }
 
     @Override
@@ -116,12 +133,14 @@ public class FileComponentImpl implements FileComponent {
         }
 
         UserFileEntity userFile = userFileNameOpt.get();
-        String fullFileName = getFullFileName(userFile);
         userFileRepository.delete(userFile);
+        if (userFile.getBlob() != null) {
+            releaseBlob(userFile.getBlob().getChecksum());
+            return;
+        }
 
-        Path path = Paths.get(fullFileName);
         try {
-            Files.delete(path);
+            reportStorage.deleteLegacy(getLegacyFileName(userFile));
         } catch (IOException e) {
             logger.error(e.getMessage(), e);
         }
@@ -159,15 +178,187 @@ public class FileComponentImpl implements FileComponent {
         return entity;
     }
 
-    private String getFullFileName(UserFileEntity userFile) {
+    @Override
+    public Resource getFileContent(UserFileEntity userFile) {
+        Resource content = userFile.getBlob() != null
+            ? reportStorage.load(userFile.getBlob().getChecksum())
+            : reportStorage.loadLegacy(getLegacyFileName(userFile));
+        if (!content.exists()) {
+            throw new IncorrectFIleException(messages.getFileNotFound());
+        }
+        return content;
+    }
+
+    @Override
+    @Transactional(rollbackFor = IOException.class)
+    public boolean migrateLegacyFile(UUID fileId) throws IOException {
+        Optional<UserFileEntity> userFileOpt = userFileRepository.findById(fileId);
+        if (userFileOpt.isEmpty() || userFileOpt.get().getBlob() != null) {
+            return false;
+        }
+
+        UserFileEntity userFile = userFileOpt.get();
+        String legacyFileName = getLegacyFileName(userFile);
+        Resource legacy = reportStorage.loadLegacy(legacyFileName);
+        if (!legacy.exists()) {
+            logger.warn("Missing content of report {}: {}", fileId, legacyFileName);
+            return false;
+        }
+
+        StagedReport staged = reportStorage.stage(legacy.getInputStream());
+        try {
+            userFile.setBlob(acquireBlob(staged));
+        } finally {
+            reportStorage.discard(staged);
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteQuietly(() -> reportStorage.deleteLegacy(legacyFileName));
+                }
+            }
+        );
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public boolean reconcileBlob(String checksum) {
+        BlobLock blobLock = lockBlob(checksum);
+        long fileCount = userFileRepository.countByBlobChecksum(checksum);
+        Optional<ReportBlobEntity> blobOpt
+            = reportBlobRepository.findById(checksum);
+        if (fileCount == 0) {
+            blobOpt.ifPresent(reportBlobRepository::delete);
+            blobLock.unreferenced = true;
+            return true;
+        }
+        if (blobOpt.isEmpty() || blobOpt.get().getRefCount() == fileCount) {
+            return false;
+        }
+
+        ReportBlobEntity blob = blobOpt.get();
+        logger.warn("Correcting reference count of blob {} from {} to {}",
+            checksum, blob.getRefCount(), fileCount);
+        blob.setRefCount(fileCount);
+        reportBlobRepository.save(blob);
+        return true;
+    }
+
+    private String getLegacyFileName(UserFileEntity userFile) {
         String originalFileName = userFile.getOriginalFileName();
         String extension = getExtension(originalFileName);
-        String fullFileName =
-            fileStorageConstants.getMonthlyReportsBasePath() + "/"
-            + userFile.getFileId()
-            + "." + extension;
+        String legacyFileName = userFile.getFileId() + "." + extension;
+
+        return legacyFileName;
+    }
 
-        return fullFileName;
+    /**
+     * Adds a reference to the blob of the staged report, publishing the blob if it is new.
+     */
+    private ReportBlobEntity acquireBlob(StagedReport staged)
+        throws IOException {
+        BlobLock blobLock = lockBlob(staged.getChecksum());
+        ReportBlobEntity blob = reportBlobRepository
+            .findById(staged.getChecksum())
+            .orElseGet(() -> {
+                ReportBlobEntity created = new ReportBlobEntity();
+                created.setChecksum(staged.getChecksum());
+                created.setFileSize(staged.getSize());
+                return created;
+            });
+        blob.setRefCount(blob.getRefCount() + 1);
+        ReportBlobEntity saved = reportBlobRepository.save(blob);
+
+        blobLock.createdFile = reportStorage.publish(staged);
+        return saved;
+    }
+
+    /**
+     * Removes a reference to the blob, deleting the blob once the last one is gone.
+     */
+    private void releaseBlob(String checksum) {
+        BlobLock blobLock = lockBlob(checksum);
+        Optional<ReportBlobEntity> blobOpt
+            = reportBlobRepository.findById(checksum);
+        if (blobOpt.isEmpty()) {
+            return;
+        }
+
+        ReportBlobEntity blob = blobOpt.get();
+        blob.setRefCount(blob.getRefCount() - 1);
+        if (blob.getRefCount() > 0) {
+            reportBlobRepository.save(blob);
+            return;
+        }
+        reportBlobRepository.delete(blob);
+        blobLock.unreferenced = true;
+    }
+
+    /**
+     * Locks the blob until the current transaction completes, so no other upload or delete
+     * of the same content interleaves with this one between the database and the disk.
+     */
+    private BlobLock lockBlob(String checksum) {
+        BlobLock blobLock = new BlobLock(
+            checksum,
+            blobLocks[Math.floorMod(checksum.hashCode(), blobLocks.length)]
+        );
+        TransactionSynchronizationManager.registerSynchronization(blobLock);
+        blobLock.lock.lock();
+        return blobLock;
+    }
+
+    private void deleteQuietly(IOAction action) {
+        try {
+            action.run();
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+    private interface IOAction {
+
+        void run() throws IOException;
+
+    }
+
+    /**
+     * Deletes the blob file once the transaction is over if the blob is no longer referenced:
+     * the last reference was removed and committed, or the file was created by a transaction that rolled back.
+     * Then releases the lock.
+     */
+    private final class BlobLock implements TransactionSynchronization {
+
+        private final String checksum;
+        private final Lock lock;
+        private boolean unreferenced;
+        private boolean createdFile;
+
+        private BlobLock(String checksum, Lock lock) {
+            this.checksum = checksum;
+            this.lock = lock;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            try {
+                if (status == STATUS_COMMITTED ? unreferenced : createdFile) {
+                    deleteQuietly(() -> reportStorage.delete(checksum));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static Lock[] newBlobLocks() {
+        Lock[] locks = new Lock[BLOB_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
     }
 
     private UserFileEntity saveUserFile(MultipartFile file, String login) {
@@ -0,0 +1,178 @@
+package com.rslakra.healthcare.routinecheckup.service.impl;
+
+import com.rslakra.healthcare.routinecheckup.service.FinancialReportIndex;
+import com.rslakra.healthcare.routinecheckup.service.XPathService;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.FileStorageConstants;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The whole report is evaluated with a single XPath expression when it changes, instead of once per lookup.
+ * If a changed report cannot be parsed, the previous payments are kept and it is parsed again on the next check.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FinancialReportIndexImpl implements FinancialReportIndex {
+
+    private static final String DOCTORS_EXPRESSION = "/salary/staff/doctors/doc";
+    private static final String DOCTOR_ID_ATTRIBUTE = "doc_id";
+    private static final String PAYMENT_ELEMENT = "payment";
+
+    private final XPathService xPathService;
+    private final FileStorageConstants fileStorageConstants;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @Override
+    public Integer getPayment(String doctorId) {
+        return current().payments.get(doctorId);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        long checkIntervalNanos = fileStorageConstants.getFinancialReportCheckIntervalMs() * 1_000_000;
+        if (System.nanoTime() - current.checkedAt < checkIntervalNanos) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            long now = System.nanoTime();
+            if (now - current.checkedAt < checkIntervalNanos) {
+                return current;
+            }
+
+            Path path = Path.of(fileStorageConstants.getFinancialReportPath());
+            FileVersion version = FileVersion.of(path);
+            if (Objects.equals(version, current.version)) {
+                snapshot = current.checked(now);
+            } else if (version == null) {
+                log.error("Financial report {} not found", path);
+                snapshot = new Snapshot(Map.of(), null, now);
+            } else {
+                Map<String, Integer> payments = load(path);
+                snapshot = payments != null ? new Snapshot(payments, version, now) : current.checked(now);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * @return The payment of each doctor in the report, or null if the report cannot be parsed
+     */
+    private Map<String, Integer> load(Path path) {
+        long startTime = System.nanoTime();
+        NodeList doctors;
+        try {
+            doctors = xPathService.evaluateXpathExpression(DOCTORS_EXPRESSION, path.toString());
+        } catch (FileNotFoundException e) {
+            log.error(e.getMessage(), e);
+            return null;
+        }
+        if (doctors == null) {
+            log.error("Cannot parse financial report {}, keeping the previous payments", path);
+            return null;
+        }
+
+        Map<String, Integer> payments = new HashMap<>();
+        for (int i = 0; i < doctors.getLength(); i++) {
+            Element doctor = (Element) doctors.item(i);
+            String doctorId = doctor.getAttribute(DOCTOR_ID_ATTRIBUTE);
+            Element payment = childElement(doctor, PAYMENT_ELEMENT);
+            if (payment == null || payments.containsKey(doctorId)) {
+                continue;
+            }
+
+            try {
+                payments.put(doctorId, Integer.parseInt(payment.getTextContent()));
+            } catch (NumberFormatException e) {
+                log.error("Invalid payment of doctor {}: {}", doctorId, e.getMessage());
+            }
+        }
+
+        log.info("Loaded {} doctor payments from {} in {} ms",
+            payments.size(), path, (System.nanoTime() - startTime) / 1_000_000);
+        return Map.copyOf(payments);
+    }
+
+    /**
+     * @return The first child element of the parent with the name, or null if there is none
+     */
+    private static Element childElement(Element parent, String name) {
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE && name.equals(child.getNodeName())) {
+                return (Element) child;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The modification time and size of the report, compared to detect changes.
+     */
+    @EqualsAndHashCode
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class FileVersion {
+
+        private static final FileVersion NONE = new FileVersion(null, -1);
+
+        private final FileTime lastModified;
+        private final long size;
+
+        /**
+         * @return The version of the file, or null if it does not exist
+         */
+        private static FileVersion of(Path path) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return new FileVersion(attributes.lastModifiedTime(), attributes.size());
+            } catch (NoSuchFileException e) {
+                return null;
+            } catch (IOException e) {
+                log.error(e.getMessage(), e);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * The payments of one version of the report, and when that version was last checked.
+     */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(
+            Map.of(), FileVersion.NONE, System.nanoTime() - Long.MAX_VALUE / 2
+        );
+
+        private final Map<String, Integer> payments;
+        private final FileVersion version;
+        private final long checkedAt;
+
+        private Snapshot checked(long now) {
+            return new Snapshot(payments, version, now);
+        }
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.rslakra.healthcare.routinecheckup.service.impl;
 
 import com.rslakra.healthcare.routinecheckup.dto.request.UpdateMonthlyReportRequestDto;
+import com.rslakra.healthcare.routinecheckup.dto.response.MonthlyReportContentDto;
 import com.rslakra.healthcare.routinecheckup.entity.UserFileEntity;
 import com.rslakra.healthcare.routinecheckup.service.FileComponent;
 import com.rslakra.healthcare.routinecheckup.service.MonthlyReportsService;
@@ -101,6 +102,19 @@ public class MonthlyReportsServiceImpl implements MonthlyReportsService {
         return userFile.getOriginalFileName();
     }
 
+    @Override
+    public MonthlyReportContentDto getReportContent(String reportName, String login) {
+        UserFileEntity userFile = fileComponent.getUserFile(reportName, login);
+
+        MonthlyReportContentDto dto = new MonthlyReportContentDto();
+        dto.setFileName(userFile.getOriginalFileName());
+        if (userFile.getBlob() != null) {
+            dto.setChecksum(userFile.getBlob().getChecksum());
+        }
+        dto.setContent(fileComponent.getFileContent(userFile));
+        return dto;
+    }
+
     private void validateMimeType(String mimeType) {
         boolean isCorrectMimeType = Arrays.stream(MIME_TYPE_ALLOWLIST)
                 .anyMatch(t -> t.equals(mimeType));
@@ -5,6 +5,7 @@ import com.rslakra.healthcare.routinecheckup.dto.response.PatientResponseDto;
 import com.rslakra.healthcare.routinecheckup.entity.PatientEntity;
 import com.rslakra.healthcare.routinecheckup.entity.UserEntity;
 import com.rslakra.healthcare.routinecheckup.repository.PatientRepository;
+import com.rslakra.healthcare.routinecheckup.service.DoctorsAndPatientsReadModel;
 import com.rslakra.healthcare.routinecheckup.service.PatientService;
 import com.rslakra.healthcare.routinecheckup.service.UserService;
 import com.rslakra.healthcare.routinecheckup.utils.components.DtoUtils;
@@ -31,6 +32,7 @@ public class PatientServiceImpl implements PatientService {
     private final UserService userService;
     private final Messages messages;
     private final DtoUtils dtoUtils;
+    private final DoctorsAndPatientsReadModel doctorsAndPatientsReadModel;
 
     @Override
     @Transactional(readOnly = true)
@@ -54,6 +56,7 @@ public class PatientServiceImpl implements PatientService {
         validatePatientBelongsToUser(patientEntity, currentUserLogin);
 
         PatientEntity saved = patientRepository.save(patientEntity);
+        doctorsAndPatientsReadModel.invalidateUser(saved.getUserEntity().getId());
 
         PatientResponseDto result = dtoUtils.convertPatient(saved);
         return result;
@@ -77,6 +80,7 @@ public class PatientServiceImpl implements PatientService {
         patientEntity.getUserEntity().setId(old.getUserEntity().getId());
 
         PatientEntity updated = patientRepository.save(toUpdate);
+        doctorsAndPatientsReadModel.invalidateUser(old.getUserEntity().getId());
 
         PatientResponseDto result = dtoUtils.convertPatient(updated);
         return result;
@@ -0,0 +1,252 @@
+package com.rslakra.healthcare.routinecheckup.service.impl;
+
+import com.rslakra.healthcare.routinecheckup.service.ReportStorage;
+import com.rslakra.healthcare.routinecheckup.service.StagedReport;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.FileStorageConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Writes the reports through a {@link FileChannel} with a fixed buffer, hashing each chunk as it is written,
+ * so an upload is never held on the heap. The temporary files are created in the base directory,
+ * on the same file system as the blobs, which keeps the final rename atomic.
+ *
+ * A blob is stored at <code>ab/cd/abcd...</code> after its checksum, so no directory holds more than
+ * a 65536th of the blobs. Blobs stored flat in the base directory (before sharding) are still found there
+ * until {@link #migrateToShardedLayout()} moves them, as are the reports stored before content addressing
+ * (<code>fileId.extension</code>).
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Component
+@Slf4j
+public class ReportStorageImpl implements ReportStorage {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String TEMP_FILE_PREFIX = ".upload-";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final int SHARD_LENGTH = 2;
+    private static final Pattern CHECKSUM = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern SHARD = Pattern.compile("[0-9a-f]{" + SHARD_LENGTH + "}");
+    private static final Pattern LEGACY_FILE_NAME = Pattern.compile(
+        "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\.[^.]+");
+
+    private final Path basePath;
+
+    public ReportStorageImpl(FileStorageConstants fileStorageConstants) {
+        this.basePath = Paths.get(fileStorageConstants.getMonthlyReportsBasePath()).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public StagedReport stage(InputStream content) throws IOException {
+        Files.createDirectories(basePath);
+        Path temp = Files.createTempFile(basePath, TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+        try {
+            MessageDigest digest = newDigest();
+            long size = 0;
+            try (ReadableByteChannel source = Channels.newChannel(content);
+                 FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer.array(), 0, buffer.limit());
+                    size += buffer.remaining();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                channel.force(true);
+            }
+            return new StagedReport(HexFormat.of().formatHex(digest.digest()), size, temp);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean publish(StagedReport staged) throws IOException {
+        Path target = resolveBlob(staged.getChecksum());
+        if (Files.exists(target) || Files.exists(resolve(staged.getChecksum()))) {
+            Files.deleteIfExists(staged.getFile());
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        Files.move(staged.getFile(), target, StandardCopyOption.ATOMIC_MOVE);
+        return true;
+    }
+
+    @Override
+    public void discard(StagedReport staged) {
+        try {
+            Files.deleteIfExists(staged.getFile());
+        } catch (IOException e) {
+            log.warn("Cannot delete temporary report file {}", staged.getFile(), e);
+        }
+    }
+
+    @Override
+    public Resource load(String checksum) {
+        Path blob = resolveBlob(checksum);
+        Path flat = resolve(checksum);
+        return new FileSystemResource(!Files.exists(blob) && Files.exists(flat) ? flat : blob);
+    }
+
+    @Override
+    public boolean delete(String checksum) throws IOException {
+        boolean deleted = Files.deleteIfExists(resolveBlob(checksum));
+        return Files.deleteIfExists(resolve(checksum)) || deleted;
+    }
+
+    @Override
+    public Resource loadLegacy(String fileName) {
+        return new FileSystemResource(resolve(fileName));
+    }
+
+    @Override
+    public boolean deleteLegacy(String fileName) throws IOException {
+        return Files.deleteIfExists(resolve(fileName));
+    }
+
+    @Override
+    public List<String> getShards() {
+        return IntStream.range(0, 1 << (4 * SHARD_LENGTH))
+            .mapToObj(shard -> String.format("%0" + SHARD_LENGTH + "x", shard))
+            .toList();
+    }
+
+    @Override
+    public Map<String, Instant> listBlobs(String shard) throws IOException {
+        if (!SHARD.matcher(shard).matches()) {
+            throw new IllegalArgumentException("Invalid shard: " + shard);
+        }
+        Path shardPath = basePath.resolve(shard);
+        if (!Files.isDirectory(shardPath)) {
+            return new HashMap<>();
+        }
+
+        Map<String, Instant> blobs = new HashMap<>();
+        try (DirectoryStream<Path> subShards = Files.newDirectoryStream(shardPath, Files::isDirectory)) {
+            for (Path subShard : subShards) {
+                list(subShard, CHECKSUM, blobs);
+            }
+        }
+        return blobs;
+    }
+
+    @Override
+    public Map<String, Instant> listLegacyFiles() throws IOException {
+        Map<String, Instant> files = new HashMap<>();
+        if (Files.isDirectory(basePath)) {
+            list(basePath, LEGACY_FILE_NAME, files);
+        }
+        return files;
+    }
+
+    @Override
+    public int deleteStaleTempFiles(Instant cutoff) throws IOException {
+        if (!Files.isDirectory(basePath)) {
+            return 0;
+        }
+
+        int deleted = 0;
+        String glob = TEMP_FILE_PREFIX + "*" + TEMP_FILE_SUFFIX;
+        try (DirectoryStream<Path> tempFiles = Files.newDirectoryStream(basePath, glob)) {
+            for (Path tempFile : tempFiles) {
+                if (Files.getLastModifiedTime(tempFile).toInstant().isBefore(cutoff)
+                    && Files.deleteIfExists(tempFile)) {
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public int migrateToShardedLayout() throws IOException {
+        if (!Files.isDirectory(basePath)) {
+            return 0;
+        }
+
+        int moved = 0;
+        try (DirectoryStream<Path> flatBlobs = Files.newDirectoryStream(basePath,
+            path -> CHECKSUM.matcher(path.getFileName().toString()).matches() && Files.isRegularFile(path))) {
+            for (Path flatBlob : flatBlobs) {
+                Path target = resolveBlob(flatBlob.getFileName().toString());
+                Files.createDirectories(target.getParent());
+                if (Files.exists(target)) {
+                    Files.delete(flatBlob);
+                } else {
+                    Files.move(flatBlob, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    private static void list(Path directory, Pattern names, Map<String, Instant> files) throws IOException {
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory,
+            path -> names.matcher(path.getFileName().toString()).matches())) {
+            for (Path path : paths) {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (attributes.isRegularFile()) {
+                    files.put(path.getFileName().toString(), attributes.lastModifiedTime().toInstant());
+                }
+            }
+        }
+    }
+
+    private Path resolveBlob(String checksum) {
+        if (!CHECKSUM.matcher(checksum).matches()) {
+            throw new IllegalArgumentException("Invalid checksum: " + checksum);
+        }
+        return basePath.resolve(checksum.substring(0, SHARD_LENGTH))
+            .resolve(checksum.substring(SHARD_LENGTH, 2 * SHARD_LENGTH))
+            .resolve(checksum);
+    }
+
+    private Path resolve(String name) {
+        Path path = basePath.resolve(name).normalize();
+        if (!basePath.equals(path.getParent())) {
+            throw new IllegalArgumentException("Invalid report name: " + name);
+        }
+        return path;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
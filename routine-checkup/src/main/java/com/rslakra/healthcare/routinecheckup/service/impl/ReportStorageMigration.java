@@ -0,0 +1,70 @@
+package com.rslakra.healthcare.routinecheckup.service.impl;
+
+import com.rslakra.healthcare.routinecheckup.entity.UserFileEntity;
+import com.rslakra.healthcare.routinecheckup.repository.UserFileRepository;
+import com.rslakra.healthcare.routinecheckup.service.FileComponent;
+import com.rslakra.healthcare.routinecheckup.service.ReportStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Once the application is up, moves the blobs stored flat in the base directory into their shards,
+ * then the reports stored before content addressing into blobs, one file (and transaction) at a time.
+ * Files that fail are left as they are, still readable, and retried on the next start.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportStorageMigration {
+
+    private final UserFileRepository userFileRepository;
+    private final FileComponent fileComponent;
+
+    private final ReportStorage reportStorage;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        migrateToShardedLayout();
+        migrateLegacyFiles();
+    }
+
+    private void migrateToShardedLayout() {
+        try {
+            int moved = reportStorage.migrateToShardedLayout();
+            if (moved > 0) {
+                log.info("Moved {} report blobs into the sharded layout", moved);
+            }
+        } catch (IOException e) {
+            log.error("Cannot move the report blobs into the sharded layout", e);
+        }
+    }
+
+    private void migrateLegacyFiles() {
+        List<UserFileEntity> legacyFiles = userFileRepository.findAllByBlobIsNull();
+        if (legacyFiles.isEmpty()) {
+            return;
+        }
+
+        int migrated = 0;
+        for (UserFileEntity legacyFile : legacyFiles) {
+            try {
+                if (fileComponent.migrateLegacyFile(legacyFile.getFileId())) {
+                    migrated++;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("Cannot migrate report {}", legacyFile.getFileId(), e);
+            }
+        }
+        log.info("Migrated {} of {} reports to content addressed storage", migrated, legacyFiles.size());
+    }
+
+}
@@ -0,0 +1,232 @@
+package com.rslakra.healthcare.routinecheckup.service.impl;
+
+import com.rslakra.healthcare.routinecheckup.entity.UserFileEntity;
+import com.rslakra.healthcare.routinecheckup.repository.ReportBlobRepository;
+import com.rslakra.healthcare.routinecheckup.repository.ReportBlobRepository.BlobReferences;
+import com.rslakra.healthcare.routinecheckup.repository.UserFileRepository;
+import com.rslakra.healthcare.routinecheckup.service.FileComponent;
+import com.rslakra.healthcare.routinecheckup.service.ReportStorage;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.FileStorageConstants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Compares the report blobs and user files in the database with the files on disk every
+ * <code>filestor.reconcile.interval_ms</code>, one shard per task on <code>filestor.reconcile.parallelism</code>
+ * threads. It finds:
+ * <ul>
+ *     <li>orphaned blobs: on disk but not referenced, for example after a failed delete,</li>
+ *     <li>missing blobs: referenced but not on disk,</li>
+ *     <li>miscounted blobs: whose reference count differs from the files referencing them,</li>
+ *     <li>orphaned legacy files: reports stored before content addressing that no file (still) refers to.</li>
+ * </ul>
+ * Files younger than <code>filestor.reconcile.grace_ms</code> are skipped, as they may belong to an upload
+ * still in progress. Everything is logged and published as <code>routinecheckup.reports.reconcile.*</code>
+ * gauges; only when <code>filestor.reconcile.clean</code> is on are orphans deleted, counts corrected and
+ * stale temporary files removed. Missing blobs can only be reported.
+ * <p>
+ * Blobs still stored flat in the base directory are moved into their shards first, as only the shards are
+ * scanned; if that fails the reconciliation is skipped rather than reporting them missing.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportStorageReconciler implements MeterBinder {
+
+    private final ReportStorage reportStorage;
+    private final ReportBlobRepository reportBlobRepository;
+    private final UserFileRepository userFileRepository;
+    private final FileComponent fileComponent;
+    private final FileStorageConstants fileStorageConstants;
+
+    private volatile Result lastResult = new Result();
+
+    @Scheduled(
+        fixedDelayString = "${filestor.reconcile.interval_ms}",
+        initialDelayString = "${filestor.reconcile.interval_ms}"
+    )
+    public void reconcile() {
+        boolean clean = fileStorageConstants.getReconcileClean();
+        Instant cutoff = Instant.now().minusMillis(fileStorageConstants.getReconcileGraceMs());
+        Result result = new Result();
+        long startTime = System.nanoTime();
+
+        try {
+            int moved = reportStorage.migrateToShardedLayout();
+            if (moved > 0) {
+                log.info("Moved {} flat report blobs into their shards", moved);
+            }
+        } catch (IOException e) {
+            log.error("Cannot move the flat report blobs into their shards, skipping reconciliation", e);
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+            fileStorageConstants.getReconcileParallelism(),
+            Thread.ofPlatform().name("report-reconciler-", 1).daemon().factory()
+        );
+        try {
+            List<Callable<Void>> tasks = reportStorage.getShards().stream()
+                .<Callable<Void>>map(shard -> () -> {
+                    reconcileShard(shard, cutoff, clean, result);
+                    return null;
+                })
+                .toList();
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    result.failedShards.increment();
+                    log.error("Cannot reconcile report shard", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        try {
+            reconcileLegacyFiles(cutoff, clean, result);
+            if (clean) {
+                result.cleaned.add(reportStorage.deleteStaleTempFiles(cutoff));
+            }
+        } catch (IOException e) {
+            log.error("Cannot reconcile the report base directory", e);
+        }
+
+        lastResult = result;
+        log.info("Reconciled report storage in {} ms: {} orphaned, {} missing, {} miscounted blobs,"
+                + " {} orphaned legacy files, {} cleaned, {} shards failed",
+            (System.nanoTime() - startTime) / 1_000_000, result.getOrphanedBlobs(), result.getMissingBlobs(),
+            result.getMiscountedBlobs(), result.getOrphanedLegacyFiles(), result.getCleaned(),
+            result.getFailedShards());
+    }
+
+    private void reconcileShard(String shard, Instant cutoff, boolean clean, Result result) throws IOException {
+        Map<String, Instant> blobFiles = reportStorage.listBlobs(shard);
+        for (BlobReferences blob : reportBlobRepository.findReferencesByShard(shard)) {
+            if (blobFiles.remove(blob.getChecksum()) == null) {
+                result.missingBlobs.increment();
+                log.warn("Blob {} of {} reports is missing on disk", blob.getChecksum(), blob.getFileCount());
+            }
+            if (blob.getRefCount() != blob.getFileCount()) {
+                result.miscountedBlobs.increment();
+                if (clean && fileComponent.reconcileBlob(blob.getChecksum())) {
+                    result.cleaned.increment();
+                }
+            }
+        }
+
+        blobFiles.forEach((checksum, lastModified) -> {
+            if (lastModified.isBefore(cutoff)) {
+                result.orphanedBlobs.increment();
+                log.warn("Blob {} is not referenced by any report", checksum);
+                if (clean && fileComponent.reconcileBlob(checksum)) {
+                    result.cleaned.increment();
+                }
+            }
+        });
+    }
+
+    private void reconcileLegacyFiles(Instant cutoff, boolean clean, Result result) throws IOException {
+        for (Map.Entry<String, Instant> legacyFile : reportStorage.listLegacyFiles().entrySet()) {
+            if (!legacyFile.getValue().isBefore(cutoff)) {
+                continue;
+            }
+
+            String fileName = legacyFile.getKey();
+            UUID fileId = UUID.fromString(fileName.substring(0, fileName.indexOf('.')));
+            Optional<UserFileEntity> userFile = userFileRepository.findById(fileId);
+            if (userFile.isPresent() && userFile.get().getBlob() == null) {
+                continue;
+            }
+
+            result.orphanedLegacyFiles.increment();
+            log.warn("Legacy report file {} is not referenced by any report", fileName);
+            if (clean && reportStorage.deleteLegacy(fileName)) {
+                result.cleaned.increment();
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge(registry, "orphaned", Result::getOrphanedBlobs);
+        gauge(registry, "missing", Result::getMissingBlobs);
+        gauge(registry, "miscounted", Result::getMiscountedBlobs);
+        Gauge.builder("routinecheckup.reports.reconcile.legacy_files", this,
+                reconciler -> reconciler.lastResult.getOrphanedLegacyFiles())
+            .description("Orphaned legacy report files found by the last reconciliation")
+            .register(registry);
+    }
+
+    private void gauge(MeterRegistry registry, String state, ToDoubleFunction<Result> value) {
+        Gauge.builder("routinecheckup.reports.reconcile.blobs", this,
+                reconciler -> value.applyAsDouble(reconciler.lastResult))
+            .description("Report blobs found in the state by the last reconciliation")
+            .tag("state", state)
+            .register(registry);
+    }
+
+    /**
+     * Counts of one reconciliation, updated by the shard tasks concurrently.
+     */
+    private static final class Result {
+
+        private final LongAdder orphanedBlobs = new LongAdder();
+        private final LongAdder missingBlobs = new LongAdder();
+        private final LongAdder miscountedBlobs = new LongAdder();
+        private final LongAdder orphanedLegacyFiles = new LongAdder();
+        private final LongAdder cleaned = new LongAdder();
+        private final LongAdder failedShards = new LongAdder();
+
+        private long getOrphanedBlobs() {
+            return orphanedBlobs.sum();
+        }
+
+        private long getMissingBlobs() {
+            return missingBlobs.sum();
+        }
+
+        private long getMiscountedBlobs() {
+            return miscountedBlobs.sum();
+        }
+
+        private long getOrphanedLegacyFiles() {
+            return orphanedLegacyFiles.sum();
+        }
+
+        private long getCleaned() {
+            return cleaned.sum();
+        }
+
+        private long getFailedShards() {
+            return failedShards.sum();
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.rslakra.healthcare.routinecheckup.service.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free per-key counter of the events in the last window (e.g. the login attempts of an IP address).
+ *
+ * The window is split into {@value #BUCKETS} buckets. Each bucket is one atomic long holding the bucket's epoch
+ * (the time divided by the bucket length) in the high bits and the count in the low bits. Recording an event is
+ * a CAS on the current bucket, which starts over at 1 when the bucket still holds an older epoch.
+ * The count is the sum of the buckets whose epoch is still inside the window, so the window slides
+ * in steps of a tenth of its length. The epoch has the remaining 40 bits, so buckets are at least a second long,
+ * which keeps the epoch of any current time far below 2^40; shorter windows are rejected.
+ *
+ * Keys without events for a whole window are dropped by {@link #expireIdle(long)}. A dropped window is first marked
+ * dead with a CAS on its last event time, which fails if an event came in meanwhile; an event that finds its window
+ * dead starts a new one. So no event is ever recorded in a window that is no longer mapped.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+final class SlidingWindowCounter {
+
+    private static final int BUCKETS = 10;
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long MIN_BUCKET_MS = 1_000;
+    private static final long DEAD = Long.MIN_VALUE;
+
+    private final long windowMs;
+    private final long bucketMs;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * @param windowMs The length of the window, at least {@value #BUCKETS} seconds
+     */
+    SlidingWindowCounter(long windowMs) {
+        if (windowMs < BUCKETS * MIN_BUCKET_MS) {
+            throw new IllegalArgumentException(
+                "Window must be at least " + BUCKETS * MIN_BUCKET_MS + " ms, was " + windowMs + " ms");
+        }
+        this.windowMs = windowMs;
+        this.bucketMs = windowMs / BUCKETS;
+    }
+
+    /**
+     * Records an event for the key.
+     *
+     * @param key
+     * @param nowMs
+     * @return The number of events in the window, including this one
+     */
+    int increment(String key, long nowMs) {
+        Window window = acquire(key, nowMs);
+
+        long epoch = nowMs / bucketMs;
+        int index = (int) (epoch % BUCKETS);
+        long bucket;
+        long updated;
+        do {
+            bucket = window.buckets.get(index);
+            if (bucket >>> COUNT_BITS != epoch) {
+                updated = epoch << COUNT_BITS | 1;
+            } else if ((bucket & COUNT_MASK) == COUNT_MASK) {
+                updated = bucket;
+            } else {
+                updated = bucket + 1;
+            }
+        } while (!window.buckets.compareAndSet(index, bucket, updated));
+
+        return count(window, epoch);
+    }
+
+    /**
+     * @param key
+     * @param nowMs
+     * @return The number of events in the window
+     */
+    int count(String key, long nowMs) {
+        Window window = windows.get(key);
+        return window == null ? 0 : count(window, nowMs / bucketMs);
+    }
+
+    /**
+     * @param key
+     * @return The time of the last event, 0 if none is known
+     */
+    long getLastEventMs(String key) {
+        Window window = windows.get(key);
+        long lastEventMs = window == null ? DEAD : window.lastEventMs.get();
+        return lastEventMs == DEAD ? 0 : lastEventMs;
+    }
+
+    /**
+     * Drops the keys without events in the last window.
+     *
+     * @param nowMs
+     * @return The number of keys dropped
+     */
+    int expireIdle(long nowMs) {
+        int dropped = 0;
+        for (String key : windows.keySet()) {
+            boolean[] expired = new boolean[1];
+            windows.computeIfPresent(key, (k, window) -> {
+                long lastEventMs = window.lastEventMs.get();
+                expired[0] = lastEventMs == DEAD
+                    || nowMs - lastEventMs > windowMs && window.lastEventMs.compareAndSet(lastEventMs, DEAD);
+                return expired[0] ? null : window;
+            });
+            if (expired[0]) {
+                dropped++;
+            }
+        }
+
+        return dropped;
+    }
+
+    /**
+     * @return The number of keys tracked
+     */
+    int size() {
+        return windows.size();
+    }
+
+    /**
+     * Returns the live window of the key with its last event time moved to <code>nowMs</code>,
+     * replacing a window marked dead by {@link #expireIdle} but not yet removed.
+     */
+    private Window acquire(String key, long nowMs) {
+        while (true) {
+            Window window = windows.computeIfAbsent(key, k -> new Window());
+            long lastEventMs = window.lastEventMs.get();
+            while (lastEventMs != DEAD) {
+                if (lastEventMs >= nowMs || window.lastEventMs.compareAndSet(lastEventMs, nowMs)) {
+                    return window;
+                }
+                lastEventMs = window.lastEventMs.get();
+            }
+            windows.remove(key, window);
+        }
+    }
+
+    private static int count(Window window, long epoch) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucket = window.buckets.get(i);
+            long bucketEpoch = bucket >>> COUNT_BITS;
+            if (bucketEpoch <= epoch && epoch - bucketEpoch < BUCKETS) {
+                total += bucket & COUNT_MASK;
+            }
+        }
+
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
+    private static final class Window {
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong lastEventMs = new AtomicLong();
+    }
+
+}
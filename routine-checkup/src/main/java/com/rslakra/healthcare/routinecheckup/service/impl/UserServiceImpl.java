@@ -7,16 +7,23 @@ import com.rslakra.healthcare.routinecheckup.dto.response.PatientResponseDto;
 import com.rslakra.healthcare.routinecheckup.dto.response.UserDoctorsAndPatients;
 import com.rslakra.healthcare.routinecheckup.dto.response.UserResponseDto;
 import com.rslakra.healthcare.routinecheckup.dto.response.UsersDoctorsAndPatients;
+import com.rslakra.healthcare.routinecheckup.entity.DoctorEntity;
+import com.rslakra.healthcare.routinecheckup.entity.PatientEntity;
 import com.rslakra.healthcare.routinecheckup.entity.RoleEntity;
 import com.rslakra.healthcare.routinecheckup.entity.UserEntity;
+import com.rslakra.healthcare.routinecheckup.repository.DoctorRepository;
+import com.rslakra.healthcare.routinecheckup.repository.PatientRepository;
 import com.rslakra.healthcare.routinecheckup.repository.UserRepository;
 import com.rslakra.healthcare.routinecheckup.service.CaptchaService;
+import com.rslakra.healthcare.routinecheckup.service.DoctorSearchIndex;
+import com.rslakra.healthcare.routinecheckup.service.DoctorsAndPatientsReadModel;
 import com.rslakra.healthcare.routinecheckup.service.RoleService;
 import com.rslakra.healthcare.routinecheckup.service.AuthAttemptsService;
 import com.rslakra.healthcare.routinecheckup.service.UserService;
 import com.rslakra.healthcare.routinecheckup.service.mail.EmailService;
 import com.rslakra.healthcare.routinecheckup.service.mail.EmailType;
 import com.rslakra.healthcare.routinecheckup.service.security.TokenService;
+import com.rslakra.healthcare.routinecheckup.service.security.VerifiedTokenCache;
 import com.rslakra.healthcare.routinecheckup.utils.components.DtoUtils;
 import com.rslakra.healthcare.routinecheckup.utils.components.holder.FileStorageConstants;
 import com.rslakra.healthcare.routinecheckup.utils.components.holder.Messages;
@@ -29,6 +36,10 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.owasp.encoder.Encode;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -37,12 +48,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 /**
  * @author Rohtash Lakra
@@ -54,6 +67,8 @@ import java.util.stream.StreamSupport;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
     private final Messages messages;
     private final DtoUtils dtoUtils;
     private final PasswordEncoder passwordEncoder;
@@ -63,6 +78,9 @@ public class UserServiceImpl implements UserService {
     private final TokenService tokenService;
     private final FileStorageConstants fileStorageConstants;
     private final EmailService emailService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final DoctorSearchIndex doctorSearchIndex;
+    private final DoctorsAndPatientsReadModel doctorsAndPatientsReadModel;
 
     @Override
     @Transactional(readOnly = true)
@@ -135,18 +153,8 @@ public class UserServiceImpl implements UserService {
         }
 
         UserEntity saved = userRepository.save(userEntity);
-        
-        // Send registration email - if it fails, log error but don't fail registration
-        try {
-            emailService.sendEmail(EmailType.REGISTRATION, saved, null);
-        } catch (Exception e) {
-            // Email sending is non-critical - registration should succeed even if email fails
-            // Error is already logged in EmailServiceImpl
-            log.warn("User '{}' registered successfully, but registration email could not be sent. " +
-                    "User can still complete registration using the token from the registration URL.",
-                    saved.getLogin());
-        }
-        
+        // Queued in this transaction: the user and the registration email are committed or rolled back together
+        emailService.sendEmail(EmailType.REGISTRATION, saved, null);
         UserResponseDto result = dtoUtils.convertUser(saved);
 
         return result;
@@ -168,6 +176,9 @@ public class UserServiceImpl implements UserService {
         UserEntity toUpdate = dtoUtils.merge(old, userEntity);
 
         UserEntity updated = userRepository.save(toUpdate);
+        verifiedTokenCache.invalidateUser(login);
+        doctorSearchIndex.refreshUser(updated.getId());
+        doctorsAndPatientsReadModel.invalidateUser(updated.getId());
         UserResponseDto result = dtoUtils.convertUser(updated);
 
         return result;
@@ -178,6 +189,9 @@ public class UserServiceImpl implements UserService {
     public UserResponseDto deleteUserById(@NonNull String id) {
         UserEntity user = findById(id);
         userRepository.delete(user);
+        verifiedTokenCache.invalidateUser(user.getLogin());
+        doctorSearchIndex.refreshUser(user.getId());
+        doctorsAndPatientsReadModel.invalidateUser(user.getId());
 
         UserResponseDto result = dtoUtils.convertUser(user);
         return result;
@@ -185,27 +199,36 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional(readOnly = true)
-    public UsersDoctorsAndPatients getAllUsersDoctorsAndPatients() {
-        Iterable<UserEntity> all = userRepository.findAll();
-        List<UserDoctorsAndPatients> doctorsAndPatients
-                = StreamSupport.stream(all.spliterator(), false)
-                .map(this::getUserDoctorsAndPatients)
+    public UsersDoctorsAndPatients getAllUsersDoctorsAndPatients(@NonNull Pageable pageable) {
+        Pageable sorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSortOr(Sort.by("login")));
+        Page<UserEntity> users = userRepository.findAllBy(sorted);
+        Map<UUID, List<DoctorEntity>> doctorsByUser = new HashMap<>();
+        Map<UUID, List<PatientEntity>> patientsByUser = new HashMap<>();
+        if (users.hasContent()) {
+            doctorRepository.findAllByUserEntityIn(users.getContent()).forEach(doctor ->
+                    doctorsByUser.computeIfAbsent(doctor.getUserEntity().getId(), id -> new ArrayList<>()).add(doctor));
+            patientRepository.findAllByUserEntityIn(users.getContent()).forEach(patient ->
+                    patientsByUser.computeIfAbsent(patient.getUserEntity().getId(), id -> new ArrayList<>()).add(patient));
+        }
+
+        List<UserDoctorsAndPatients> doctorsAndPatients = users.stream()
+                .map(user -> getUserDoctorsAndPatients(
+                        user,
+                        doctorsByUser.getOrDefault(user.getId(), List.of()),
+                        patientsByUser.getOrDefault(user.getId(), List.of())
+                ))
                 .collect(Collectors.toList());
 
-        UsersDoctorsAndPatients result
-                = new UsersDoctorsAndPatients(doctorsAndPatients);
+        UsersDoctorsAndPatients result = new UsersDoctorsAndPatients(
+                doctorsAndPatients,
+                users.getNumber(),
+                users.getSize(),
+                users.getTotalElements()
+        );
         return result;
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public UserDoctorsAndPatients getUserDoctorsAndPatientsByLogin(@NonNull String login) {
-        UserEntity user = findByLogin(login);
-        UserDoctorsAndPatients userDoctorsAndPatients
-                = getUserDoctorsAndPatients(user);
-        return userDoctorsAndPatients;
-    }
-
     @Override
     @Transactional
     public void completeRegistration(String registrationToken) {
@@ -219,6 +242,7 @@ public class UserServiceImpl implements UserService {
         if (user.getIsTemporary()) {
             user.setIsTemporary(false);
             userRepository.save(user);
+            verifiedTokenCache.invalidateUser(loginFromToken);
         }
     }
 
@@ -244,18 +268,23 @@ public class UserServiceImpl implements UserService {
         String sanitizedUrl = Encode.forHtml(urlString);
         user.setProfilePicUrl(sanitizedUrl);
         userRepository.save(user);
+        doctorsAndPatientsReadModel.invalidateUser(user.getId());
 
         return sanitizedUrl;
     }
 
-    private UserDoctorsAndPatients getUserDoctorsAndPatients(@NonNull UserEntity user) {
-        List<DoctorResponseDto> doctors = user.getUserDoctors().stream()
+    private UserDoctorsAndPatients getUserDoctorsAndPatients(
+            @NonNull UserEntity user,
+            List<DoctorEntity> doctorEntities,
+            List<PatientEntity> patientEntities
+    ) {
+        List<DoctorResponseDto> doctors = doctorEntities.stream()
                 .map(dtoUtils::convertDoctor)
                 .collect(Collectors.toList());
-        List<PatientResponseDto> patients = user.getUserPatients().stream()
+        List<PatientResponseDto> patients = patientEntities.stream()
                 .map(dtoUtils::convertPatient)
                 .collect(Collectors.toList());
-        UserResponseDto userResponseDto = dtoUtils.convertUser(user);
+        UserResponseDto userResponseDto = dtoUtils.convertUser(user, doctorEntities, patientEntities);
         UserDoctorsAndPatients result = new UserDoctorsAndPatients(
                 userResponseDto,
                 user.getProfilePicUrl(),
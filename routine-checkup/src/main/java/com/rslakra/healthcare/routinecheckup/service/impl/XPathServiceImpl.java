@@ -62,14 +62,6 @@ public class XPathServiceImpl implements XPathService {
         return nodeList;
     }
 
-    @Override
-    public String sanitizeExpressionParam(String param) {
-        String result = param
-            .replace("'", "\\'")
-            .replace("\"", "\\\"");
-        return result;
-    }
-
     private Document getDocument(
         String fullFileName
     ) throws
@@ -0,0 +1,226 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.mail;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the email tasks on at most <code>workers</code> threads, virtual ones if asked for, with at most
+ * <code>queueCapacity</code> tasks waiting for a worker. Further tasks are rejected rather than run by the
+ * caller, so a burst of emails never makes a request thread talk to the SMTP server.
+ * <p>
+ * At most <code>perDomainConcurrency</code> tasks of a recipient domain run at a time. The others wait
+ * in the domain's lane without holding a worker or a queue slot, up to <code>queueCapacity</code> in all lanes.
+ * <p>
+ * The waiting tasks, busy workers, rejected tasks, and the wait and run time of each task are published
+ * as <code>routinecheckup.mail.dispatch.*</code> metrics.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Slf4j
+public class MailDispatchExecutor implements Executor, MeterBinder, DisposableBean {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final int perDomainConcurrency;
+
+    private final Map<String, Lane> lanes = new HashMap<>();
+    private int laneWaiting;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+
+    public MailDispatchExecutor(int workers, int queueCapacity, int perDomainConcurrency, boolean virtualThreads) {
+        ThreadFactory threadFactory = virtualThreads
+            ? Thread.ofVirtual().name("email-dispatch-", 0).factory()
+            : Thread.ofPlatform().name("email-dispatch-", 0).factory();
+        this.executor = new ThreadPoolExecutor(
+            workers, workers, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity), threadFactory,
+            (task, pool) -> {
+                rejected.increment();
+                throw new RejectedExecutionException("Email dispatch queue is full");
+            }
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+        this.queueCapacity = queueCapacity;
+        this.perDomainConcurrency = perDomainConcurrency;
+    }
+
+    /**
+     * Runs the task on a worker, regardless of domain.
+     *
+     * @throws RejectedExecutionException If the queue is full
+     */
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(new Task(null, task));
+    }
+
+    /**
+     * Runs the task on a worker once fewer than <code>perDomainConcurrency</code> tasks of the domain run.
+     *
+     * @return Completed when the task ran, exceptionally with a {@link RejectedExecutionException}
+     * if the queue or the lanes were full
+     */
+    public CompletableFuture<Void> submit(String domain, Runnable task) {
+        Task queued = new Task(domain, task);
+        synchronized (lanes) {
+            Lane lane = lanes.computeIfAbsent(domain, key -> new Lane());
+            if (lane.running >= perDomainConcurrency) {
+                if (laneWaiting >= queueCapacity) {
+                    rejected.increment();
+                    queued.future.completeExceptionally(
+                        new RejectedExecutionException("Too many emails waiting for their domain")
+                    );
+                } else {
+                    lane.waiting.add(queued);
+                    laneWaiting++;
+                }
+                return queued.future;
+            }
+            lane.running++;
+        }
+
+        start(queued);
+        return queued.future;
+    }
+
+    private void start(Task task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.future.completeExceptionally(e);
+            finish(task.domain);
+        }
+    }
+
+    /**
+     * Hands the slot of a finished task of the domain to the next one waiting, if any.
+     */
+    private void finish(String domain) {
+        Task next;
+        synchronized (lanes) {
+            Lane lane = lanes.get(domain);
+            next = lane.waiting.poll();
+            if (next != null) {
+                laneWaiting--;
+            } else if (--lane.running == 0) {
+                lanes.remove(domain);
+            }
+        }
+
+        if (next != null) {
+            start(next);
+        }
+    }
+
+    private int getLaneWaiting() {
+        synchronized (lanes) {
+            return laneWaiting;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("routinecheckup.mail.dispatch.queued", executor, pool -> pool.getQueue().size())
+            .description("Email tasks waiting")
+            .tag("for", "worker")
+            .register(registry);
+        Gauge.builder("routinecheckup.mail.dispatch.queued", this, MailDispatchExecutor::getLaneWaiting)
+            .description("Email tasks waiting")
+            .tag("for", "domain")
+            .register(registry);
+        Gauge.builder("routinecheckup.mail.dispatch.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Workers running an email task")
+            .register(registry);
+        FunctionCounter.builder("routinecheckup.mail.dispatch.rejected", rejected, LongAdder::sum)
+            .description("Email tasks rejected as the queue was full")
+            .register(registry);
+        FunctionTimer.builder("routinecheckup.mail.dispatch.wait", this,
+                dispatch -> dispatch.completed.sum(), dispatch -> dispatch.waitNanos.sum(), TimeUnit.NANOSECONDS)
+            .description("Time from submitting each email task to starting it")
+            .register(registry);
+        FunctionTimer.builder("routinecheckup.mail.dispatch.run", this,
+                dispatch -> dispatch.completed.sum(), dispatch -> dispatch.runNanos.sum(), TimeUnit.NANOSECONDS)
+            .description("Time running each email task")
+            .register(registry);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Email tasks still running after {} seconds, stopping them", SHUTDOWN_TIMEOUT_SECONDS);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The tasks of a domain running and waiting to run.
+     */
+    private static final class Lane {
+
+        private final Deque<Task> waiting = new ArrayDeque<>();
+        private int running;
+    }
+
+    private final class Task implements Runnable {
+
+        private final String domain;
+        private final Runnable task;
+        private final long submittedAt = System.nanoTime();
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private Task(String domain, Runnable task) {
+            this.domain = domain;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            try {
+                task.run();
+                future.complete(null);
+            } catch (Throwable e) {
+                // Complete the future even on an Error, or the batch waiting for it would block forever
+                log.error("Email task failed: {}", e.getMessage(), e);
+                future.completeExceptionally(e);
+                if (e instanceof Error error) {
+                    throw error;
+                }
+            } finally {
+                long finishedAt = System.nanoTime();
+                waitNanos.add(startedAt - submittedAt);
+                runNanos.add(finishedAt - startedAt);
+                completed.increment();
+                if (domain != null) {
+                    finish(domain);
+                }
+            }
+        }
+    }
+
+}
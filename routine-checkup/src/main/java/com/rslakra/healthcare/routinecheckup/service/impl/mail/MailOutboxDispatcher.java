@@ -0,0 +1,304 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.mail;
+
+import com.rslakra.healthcare.routinecheckup.entity.MailOutboxEntity;
+import com.rslakra.healthcare.routinecheckup.entity.MailOutboxEntity.Status;
+import com.rslakra.healthcare.routinecheckup.service.mail.MailEnqueuedEvent;
+import com.rslakra.healthcare.routinecheckup.service.mail.MailOutbox;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.MailDispatchConstants;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.MailOutboxConstants;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Sends the emails of the {@link MailOutbox} in batches of <code>mail.outbox.batch_size</code>. The emails
+ * of a batch are grouped by recipient domain, and each group sent on the {@link MailDispatchExecutor} over
+ * one SMTP connection per <code>mail.dispatch.messages_per_connection</code> emails; emails the executor
+ * rejects are left for the next poll.
+ * <p>
+ * The outbox is drained on the executor as soon as an email is committed, and every
+ * <code>mail.outbox.poll_interval_ms</code> for the retries and for emails committed by other instances;
+ * the scheduler thread only purges and counts the outbox. One drain runs at a time; an email committed
+ * meanwhile makes it go around again.
+ * <p>
+ * The pending and dead emails, the outcome of each attempt, the SMTP time of each connection and the time
+ * from enqueueing to sending each email are published as <code>routinecheckup.mail.outbox.*</code> metrics.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Component
+@Slf4j
+public class MailOutboxDispatcher implements MeterBinder {
+
+    private final MailOutbox mailOutbox;
+    private final JavaMailSender javaMailSender;
+    private final MailOutboxConstants mailOutboxConstants;
+    private final MailDispatchConstants mailDispatchConstants;
+    private final MailDispatchExecutor mailDispatchExecutor;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean drainAgain;
+
+    private final AtomicLong pendingEmails = new AtomicLong();
+    private final AtomicLong deadEmails = new AtomicLong();
+    private final LongAdder sentEmails = new LongAdder();
+    private final LongAdder failedEmails = new LongAdder();
+    private final LongAdder connections = new LongAdder();
+    private final LongAdder connectionNanos = new LongAdder();
+    private final LongAdder deliveryMs = new LongAdder();
+
+    public MailOutboxDispatcher(
+        MailOutbox mailOutbox,
+        JavaMailSender javaMailSender,
+        MailOutboxConstants mailOutboxConstants,
+        MailDispatchConstants mailDispatchConstants,
+        MailDispatchExecutor mailDispatchExecutor
+    ) {
+        this.mailOutbox = mailOutbox;
+        this.javaMailSender = javaMailSender;
+        this.mailOutboxConstants = mailOutboxConstants;
+        this.mailDispatchConstants = mailDispatchConstants;
+        this.mailDispatchExecutor = mailDispatchExecutor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMailEnqueued(MailEnqueuedEvent event) {
+        requestDrain();
+    }
+
+    /**
+     * Hands the drain to the executor, and purges and counts the outbox on the scheduler thread.
+     */
+    @Scheduled(fixedDelayString = "${mail.outbox.poll_interval_ms}")
+    public void poll() {
+        requestDrain();
+        try {
+            int purged = mailOutbox.purgeSent();
+            if (purged > 0) {
+                log.debug("Purged {} sent emails from the outbox", purged);
+            }
+            pendingEmails.set(mailOutbox.count(Status.PENDING));
+            deadEmails.set(mailOutbox.count(Status.DEAD));
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge or count the mail outbox: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs a drain on the executor, unless one is running; that one then goes around again.
+     */
+    private void requestDrain() {
+        // Set before reading draining, see drain()
+        drainAgain = true;
+        if (draining.get()) {
+            return;
+        }
+        try {
+            mailDispatchExecutor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            log.debug("Email executor is busy, the outbox is drained at the next poll");
+        }
+    }
+
+    /**
+     * Sends the due emails until there are none left, unless another thread is already doing so.
+     * <p>
+     * A caller that finds a drain running sets <code>drainAgain</code> before it gives up. The running drain
+     * clears <code>draining</code> before it reads <code>drainAgain</code> again, so either it sees the flag
+     * and goes around, or the caller sees the drain finished and takes over; no request is lost.
+     */
+    public void drain() {
+        drainAgain = true;
+        while (drainAgain && draining.compareAndSet(false, true)) {
+            try {
+                int batchSize = mailOutboxConstants.getBatchSize();
+                do {
+                    drainAgain = false;
+                    while (dispatchBatch(batchSize) == batchSize) {
+                        // the next batch may be due as well
+                    }
+                } while (drainAgain);
+            } catch (RuntimeException e) {
+                log.error("Failed to drain the mail outbox: {}", e.getMessage(), e);
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    /**
+     * Sends the batch over a connection per <code>mail.dispatch.messages_per_connection</code> emails
+     * of each recipient domain, and waits for all of them.
+     *
+     * @return The number of emails claimed, or 0 if some could not be dispatched and draining should stop
+     */
+    private int dispatchBatch(int batchSize) {
+        List<MailOutboxEntity> batch = mailOutbox.claimDue(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, String> failed = new ConcurrentHashMap<>();
+        Set<UUID> rejected = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<Void>> connections = new ArrayList<>();
+        int messagesPerConnection = mailDispatchConstants.getMessagesPerConnection();
+        for (Map.Entry<String, List<MailOutboxEntity>> domain : byDomain(batch).entrySet()) {
+            List<MailOutboxEntity> mails = domain.getValue();
+            for (int from = 0; from < mails.size(); from += messagesPerConnection) {
+                List<MailOutboxEntity> connection = mails.subList(
+                    from, Math.min(from + messagesPerConnection, mails.size())
+                );
+                connections.add(
+                    mailDispatchExecutor.submit(domain.getKey(), () -> send(connection, failed))
+                        .exceptionally(e -> {
+                            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                            connection.forEach(mail -> {
+                                if (cause instanceof RejectedExecutionException) {
+                                    rejected.add(mail.getId());
+                                } else {
+                                    failed.putIfAbsent(mail.getId(), cause.toString());
+                                }
+                            });
+                            return null;
+                        })
+                );
+            }
+        }
+        CompletableFuture.allOf(connections.toArray(new CompletableFuture[0])).join();
+
+        long now = System.currentTimeMillis();
+        List<UUID> sent = new ArrayList<>(batch.size());
+        for (MailOutboxEntity mail : batch) {
+            if (!failed.containsKey(mail.getId()) && !rejected.contains(mail.getId())) {
+                sent.add(mail.getId());
+                deliveryMs.add(now - mail.getCreatedAt().getTime());
+            }
+        }
+        if (!rejected.isEmpty()) {
+            mailOutbox.release(rejected);
+        }
+        mailOutbox.complete(sent, failed);
+        sentEmails.add(sent.size());
+        failedEmails.add(failed.size());
+        log.debug("Sent {} of {} emails from the outbox, {} left for the next poll",
+            sent.size(), batch.size(), rejected.size());
+        return rejected.isEmpty() ? batch.size() : 0;
+    }
+
+    /**
+     * Sends the emails over one connection, adding the error of each email not sent to the failures.
+     */
+    private void send(List<MailOutboxEntity> mails, Map<UUID, String> failed) {
+        Map<MimeMessage, MailOutboxEntity> messages = new LinkedHashMap<>();
+        for (MailOutboxEntity mail : mails) {
+            try {
+                messages.put(toMessage(mail), mail);
+            } catch (MessagingException e) {
+                failed.put(mail.getId(), e.toString());
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        try {
+            javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            messages.forEach((message, mail) -> {
+                Exception error = failedMessages.isEmpty() ? e : failedMessages.get(message);
+                if (error != null) {
+                    failed.put(mail.getId(), error.toString());
+                }
+            });
+        } catch (MailException e) {
+            messages.values().forEach(mail -> failed.put(mail.getId(), e.toString()));
+        } finally {
+            connections.increment();
+            connectionNanos.add(System.nanoTime() - startTime);
+        }
+    }
+
+    private static Map<String, List<MailOutboxEntity>> byDomain(List<MailOutboxEntity> mails) {
+        return mails.stream().collect(
+            Collectors.groupingBy(mail -> domainOf(mail.getRecipient()), LinkedHashMap::new, Collectors.toList())
+        );
+    }
+
+    private static String domainOf(String recipient) {
+        int at = recipient == null ? -1 : recipient.lastIndexOf('@');
+        return at < 0 ? "" : recipient.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private MimeMessage toMessage(MailOutboxEntity mail) throws MessagingException {
+        MimeMessage message = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setTo(mail.getRecipient());
+        helper.setSubject(mail.getSubject());
+        helper.setText(mail.getBody());
+        return message;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("routinecheckup.mail.outbox.depth", pendingEmails, AtomicLong::get)
+            .description("Emails in the outbox, as of the last poll")
+            .tag("status", "pending")
+            .register(registry);
+        Gauge.builder("routinecheckup.mail.outbox.depth", deadEmails, AtomicLong::get)
+            .description("Emails in the outbox, as of the last poll")
+            .tag("status", "dead")
+            .register(registry);
+        FunctionCounter.builder("routinecheckup.mail.outbox.attempts", sentEmails, LongAdder::sum)
+            .description("Attempts to send an email from the outbox")
+            .tag("outcome", "sent")
+            .register(registry);
+        FunctionCounter.builder("routinecheckup.mail.outbox.attempts", failedEmails, LongAdder::sum)
+            .description("Attempts to send an email from the outbox")
+            .tag("outcome", "failed")
+            .register(registry);
+        FunctionTimer.builder("routinecheckup.mail.outbox.send", this,
+                dispatcher -> dispatcher.connections.sum(), dispatcher -> dispatcher.connectionNanos.sum(),
+                TimeUnit.NANOSECONDS)
+            .description("SMTP time of each connection")
+            .register(registry);
+        FunctionTimer.builder("routinecheckup.mail.outbox.delivery", this,
+                dispatcher -> dispatcher.sentEmails.sum(), dispatcher -> dispatcher.deliveryMs.sum(),
+                TimeUnit.MILLISECONDS)
+            .description("Time from enqueueing to sending each email")
+            .register(registry);
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.mail;
+
+import com.rslakra.healthcare.routinecheckup.entity.MailOutboxEntity;
+import com.rslakra.healthcare.routinecheckup.entity.MailOutboxEntity.Status;
+import com.rslakra.healthcare.routinecheckup.repository.MailOutboxRepository;
+import com.rslakra.healthcare.routinecheckup.service.mail.EmailType;
+import com.rslakra.healthcare.routinecheckup.service.mail.MailEnqueuedEvent;
+import com.rslakra.healthcare.routinecheckup.service.mail.MailOutbox;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.MailOutboxConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The retry delay starts at <code>mail.outbox.initial_backoff_ms</code> and doubles with each failed attempt,
+ * up to <code>mail.outbox.max_backoff_ms</code>, plus up to a tenth more so emails failing together
+ * don't all retry at the same time. After <code>mail.outbox.max_attempts</code> an email is dead and only logged.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MailOutboxImpl implements MailOutbox {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailOutboxConstants mailOutboxConstants;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    @Transactional
+    public void enqueue(EmailType emailType, String recipient, String subject, String body) {
+        Date now = new Date();
+        MailOutboxEntity mail = new MailOutboxEntity();
+        mail.setEmailType(emailType);
+        mail.setRecipient(recipient);
+        mail.setSubject(subject);
+        mail.setBody(body);
+        mail.setStatus(Status.PENDING);
+        mail.setNextAttemptAt(now);
+        mail.setCreatedAt(now);
+        mailOutboxRepository.save(mail);
+        applicationEventPublisher.publishEvent(new MailEnqueuedEvent());
+    }
+
+    @Override
+    @Transactional
+    public List<MailOutboxEntity> claimDue(int limit) {
+        Date now = new Date();
+        Date claimedUntil = new Date(now.getTime() + mailOutboxConstants.getClaimTimeoutMs());
+        List<MailOutboxEntity> due = mailOutboxRepository
+            .findAllByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(
+                Status.PENDING, now, PageRequest.of(0, limit)
+            );
+
+        List<MailOutboxEntity> claimed = new ArrayList<>(due.size());
+        for (MailOutboxEntity mail : due) {
+            if (mailOutboxRepository.claim(mail.getId(), Status.PENDING, mail.getNextAttemptAt(), claimedUntil) == 1) {
+                claimed.add(mail);
+            }
+        }
+        return claimed;
+    }
+
+    @Override
+    @Transactional
+    public void complete(Collection<UUID> sent, Map<UUID, String> failed) {
+        Date now = new Date();
+        if (!sent.isEmpty()) {
+            mailOutboxRepository.markSent(sent, Status.SENT, now);
+        }
+
+        for (Map.Entry<UUID, String> failure : failed.entrySet()) {
+            mailOutboxRepository.findById(failure.getKey()).ifPresent(mail -> {
+                int attempts = mail.getAttempts() + 1;
+                mail.setAttempts(attempts);
+                mail.setLastError(truncate(failure.getValue()));
+                if (attempts >= mailOutboxConstants.getMaxAttempts()) {
+                    mail.setStatus(Status.DEAD);
+                    log.error("Giving up on {} email {} to '{}' after {} attempts: {}",
+                        mail.getEmailType(), mail.getId(), mail.getRecipient(), attempts, failure.getValue());
+                } else {
+                    mail.setNextAttemptAt(new Date(now.getTime() + backoffMs(attempts)));
+                    log.warn("{} email {} to '{}' failed (attempt {}), retrying at {}: {}",
+                        mail.getEmailType(), mail.getId(), mail.getRecipient(), attempts,
+                        mail.getNextAttemptAt(), failure.getValue());
+                }
+            });
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(Collection<UUID> ids) {
+        mailOutboxRepository.release(ids, Status.PENDING, new Date());
+    }
+
+    @Override
+    @Transactional
+    public int purgeSent() {
+        Date before = new Date(System.currentTimeMillis() - mailOutboxConstants.getSentRetentionMs());
+        return mailOutboxRepository.deleteSentBefore(Status.SENT, before);
+    }
+
+    @Override
+    public long count(Status status) {
+        return mailOutboxRepository.countByStatus(status);
+    }
+
+    /**
+     * @param attempts The failed attempts so far, at least 1
+     * @return The delay before the next attempt
+     */
+    long backoffMs(int attempts) {
+        long initial = mailOutboxConstants.getInitialBackoffMs();
+        long max = mailOutboxConstants.getMaxBackoffMs();
+        int doublings = Math.min(attempts - 1, Long.numberOfLeadingZeros(Math.max(initial, 1)) - 1);
+        long delay = Math.min(initial << doublings, max);
+        return delay + ThreadLocalRandom.current().nextLong(delay / 10 + 1);
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+}
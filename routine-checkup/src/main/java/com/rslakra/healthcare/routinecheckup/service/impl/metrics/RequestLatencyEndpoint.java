@@ -0,0 +1,37 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.metrics;
+
+import com.rslakra.healthcare.routinecheckup.service.metrics.RequestMetricsService;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.RequestMetricsConstants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serves the request latencies per handler and the slowest requests at <code>/actuator/latency</code>
+ * on the management port.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Component
+@Endpoint(id = "latency")
+@RequiredArgsConstructor
+public class RequestLatencyEndpoint {
+
+    private final RequestMetricsService requestMetricsService;
+    private final RequestMetricsConstants requestMetricsConstants;
+
+    @ReadOperation
+    public Map<String, Object> latency() {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("windowMs", requestMetricsConstants.getWindowMs());
+        latency.put("handlers", requestMetricsService.getHandlerLatencies());
+        latency.put("slowRequests", requestMetricsService.getSlowRequests());
+        return latency;
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.metrics;
+
+import com.rslakra.healthcare.routinecheckup.service.metrics.HandlerLatency;
+import com.rslakra.healthcare.routinecheckup.service.metrics.LatencySummary;
+import com.rslakra.healthcare.routinecheckup.service.metrics.RequestMetricsService;
+import com.rslakra.healthcare.routinecheckup.service.metrics.SlowRequest;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.RequestMetricsConstants;
+import jakarta.servlet.http.HttpServletRequest;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Records the request latencies (in microseconds) into one HdrHistogram {@link Recorder} per handler method,
+ * and the slowest requests into a {@link SlowRequestReservoir}. Both are wait-free or lock-free for the
+ * request threads; only the rotation every <code>request_metrics.window_ms</code> and the readers synchronize.
+ *
+ * Requests that never reached a handler (rejected by the security filters, for example) are recorded
+ * as <code>unmapped</code>.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Service
+public class RequestMetricsServiceImpl implements RequestMetricsService {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final String UNMAPPED = "unmapped";
+
+    private final int slowRequests;
+    private final ConcurrentMap<Object, HandlerRecorder> recorders = new ConcurrentHashMap<>();
+    private volatile SlowRequestReservoir currentSlowRequests;
+    private volatile SlowRequestReservoir lastSlowRequests;
+
+    public RequestMetricsServiceImpl(RequestMetricsConstants requestMetricsConstants) {
+        this.slowRequests = requestMetricsConstants.getSlowRequests();
+        this.currentSlowRequests = new SlowRequestReservoir(slowRequests);
+        this.lastSlowRequests = new SlowRequestReservoir(0);
+    }
+
+    @Override
+    public void record(HttpServletRequest request, int status, long durationNanos) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        Object key = handler instanceof HandlerMethod handlerMethod ? handlerMethod.getMethod()
+            : handler != null ? handler.getClass() : UNMAPPED;
+        HandlerRecorder recorder = recorders.get(key);
+        if (recorder == null) {
+            recorder = recorders.computeIfAbsent(key, k -> new HandlerRecorder(handlerName(handler)));
+        }
+        recorder.record(durationNanos);
+
+        SlowRequestReservoir reservoir = currentSlowRequests;
+        if (reservoir.accepts(durationNanos)) {
+            reservoir.offer(new SlowRequest(Instant.now(), recorder.name, request.getMethod(),
+                request.getRequestURI(), status, durationNanos));
+        }
+    }
+
+    @Override
+    public List<HandlerLatency> getHandlerLatencies() {
+        return recorders.values().stream()
+            .map(HandlerRecorder::snapshot)
+            .sorted(Comparator.comparing(HandlerLatency::getHandler))
+            .toList();
+    }
+
+    @Override
+    public List<SlowRequest> getSlowRequests() {
+        return Stream.concat(currentSlowRequests.getRequests().stream(), lastSlowRequests.getRequests().stream())
+            .sorted(Comparator.comparingLong(SlowRequest::getDurationNanos).reversed())
+            .limit(slowRequests)
+            .toList();
+    }
+
+    /**
+     * Closes the current window and starts the next one.
+     */
+    @Scheduled(fixedRateString = "${request_metrics.window_ms}", initialDelayString = "${request_metrics.window_ms}")
+    public void rotate() {
+        recorders.values().forEach(HandlerRecorder::rotate);
+        lastSlowRequests = currentSlowRequests;
+        currentSlowRequests = new SlowRequestReservoir(slowRequests);
+    }
+
+    private static String handlerName(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        }
+        return handler != null ? handler.getClass().getSimpleName() : UNMAPPED;
+    }
+
+    private static LatencySummary summarize(Histogram histogram) {
+        if (histogram == null || histogram.getTotalCount() == 0) {
+            return new LatencySummary(0, 0, 0, 0, 0, 0);
+        }
+        return new LatencySummary(histogram.getTotalCount(),
+            toMillis(histogram.getValueAtPercentile(50)),
+            toMillis(histogram.getValueAtPercentile(95)),
+            toMillis(histogram.getValueAtPercentile(99)),
+            toMillis(histogram.getMaxValue()),
+            histogram.getMean() / 1000.0);
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Latencies of one handler: the recorder written by the request threads, the last complete window
+     * and the total since startup. The window histograms are recycled into the recorder.
+     */
+    private static final class HandlerRecorder {
+
+        private final String name;
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        private Histogram window;
+        private Histogram recycled;
+
+        private HandlerRecorder(String name) {
+            this.name = name;
+        }
+
+        private void record(long durationNanos) {
+            recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+        }
+
+        private synchronized void rotate() {
+            Histogram finished = recorder.getIntervalHistogram(recycled);
+            total.add(finished);
+            recycled = window;
+            window = finished;
+        }
+
+        private synchronized HandlerLatency snapshot() {
+            return new HandlerLatency(name, summarize(window), summarize(total));
+        }
+    }
+
+}
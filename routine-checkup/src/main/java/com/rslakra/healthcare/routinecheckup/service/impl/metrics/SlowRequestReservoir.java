@@ -0,0 +1,98 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.metrics;
+
+import com.rslakra.healthcare.routinecheckup.service.metrics.SlowRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the N slowest requests offered to it, without locking.
+ *
+ * Once full, the duration of the fastest request kept is the floor: a request at or under it is
+ * turned away by {@link #accepts(long)} alone, so the common case costs one volatile read and no allocation.
+ * A slower request replaces the fastest one kept with a compare-and-set, retrying if another thread got there first.
+ * As a slot is only ever replaced by a slower request, a floor computed by a racing thread can only be too low,
+ * which costs an extra scan but never loses a slow request.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+final class SlowRequestReservoir {
+
+    private final AtomicReferenceArray<SlowRequest> slots;
+    private volatile long floorNanos;
+
+    SlowRequestReservoir(int size) {
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * @param durationNanos The duration of a request
+     * @return Whether a request that slow would be kept
+     */
+    boolean accepts(long durationNanos) {
+        return slots.length() > 0 && durationNanos > floorNanos;
+    }
+
+    /**
+     * @param request The request to keep, if it is slower than the fastest one kept
+     * @return Whether the request was kept
+     */
+    boolean offer(SlowRequest request) {
+        while (accepts(request.getDurationNanos())) {
+            int index = 0;
+            SlowRequest fastest = null;
+            for (int i = 0; i < slots.length(); i++) {
+                SlowRequest slot = slots.get(i);
+                if (slot == null) {
+                    index = i;
+                    fastest = null;
+                    break;
+                }
+                if (fastest == null || slot.getDurationNanos() < fastest.getDurationNanos()) {
+                    index = i;
+                    fastest = slot;
+                }
+            }
+
+            if (fastest != null && request.getDurationNanos() <= fastest.getDurationNanos()) {
+                updateFloor();
+                return false;
+            }
+            if (slots.compareAndSet(index, fastest, request)) {
+                updateFloor();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The requests kept, in no particular order
+     */
+    List<SlowRequest> getRequests() {
+        List<SlowRequest> requests = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            SlowRequest slot = slots.get(i);
+            if (slot != null) {
+                requests.add(slot);
+            }
+        }
+        return requests;
+    }
+
+    private void updateFloor() {
+        long floor = Long.MAX_VALUE;
+        for (int i = 0; i < slots.length(); i++) {
+            SlowRequest slot = slots.get(i);
+            if (slot == null) {
+                floor = 0;
+                break;
+            }
+            floor = Math.min(floor, slot.getDurationNanos());
+        }
+        floorNanos = floor;
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.security;
+
+import com.rslakra.healthcare.routinecheckup.service.security.CsrfTokenStore;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.CsrfConstants;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Keeps the CSRF tokens in an {@link ExpiringTokenMap} of at most <code>security.csrf.max_tokens</code> entries,
+ * swept every <code>security.csrf.sweep_interval_ms</code>.
+ *
+ * Publishes the <code>routinecheckup.csrf.tokens.size</code> gauge and the
+ * <code>routinecheckup.csrf.tokens.evictions</code> counter (tagged with reason expired or size).
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Component
+@Slf4j
+public class CsrfTokenStoreImpl implements CsrfTokenStore, MeterBinder {
+
+    private final ExpiringTokenMap<CsrfToken> tokens;
+
+    public CsrfTokenStoreImpl(CsrfConstants csrfConstants) {
+        this.tokens = new ExpiringTokenMap<>(csrfConstants.getMaxTokens());
+    }
+
+    @Override
+    public Optional<CsrfToken> getToken(String jwt) {
+        return Optional.ofNullable(tokens.get(jwt, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void saveToken(String jwt, CsrfToken token, long expiresAtMs) {
+        tokens.put(jwt, token, expiresAtMs, System.currentTimeMillis());
+    }
+
+    @Override
+    public void removeToken(String jwt) {
+        tokens.remove(jwt);
+    }
+
+    /**
+     * Drops the CSRF tokens of expired sessions.
+     */
+    @Scheduled(fixedDelayString = "${security.csrf.sweep_interval_ms}")
+    public void sweep() {
+        int expired = tokens.sweep(System.currentTimeMillis());
+        log.debug("Swept {} expired CSRF tokens, {} left", expired, tokens.size());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("routinecheckup.csrf.tokens.size", tokens, ExpiringTokenMap::size)
+            .description("CSRF tokens stored")
+            .register(registry);
+        FunctionCounter.builder("routinecheckup.csrf.tokens.evictions", tokens, ExpiringTokenMap::getExpiredCount)
+            .description("CSRF tokens removed")
+            .tag("reason", "expired")
+            .register(registry);
+        FunctionCounter.builder("routinecheckup.csrf.tokens.evictions", tokens, ExpiringTokenMap::getEvictedCount)
+            .description("CSRF tokens removed")
+            .tag("reason", "size")
+            .register(registry);
+    }
+
+}
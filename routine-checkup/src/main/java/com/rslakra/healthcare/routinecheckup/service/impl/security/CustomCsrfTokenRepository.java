@@ -1,9 +1,12 @@
 package com.rslakra.healthcare.routinecheckup.service.impl.security;
 
-import com.rslakra.healthcare.routinecheckup.entity.UserCsrfToken;
-import com.rslakra.healthcare.routinecheckup.repository.UserCsrfTokenRepository;
+import com.rslakra.healthcare.routinecheckup.exceptions.JwtTokenExpiredException;
+import com.rslakra.healthcare.routinecheckup.service.security.CsrfTokenStore;
 import com.rslakra.healthcare.routinecheckup.service.security.TokenService;
+import com.rslakra.healthcare.routinecheckup.service.security.VerifiedTokenCache;
 import com.rslakra.healthcare.routinecheckup.utils.components.holder.CsrfConstants;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.impl.DefaultClaims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.web.csrf.CsrfToken;
 import org.springframework.security.web.csrf.CsrfTokenRepository;
@@ -13,9 +16,14 @@ import org.springframework.stereotype.Component;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
 
 /**
+ * Stores the CSRF token of each session token in the {@link CsrfTokenStore} until the session token expires.
+ * Only verified session tokens get a CSRF token, so forged cookies can't fill the store. The expiry of a token
+ * the {@link VerifiedTokenCache} holds is taken from there; others have their signature verified here.
+ *
  * @author Rohtash Lakra
  * @created 8/12/21 4:22 PM
  */
@@ -25,7 +33,8 @@ public class CustomCsrfTokenRepository implements CsrfTokenRepository {
 
     private final TokenService tokenService;
     private final CsrfConstants csrfConstants;
-    private final UserCsrfTokenRepository userCsrfTokenRepository;
+    private final CsrfTokenStore csrfTokenStore;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @Override
     public CsrfToken generateToken(HttpServletRequest request) {
@@ -42,8 +51,24 @@ public class CustomCsrfTokenRepository implements CsrfTokenRepository {
             return;
         }
         String jwt = jwtOpt.get();
-        UserCsrfToken userCsrfToken = new UserCsrfToken(jwt, token);
-        userCsrfTokenRepository.save(userCsrfToken);
+        if (token == null) {
+            csrfTokenStore.removeToken(jwt);
+            return;
+        }
+
+        OptionalLong expirationMs = verifiedTokenCache.getExpirationMs(jwt);
+        if (expirationMs.isPresent()) {
+            csrfTokenStore.saveToken(jwt, token, expirationMs.getAsLong());
+            return;
+        }
+
+        DefaultClaims claims;
+        try {
+            claims = tokenService.parse(jwt);
+        } catch (JwtException | JwtTokenExpiredException e) {
+            return;
+        }
+        csrfTokenStore.saveToken(jwt, token, claims.getExpiration().getTime());
     }
 
     @Override
@@ -54,14 +79,7 @@ public class CustomCsrfTokenRepository implements CsrfTokenRepository {
         }
         String jwt = jwtOpt.get();
 
-        Optional<UserCsrfToken> csrfOpt = userCsrfTokenRepository.findById(jwt);
-        if (!csrfOpt.isPresent()) {
-            return null;
-        }
-
-        UserCsrfToken userCsrfToken = csrfOpt.get();
-        CsrfToken token = userCsrfToken.getToken();
-        return token;
+        return csrfTokenStore.getToken(jwt).orElse(null);
     }
 
 }
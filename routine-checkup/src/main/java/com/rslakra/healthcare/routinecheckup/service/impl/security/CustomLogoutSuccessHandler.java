@@ -1,5 +1,7 @@
 package com.rslakra.healthcare.routinecheckup.service.impl.security;
 
+import com.rslakra.healthcare.routinecheckup.service.security.TokenService;
+import com.rslakra.healthcare.routinecheckup.service.security.VerifiedTokenCache;
 import com.rslakra.healthcare.routinecheckup.utils.components.holder.JwtConstants;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -22,6 +24,8 @@ import jakarta.servlet.http.HttpServletResponse;
 public class CustomLogoutSuccessHandler implements LogoutSuccessHandler {
 
     private final JwtConstants jwtConstants;
+    private final TokenService tokenService;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @Override
     public void onLogoutSuccess(
@@ -29,6 +33,8 @@ public class CustomLogoutSuccessHandler implements LogoutSuccessHandler {
         HttpServletResponse response,
         Authentication authentication
     ) throws IOException, ServletException {
+        tokenService.getTokenFromRequest(request).ifPresent(verifiedTokenCache::invalidateToken);
+
         Cookie cookie = new Cookie(jwtConstants.getParameterName(), "");
         cookie.setMaxAge(0);
         cookie.setSecure(true);
@@ -0,0 +1,205 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Bounded map of values that belong to a token and expire with it.
+ *
+ * Entries are keyed by a short hash of the token (the first 128 bits of its SHA-256 digest),
+ * so the raw tokens are not held in memory. Expired entries are dropped when read, by {@link #sweep(long)},
+ * and all of them once the map is full; then the entries closest to expiry are dropped down to the low-water mark,
+ * nine tenths of the max size, so only about every tenth put on a full map pays for an eviction.
+ * Evictions run one at a time and pick the entries with a heap of the excess size instead of sorting the map.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+final class ExpiringTokenMap<V> {
+
+    private static final int HASH_BYTES = 16;
+
+    private final int maxSize;
+    private final int lowWaterMark;
+    private final Object evictionLock = new Object();
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+
+    /**
+     * @param maxSize The max number of entries
+     */
+    ExpiringTokenMap(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        this.lowWaterMark = this.maxSize - Math.max(1, this.maxSize / 10);
+    }
+
+    /**
+     * @param token
+     * @param nowMs
+     * @return The value of the token, null if missing or expired
+     */
+    V get(String token, long nowMs) {
+        Entry<V> entry = liveEntry(token, nowMs);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * @param token
+     * @param nowMs
+     * @return The expiry of the token's entry, 0 if missing or expired
+     */
+    long getExpiresAtMs(String token, long nowMs) {
+        Entry<V> entry = liveEntry(token, nowMs);
+        return entry == null ? 0 : entry.expiresAtMs;
+    }
+
+    /**
+     * @param token
+     * @param value
+     * @param expiresAtMs
+     * @param nowMs
+     */
+    void put(String token, V value, long expiresAtMs, long nowMs) {
+        if (entries.size() >= maxSize) {
+            evict(nowMs);
+        }
+        entries.put(hash(token), new Entry<>(value, expiresAtMs));
+    }
+
+    /**
+     * @param token
+     */
+    void remove(String token) {
+        entries.remove(hash(token));
+    }
+
+    /**
+     * Removes the entries whose value matches the filter.
+     *
+     * @param filter
+     */
+    void removeIf(Predicate<V> filter) {
+        entries.values().removeIf(entry -> filter.test(entry.value));
+    }
+
+    /**
+     * Drops the expired entries.
+     *
+     * @param nowMs
+     * @return The number of entries dropped
+     */
+    int sweep(long nowMs) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.isExpired(nowMs));
+        int expired = Math.max(0, before - entries.size());
+        expiredCount.addAndGet(expired);
+        return expired;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return The number of entries dropped because they expired
+     */
+    long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    /**
+     * @return The number of entries dropped before expiry because the map was full
+     */
+    long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    private void evict(long nowMs) {
+        synchronized (evictionLock) {
+            // Another put may have evicted while this one waited
+            if (entries.size() < maxSize) {
+                return;
+            }
+
+            sweep(nowMs);
+            int excess = entries.size() - lowWaterMark;
+            if (excess <= 0) {
+                return;
+            }
+
+            // Max-heap of the excess entries closest to expiry, the root is the latest of them
+            Comparator<Map.Entry<String, Entry<V>>> byExpiry
+                = Comparator.comparingLong(entry -> entry.getValue().expiresAtMs);
+            PriorityQueue<Map.Entry<String, Entry<V>>> closest = new PriorityQueue<>(excess, byExpiry.reversed());
+            for (Map.Entry<String, Entry<V>> entry : entries.entrySet()) {
+                if (closest.size() < excess) {
+                    closest.add(Map.entry(entry.getKey(), entry.getValue()));
+                } else if (byExpiry.compare(entry, closest.peek()) < 0) {
+                    closest.poll();
+                    closest.add(Map.entry(entry.getKey(), entry.getValue()));
+                }
+            }
+
+            closest.forEach(entry -> {
+                if (entries.remove(entry.getKey(), entry.getValue())) {
+                    evictedCount.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    private Entry<V> liveEntry(String token, long nowMs) {
+        String key = hash(token);
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(nowMs)) {
+            if (entries.remove(key, entry)) {
+                expiredCount.incrementAndGet();
+            }
+            return null;
+        }
+
+        return entry;
+    }
+
+    /**
+     * @param token
+     * @return The Base64 encoded first 128 bits of the SHA-256 digest of the token
+     */
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, HASH_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long expiresAtMs;
+
+        private Entry(V value, long expiresAtMs) {
+            this.value = value;
+            this.expiresAtMs = expiresAtMs;
+        }
+
+        private boolean isExpired(long nowMs) {
+            return nowMs > expiresAtMs;
+        }
+    }
+
+}
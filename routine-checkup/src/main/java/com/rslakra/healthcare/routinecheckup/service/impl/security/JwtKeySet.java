@@ -0,0 +1,144 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.impl.DefaultClaims;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Signing and verification keys of one token type, built once from the configured key strings.
+ *
+ * Tokens are signed with the current key and carry its key id in the <code>kid</code> header.
+ * The parser picks the verification key by that id, so tokens signed with a previous key still verify
+ * until they expire. Tokens without a key id (issued before key ids were added) are verified with the current key.
+ *
+ * Instances are immutable and thread-safe.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+final class JwtKeySet {
+
+    private final String currentKeyId;
+    private final SecretKey currentKey;
+    private final Map<String, SecretKey> keys;
+    private final JwtParser parser;
+
+    /**
+     * @param currentKey The key new tokens are signed with
+     * @param previousKeys The keys that were used before and are only used to verify
+     */
+    JwtKeySet(String currentKey, String... previousKeys) {
+        this.currentKey = toSecretKey(currentKey);
+        this.currentKeyId = keyId(this.currentKey);
+
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        keys.put(currentKeyId, this.currentKey);
+        if (previousKeys != null) {
+            Arrays.stream(previousKeys)
+                .filter(previousKey -> previousKey != null && !previousKey.isBlank())
+                .map(JwtKeySet::toSecretKey)
+                .forEach(previousKey -> keys.putIfAbsent(keyId(previousKey), previousKey));
+        }
+        this.keys = Collections.unmodifiableMap(keys);
+
+        this.parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                return findKey(header.getKeyId());
+            }
+        }).build();
+    }
+
+    /**
+     * Signs the claims with the current key.
+     *
+     * @param claims
+     * @param expiration
+     * @return The compact token
+     */
+    String sign(Map<String, Object> claims, Date expiration) {
+        return Jwts.builder()
+            .header().keyId(currentKeyId).and()
+            .claims(claims)
+            .expiration(expiration)
+            .signWith(currentKey)
+            .compact();
+    }
+
+    /**
+     * Verifies the token signature and returns its claims.
+     *
+     * @param token
+     * @return
+     */
+    DefaultClaims parse(String token) {
+        return (DefaultClaims) parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * @return The key id of the current key
+     */
+    String getCurrentKeyId() {
+        return currentKeyId;
+    }
+
+    /**
+     * @param keyId
+     * @return The key with the given id, the current key if the id is missing
+     */
+    private SecretKey findKey(String keyId) {
+        if (keyId == null) {
+            return currentKey;
+        }
+
+        SecretKey key = keys.get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown key id: " + keyId);
+        }
+
+        return key;
+    }
+
+    /**
+     * HS512 requires at least 512 bits, i.e. 64 characters.
+     *
+     * @param key
+     * @return
+     */
+    private static SecretKey toSecretKey(String key) {
+        return Keys.hmacShaKeyFor(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The key id is derived from the key itself (first 8 bytes of its SHA-256 digest), so it doesn't need
+     * to be configured and doesn't reveal the key.
+     *
+     * @param key
+     * @return
+     */
+    private static String keyId(SecretKey key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getEncoded());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -7,14 +7,8 @@ import com.rslakra.healthcare.routinecheckup.utils.components.holder.Messages;
 import com.rslakra.healthcare.routinecheckup.utils.components.holder.RegistrationConstants;
 import com.rslakra.healthcare.routinecheckup.exceptions.JwtTokenExpiredException;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.impl.DefaultClaims;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-import lombok.RequiredArgsConstructor;
-
 import static java.util.concurrent.TimeUnit.SECONDS;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -28,36 +22,47 @@ import java.util.Map;
 import java.util.Optional;
 
 /**
+ * The session and registration keys are turned into {@link JwtKeySet}s once, when the service is created,
+ * so signing and parsing a token don't derive keys or build parsers.
+ *
  * @author Rohtash Lakra
  * @created 8/12/21 4:23 PM
  */
 @Component
-@RequiredArgsConstructor
 public class TokenServiceImpl implements TokenService {
 
     private final JwtConstants jwtConstants;
     private final RegistrationConstants registrationConstants;
     private final Messages messages;
-
+    private final JwtKeySet sessionKeys;
+    private final JwtKeySet registrationKeys;
+
+    public TokenServiceImpl(JwtConstants jwtConstants, RegistrationConstants registrationConstants, Messages messages) {
+        this.jwtConstants = jwtConstants;
+        this.registrationConstants = registrationConstants;
+        this.messages = messages;
+        this.sessionKeys = new JwtKeySet(jwtConstants.getJwtKey(), jwtConstants.getPreviousJwtKeys());
+        this.registrationKeys = new JwtKeySet(registrationConstants.getRegistrationTokenKey(),
+                registrationConstants.getPreviousRegistrationTokenKeys());
+    }
 
     @Override
     public String generateRegistrationToken(UserEntity userEntity) {
-        String result = generateToken(userEntity.getLogin(), registrationConstants.getRegistrationTimeMs(), registrationConstants.getRegistrationTokenKey(), jwtConstants.getLoginFieldName());
+        String result = generateToken(userEntity.getLogin(), registrationConstants.getRegistrationTimeMs(), registrationKeys, jwtConstants.getLoginFieldName());
 
         return result;
     }
 
     @Override
     public String generateToken(UserDetails userDetails) {
-        String result = generateToken(userDetails.getUsername(), jwtConstants.getExpirationTimeMs(), jwtConstants.getJwtKey(), jwtConstants.getLoginFieldName());
+        String result = generateToken(userDetails.getUsername(), jwtConstants.getExpirationTimeMs(), sessionKeys, jwtConstants.getLoginFieldName());
 
         return result;
     }
 
     @Override
     public DefaultClaims parse(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtConstants.getJwtKey().getBytes(StandardCharsets.UTF_8));
-        DefaultClaims body = (DefaultClaims) Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        DefaultClaims body = sessionKeys.parse(token);
 
         validateTokenClaims(body);
 
@@ -66,8 +71,7 @@ public class TokenServiceImpl implements TokenService {
 
     @Override
     public DefaultClaims parseRegistrationToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(registrationConstants.getRegistrationTokenKey().getBytes(StandardCharsets.UTF_8));
-        DefaultClaims body = (DefaultClaims) Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        DefaultClaims body = registrationKeys.parse(token);
 
         validateTokenClaims(body);
 
@@ -104,7 +108,8 @@ public class TokenServiceImpl implements TokenService {
      * @param claims
      * @return
      */
-    private String getLoginFromClaims(DefaultClaims claims) {
+    @Override
+    public String getLoginFromClaims(DefaultClaims claims) {
         return claims.get(jwtConstants.getLoginFieldName(), String.class);
     }
 
@@ -122,23 +127,17 @@ public class TokenServiceImpl implements TokenService {
     /**
      * @param login
      * @param tokenLifeMs
-     * @param tokenKey
+     * @param keys
      * @param loginFieldName
      * @return
      */
-    private String generateToken(String login, Long tokenLifeMs, String tokenKey, String loginFieldName) {
+    private String generateToken(String login, Long tokenLifeMs, JwtKeySet keys, String loginFieldName) {
         Map<String, Object> claims = getBaseClaims(login, loginFieldName);
         Long issuedAtSeconds = (Long) claims.get(Claims.ISSUED_AT);
         Long issuedAtMs = issuedAtSeconds == null ? (new Date()).getTime() : issuedAtSeconds * SECONDS.toMillis(1);
         long expirationAtMs = issuedAtMs + tokenLifeMs;
 
-        // Convert string key to SecretKey for HS512 (requires at least 512 bits = 64 characters)
-        SecretKey key = Keys.hmacShaKeyFor(tokenKey.getBytes(StandardCharsets.UTF_8));
-        String result = Jwts.builder()
-                .claims(claims)
-                .expiration(new Date(expirationAtMs))
-                .signWith(key)
-                .compact();
+        String result = keys.sign(claims, new Date(expirationAtMs));
 
         return result;
     }
@@ -0,0 +1,100 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.security;
+
+import com.rslakra.healthcare.routinecheckup.service.security.VerifiedTokenCache;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.JwtConstants;
+import io.jsonwebtoken.impl.DefaultClaims;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the verified tokens in an {@link ExpiringTokenMap} of at most <code>security.jwt.cache_max_size</code> entries.
+ * <p>
+ * A user invalidated while a request loads its details must not be cached from that load. Invalidations bump a
+ * generation before removing the user's tokens, and a put checks the generation again after inserting: either it
+ * sees the bump and removes its entry, or the insert happened before the bump and the removal drops it.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Component
+public class VerifiedTokenCacheImpl implements VerifiedTokenCache {
+
+    private final ExpiringTokenMap<UserDetails> tokens;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public VerifiedTokenCacheImpl(JwtConstants jwtConstants) {
+        this.tokens = new ExpiringTokenMap<>(jwtConstants.getCacheMaxSize());
+    }
+
+    @Override
+    public Optional<UserDetails> getUserDetails(String token) {
+        return Optional.ofNullable(tokens.get(token, System.currentTimeMillis()));
+    }
+
+    @Override
+    public OptionalLong getExpirationMs(String token) {
+        long expiresAtMs = tokens.getExpiresAtMs(token, System.currentTimeMillis());
+        return expiresAtMs == 0 ? OptionalLong.empty() : OptionalLong.of(expiresAtMs);
+    }
+
+    @Override
+    public long generation() {
+        return generation.get();
+    }
+
+    @Override
+    public void put(String token, DefaultClaims claims, UserDetails userDetails, long generation) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null || this.generation.get() != generation) {
+            return;
+        }
+
+        tokens.put(token, userDetails, expiration.getTime(), System.currentTimeMillis());
+        if (this.generation.get() != generation) {
+            tokens.remove(token);
+        }
+    }
+
+    @Override
+    public void invalidateToken(String token) {
+        tokens.remove(token);
+    }
+
+    @Override
+    public void invalidateUser(String login) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(login);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(login);
+                }
+            }
+        );
+    }
+
+    private void invalidate(String login) {
+        generation.incrementAndGet();
+        tokens.removeIf(userDetails -> userDetails.getUsername().equals(login));
+    }
+
+    /**
+     * @return The number of cached tokens
+     */
+    public int size() {
+        return tokens.size();
+    }
+
+}
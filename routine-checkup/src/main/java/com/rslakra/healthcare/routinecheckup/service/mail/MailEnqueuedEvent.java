@@ -0,0 +1,11 @@
+package com.rslakra.healthcare.routinecheckup.service.mail;
+
+/**
+ * Published when an email is added to the {@link MailOutbox}.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+public class MailEnqueuedEvent {
+
+}
@@ -0,0 +1,59 @@
+package com.rslakra.healthcare.routinecheckup.service.mail;
+
+import com.rslakra.healthcare.routinecheckup.entity.MailOutboxEntity;
+import com.rslakra.healthcare.routinecheckup.entity.MailOutboxEntity.Status;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The emails to send, stored with the changes that caused them so neither is lost without the other.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+public interface MailOutbox {
+
+    /**
+     * Stores an email to send, in the current transaction if there is one.
+     * A {@link MailEnqueuedEvent} is published so it is sent once the transaction commits.
+     */
+    void enqueue(EmailType emailType, String recipient, String subject, String body);
+
+    /**
+     * Claims the pending emails that are due, oldest first, so no other dispatcher sends them meanwhile.
+     * Emails whose claim expires before they are completed are sent again.
+     *
+     * @param limit The maximum number of emails to claim
+     * @return The claimed emails
+     */
+    List<MailOutboxEntity> claimDue(int limit);
+
+    /**
+     * Marks the sent emails as sent, and schedules the failed ones for another attempt after
+     * an exponentially growing delay, or marks them dead once they have failed too often.
+     *
+     * @param sent   The ids of the emails sent
+     * @param failed The error of each email that could not be sent, by id
+     */
+    void complete(Collection<UUID> sent, Map<UUID, String> failed);
+
+    /**
+     * Makes claimed emails that could not be attempted due again, without counting an attempt.
+     *
+     * @param ids The ids of the emails
+     */
+    void release(Collection<UUID> ids);
+
+    /**
+     * Deletes the emails sent longer than <code>mail.outbox.sent_retention_ms</code> ago.
+     *
+     * @return The number of emails deleted
+     */
+    int purgeSent();
+
+    long count(Status status);
+
+}
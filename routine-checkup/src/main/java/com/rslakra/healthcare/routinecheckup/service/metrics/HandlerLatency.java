@@ -0,0 +1,31 @@
+package com.rslakra.healthcare.routinecheckup.service.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Latency of one handler method.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Getter
+@AllArgsConstructor
+public class HandlerLatency {
+
+    /**
+     * The handler method as <code>Controller#method</code>
+     */
+    private final String handler;
+
+    /**
+     * The last complete window
+     */
+    private final LatencySummary window;
+
+    /**
+     * Since startup
+     */
+    private final LatencySummary total;
+
+}
@@ -0,0 +1,28 @@
+package com.rslakra.healthcare.routinecheckup.service.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Latency percentiles of a number of requests, in milliseconds.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Getter
+@AllArgsConstructor
+public class LatencySummary {
+
+    private final long count;
+
+    private final double p50;
+
+    private final double p95;
+
+    private final double p99;
+
+    private final double max;
+
+    private final double mean;
+
+}
@@ -0,0 +1,35 @@
+package com.rslakra.healthcare.routinecheckup.service.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.List;
+
+/**
+ * Latency of the HTTP requests per handler method, and the slowest requests, over a fixed window
+ * (<code>request_metrics.window_ms</code>).
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+public interface RequestMetricsService {
+
+    /**
+     * Records a finished request. Must be cheap enough to call on every request.
+     *
+     * @param request The request, after it was dispatched to its handler
+     * @param status The response status
+     * @param durationNanos The time taken to handle the request
+     */
+    void record(HttpServletRequest request, int status, long durationNanos);
+
+    /**
+     * @return The latency of each handler over the last complete window and since startup
+     */
+    List<HandlerLatency> getHandlerLatencies();
+
+    /**
+     * @return The slowest requests of the current and the last complete window, slowest first
+     */
+    List<SlowRequest> getSlowRequests();
+
+}
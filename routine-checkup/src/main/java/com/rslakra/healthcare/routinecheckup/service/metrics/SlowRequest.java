@@ -0,0 +1,36 @@
+package com.rslakra.healthcare.routinecheckup.service.metrics;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Details of a slow request. The query string is left out, as it may hold credentials.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@Getter
+@AllArgsConstructor
+public class SlowRequest {
+
+    private final Instant finishedAt;
+
+    private final String handler;
+
+    private final String method;
+
+    private final String uri;
+
+    private final int status;
+
+    @JsonIgnore
+    private final long durationNanos;
+
+    public double getDurationMs() {
+        return durationNanos / 1_000_000.0;
+    }
+
+}
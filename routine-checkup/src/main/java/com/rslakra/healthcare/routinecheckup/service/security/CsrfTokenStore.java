@@ -0,0 +1,33 @@
+package com.rslakra.healthcare.routinecheckup.service.security;
+
+import org.springframework.security.web.csrf.CsrfToken;
+
+import java.util.Optional;
+
+/**
+ * Store of the CSRF token issued for each session token. Entries expire with their session token.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+public interface CsrfTokenStore {
+
+    /**
+     * @param jwt The session token
+     * @return The CSRF token of the session, unless missing or expired
+     */
+    Optional<CsrfToken> getToken(String jwt);
+
+    /**
+     * @param jwt The session token
+     * @param token The CSRF token
+     * @param expiresAtMs The expiry of the session token
+     */
+    void saveToken(String jwt, CsrfToken token, long expiresAtMs);
+
+    /**
+     * @param jwt The session token
+     */
+    void removeToken(String jwt);
+
+}
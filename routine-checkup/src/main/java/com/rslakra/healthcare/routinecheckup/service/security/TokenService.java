@@ -28,6 +28,8 @@ public interface TokenService {
 
     String getLoginFromRegistrationToken(String token);
 
+    String getLoginFromClaims(DefaultClaims claims);
+
     Optional<String> getTokenFromRequest(HttpServletRequest request);
 
 }
@@ -0,0 +1,69 @@
+package com.rslakra.healthcare.routinecheckup.service.security;
+
+import io.jsonwebtoken.impl.DefaultClaims;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Cache of already verified session tokens, keyed by a digest of the token.
+ * Each entry holds the resolved user details and lives until the expiry claim of the token,
+ * so an authenticated request doesn't verify the signature or load the user again.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+public interface VerifiedTokenCache {
+
+    /**
+     * Returns the user details cached for the given token, unless missing or expired.
+     *
+     * @param token The raw token
+     * @return The cached user details
+     */
+    Optional<UserDetails> getUserDetails(String token);
+
+    /**
+     * Returns the expiry of the given token, if it is cached and so was verified already.
+     *
+     * @param token The raw token
+     * @return The expiry claim of the token in ms
+     */
+    OptionalLong getExpirationMs(String token);
+
+    /**
+     * Returns the current generation, which every user invalidation bumps.
+     * Read it before loading the user details to {@link #put}.
+     *
+     * @return The current generation
+     */
+    long generation();
+
+    /**
+     * Caches the verified claims and user details of the given token until the token expires,
+     * unless a user was invalidated since the given generation, as the details may then be stale.
+     *
+     * @param token The raw token
+     * @param claims The verified claims of the token
+     * @param userDetails The user the token belongs to
+     * @param generation The {@link #generation()} read before the user details were loaded
+     */
+    void put(String token, DefaultClaims claims, UserDetails userDetails, long generation);
+
+    /**
+     * Removes the given token (e.g. on logout).
+     *
+     * @param token The raw token
+     */
+    void invalidateToken(String token);
+
+    /**
+     * Removes all tokens of the given user (e.g. after the user was changed or deleted).
+     * Within a transaction they are removed once it commits, so a concurrent request can't cache the old user again.
+     *
+     * @param login The login of the user
+     */
+    void invalidateUser(String login);
+
+}
@@ -14,6 +14,7 @@ import com.rslakra.healthcare.routinecheckup.entity.UserEntity;
 import org.owasp.encoder.Encode;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -34,6 +35,16 @@ public interface DtoUtils {
 
     UserResponseDto convertUser(UserEntity userEntity);
 
+    /**
+     * Converts the user with doctors and patients already loaded, without touching its lazy collections.
+     *
+     * @param userEntity
+     * @param doctors
+     * @param patients
+     * @return
+     */
+    UserResponseDto convertUser(UserEntity userEntity, List<DoctorEntity> doctors, List<PatientEntity> patients);
+
     UserEntity convertUser(UserRequestDto userRequestDto);
 
     UserRequestDto sanitizeUser(UserRequestDto userRequestDto);
@@ -10,4 +10,6 @@ public interface CsrfConstants {
 
     String getCsrfHeaderName();
 
+    Integer getMaxTokens();
+
 }
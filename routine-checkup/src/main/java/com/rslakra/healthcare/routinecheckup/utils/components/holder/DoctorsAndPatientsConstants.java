@@ -0,0 +1,13 @@
+package com.rslakra.healthcare.routinecheckup.utils.components.holder;
+
+/**
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+public interface DoctorsAndPatientsConstants {
+
+    Integer getCacheMaxSize();
+
+    Long getCacheTtlMs();
+
+}
@@ -9,8 +9,16 @@ public interface FileStorageConstants {
 
     String getFinancialReportPath();
 
+    Long getFinancialReportCheckIntervalMs();
+
     String getMonthlyReportsBasePath();
 
     String[] getExternalPicUrlsAllowList();
 
+    Boolean getReconcileClean();
+
+    Long getReconcileGraceMs();
+
+    Integer getReconcileParallelism();
+
 }
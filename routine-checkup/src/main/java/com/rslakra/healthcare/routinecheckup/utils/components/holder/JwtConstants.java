@@ -8,10 +8,14 @@ public interface JwtConstants {
 
     String getJwtKey();
 
+    String[] getPreviousJwtKeys();
+
     Long getExpirationTimeMs();
 
     String getLoginFieldName();
 
     String getParameterName();
 
+    Integer getCacheMaxSize();
+
 }
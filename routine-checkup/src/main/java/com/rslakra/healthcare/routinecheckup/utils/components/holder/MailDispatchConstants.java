@@ -0,0 +1,19 @@
+package com.rslakra.healthcare.routinecheckup.utils.components.holder;
+
+/**
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+public interface MailDispatchConstants {
+
+    Integer getWorkers();
+
+    Integer getQueueCapacity();
+
+    Integer getPerDomainConcurrency();
+
+    Integer getMessagesPerConnection();
+
+    Boolean getVirtualThreads();
+
+}
@@ -0,0 +1,21 @@
+package com.rslakra.healthcare.routinecheckup.utils.components.holder;
+
+/**
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+public interface MailOutboxConstants {
+
+    Integer getBatchSize();
+
+    Integer getMaxAttempts();
+
+    Long getInitialBackoffMs();
+
+    Long getMaxBackoffMs();
+
+    Long getClaimTimeoutMs();
+
+    Long getSentRetentionMs();
+
+}
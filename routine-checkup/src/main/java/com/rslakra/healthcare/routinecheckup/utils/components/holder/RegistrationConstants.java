@@ -15,4 +15,6 @@ public interface RegistrationConstants {
 
     String getRegistrationTokenKey();
 
+    String[] getPreviousRegistrationTokenKeys();
+
 }
@@ -67,6 +67,15 @@ public class DtoUtilsImpl implements DtoUtils {
         List<PatientEntity> patients = userEntity.getUserPatients();
         patients = patients == null ? new ArrayList<>() : userEntity.getUserPatients();
 
+        return convertUser(userEntity, doctors, patients);
+    }
+
+    @Override
+    public UserResponseDto convertUser(
+            UserEntity userEntity,
+            List<DoctorEntity> doctors,
+            List<PatientEntity> patients
+    ) {
         UserResponseDto result = userDtoEntityMapper.userEntityToUserResponseDto(userEntity);
         result.setDoctorsIds(
                 doctors.stream()
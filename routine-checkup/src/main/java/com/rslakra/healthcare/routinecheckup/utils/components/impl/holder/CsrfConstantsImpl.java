@@ -15,4 +15,7 @@ public class CsrfConstantsImpl implements CsrfConstants {
     @Value("${security.csrf.header_name}")
     private String csrfHeaderName;
 
+    @Value("${security.csrf.max_tokens}")
+    private Integer maxTokens;
+
 }
@@ -0,0 +1,18 @@
+package com.rslakra.healthcare.routinecheckup.utils.components.impl.holder;
+
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.DoctorSearchConstants;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+public class DoctorSearchConstantsImpl implements DoctorSearchConstants {
+
+    @Value("${doctor_search.max_results}")
+    private Integer maxResults;
+
+    @Value("${doctor_search.rebuild_interval_ms}")
+    private Long rebuildIntervalMs;
+
+}
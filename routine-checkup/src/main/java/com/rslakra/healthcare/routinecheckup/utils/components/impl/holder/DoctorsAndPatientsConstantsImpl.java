@@ -0,0 +1,18 @@
+package com.rslakra.healthcare.routinecheckup.utils.components.impl.holder;
+
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.DoctorsAndPatientsConstants;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+public class DoctorsAndPatientsConstantsImpl implements DoctorsAndPatientsConstants {
+
+    @Value("${doctors_and_patients.cache.max_size}")
+    private Integer cacheMaxSize;
+
+    @Value("${doctors_and_patients.cache.ttl_ms}")
+    private Long cacheTtlMs;
+
+}
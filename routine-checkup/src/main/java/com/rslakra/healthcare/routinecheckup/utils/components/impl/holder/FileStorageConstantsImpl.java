@@ -12,9 +12,21 @@ public class FileStorageConstantsImpl implements FileStorageConstants {
     @Value("${filestor.path.financial_report}")
     private String financialReportPath;
 
+    @Value("${filestor.financial_report.check_interval_ms}")
+    private Long financialReportCheckIntervalMs;
+
     @Value("${filestor.path.monthly_report}")
     private String monthlyReportsBasePath;
 
     @Value("${external.pic.url.allow_list}")
     private String[] externalPicUrlsAllowList;
+
+    @Value("${filestor.reconcile.clean}")
+    private Boolean reconcileClean;
+
+    @Value("${filestor.reconcile.grace_ms}")
+    private Long reconcileGraceMs;
+
+    @Value("${filestor.reconcile.parallelism}")
+    private Integer reconcileParallelism;
 }
@@ -12,6 +12,9 @@ public class JwtConstantsImpl implements JwtConstants {
     @Value("${security.jwt.key}")
     private String jwtKey;
 
+    @Value("${security.jwt.previous_keys}")
+    private String[] previousJwtKeys;
+
     @Value("${security.jwt.expiration_time_ms}")
     private Long expirationTimeMs;
 
@@ -21,4 +24,7 @@ public class JwtConstantsImpl implements JwtConstants {
     @Value("${security.jwt.parameter_name}")
     private String parameterName;
 
+    @Value("${security.jwt.cache_max_size}")
+    private Integer cacheMaxSize;
+
 }
@@ -0,0 +1,27 @@
+package com.rslakra.healthcare.routinecheckup.utils.components.impl.holder;
+
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.MailDispatchConstants;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+public class MailDispatchConstantsImpl implements MailDispatchConstants {
+
+    @Value("${mail.dispatch.workers}")
+    private Integer workers;
+
+    @Value("${mail.dispatch.queue_capacity}")
+    private Integer queueCapacity;
+
+    @Value("${mail.dispatch.per_domain_concurrency}")
+    private Integer perDomainConcurrency;
+
+    @Value("${mail.dispatch.messages_per_connection}")
+    private Integer messagesPerConnection;
+
+    @Value("${mail.dispatch.virtual_threads}")
+    private Boolean virtualThreads;
+
+}
@@ -0,0 +1,30 @@
+package com.rslakra.healthcare.routinecheckup.utils.components.impl.holder;
+
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.MailOutboxConstants;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+public class MailOutboxConstantsImpl implements MailOutboxConstants {
+
+    @Value("${mail.outbox.batch_size}")
+    private Integer batchSize;
+
+    @Value("${mail.outbox.max_attempts}")
+    private Integer maxAttempts;
+
+    @Value("${mail.outbox.initial_backoff_ms}")
+    private Long initialBackoffMs;
+
+    @Value("${mail.outbox.max_backoff_ms}")
+    private Long maxBackoffMs;
+
+    @Value("${mail.outbox.claim_timeout_ms}")
+    private Long claimTimeoutMs;
+
+    @Value("${mail.outbox.sent_retention_ms}")
+    private Long sentRetentionMs;
+
+}
@@ -21,4 +21,7 @@ public class RegistrationConstantsImpl implements RegistrationConstants {
     @Value("${security.registration.token.key}")
     private String registrationTokenKey;
 
+    @Value("${security.registration.token.previous_keys}")
+    private String[] previousRegistrationTokenKeys;
+
 }
@@ -0,0 +1,18 @@
+package com.rslakra.healthcare.routinecheckup.utils.components.impl.holder;
+
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.RequestLoggingConstants;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+public class RequestLoggingConstantsImpl implements RequestLoggingConstants {
+
+    @Value("${request_logging.body_paths}")
+    private String[] bodyPaths;
+
+    @Value("${request_logging.body_max_bytes}")
+    private Integer bodyMaxBytes;
+
+}
@@ -0,0 +1,18 @@
+package com.rslakra.healthcare.routinecheckup.utils.components.impl.holder;
+
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.RequestMetricsConstants;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+public class RequestMetricsConstantsImpl implements RequestMetricsConstants {
+
+    @Value("${request_metrics.window_ms}")
+    private Long windowMs;
+
+    @Value("${request_metrics.slow_requests}")
+    private Integer slowRequests;
+
+}
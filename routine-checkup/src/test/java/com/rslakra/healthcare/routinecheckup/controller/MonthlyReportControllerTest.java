@@ -0,0 +1,93 @@
+package com.rslakra.healthcare.routinecheckup.controller;
+
+import com.rslakra.healthcare.routinecheckup.dto.response.MonthlyReportContentDto;
+import com.rslakra.healthcare.routinecheckup.service.MonthlyReportsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Principal;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for MonthlyReportController
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@ExtendWith(MockitoExtension.class)
+class MonthlyReportControllerTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @Mock
+    private MonthlyReportsService monthlyReportsService;
+
+    @InjectMocks
+    private MonthlyReportController monthlyReportController;
+
+    @TempDir
+    private Path tempDir;
+
+    private MockMvc mockMvc;
+
+    private final Principal principal = () -> "testuser";
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("report.docx"), CONTENT);
+        MonthlyReportContentDto dto = new MonthlyReportContentDto();
+        dto.setFileName("report.docx");
+        dto.setChecksum("abc123");
+        dto.setContent(new FileSystemResource(file));
+        when(monthlyReportsService.getReportContent("report.docx", "testuser")).thenReturn(dto);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(monthlyReportController).build();
+    }
+
+    @Test
+    void testDownloadReport() throws Exception {
+        mockMvc.perform(get("/monthly_report/report.docx/content").principal(principal))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE,
+                "application/vnd.openxmlformats-officedocument.wordprocessingml.document"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                containsString("filename*=UTF-8''report.docx")))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"abc123\""))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void testDownloadReport_Range() throws Exception {
+        mockMvc.perform(get("/monthly_report/report.docx/content").principal(principal)
+                .header(HttpHeaders.RANGE, "bytes=10-14"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-14/20"))
+            .andExpect(content().bytes("abcde".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testDownloadReport_NotModified() throws Exception {
+        mockMvc.perform(get("/monthly_report/report.docx/content").principal(principal)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"abc123\""))
+            .andExpect(status().isNotModified());
+    }
+}
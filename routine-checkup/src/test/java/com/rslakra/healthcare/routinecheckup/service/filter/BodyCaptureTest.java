@@ -0,0 +1,97 @@
+package com.rslakra.healthcare.routinecheckup.service.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BodyCapture
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+class BodyCaptureTest {
+
+    private static final Predicate<String> SENSITIVE = name -> name.matches("(?i).*(password|token|csrf|jwt).*");
+
+    @Test
+    void testResponse_StreamsWholeBodyAndKeepsOnlyHead() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        BodyCapture.Response capturing = new BodyCapture.Response(response, 5);
+
+        capturing.getOutputStream().write("Hello, World".getBytes(StandardCharsets.UTF_8));
+        capturing.getOutputStream().write('!');
+
+        assertEquals("Hello, World!", response.getContentAsString());
+        assertEquals(13, capturing.getCapture().getSize());
+        assertEquals("Hello...", capturing.getCapture().getHead(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testResponse_CapturesWriter() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        BodyCapture.Response capturing = new BodyCapture.Response(response, 16);
+
+        capturing.getWriter().print("{\"ok\":true}");
+        capturing.getWriter().flush();
+
+        assertEquals("{\"ok\":true}", response.getContentAsString());
+        assertEquals("{\"ok\":true}", capturing.getCapture().getHead(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testRequest_CapturesBodyAsRead() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("login=testuser".getBytes(StandardCharsets.UTF_8));
+        BodyCapture.Request capturing = new BodyCapture.Request(request, 5);
+
+        byte[] body = capturing.getInputStream().readAllBytes();
+
+        assertEquals("login=testuser", new String(body, StandardCharsets.UTF_8));
+        assertEquals(14, capturing.getCapture().getSize());
+        assertEquals("login...", capturing.getCapture().getHead(capturing.getCharset()));
+    }
+
+    @Test
+    void testMask_FormFields() {
+        String body = "login=testuser&password=p%40ss&csrf_token=1b4e28ba&remember=on";
+
+        assertEquals("login=testuser&password=***&csrf_token=***&remember=on", BodyCapture.mask(body, SENSITIVE));
+    }
+
+    @Test
+    void testMask_JsonFields() {
+        String body = "{\"login\": \"testuser\", \"password\" : \"p\\\"ss\", \"user\": {\"jwt\": \"eyJhbGci\"},"
+            + " \"resetToken\": 12345, \"roles\": [\"USER\"], \"active\": true}";
+
+        assertEquals("{\"login\": \"testuser\", \"password\" : \"***\", \"user\": {\"jwt\": \"***\"},"
+            + " \"resetToken\": ***, \"roles\": [\"USER\"], \"active\": true}", BodyCapture.mask(body, SENSITIVE));
+    }
+
+    @Test
+    void testMask_CutOffValues() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("{\"login\":\"testuser\",\"password\":\"secret\"}".getBytes(StandardCharsets.UTF_8));
+        BodyCapture.Request capturing = new BodyCapture.Request(request, 35);
+        capturing.getInputStream().readAllBytes();
+
+        String head = capturing.getCapture().getHead(capturing.getCharset());
+
+        assertEquals("{\"login\":\"testuser\",\"password\":\"sec...", head);
+        assertEquals("{\"login\":\"testuser\",\"password\":\"***\"", BodyCapture.mask(head, SENSITIVE));
+        assertEquals("login=testuser&password=***", BodyCapture.mask("login=testuser&password=sec...", SENSITIVE));
+    }
+
+    @Test
+    void testMask_NoSensitiveFields() {
+        assertEquals("{\"login\":\"testuser\"}", BodyCapture.mask("{\"login\":\"testuser\"}", SENSITIVE));
+        assertEquals("login=testuser", BodyCapture.mask("login=testuser", SENSITIVE));
+        assertEquals("plain text, no fields", BodyCapture.mask("plain text, no fields", SENSITIVE));
+    }
+}
@@ -0,0 +1,68 @@
+package com.rslakra.healthcare.routinecheckup.service.filter;
+
+import com.rslakra.healthcare.routinecheckup.service.metrics.RequestMetricsService;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.RequestLoggingConstants;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RequestLoggingFilter
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@ExtendWith(MockitoExtension.class)
+class RequestLoggingFilterTest {
+
+    @Mock
+    private RequestLoggingConstants requestLoggingConstants;
+
+    @Mock
+    private RequestMetricsService requestMetricsService;
+
+    private RequestLoggingFilter requestLoggingFilter;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        when(requestLoggingConstants.getBodyPaths()).thenReturn(new String[0]);
+        when(requestLoggingConstants.getBodyMaxBytes()).thenReturn(1024);
+        requestLoggingFilter = new RequestLoggingFilter(requestLoggingConstants, requestMetricsService);
+        request = new MockHttpServletRequest("GET", "/monthly-reports");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void testDoFilter_RecordsResponseStatus() throws ServletException, IOException {
+        requestLoggingFilter.doFilter(request, response, (req, res) -> response.setStatus(404));
+
+        verify(requestMetricsService).record(eq(request), eq(404), anyLong());
+    }
+
+    @Test
+    void testDoFilter_PropagatingException_RecordedAs500() {
+        assertThrows(IllegalStateException.class, () -> requestLoggingFilter.doFilter(request, response,
+            (req, res) -> {
+                throw new IllegalStateException("Report storage unavailable");
+            }));
+
+        verify(requestMetricsService).record(eq(request), eq(500), anyLong());
+    }
+
+}
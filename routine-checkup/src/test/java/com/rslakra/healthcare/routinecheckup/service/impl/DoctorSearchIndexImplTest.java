@@ -0,0 +1,172 @@
+package com.rslakra.healthcare.routinecheckup.service.impl;
+
+import com.rslakra.healthcare.routinecheckup.dto.response.DoctorResponseDto;
+import com.rslakra.healthcare.routinecheckup.repository.DoctorRepository;
+import com.rslakra.healthcare.routinecheckup.repository.DoctorRepository.SearchDocument;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.DoctorSearchConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DoctorSearchIndexImpl
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DoctorSearchIndexImplTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private DoctorSearchConstants doctorSearchConstants;
+
+    private final List<SearchDocument> documents = new ArrayList<>();
+
+    private DoctorSearchIndexImpl doctorSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        documents.add(document(USER_ID, "Cardiology", "John", "Smith"));
+        documents.add(document(USER_ID, "Dermatology", "Anna", "Cardin"));
+        documents.add(document(UUID.randomUUID(), "Neurology", "Maria", "Black"));
+        documents.add(document(UUID.randomUUID(), "Pediatric cardiology", "Carl", "Adams"));
+        when(doctorRepository.findAllSearchDocuments()).thenReturn(documents);
+        when(doctorSearchConstants.getMaxResults()).thenReturn(10);
+        doctorSearchIndex = new DoctorSearchIndexImpl(doctorRepository, doctorSearchConstants);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testSearch_MatchesSubstringsRankedByMatch() {
+        assertEquals(List.of("Cardiology", "Pediatric cardiology"), specialities("CARDIOLOGY"));
+        assertEquals(List.of("Pediatric cardiology", "Dermatology", "Cardiology"), specialities("cardi"));
+        assertEquals(List.of("Pediatric cardiology", "Dermatology", "Cardiology"), specialities("ard"));
+        assertEquals(List.of("Cardiology"), specialities("smith  john"));
+        assertEquals(List.of("Cardiology"), specialities("john smith"));
+        assertEquals(List.of("Neurology"), specialities("eurolog"));
+        assertEquals(List.of(), specialities("cardiologist"));
+        assertEquals(List.of(), specialities(" "));
+        verify(doctorRepository, times(1)).findAllSearchDocuments();
+    }
+
+    @Test
+    void testSearch_LimitsResults() {
+        when(doctorSearchConstants.getMaxResults()).thenReturn(2);
+
+        assertEquals(2, doctorSearchIndex.search("o").size());
+    }
+
+    @Test
+    void testRefreshDoctor_AppliedAfterCommit() {
+        doctorSearchIndex.rebuild();
+        SearchDocument saved = document(USER_ID, "Oncology", "John", "Smith");
+        when(doctorRepository.findSearchDocumentById(saved.getId())).thenReturn(Optional.of(saved));
+
+        TransactionSynchronizationManager.initSynchronization();
+        doctorSearchIndex.refreshDoctor(saved.getId());
+        assertEquals(List.of(), specialities("oncology"));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        assertEquals(List.of("Oncology"), specialities("oncology"));
+    }
+
+    @Test
+    void testRefreshDoctor_AppliesStateCommittedLast() {
+        doctorSearchIndex.rebuild();
+        SearchDocument saved = document(USER_ID, "Oncology", "John", "Smith");
+        SearchDocument updated = document(saved.getId(), USER_ID, "Urology", "John", "Smith");
+        when(doctorRepository.findSearchDocumentById(saved.getId())).thenReturn(Optional.of(saved));
+
+        TransactionSynchronizationManager.initSynchronization();
+        doctorSearchIndex.refreshDoctor(saved.getId());
+        when(doctorRepository.findSearchDocumentById(saved.getId())).thenReturn(Optional.of(updated));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        assertEquals(List.of(), specialities("oncology"));
+        assertEquals(List.of("Urology"), specialities("urology"));
+    }
+
+    @Test
+    void testRefreshUser_UpdatesAndRemovesDoctors() {
+        doctorSearchIndex.rebuild();
+        SearchDocument renamed = document(documents.get(0).getId(), USER_ID, "Cardiology", "John", "Jones");
+        when(doctorRepository.findSearchDocumentsByUserId(USER_ID)).thenReturn(List.of(renamed));
+
+        doctorSearchIndex.refreshUser(USER_ID);
+
+        assertEquals(List.of(), specialities("smith"));
+        assertEquals(List.of("Cardiology"), specialities("jones"));
+        assertEquals(List.of(), specialities("dermatology"));
+    }
+
+    private List<String> specialities(String searchString) {
+        return doctorSearchIndex.search(searchString).stream()
+            .map(DoctorResponseDto::getSpeciality)
+            .toList();
+    }
+
+    private static SearchDocument document(UUID userId, String speciality, String firstName, String lastName) {
+        return document(UUID.randomUUID(), userId, speciality, firstName, lastName);
+    }
+
+    private static SearchDocument document(UUID id, UUID userId, String speciality, String firstName,
+                                           String lastName) {
+        return new SearchDocument() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public UUID getUserId() {
+                return userId;
+            }
+
+            @Override
+            public String getSpeciality() {
+                return speciality;
+            }
+
+            @Override
+            public String getFirstName() {
+                return firstName;
+            }
+
+            @Override
+            public String getLastName() {
+                return lastName;
+            }
+        };
+    }
+}
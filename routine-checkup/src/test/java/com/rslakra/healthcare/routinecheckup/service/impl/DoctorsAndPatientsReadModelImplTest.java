@@ -0,0 +1,150 @@
+package com.rslakra.healthcare.routinecheckup.service.impl;
+
+import com.rslakra.healthcare.routinecheckup.dto.response.DoctorSummaryView;
+import com.rslakra.healthcare.routinecheckup.dto.response.PatientSummaryView;
+import com.rslakra.healthcare.routinecheckup.dto.response.UserDoctorsAndPatientsView;
+import com.rslakra.healthcare.routinecheckup.dto.response.UserSummaryView;
+import com.rslakra.healthcare.routinecheckup.exceptions.UserNotFoundException;
+import com.rslakra.healthcare.routinecheckup.repository.DoctorRepository;
+import com.rslakra.healthcare.routinecheckup.repository.PatientRepository;
+import com.rslakra.healthcare.routinecheckup.repository.UserRepository;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.DoctorsAndPatientsConstants;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.Messages;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DoctorsAndPatientsReadModelImpl
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DoctorsAndPatientsReadModelImplTest {
+
+    private static final UUID ALICE = UUID.randomUUID();
+    private static final UUID BOB = UUID.randomUUID();
+    private static final UUID CAROL = UUID.randomUUID();
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private Messages messages;
+
+    @Mock
+    private DoctorsAndPatientsConstants doctorsAndPatientsConstants;
+
+    private DoctorsAndPatientsReadModelImpl readModel;
+
+    @BeforeEach
+    void setUp() {
+        when(doctorsAndPatientsConstants.getCacheMaxSize()).thenReturn(100);
+        when(doctorsAndPatientsConstants.getCacheTtlMs()).thenReturn(60_000L);
+        when(messages.getUserNotFoundByLoginTemplate()).thenReturn("User %s not found");
+        UUID bobsDoctor = UUID.randomUUID();
+        addUser("alice", ALICE, List.of(new PatientSummaryView(
+            UUID.randomUUID(), "Flu", new Date(), null, bobsDoctor, BOB, "Cardiology", "Bobson")));
+        addUser("bob", BOB, List.of());
+        addUser("carol", CAROL, List.of());
+        when(doctorRepository.findSummariesByUserId(BOB))
+            .thenReturn(List.of(new DoctorSummaryView(bobsDoctor, BOB, "Cardiology", "Bobson")));
+        readModel = new DoctorsAndPatientsReadModelImpl(userRepository, doctorRepository, patientRepository,
+            messages, doctorsAndPatientsConstants);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testGetByLogin_Cached() {
+        UserDoctorsAndPatientsView view = readModel.getByLogin("alice");
+
+        assertSame(view, readModel.getByLogin("alice"));
+        assertEquals("Alice", view.getUser().getFirstName());
+        assertEquals("Bobson", view.getPatients().get(0).getDoctor().getLastName());
+        verify(userRepository, times(1)).findSummaryByLogin("alice");
+        verify(patientRepository, times(1)).findSummariesByUserId(ALICE);
+    }
+
+    @Test
+    void testGetByLogin_UnknownUser() {
+        assertThrows(UserNotFoundException.class, () -> readModel.getByLogin("nobody"));
+        assertEquals(0, readModel.size());
+    }
+
+    @Test
+    void testInvalidateUser_DropsPagesShowingTheUser() {
+        readModel.getByLogin("alice");
+        readModel.getByLogin("bob");
+        readModel.getByLogin("carol");
+
+        readModel.invalidateUser(BOB);
+
+        assertEquals(1, readModel.size());
+        readModel.getByLogin("carol");
+        verify(userRepository, times(1)).findSummaryByLogin("carol");
+    }
+
+    @Test
+    void testInvalidateUser_AfterCommit() {
+        readModel.getByLogin("carol");
+
+        TransactionSynchronizationManager.initSynchronization();
+        readModel.invalidateUser(CAROL);
+        assertEquals(1, readModel.size());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(0, readModel.size());
+    }
+
+    @Test
+    void testGetByLogin_NotCachedWhenInvalidatedWhileLoading() {
+        when(patientRepository.findSummariesByUserId(CAROL)).thenAnswer(invocation -> {
+            readModel.invalidateUser(CAROL);
+            return List.of();
+        });
+
+        UserDoctorsAndPatientsView view = readModel.getByLogin("carol");
+
+        assertNotNull(view);
+        assertEquals(0, readModel.size());
+    }
+
+    private void addUser(String login, UUID id, List<PatientSummaryView> patients) {
+        String name = Character.toUpperCase(login.charAt(0)) + login.substring(1);
+        when(userRepository.findSummaryByLogin(login))
+            .thenReturn(Optional.of(new UserSummaryView(id, name, name + "son", null)));
+        when(doctorRepository.findSummariesByUserId(id)).thenReturn(List.of());
+        when(patientRepository.findSummariesByUserId(id)).thenReturn(patients);
+    }
+}
@@ -0,0 +1,171 @@
+package com.rslakra.healthcare.routinecheckup.service.impl;
+
+import com.rslakra.healthcare.routinecheckup.entity.ReportBlobEntity;
+import com.rslakra.healthcare.routinecheckup.entity.UserEntity;
+import com.rslakra.healthcare.routinecheckup.entity.UserFileEntity;
+import com.rslakra.healthcare.routinecheckup.repository.ReportBlobRepository;
+import com.rslakra.healthcare.routinecheckup.repository.UserFileRepository;
+import com.rslakra.healthcare.routinecheckup.service.UserService;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.FileStorageConstants;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.Messages;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for FileComponentImpl
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class FileComponentImplTest {
+
+    private static final String LOGIN = "testuser";
+
+    @Mock
+    private UserFileRepository userFileRepository;
+
+    @Mock
+    private ReportBlobRepository reportBlobRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private Messages messages;
+
+    @Mock
+    private FileStorageConstants fileStorageConstants;
+
+    @TempDir
+    private Path basePath;
+
+    private final Map<String, ReportBlobEntity> blobs = new HashMap<>();
+
+    private FileComponentImpl fileComponent;
+
+    @BeforeEach
+    void setUp() {
+        UserEntity user = new UserEntity();
+        when(userService.getUserEntityByLogin(LOGIN)).thenReturn(user);
+        when(userFileRepository.findByOwnerAndOriginalFileName(eq(user), anyString())).thenReturn(Optional.empty());
+        when(userFileRepository.save(any())).thenAnswer(invocation -> {
+            UserFileEntity userFile = invocation.getArgument(0);
+            userFile.prePersist();
+            return userFile;
+        });
+        when(reportBlobRepository.findById(anyString()))
+            .thenAnswer(invocation -> Optional.ofNullable(blobs.get(invocation.<String>getArgument(0))));
+        when(reportBlobRepository.save(any())).thenAnswer(invocation -> {
+            ReportBlobEntity blob = invocation.getArgument(0);
+            blobs.put(blob.getChecksum(), blob);
+            return blob;
+        });
+        doAnswer(invocation -> blobs.remove(invocation.<ReportBlobEntity>getArgument(0).getChecksum()))
+            .when(reportBlobRepository).delete(any());
+        when(fileStorageConstants.getMonthlyReportsBasePath()).thenReturn(basePath.toString());
+
+        fileComponent = new FileComponentImpl(userFileRepository, userService, messages,
+            new ReportStorageImpl(fileStorageConstants), reportBlobRepository);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testSaveFile_StoresIdenticalContentOnce() throws IOException {
+        UserFileEntity first = fileComponent.saveFile(report("january.docx", "same content"), LOGIN);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        UserFileEntity second = fileComponent.saveFile(report("february.docx", "same content"), LOGIN);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertSame(first.getBlob(), second.getBlob());
+        assertEquals(2, first.getBlob().getRefCount());
+        assertEquals(List.of(first.getBlob().getChecksum()), listFiles());
+    }
+
+    @Test
+    void testDelete_RemovesBlobWithLastReference() throws IOException {
+        UserFileEntity first = fileComponent.saveFile(report("january.docx", "same content"), LOGIN);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        UserFileEntity second = fileComponent.saveFile(report("february.docx", "same content"), LOGIN);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        String checksum = first.getBlob().getChecksum();
+
+        deleteFile(first);
+        assertEquals(1, blobs.get(checksum).getRefCount());
+        assertEquals(List.of(checksum), listFiles());
+
+        deleteFile(second);
+        assertTrue(blobs.isEmpty());
+        assertTrue(listFiles().isEmpty());
+    }
+
+    @Test
+    void testSaveFile_RollbackRemovesNewBlob() throws IOException {
+        fileComponent.saveFile(report("january.docx", "content"), LOGIN);
+        blobs.clear();
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertTrue(listFiles().isEmpty());
+    }
+
+    private void deleteFile(UserFileEntity userFile) {
+        when(userFileRepository.findByOwnerAndOriginalFileName(any(), eq(userFile.getOriginalFileName())))
+            .thenReturn(Optional.of(userFile));
+        fileComponent.delete(userFile.getOriginalFileName(), LOGIN);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    private static MockMultipartFile report(String name, String content) {
+        return new MockMultipartFile("file", name, "application/msword", content.getBytes());
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        }
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private List<String> listFiles() throws IOException {
+        try (var files = Files.walk(basePath)) {
+            return files.filter(Files::isRegularFile).map(file -> file.getFileName().toString()).toList();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.rslakra.healthcare.routinecheckup.service.impl;
+
+import com.rslakra.healthcare.routinecheckup.service.XPathService;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.FileStorageConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for FinancialReportIndexImpl
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class FinancialReportIndexImplTest {
+
+    @Spy
+    private XPathService xPathService = new XPathServiceImpl();
+
+    @Mock
+    private FileStorageConstants fileStorageConstants;
+
+    @TempDir
+    private Path directory;
+
+    private Path report;
+
+    private FinancialReportIndexImpl financialReportIndex;
+
+    @BeforeEach
+    void setUp() {
+        report = directory.resolve("financial.xml");
+        when(fileStorageConstants.getFinancialReportPath()).thenReturn(report.toString());
+        when(fileStorageConstants.getFinancialReportCheckIntervalMs()).thenReturn(0L);
+        financialReportIndex = new FinancialReportIndexImpl(xPathService, fileStorageConstants);
+    }
+
+    @Test
+    void testGetPayment_ParsesOncePerVersion() throws IOException {
+        writeReport(1, doctor("d1", "100") + doctor("d\"2", "200") + doctor("d1", "300") + doctor("d3", "n/a"));
+
+        assertEquals(100, financialReportIndex.getPayment("d1"));
+        assertEquals(200, financialReportIndex.getPayment("d\"2"));
+        assertNull(financialReportIndex.getPayment("d3"));
+        assertNull(financialReportIndex.getPayment("unknown"));
+        verify(xPathService, times(1)).evaluateXpathExpression(anyString(), anyString());
+    }
+
+    @Test
+    void testGetPayment_ReloadsChangedReport() throws IOException {
+        writeReport(1, doctor("d1", "100"));
+        assertEquals(100, financialReportIndex.getPayment("d1"));
+
+        writeReport(2, doctor("d1", "150"));
+        assertEquals(150, financialReportIndex.getPayment("d1"));
+
+        writeReport(3, "<doc doc_id=\"d1\"><payment>");
+        assertEquals(150, financialReportIndex.getPayment("d1"));
+
+        Files.delete(report);
+        assertNull(financialReportIndex.getPayment("d1"));
+    }
+
+    @Test
+    void testGetPayment_UnparsableReport_ParsedAgainOnNextCheck() throws IOException {
+        writeReport(1, doctor("d1", "100"));
+        assertEquals(100, financialReportIndex.getPayment("d1"));
+
+        writeReport(2, "<doc doc_id=\"d1\"><payment>");
+        assertEquals(100, financialReportIndex.getPayment("d1"));
+        assertEquals(100, financialReportIndex.getPayment("d1"));
+        verify(xPathService, times(3)).evaluateXpathExpression(anyString(), anyString());
+    }
+
+    @Test
+    void testGetPayment_OnlyDirectPaymentChild() throws IOException {
+        writeReport(1, "<doc doc_id=\"d1\"><bonus><payment>50</payment></bonus></doc>" + doctor("d2", "200"));
+
+        assertNull(financialReportIndex.getPayment("d1"));
+        assertEquals(200, financialReportIndex.getPayment("d2"));
+    }
+
+    @Test
+    void testGetPayment_ChecksWithinInterval() throws IOException {
+        when(fileStorageConstants.getFinancialReportCheckIntervalMs()).thenReturn(60_000L);
+        writeReport(1, doctor("d1", "100"));
+        assertEquals(100, financialReportIndex.getPayment("d1"));
+
+        writeReport(2, doctor("d1", "150"));
+        assertEquals(100, financialReportIndex.getPayment("d1"));
+    }
+
+    private void writeReport(int version, String doctors) throws IOException {
+        Files.writeString(report, "<salary><staff><doctors>" + doctors + "</doctors></staff></salary>");
+        Files.setLastModifiedTime(report, FileTime.from(Instant.ofEpochSecond(1_000_000L + version)));
+    }
+
+    private static String doctor(String doctorId, String payment) {
+        return "<doc doc_id=\"" + doctorId.replace("\"", "&quot;") + "\"><payment>" + payment + "</payment></doc>";
+    }
+}
@@ -0,0 +1,162 @@
+package com.rslakra.healthcare.routinecheckup.service.impl;
+
+import com.rslakra.healthcare.routinecheckup.service.StagedReport;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.FileStorageConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReportStorageImpl
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+class ReportStorageImplTest {
+
+    @TempDir
+    private Path basePath;
+
+    private ReportStorageImpl reportStorage;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageConstants fileStorageConstants = mock(FileStorageConstants.class);
+        when(fileStorageConstants.getMonthlyReportsBasePath()).thenReturn(basePath.toString());
+        reportStorage = new ReportStorageImpl(fileStorageConstants);
+    }
+
+    @Test
+    void testStageAndPublish_WritesContentAndChecksum() throws Exception {
+        byte[] content = new byte[200_000];
+        new Random(42).nextBytes(content);
+
+        StagedReport staged = reportStorage.stage(new ByteArrayInputStream(content));
+        String checksum = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+        assertEquals(content.length, staged.getSize());
+        assertEquals(checksum, staged.getChecksum());
+        assertTrue(reportStorage.publish(staged));
+        assertArrayEquals(content,
+            Files.readAllBytes(basePath.resolve(checksum.substring(0, 2)).resolve(checksum.substring(2, 4)).resolve(checksum)));
+        assertArrayEquals(content, reportStorage.load(checksum).getContentAsByteArray());
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    void testPublish_KeepsExistingBlob() throws IOException {
+        StagedReport first = reportStorage.stage(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+        StagedReport second = reportStorage.stage(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+
+        assertTrue(reportStorage.publish(first));
+        assertFalse(reportStorage.publish(second));
+        assertEquals(first.getChecksum(), second.getChecksum());
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    void testStage_FailedUploadLeavesNothingBehind() throws IOException {
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        assertThrows(IOException.class, () -> reportStorage.stage(failing));
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void testDiscard() throws IOException {
+        StagedReport staged = reportStorage.stage(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+
+        reportStorage.discard(staged);
+
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void testLoadLegacy_RejectsNamesOutsideBasePath() {
+        assertThrows(IllegalArgumentException.class, () -> reportStorage.loadLegacy("../report.docx"));
+    }
+
+    @Test
+    void testDelete() throws IOException {
+        StagedReport staged = reportStorage.stage(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+        reportStorage.publish(staged);
+
+        assertTrue(reportStorage.delete(staged.getChecksum()));
+        assertFalse(reportStorage.delete(staged.getChecksum()));
+        assertFalse(reportStorage.load(staged.getChecksum()).exists());
+    }
+
+    @Test
+    void testMigrateToShardedLayout() throws IOException {
+        StagedReport staged = reportStorage.stage(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+        Files.move(staged.getFile(), basePath.resolve(staged.getChecksum()));
+        assertTrue(reportStorage.load(staged.getChecksum()).exists());
+        assertTrue(reportStorage.listBlobs(staged.getChecksum().substring(0, 2)).isEmpty());
+
+        assertEquals(1, reportStorage.migrateToShardedLayout());
+
+        assertFalse(Files.exists(basePath.resolve(staged.getChecksum())));
+        assertEquals(Set.of(staged.getChecksum()),
+            reportStorage.listBlobs(staged.getChecksum().substring(0, 2)).keySet());
+        assertArrayEquals(new byte[] {1, 2, 3}, reportStorage.load(staged.getChecksum()).getContentAsByteArray());
+    }
+
+    @Test
+    void testGetShards() {
+        List<String> shards = reportStorage.getShards();
+
+        assertEquals(256, shards.size());
+        assertEquals("00", shards.get(0));
+        assertEquals("ff", shards.get(255));
+    }
+
+    @Test
+    void testListLegacyFiles() throws IOException {
+        String legacyFileName = UUID.randomUUID() + ".docx";
+        Files.writeString(basePath.resolve(legacyFileName), "legacy");
+        Files.writeString(basePath.resolve("notes.txt"), "not a report");
+
+        assertEquals(Set.of(legacyFileName), reportStorage.listLegacyFiles().keySet());
+    }
+
+    @Test
+    void testDeleteStaleTempFiles() throws IOException {
+        StagedReport stale = reportStorage.stage(new ByteArrayInputStream(new byte[] {1}));
+        Files.setLastModifiedTime(stale.getFile(), FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        StagedReport fresh = reportStorage.stage(new ByteArrayInputStream(new byte[] {2}));
+
+        assertEquals(1, reportStorage.deleteStaleTempFiles(Instant.now().minus(Duration.ofHours(1))));
+        assertFalse(Files.exists(stale.getFile()));
+        assertTrue(Files.exists(fresh.getFile()));
+    }
+
+    private long countFiles() throws IOException {
+        try (var files = Files.walk(basePath)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.rslakra.healthcare.routinecheckup.service.impl;
+
+import com.rslakra.healthcare.routinecheckup.entity.UserFileEntity;
+import com.rslakra.healthcare.routinecheckup.repository.UserFileRepository;
+import com.rslakra.healthcare.routinecheckup.service.FileComponent;
+import com.rslakra.healthcare.routinecheckup.service.ReportStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReportStorageMigration
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportStorageMigrationTest {
+
+    @Mock
+    private UserFileRepository userFileRepository;
+
+    @Mock
+    private FileComponent fileComponent;
+
+    @Mock
+    private ReportStorage reportStorage;
+
+    private ReportStorageMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        migration = new ReportStorageMigration(userFileRepository, fileComponent, reportStorage);
+    }
+
+    private static UserFileEntity legacyFile() {
+        UserFileEntity legacyFile = new UserFileEntity();
+        legacyFile.setFileId(UUID.randomUUID());
+        return legacyFile;
+    }
+
+    @Test
+    void testMigrate_NoLegacyFiles_OnlyShardsBlobs() throws IOException {
+        when(userFileRepository.findAllByBlobIsNull()).thenReturn(List.of());
+
+        migration.migrate();
+
+        verify(reportStorage).migrateToShardedLayout();
+        verifyNoInteractions(fileComponent);
+    }
+
+    @Test
+    void testMigrate_FailingFile_DoesNotStopTheOthers() throws IOException {
+        UserFileEntity failing = legacyFile();
+        UserFileEntity migrated = legacyFile();
+        when(reportStorage.migrateToShardedLayout()).thenThrow(new IOException("disk full"));
+        when(userFileRepository.findAllByBlobIsNull()).thenReturn(List.of(failing, migrated));
+        when(fileComponent.migrateLegacyFile(failing.getFileId())).thenThrow(new IOException("missing"));
+        when(fileComponent.migrateLegacyFile(migrated.getFileId())).thenReturn(true);
+
+        migration.migrate();
+
+        verify(fileComponent).migrateLegacyFile(failing.getFileId());
+        verify(fileComponent).migrateLegacyFile(migrated.getFileId());
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.rslakra.healthcare.routinecheckup.service.impl;
+
+import com.rslakra.healthcare.routinecheckup.repository.ReportBlobRepository;
+import com.rslakra.healthcare.routinecheckup.repository.ReportBlobRepository.BlobReferences;
+import com.rslakra.healthcare.routinecheckup.repository.UserFileRepository;
+import com.rslakra.healthcare.routinecheckup.service.FileComponent;
+import com.rslakra.healthcare.routinecheckup.service.StagedReport;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.FileStorageConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReportStorageReconciler
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReportStorageReconcilerTest {
+
+    private static final String MISSING = "ab".repeat(32);
+
+    @Mock
+    private ReportBlobRepository reportBlobRepository;
+
+    @Mock
+    private UserFileRepository userFileRepository;
+
+    @Mock
+    private FileComponent fileComponent;
+
+    @Mock
+    private FileStorageConstants fileStorageConstants;
+
+    @TempDir
+    private Path basePath;
+
+    private ReportStorageImpl reportStorage;
+
+    private ReportStorageReconciler reconciler;
+
+    private SimpleMeterRegistry registry;
+
+    private String referenced;
+
+    private String orphaned;
+
+    private String fresh;
+
+    private String legacyFileName;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(fileStorageConstants.getMonthlyReportsBasePath()).thenReturn(basePath.toString());
+        when(fileStorageConstants.getReconcileGraceMs()).thenReturn(Duration.ofHours(1).toMillis());
+        when(fileStorageConstants.getReconcileParallelism()).thenReturn(2);
+        reportStorage = new ReportStorageImpl(fileStorageConstants);
+
+        referenced = storeBlob("referenced", true);
+        orphaned = storeBlob("orphaned", true);
+        fresh = storeBlob("fresh", false);
+        legacyFileName = UUID.randomUUID() + ".docx";
+        Files.writeString(basePath.resolve(legacyFileName), "legacy");
+        Files.setLastModifiedTime(basePath.resolve(legacyFileName), hoursAgo(2));
+
+        when(reportBlobRepository.findReferencesByShard(anyString())).thenReturn(List.of());
+        when(reportBlobRepository.findReferencesByShard(referenced.substring(0, 2)))
+            .thenReturn(List.of(references(referenced, 2, 1)));
+        when(reportBlobRepository.findReferencesByShard(MISSING.substring(0, 2)))
+            .thenReturn(List.of(references(MISSING, 1, 1)));
+        when(userFileRepository.findById(any())).thenReturn(Optional.empty());
+        when(fileComponent.reconcileBlob(anyString())).thenReturn(true);
+
+        reconciler = new ReportStorageReconciler(reportStorage, reportBlobRepository, userFileRepository,
+            fileComponent, fileStorageConstants);
+        registry = new SimpleMeterRegistry();
+        reconciler.bindTo(registry);
+    }
+
+    @Test
+    void testReconcile_ReportsOnly() {
+        when(fileStorageConstants.getReconcileClean()).thenReturn(false);
+
+        reconciler.reconcile();
+
+        assertEquals(1, gauge("orphaned"));
+        assertEquals(1, gauge("missing"));
+        assertEquals(1, gauge("miscounted"));
+        assertEquals(1, registry.get("routinecheckup.reports.reconcile.legacy_files").gauge().value());
+        verify(fileComponent, never()).reconcileBlob(anyString());
+        assertTrue(Files.exists(basePath.resolve(legacyFileName)));
+    }
+
+    @Test
+    void testReconcile_Clean() {
+        when(fileStorageConstants.getReconcileClean()).thenReturn(true);
+
+        reconciler.reconcile();
+
+        verify(fileComponent).reconcileBlob(referenced);
+        verify(fileComponent).reconcileBlob(orphaned);
+        verify(fileComponent, never()).reconcileBlob(fresh);
+        verify(fileComponent, never()).reconcileBlob(MISSING);
+        assertFalse(Files.exists(basePath.resolve(legacyFileName)));
+    }
+
+    @Test
+    void testReconcile_FlatBlob_MovedIntoShardNotMissing() throws IOException {
+        when(fileStorageConstants.getReconcileClean()).thenReturn(false);
+        Path flatBlob = basePath.resolve(MISSING);
+        Files.writeString(flatBlob, "flat");
+        Files.setLastModifiedTime(flatBlob, hoursAgo(2));
+
+        reconciler.reconcile();
+
+        assertEquals(0, gauge("missing"));
+        assertFalse(Files.exists(flatBlob));
+        assertTrue(reportStorage.load(MISSING).exists());
+    }
+
+    private double gauge(String state) {
+        return registry.get("routinecheckup.reports.reconcile.blobs").tag("state", state).gauge().value();
+    }
+
+    private String storeBlob(String content, boolean old) throws IOException {
+        StagedReport staged = reportStorage.stage(new ByteArrayInputStream(content.getBytes()));
+        reportStorage.publish(staged);
+        if (old) {
+            reportStorage.load(staged.getChecksum()).getFile().setLastModified(hoursAgo(2).toMillis());
+        }
+        return staged.getChecksum();
+    }
+
+    private static FileTime hoursAgo(int hours) {
+        return FileTime.from(Instant.now().minus(Duration.ofHours(hours)));
+    }
+
+    private static BlobReferences references(String checksum, long refCount, long fileCount) {
+        return new BlobReferences() {
+            @Override
+            public String getChecksum() {
+                return checksum;
+            }
+
+            @Override
+            public long getRefCount() {
+                return refCount;
+            }
+
+            @Override
+            public long getFileCount() {
+                return fileCount;
+            }
+        };
+    }
+}
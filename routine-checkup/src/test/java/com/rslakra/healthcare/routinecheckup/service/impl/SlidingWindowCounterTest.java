@@ -0,0 +1,125 @@
+package com.rslakra.healthcare.routinecheckup.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SlidingWindowCounter
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+class SlidingWindowCounterTest {
+
+    private static final long WINDOW_MS = 10_000;
+
+    @Test
+    void testConstructor_RejectsWindowShorterThanTenSeconds() {
+        // One-millisecond buckets would need more than the 40 epoch bits for the current time
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowCounter(9_999));
+        assertEquals(1, new SlidingWindowCounter(10_000).increment("10.0.0.1", System.currentTimeMillis()));
+    }
+
+    @Test
+    void testIncrement_CountsWithinWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_MS);
+
+        assertEquals(1, counter.increment("10.0.0.1", 0));
+        assertEquals(2, counter.increment("10.0.0.1", 5_000));
+        assertEquals(1, counter.increment("10.0.0.2", 5_000));
+        assertEquals(3, counter.increment("10.0.0.1", 9_999));
+        assertEquals(3, counter.count("10.0.0.1", 9_999));
+        assertEquals(0, counter.count("10.0.0.3", 9_999));
+    }
+
+    @Test
+    void testCount_OldAttemptsSlideOutOfWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_MS);
+        counter.increment("10.0.0.1", 0);
+        counter.increment("10.0.0.1", 6_000);
+
+        assertEquals(2, counter.count("10.0.0.1", 9_999));
+        assertEquals(1, counter.count("10.0.0.1", 12_000));
+        assertEquals(0, counter.count("10.0.0.1", 17_000));
+        assertEquals(1, counter.increment("10.0.0.1", 17_000));
+    }
+
+    @Test
+    void testExpireIdle_DropsKeysIdleForWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_MS);
+        counter.increment("10.0.0.1", 0);
+        counter.increment("10.0.0.2", 8_000);
+
+        assertEquals(1, counter.expireIdle(15_000));
+        assertEquals(1, counter.size());
+        assertEquals(1, counter.count("10.0.0.2", 15_000));
+    }
+
+    @Test
+    void testExpireIdle_ConcurrentAttemptsKeepTheirWindow() throws InterruptedException {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_MS);
+        int keys = 10_000;
+        for (int i = 0; i < keys; i++) {
+            counter.increment("10.0." + i, 0);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        executor.execute(() -> {
+            awaitQuietly(start);
+            for (int i = 0; i < keys; i++) {
+                counter.increment("10.0." + i, 20_000);
+            }
+        });
+        executor.execute(() -> {
+            awaitQuietly(start);
+            for (int i = 0; i < 100; i++) {
+                counter.expireIdle(20_000);
+            }
+        });
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        for (int i = 0; i < keys; i++) {
+            assertEquals(1, counter.count("10.0." + i, 20_000), "10.0." + i);
+        }
+        assertEquals(keys, counter.size());
+    }
+
+    @Test
+    void testIncrement_ConcurrentAttemptsAreAllCounted() throws InterruptedException {
+        SlidingWindowCounter counter = new SlidingWindowCounter(TimeUnit.MINUTES.toMillis(5));
+        int threads = 8;
+        int attemptsPerThread = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                awaitQuietly(start);
+                for (int j = 0; j < attemptsPerThread; j++) {
+                    counter.increment("10.0.0.1", System.currentTimeMillis());
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(threads * attemptsPerThread, counter.count("10.0.0.1", System.currentTimeMillis()));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
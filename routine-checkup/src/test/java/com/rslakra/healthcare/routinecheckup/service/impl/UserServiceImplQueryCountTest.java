@@ -0,0 +1,151 @@
+package com.rslakra.healthcare.routinecheckup.service.impl;
+
+import com.rslakra.healthcare.routinecheckup.dto.response.UserDoctorsAndPatients;
+import com.rslakra.healthcare.routinecheckup.dto.response.UsersDoctorsAndPatients;
+import com.rslakra.healthcare.routinecheckup.entity.DoctorEntity;
+import com.rslakra.healthcare.routinecheckup.entity.PatientEntity;
+import com.rslakra.healthcare.routinecheckup.entity.RoleEntity;
+import com.rslakra.healthcare.routinecheckup.entity.UserEntity;
+import com.rslakra.healthcare.routinecheckup.repository.DoctorRepository;
+import com.rslakra.healthcare.routinecheckup.repository.PatientRepository;
+import com.rslakra.healthcare.routinecheckup.repository.UserRepository;
+import com.rslakra.healthcare.routinecheckup.service.AuthAttemptsService;
+import com.rslakra.healthcare.routinecheckup.service.CaptchaService;
+import com.rslakra.healthcare.routinecheckup.service.DoctorSearchIndex;
+import com.rslakra.healthcare.routinecheckup.service.DoctorsAndPatientsReadModel;
+import com.rslakra.healthcare.routinecheckup.service.RoleService;
+import com.rslakra.healthcare.routinecheckup.service.mail.EmailService;
+import com.rslakra.healthcare.routinecheckup.service.security.TokenService;
+import com.rslakra.healthcare.routinecheckup.service.security.VerifiedTokenCache;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.FileStorageConstants;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.Messages;
+import com.rslakra.healthcare.routinecheckup.utils.components.impl.DtoUtilsImpl;
+import com.rslakra.healthcare.routinecheckup.utils.mappers.DoctorDtoEntityMapperImpl;
+import com.rslakra.healthcare.routinecheckup.utils.mappers.PatientDtoToEntityMapperImpl;
+import com.rslakra.healthcare.routinecheckup.utils.mappers.ServiceScheduleDtoEntityMapperImpl;
+import com.rslakra.healthcare.routinecheckup.utils.mappers.UserDtoEntityMapperImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks that UserServiceImpl.getAllUsersDoctorsAndPatients runs the same number of queries however many users
+ * a page holds.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UserServiceImplQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    private UserServiceImpl userService;
+
+    private RoleEntity role;
+
+    private int users;
+
+    @BeforeEach
+    void setUp() {
+        DtoUtilsImpl dtoUtils = new DtoUtilsImpl(new DoctorDtoEntityMapperImpl(), new UserDtoEntityMapperImpl(),
+            new PatientDtoToEntityMapperImpl(), new ServiceScheduleDtoEntityMapperImpl());
+        userService = new UserServiceImpl(userRepository, doctorRepository, patientRepository,
+            mock(Messages.class), dtoUtils, mock(PasswordEncoder.class), mock(CaptchaService.class),
+            mock(RoleService.class), mock(AuthAttemptsService.class), mock(TokenService.class),
+            mock(FileStorageConstants.class), mock(EmailService.class), mock(VerifiedTokenCache.class),
+            mock(DoctorSearchIndex.class), mock(DoctorsAndPatientsReadModel.class));
+        role = entityManager.persist(RoleEntity.builder().roleName("USER").build());
+    }
+
+    @Test
+    void testGetAllUsersDoctorsAndPatients_ConstantQueryCount() {
+        long fewUsersQueries = countQueries(2);
+        long manyUsersQueries = countQueries(20);
+
+        assertEquals(fewUsersQueries, manyUsersQueries);
+    }
+
+    @Test
+    void testGetAllUsersDoctorsAndPatients_Paginated() {
+        addUsers(12);
+        entityManager.flush();
+        entityManager.clear();
+
+        UsersDoctorsAndPatients result = userService.getAllUsersDoctorsAndPatients(PageRequest.of(1, 5));
+
+        assertEquals(1, result.getPage());
+        assertEquals(5, result.getSize());
+        assertEquals(12, result.getTotalUsers());
+        assertEquals(List.of("user05", "user06", "user07", "user08", "user09"),
+            result.getUserDoctorsAndPatients().stream().map(user -> user.getUser().getLogin()).toList());
+    }
+
+    private long countQueries(int totalUsers) {
+        addUsers(totalUsers - users);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        UsersDoctorsAndPatients result = userService.getAllUsersDoctorsAndPatients(PageRequest.of(0, 50));
+
+        long queries = statistics.getPrepareStatementCount();
+        assertEquals(totalUsers, result.getUserDoctorsAndPatients().size());
+        for (UserDoctorsAndPatients user : result.getUserDoctorsAndPatients()) {
+            assertEquals(1, user.getDoctors().size());
+            assertEquals(1, user.getPatients().size());
+            assertEquals(List.of(user.getDoctors().get(0).getId()), user.getUser().getDoctorsIds());
+            assertNotNull(user.getPatients().get(0).getDoctor().getLastName());
+        }
+        return queries;
+    }
+
+    /**
+     * Adds users with a doctor each, and a patient treated by the doctor of the previous user.
+     */
+    private void addUsers(int count) {
+        DoctorEntity previousDoctor = null;
+        for (int i = 0; i < count; i++, users++) {
+            UserEntity user = entityManager.persist(UserEntity.builder()
+                .login(String.format("user%02d", users))
+                .firstName("First" + users)
+                .lastName("Last" + users)
+                .role(role)
+                .isTemporary(false)
+                .build());
+            DoctorEntity doctor = entityManager.persist(DoctorEntity.builder()
+                .speciality("Speciality" + users)
+                .userEntity(user)
+                .build());
+            entityManager.persist(PatientEntity.builder()
+                .disease("Disease" + users)
+                .userEntity(user)
+                .doctor(previousDoctor == null ? doctor : previousDoctor)
+                .build());
+            previousDoctor = doctor;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.rslakra.healthcare.routinecheckup.service.impl;
+
+import com.rslakra.healthcare.routinecheckup.dto.UserRequestDto;
+import com.rslakra.healthcare.routinecheckup.entity.MailOutboxEntity;
+import com.rslakra.healthcare.routinecheckup.entity.RoleEntity;
+import com.rslakra.healthcare.routinecheckup.entity.UserEntity;
+import com.rslakra.healthcare.routinecheckup.repository.DoctorRepository;
+import com.rslakra.healthcare.routinecheckup.repository.MailOutboxRepository;
+import com.rslakra.healthcare.routinecheckup.repository.PatientRepository;
+import com.rslakra.healthcare.routinecheckup.repository.RoleRepository;
+import com.rslakra.healthcare.routinecheckup.repository.UserRepository;
+import com.rslakra.healthcare.routinecheckup.service.AuthAttemptsService;
+import com.rslakra.healthcare.routinecheckup.service.CaptchaService;
+import com.rslakra.healthcare.routinecheckup.service.DoctorSearchIndex;
+import com.rslakra.healthcare.routinecheckup.service.DoctorsAndPatientsReadModel;
+import com.rslakra.healthcare.routinecheckup.service.RoleService;
+import com.rslakra.healthcare.routinecheckup.service.impl.mail.EmailServiceImpl;
+import com.rslakra.healthcare.routinecheckup.service.impl.mail.MailOutboxImpl;
+import com.rslakra.healthcare.routinecheckup.service.mail.EmailType;
+import com.rslakra.healthcare.routinecheckup.service.mail.MailOutbox;
+import com.rslakra.healthcare.routinecheckup.service.security.TokenService;
+import com.rslakra.healthcare.routinecheckup.service.security.VerifiedTokenCache;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.FileStorageConstants;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.MailMessages;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.MailOutboxConstants;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.Messages;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.WebConstants;
+import com.rslakra.healthcare.routinecheckup.utils.components.impl.DtoUtilsImpl;
+import com.rslakra.healthcare.routinecheckup.utils.mappers.DoctorDtoEntityMapperImpl;
+import com.rslakra.healthcare.routinecheckup.utils.mappers.PatientDtoToEntityMapperImpl;
+import com.rslakra.healthcare.routinecheckup.utils.mappers.ServiceScheduleDtoEntityMapperImpl;
+import com.rslakra.healthcare.routinecheckup.utils.mappers.UserDtoEntityMapperImpl;
+import com.rslakra.healthcare.routinecheckup.utils.security.Roles;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that UserServiceImpl.registerNewUser commits or rolls back the user together with its registration email.
+ * Each registration runs in its own transaction, as it does behind the transactional proxy.
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserServiceImplRegistrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private MailOutbox mailOutbox;
+
+    private TokenService tokenService;
+
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        RoleEntity role = roleRepository.save(RoleEntity.builder().roleName(Roles.PATIENT.getValue()).build());
+        RoleService roleService = mock(RoleService.class);
+        when(roleService.createIfNotExists(Roles.PATIENT.getValue())).thenReturn(role);
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(any())).thenReturn("encodedPassword");
+        tokenService = mock(TokenService.class);
+        when(tokenService.generateRegistrationToken(any())).thenReturn("registrationToken");
+        WebConstants webConstants = mock(WebConstants.class);
+        when(webConstants.getDomainName()).thenReturn("localhost");
+        when(webConstants.getAppPort()).thenReturn(8443);
+        when(webConstants.getBasePath()).thenReturn("/routine-checkup");
+        MailMessages mailMessages = mock(MailMessages.class);
+        when(mailMessages.getCompletionMessageSubject()).thenReturn("Complete your registration");
+        when(mailMessages.getCompletionMessageBodyTemplate()).thenReturn("Open %s");
+
+        mailOutbox = spy(new MailOutboxImpl(
+            mailOutboxRepository, mock(MailOutboxConstants.class), mock(ApplicationEventPublisher.class)
+        ));
+        EmailServiceImpl emailService = new EmailServiceImpl(
+            mock(JavaMailSender.class), tokenService, webConstants, mailMessages, mailOutbox
+        );
+        DtoUtilsImpl dtoUtils = new DtoUtilsImpl(new DoctorDtoEntityMapperImpl(), new UserDtoEntityMapperImpl(),
+            new PatientDtoToEntityMapperImpl(), new ServiceScheduleDtoEntityMapperImpl());
+        userService = new UserServiceImpl(userRepository, doctorRepository, patientRepository,
+            mock(Messages.class), dtoUtils, passwordEncoder, mock(CaptchaService.class),
+            roleService, mock(AuthAttemptsService.class), tokenService,
+            mock(FileStorageConstants.class), emailService, mock(VerifiedTokenCache.class),
+            mock(DoctorSearchIndex.class), mock(DoctorsAndPatientsReadModel.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mailOutboxRepository.deleteAll();
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    @Test
+    void testRegisterNewUser_CommitsUserAndEmail() {
+        transactionTemplate.executeWithoutResult(status -> userService.registerNewUser(
+            newUser(), null, Roles.PATIENT, "127.0.0.1"
+        ));
+
+        UserEntity user = userRepository.findByLogin("testuser").orElseThrow();
+        assertTrue(user.getIsTemporary());
+        List<MailOutboxEntity> mails = outbox();
+        assertEquals(1, mails.size());
+        assertEquals(EmailType.REGISTRATION, mails.get(0).getEmailType());
+        assertEquals("test@example.com", mails.get(0).getRecipient());
+        assertTrue(mails.get(0).getBody().contains("registrationToken"));
+    }
+
+    @Test
+    void testRegisterNewUser_OutboxFailure_RollsBackUser() {
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            throw new DataAccessResourceFailureException("Outbox unavailable");
+        }).when(mailOutbox).enqueue(any(), any(), any(), any());
+
+        assertThrows(DataAccessResourceFailureException.class,
+            () -> transactionTemplate.executeWithoutResult(status -> userService.registerNewUser(
+                newUser(), null, Roles.PATIENT, "127.0.0.1"
+            )));
+
+        assertTrue(userRepository.findByLogin("testuser").isEmpty());
+        assertTrue(outbox().isEmpty());
+    }
+
+    @Test
+    void testRegisterNewUser_EmailPreparationFailure_RollsBackUser() {
+        when(tokenService.generateRegistrationToken(any())).thenThrow(new IllegalStateException("No signing key"));
+
+        assertThrows(IllegalStateException.class,
+            () -> transactionTemplate.executeWithoutResult(status -> userService.registerNewUser(
+                newUser(), null, Roles.PATIENT, "127.0.0.1"
+            )));
+
+        assertTrue(userRepository.findByLogin("testuser").isEmpty());
+        assertTrue(outbox().isEmpty());
+    }
+
+    @Test
+    void testRegisterNewUser_RolledBack_DropsEmail() {
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.registerNewUser(newUser(), null, Roles.PATIENT, "127.0.0.1");
+            status.setRollbackOnly();
+        });
+
+        assertTrue(userRepository.findByLogin("testuser").isEmpty());
+        assertTrue(outbox().isEmpty());
+    }
+
+    private List<MailOutboxEntity> outbox() {
+        return StreamSupport.stream(mailOutboxRepository.findAll().spliterator(), false).toList();
+    }
+
+    private static UserRequestDto newUser() {
+        UserRequestDto user = new UserRequestDto();
+        user.setLogin("testuser");
+        user.setPassword("password123");
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setMail("test@example.com");
+        return user;
+    }
+}
@@ -10,6 +10,7 @@ import com.rslakra.healthcare.routinecheckup.service.RoleService;
 import com.rslakra.healthcare.routinecheckup.service.AuthAttemptsService;
 import com.rslakra.healthcare.routinecheckup.service.mail.EmailService;
 import com.rslakra.healthcare.routinecheckup.service.mail.EmailType;
+import com.rslakra.healthcare.routinecheckup.service.security.VerifiedTokenCache;
 import com.rslakra.healthcare.routinecheckup.utils.components.DtoUtils;
 import com.rslakra.healthcare.routinecheckup.utils.components.holder.FileStorageConstants;
 import com.rslakra.healthcare.routinecheckup.utils.components.holder.Messages;
@@ -20,7 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.MailAuthenticationException;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.mail.MailException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -68,6 +69,9 @@ class UserServiceImplTest {
     @Mock
     private FileStorageConstants fileStorageConstants;
 
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -135,7 +139,7 @@ class UserServiceImplTest {
     }
 
     @Test
-    void testRegisterNewUser_EmailFailure_ShouldStillSucceed() {
+    void testRegisterNewUser_OutboxFailure_ShouldPropagate() {
         // Given
         when(authAttemptsService.isExtraLastRegistration(anyString())).thenReturn(false);
         when(dtoUtils.sanitizeUser(any(UserRequestDto.class))).thenReturn(userRequestDto);
@@ -146,20 +150,14 @@ class UserServiceImplTest {
         when(userRepository.existsByMail(anyString())).thenReturn(false);
         when(userRepository.save(any(UserEntity.class))).thenReturn(userEntity);
         when(emailService.sendEmail(eq(EmailType.REGISTRATION), any(UserEntity.class), any()))
-            .thenThrow(new MailAuthenticationException("Authentication failed"));
-        when(dtoUtils.convertUser(any(UserEntity.class))).thenReturn(userResponseDto);
+            .thenThrow(new DataAccessResourceFailureException("Outbox unavailable"));
 
-        // When
-        UserResponseDto result = userService.registerNewUser(
+        // When/Then - the exception rolls the registration back with its email
+        assertThrows(DataAccessResourceFailureException.class, () -> userService.registerNewUser(
             userRequestDto, null, Roles.PATIENT, "127.0.0.1"
-        );
-
-        // Then
-        assertNotNull(result);
-        assertEquals("testuser", result.getLogin());
+        ));
         verify(userRepository, times(1)).save(any(UserEntity.class));
         verify(emailService, times(1)).sendEmail(eq(EmailType.REGISTRATION), any(UserEntity.class), any());
-        // Registration should succeed even if email fails
     }
 
     @Test
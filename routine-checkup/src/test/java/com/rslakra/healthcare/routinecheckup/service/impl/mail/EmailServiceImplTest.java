@@ -2,6 +2,7 @@ package com.rslakra.healthcare.routinecheckup.service.impl.mail;
 
 import com.rslakra.healthcare.routinecheckup.entity.UserEntity;
 import com.rslakra.healthcare.routinecheckup.service.mail.EmailType;
+import com.rslakra.healthcare.routinecheckup.service.mail.MailOutbox;
 import com.rslakra.healthcare.routinecheckup.service.security.TokenService;
 import com.rslakra.healthcare.routinecheckup.utils.components.holder.MailMessages;
 import com.rslakra.healthcare.routinecheckup.utils.components.holder.WebConstants;
@@ -20,10 +21,12 @@ import org.springframework.mail.javamail.JavaMailSender;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -47,6 +50,9 @@ class EmailServiceImplTest {
     @Mock
     private MailMessages mailMessages;
 
+    @Mock
+    private MailOutbox mailOutbox;
+
     @InjectMocks
     private EmailServiceImpl emailService;
 
@@ -110,7 +116,6 @@ class EmailServiceImplTest {
     @Test
     void testSendEmail_Registration_Success() {
         // Given
-        doNothing().when(javaMailSender).send(any(SimpleMailMessage.class));
         when(tokenService.generateRegistrationToken(any(UserEntity.class))).thenReturn("test-token-123");
         when(webConstants.getDomainName()).thenReturn("localhost");
         when(webConstants.getAppPort()).thenReturn(8080);
@@ -125,14 +130,13 @@ class EmailServiceImplTest {
         assertNotNull(token);
         assertEquals("test-token-123", token);
         verify(tokenService, times(1)).generateRegistrationToken(any(UserEntity.class));
-        verify(javaMailSender, times(1)).send(any(SimpleMailMessage.class));
+        verify(mailOutbox, times(1)).enqueue(eq(EmailType.REGISTRATION), eq("test@example.com"),
+            eq("Complete Your Registration"), contains("test-token-123"));
     }
 
     @Test
-    void testSendEmail_Registration_EmailFailure_ShouldNotThrow() {
-        // Given - Email sending will fail with MailAuthenticationException
-        doThrow(new MailAuthenticationException("Authentication failed"))
-            .when(javaMailSender).send(any(SimpleMailMessage.class));
+    void testSendEmail_Registration_ShouldNotSendOnCallerThread() {
+        // Given
         when(tokenService.generateRegistrationToken(any(UserEntity.class))).thenReturn("test-token-123");
         when(webConstants.getDomainName()).thenReturn("localhost");
         when(webConstants.getAppPort()).thenReturn(8080);
@@ -140,45 +144,50 @@ class EmailServiceImplTest {
         when(mailMessages.getCompletionMessageBodyTemplate()).thenReturn("Please complete registration: %s");
         when(mailMessages.getCompletionMessageSubject()).thenReturn("Complete Your Registration");
 
-        // When & Then - Should not throw exception, token should still be returned
-        String token = assertDoesNotThrow(() -> 
+        // When
+        emailService.sendEmail(EmailType.REGISTRATION, userEntity, null);
+
+        // Then - SMTP is left to the outbox dispatcher
+        verifyNoInteractions(javaMailSender);
+    }
+
+    @Test
+    void testSendEmail_Registration_PreparationFailure_ShouldThrow() {
+        // Given - Token generation will fail, so the caller's transaction must not commit
+        when(tokenService.generateRegistrationToken(any(UserEntity.class)))
+            .thenThrow(new RuntimeException("Unexpected error"));
+
+        // When & Then
+        RuntimeException thrown = assertThrows(RuntimeException.class, () ->
             emailService.sendEmail(EmailType.REGISTRATION, userEntity, null)
         );
 
-        // Then - Token should still be returned even though email failed
-        assertNotNull(token);
-        assertEquals("test-token-123", token);
-        verify(tokenService, times(1)).generateRegistrationToken(any(UserEntity.class));
-        verify(javaMailSender, times(1)).send(any(SimpleMailMessage.class));
+        // Then - Nothing to send
+        assertEquals("Unexpected error", thrown.getMessage());
+        verifyNoInteractions(mailOutbox);
     }
 
     @Test
-    void testSendEmail_Registration_UnexpectedException_ShouldNotThrow() {
-        // Given - Email sending will fail with unexpected RuntimeException
-        doThrow(new RuntimeException("Unexpected error"))
-            .when(javaMailSender).send(any(SimpleMailMessage.class));
+    void testSendEmail_Registration_OutboxFailure_ShouldThrow() {
+        // Given - The outbox could not be written, so the caller's transaction must not commit
         when(tokenService.generateRegistrationToken(any(UserEntity.class))).thenReturn("test-token-123");
         when(webConstants.getDomainName()).thenReturn("localhost");
         when(webConstants.getAppPort()).thenReturn(8080);
         when(webConstants.getBasePath()).thenReturn("/routine-checkup");
         when(mailMessages.getCompletionMessageBodyTemplate()).thenReturn("Please complete registration: %s");
         when(mailMessages.getCompletionMessageSubject()).thenReturn("Complete Your Registration");
+        doThrow(new IllegalStateException("Database unavailable"))
+            .when(mailOutbox).enqueue(any(EmailType.class), anyString(), anyString(), anyString());
 
-        // When & Then - Should not throw exception
-        String token = assertDoesNotThrow(() -> 
+        // When & Then
+        assertThrows(IllegalStateException.class, () ->
             emailService.sendEmail(EmailType.REGISTRATION, userEntity, null)
         );
-
-        // Then - Token should still be returned even though email failed
-        assertNotNull(token);
-        assertEquals("test-token-123", token);
-        verify(javaMailSender, times(1)).send(any(SimpleMailMessage.class));
     }
 
     @Test
     void testSendEmail_Login_Success() {
         // Given
-        doNothing().when(javaMailSender).send(any(SimpleMailMessage.class));
         when(webConstants.getDomainName()).thenReturn("localhost");
 
         // When
@@ -186,13 +195,13 @@ class EmailServiceImplTest {
 
         // Then - LOGIN type doesn't return a token
         assertNull(result);
-        verify(javaMailSender, times(1)).send(any(SimpleMailMessage.class));
+        verify(mailOutbox, times(1)).enqueue(eq(EmailType.LOGIN), eq("test@example.com"),
+            eq("Login Notification"), anyString());
     }
 
     @Test
     void testSendEmail_PasswordReset_WithResetToken() {
         // Given
-        doNothing().when(javaMailSender).send(any(SimpleMailMessage.class));
         Map<String, Object> additionalData = new HashMap<>();
         additionalData.put("resetToken", "reset-token-456");
 
@@ -201,26 +210,24 @@ class EmailServiceImplTest {
 
         // Then
         assertEquals("reset-token-456", result);
-        verify(javaMailSender, times(1)).send(any(SimpleMailMessage.class));
+        verify(mailOutbox, times(1)).enqueue(eq(EmailType.PASSWORD_RESET), eq("test@example.com"),
+            eq("Password Reset Request"), contains("reset-token-456"));
     }
 
     @Test
     void testSendEmail_AccountActivation_Success() {
-        // Given
-        doNothing().when(javaMailSender).send(any(SimpleMailMessage.class));
-
         // When
         String result = emailService.sendEmail(EmailType.ACCOUNT_ACTIVATION, userEntity, null);
 
         // Then - ACCOUNT_ACTIVATION type doesn't return a token
         assertNull(result);
-        verify(javaMailSender, times(1)).send(any(SimpleMailMessage.class));
+        verify(mailOutbox, times(1)).enqueue(eq(EmailType.ACCOUNT_ACTIVATION), eq("test@example.com"),
+            eq("Account Activated"), anyString());
     }
 
     @Test
     void testSendEmail_Notification_WithCustomSubjectAndMessage() {
         // Given
-        doNothing().when(javaMailSender).send(any(SimpleMailMessage.class));
         Map<String, Object> additionalData = new HashMap<>();
         additionalData.put("subject", "Custom Subject");
         additionalData.put("message", "Custom notification message");
@@ -230,69 +237,18 @@ class EmailServiceImplTest {
 
         // Then - NOTIFICATION type doesn't return a token
         assertNull(result);
-        verify(javaMailSender, times(1)).send(any(SimpleMailMessage.class));
+        verify(mailOutbox, times(1)).enqueue(EmailType.NOTIFICATION, "test@example.com",
+            "Custom Subject", "Custom notification message");
     }
 
     @Test
     void testSendEmail_Notification_WithoutAdditionalData() {
-        // Given
-        doNothing().when(javaMailSender).send(any(SimpleMailMessage.class));
-
         // When
         String result = emailService.sendEmail(EmailType.NOTIFICATION, userEntity, null);
 
         // Then - Should use default subject and message
         assertNull(result);
-        verify(javaMailSender, times(1)).send(any(SimpleMailMessage.class));
-    }
-
-    // ==================== sendEmailAsync() Tests ====================
-
-    @Test
-    void testSendEmailAsync_Success() {
-        // Given
-        doNothing().when(javaMailSender).send(any(SimpleMailMessage.class));
-
-        // When
-        CompletableFuture<Void> future = emailService.sendEmailAsync(
-            "test@example.com", "Subject", "Body", EmailType.REGISTRATION);
-
-        // Then
-        assertNotNull(future);
-        assertDoesNotThrow(() -> future.get());
-        verify(javaMailSender, times(1)).send(any(SimpleMailMessage.class));
-    }
-
-    @Test
-    void testSendEmailAsync_MailFailure_ShouldNotThrow() {
-        // Given
-        doThrow(new MailAuthenticationException("Authentication failed"))
-            .when(javaMailSender).send(any(SimpleMailMessage.class));
-
-        // When & Then - Should not throw, should complete gracefully
-        CompletableFuture<Void> future = assertDoesNotThrow(() -> 
-            emailService.sendEmailAsync("test@example.com", "Subject", "Body", EmailType.REGISTRATION)
-        );
-
-        assertNotNull(future);
-        assertDoesNotThrow(() -> future.get());
-        verify(javaMailSender, times(1)).send(any(SimpleMailMessage.class));
-    }
-
-    @Test
-    void testSendEmailAsync_UnexpectedException_ShouldNotThrow() {
-        // Given
-        doThrow(new RuntimeException("Unexpected error"))
-            .when(javaMailSender).send(any(SimpleMailMessage.class));
-
-        // When & Then - Should not throw, should complete gracefully
-        CompletableFuture<Void> future = assertDoesNotThrow(() -> 
-            emailService.sendEmailAsync("test@example.com", "Subject", "Body", EmailType.REGISTRATION)
-        );
-
-        assertNotNull(future);
-        assertDoesNotThrow(() -> future.get());
-        verify(javaMailSender, times(1)).send(any(SimpleMailMessage.class));
+        verify(mailOutbox, times(1)).enqueue(EmailType.NOTIFICATION, "test@example.com",
+            "Notification", "You have a new notification.");
     }
 }
-
@@ -0,0 +1,115 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+class MailDispatchExecutorTest {
+
+    private MailDispatchExecutor executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.destroy();
+    }
+
+    @Test
+    void testSubmit_LimitsConcurrencyPerDomain() throws Exception {
+        // Given
+        executor = new MailDispatchExecutor(4, 10, 2, true);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tasks.add(executor.submit("example.com", () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                await(release);
+                running.decrementAndGet();
+            }));
+        }
+        CompletableFuture<Void> otherDomain = executor.submit("other.org", () -> { });
+
+        // Then - the other domain is not held up, and no more than two run for example.com
+        otherDomain.get(5, TimeUnit.SECONDS);
+        release.countDown();
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    void testExecute_RejectsWhenQueueIsFull() throws Exception {
+        // Given - both workers busy and the single queue slot taken
+        executor = new MailDispatchExecutor(2, 1, 2, false);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        executor.bindTo(registry);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(() -> { });
+
+        // When & Then - rejected rather than run by the caller
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        ExecutionException rejected = assertThrows(ExecutionException.class,
+            () -> executor.submit("example.com", () -> { }).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+
+        assertEquals(2, registry.get("routinecheckup.mail.dispatch.rejected").functionCounter().count());
+        assertEquals(2, registry.get("routinecheckup.mail.dispatch.active").gauge().value());
+        assertEquals(1, registry.get("routinecheckup.mail.dispatch.queued").tag("for", "worker").gauge().value());
+        release.countDown();
+    }
+
+    @Test
+    void testSubmit_TaskThrowingError_CompletesItsFuture() throws Exception {
+        // Given
+        executor = new MailDispatchExecutor(2, 10, 1, false);
+        LinkageError error = new LinkageError("Cannot load the mail transport");
+
+        // When
+        CompletableFuture<Void> failing = executor.submit("example.com", () -> {
+            throw error;
+        });
+
+        // Then - the future fails rather than never completing, and the domain takes the next task
+        ExecutionException failed = assertThrows(ExecutionException.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertSame(error, failed.getCause());
+        executor.submit("example.com", () -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
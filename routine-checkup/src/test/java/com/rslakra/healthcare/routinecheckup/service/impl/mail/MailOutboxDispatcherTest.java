@@ -0,0 +1,251 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.mail;
+
+import com.rslakra.healthcare.routinecheckup.entity.MailOutboxEntity;
+import com.rslakra.healthcare.routinecheckup.entity.MailOutboxEntity.Status;
+import com.rslakra.healthcare.routinecheckup.service.mail.MailEnqueuedEvent;
+import com.rslakra.healthcare.routinecheckup.service.mail.EmailType;
+import com.rslakra.healthcare.routinecheckup.service.mail.MailOutbox;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.MailDispatchConstants;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.MailOutboxConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@ExtendWith(MockitoExtension.class)
+class MailOutboxDispatcherTest {
+
+    @Mock
+    private MailOutbox mailOutbox;
+
+    @Mock
+    private JavaMailSender javaMailSender;
+
+    @Mock
+    private MailOutboxConstants mailOutboxConstants;
+
+    @Mock
+    private MailDispatchConstants mailDispatchConstants;
+
+    @Captor
+    private ArgumentCaptor<Map<UUID, String>> failed;
+
+    private MailDispatchExecutor mailDispatchExecutor;
+    private MailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        when(mailOutboxConstants.getBatchSize()).thenReturn(10);
+        lenient().when(javaMailSender.createMimeMessage())
+            .thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+        lenient().when(mailDispatchConstants.getMessagesPerConnection()).thenReturn(10);
+        mailDispatchExecutor = new MailDispatchExecutor(2, 10, 1, false);
+        dispatcher = new MailOutboxDispatcher(
+            mailOutbox, javaMailSender, mailOutboxConstants, mailDispatchConstants, mailDispatchExecutor
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        mailDispatchExecutor.destroy();
+    }
+
+    @Test
+    void testDrain_SendsBatchInOneCall() {
+        // Given
+        MailOutboxEntity first = mail("first@example.com");
+        MailOutboxEntity second = mail("second@example.com");
+        when(mailOutbox.claimDue(10)).thenReturn(List.of(first, second), List.of());
+
+        // When
+        dispatcher.drain();
+
+        // Then - both messages go over one connection
+        ArgumentCaptor<MimeMessage[]> messages = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(javaMailSender, times(1)).send(messages.capture());
+        assertEquals(2, messages.getValue().length);
+        verify(mailOutbox).complete(List.of(first.getId(), second.getId()), Map.of());
+    }
+
+    @Test
+    void testDrain_PartialFailure_RetriesOnlyFailedEmails() {
+        // Given
+        MailOutboxEntity first = mail("first@example.com");
+        MailOutboxEntity second = mail("second@example.com");
+        when(mailOutbox.claimDue(10)).thenReturn(List.of(first, second));
+
+        // The server rejects the second message
+        doAnswer(invocation -> {
+            MimeMessage rejected = invocation.getArgument(1);
+            throw new MailSendException(Map.<Object, Exception>of(rejected, new SendFailedException("550 No such user")));
+        }).when(javaMailSender).send(any(MimeMessage[].class));
+
+        // When
+        dispatcher.drain();
+
+        // Then
+        verify(mailOutbox).complete(eq(List.of(first.getId())), failed.capture());
+        assertEquals(1, failed.getValue().size());
+        assertTrue(failed.getValue().get(second.getId()).contains("550 No such user"));
+    }
+
+    @Test
+    void testDrain_ConnectionFailure_RetriesWholeBatch() {
+        // Given
+        MailOutboxEntity first = mail("first@example.com");
+        MailOutboxEntity second = mail("second@example.com");
+        when(mailOutbox.claimDue(10)).thenReturn(List.of(first, second));
+        doThrow(new MailAuthenticationException("Authentication failed"))
+            .when(javaMailSender).send(any(MimeMessage[].class));
+
+        // When
+        dispatcher.drain();
+
+        // Then
+        verify(mailOutbox).complete(eq(List.of()), failed.capture());
+        assertEquals(2, failed.getValue().size());
+    }
+
+    @Test
+    void testDrain_ConnectionPerDomain() {
+        // Given
+        MailOutboxEntity first = mail("first@example.com");
+        MailOutboxEntity second = mail("second@other.org");
+        MailOutboxEntity third = mail("third@EXAMPLE.com");
+        when(mailOutbox.claimDue(10)).thenReturn(List.of(first, second, third), List.of());
+        List<String> connections = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            connections.add(invocation.getArguments().length + " to "
+                + ((MimeMessage) invocation.getArgument(0)).getAllRecipients()[0]);
+            return null;
+        }).when(javaMailSender).send(any(MimeMessage[].class));
+
+        // When
+        dispatcher.drain();
+
+        // Then
+        assertEquals(2, connections.size());
+        assertTrue(connections.containsAll(List.of("2 to first@example.com", "1 to second@other.org")));
+        verify(mailOutbox).complete(List.of(first.getId(), second.getId(), third.getId()), Map.of());
+    }
+
+    @Test
+    void testDrain_NothingDue_DoesNotConnect() {
+        // Given
+        when(mailOutbox.claimDue(anyInt())).thenReturn(List.of());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        dispatcher.bindTo(registry);
+
+        // When
+        dispatcher.drain();
+
+        // Then
+        verify(javaMailSender, never()).send(any(MimeMessage[].class));
+        verify(mailOutbox, never()).complete(any(), any());
+        assertEquals(0, registry.get("routinecheckup.mail.outbox.send").functionTimer().count());
+    }
+
+    @Test
+    void testPoll_DrainsOnExecutorAndCountsOnScheduler() throws InterruptedException {
+        // Given - the drain blocks until the poll has returned
+        CountDownLatch polled = new CountDownLatch(1);
+        AtomicReference<String> drainThread = new AtomicReference<>();
+        when(mailOutbox.claimDue(10)).thenAnswer(invocation -> {
+            drainThread.set(Thread.currentThread().getName());
+            assertTrue(polled.await(5, TimeUnit.SECONDS));
+            return List.of();
+        });
+        when(mailOutbox.count(Status.PENDING)).thenReturn(3L);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        dispatcher.bindTo(registry);
+
+        // When
+        dispatcher.poll();
+        polled.countDown();
+
+        // Then
+        verify(mailOutbox).purgeSent();
+        assertEquals(3, registry.get("routinecheckup.mail.outbox.depth").tag("status", "pending").gauge().value());
+        verify(mailOutbox, timeout(5_000)).claimDue(10);
+        assertTrue(drainThread.get().startsWith("email-dispatch-"), drainThread.get());
+    }
+
+    @Test
+    void testOnMailEnqueued_WhileDraining_DrainsAgain() throws InterruptedException {
+        // Given - the first pass blocks until another email is enqueued
+        CountDownLatch draining = new CountDownLatch(1);
+        CountDownLatch enqueued = new CountDownLatch(1);
+        AtomicInteger claims = new AtomicInteger();
+        when(mailOutbox.claimDue(10)).thenAnswer(invocation -> {
+            if (claims.incrementAndGet() == 1) {
+                draining.countDown();
+                assertTrue(enqueued.await(5, TimeUnit.SECONDS));
+            }
+            return List.of();
+        });
+
+        // When
+        dispatcher.onMailEnqueued(new MailEnqueuedEvent());
+        assertTrue(draining.await(5, TimeUnit.SECONDS));
+        dispatcher.onMailEnqueued(new MailEnqueuedEvent());
+        enqueued.countDown();
+
+        // Then - the running drain goes around once more instead of a second one starting
+        verify(mailOutbox, timeout(5_000).times(2)).claimDue(10);
+        Thread.sleep(100);
+        assertEquals(2, claims.get());
+    }
+
+    private static MailOutboxEntity mail(String recipient) {
+        MailOutboxEntity mail = new MailOutboxEntity();
+        mail.setId(UUID.randomUUID());
+        mail.setEmailType(EmailType.REGISTRATION);
+        mail.setRecipient(recipient);
+        mail.setSubject("Subject");
+        mail.setBody("Body");
+        mail.setStatus(MailOutboxEntity.Status.PENDING);
+        mail.setCreatedAt(new Date());
+        return mail;
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.mail;
+
+import com.rslakra.healthcare.routinecheckup.entity.MailOutboxEntity;
+import com.rslakra.healthcare.routinecheckup.entity.MailOutboxEntity.Status;
+import com.rslakra.healthcare.routinecheckup.repository.MailOutboxRepository;
+import com.rslakra.healthcare.routinecheckup.service.mail.EmailType;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.MailOutboxConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@ExtendWith(MockitoExtension.class)
+class MailOutboxImplTest {
+
+    private static final long INITIAL_BACKOFF_MS = 60_000;
+    private static final long MAX_BACKOFF_MS = 3_600_000;
+
+    @Mock
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Mock
+    private MailOutboxConstants mailOutboxConstants;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @InjectMocks
+    private MailOutboxImpl mailOutbox;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(mailOutboxConstants.getMaxAttempts()).thenReturn(3);
+        lenient().when(mailOutboxConstants.getInitialBackoffMs()).thenReturn(INITIAL_BACKOFF_MS);
+        lenient().when(mailOutboxConstants.getMaxBackoffMs()).thenReturn(MAX_BACKOFF_MS);
+    }
+
+    @Test
+    void testBackoff_DoublesUpToMax() {
+        assertBetween(INITIAL_BACKOFF_MS, mailOutbox.backoffMs(1));
+        assertBetween(2 * INITIAL_BACKOFF_MS, mailOutbox.backoffMs(2));
+        assertBetween(8 * INITIAL_BACKOFF_MS, mailOutbox.backoffMs(4));
+        assertBetween(MAX_BACKOFF_MS, mailOutbox.backoffMs(10));
+        assertBetween(MAX_BACKOFF_MS, mailOutbox.backoffMs(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testComplete_FailedEmail_IsRetriedLater() {
+        // Given
+        MailOutboxEntity mail = mail(0);
+        when(mailOutboxRepository.findById(mail.getId())).thenReturn(Optional.of(mail));
+        long before = System.currentTimeMillis();
+
+        // When
+        mailOutbox.complete(List.of(), Map.of(mail.getId(), "Connection refused"));
+
+        // Then
+        assertEquals(Status.PENDING, mail.getStatus());
+        assertEquals(1, mail.getAttempts());
+        assertEquals("Connection refused", mail.getLastError());
+        assertTrue(mail.getNextAttemptAt().getTime() >= before + INITIAL_BACKOFF_MS);
+        verify(mailOutboxRepository, never()).markSent(any(), any(), any());
+    }
+
+    @Test
+    void testComplete_LastAttempt_IsDead() {
+        // Given
+        MailOutboxEntity mail = mail(2);
+        when(mailOutboxRepository.findById(mail.getId())).thenReturn(Optional.of(mail));
+
+        // When
+        mailOutbox.complete(List.of(), Map.of(mail.getId(), "550 No such user"));
+
+        // Then
+        assertEquals(Status.DEAD, mail.getStatus());
+        assertEquals(3, mail.getAttempts());
+    }
+
+    @Test
+    void testEnqueue_PublishesEvent() {
+        // When
+        mailOutbox.enqueue(EmailType.REGISTRATION, "test@example.com", "Subject", "Body");
+
+        // Then
+        verify(mailOutboxRepository).save(any(MailOutboxEntity.class));
+        verify(applicationEventPublisher).publishEvent(any(Object.class));
+    }
+
+    private static MailOutboxEntity mail(int attempts) {
+        MailOutboxEntity mail = new MailOutboxEntity();
+        mail.setId(UUID.randomUUID());
+        mail.setStatus(Status.PENDING);
+        mail.setAttempts(attempts);
+        mail.setNextAttemptAt(new Date());
+        return mail;
+    }
+
+    private static void assertBetween(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 10,
+            "Expected " + expected + " plus up to a tenth, but was " + actual);
+    }
+
+}
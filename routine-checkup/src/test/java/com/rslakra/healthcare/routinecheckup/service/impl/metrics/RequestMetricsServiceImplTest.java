@@ -0,0 +1,94 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.metrics;
+
+import com.rslakra.healthcare.routinecheckup.service.metrics.HandlerLatency;
+import com.rslakra.healthcare.routinecheckup.service.metrics.SlowRequest;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.RequestMetricsConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RequestMetricsServiceImpl
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@ExtendWith(MockitoExtension.class)
+class RequestMetricsServiceImplTest {
+
+    @Mock
+    private RequestMetricsConstants requestMetricsConstants;
+
+    private RequestMetricsServiceImpl requestMetricsService;
+
+    @BeforeEach
+    void setUp() {
+        when(requestMetricsConstants.getSlowRequests()).thenReturn(2);
+        requestMetricsService = new RequestMetricsServiceImpl(requestMetricsConstants);
+    }
+
+    @Test
+    void testRecord_SummarizesPerHandlerAfterRotation() throws NoSuchMethodException {
+        HandlerMethod handler = new HandlerMethod(new TestController(), TestController.class.getMethod("list"));
+        for (int i = 1; i <= 100; i++) {
+            requestMetricsService.record(request("/test", handler), 200, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        requestMetricsService.record(request("/login", null), 302, TimeUnit.MILLISECONDS.toNanos(3));
+
+        List<HandlerLatency> latencies = requestMetricsService.getHandlerLatencies();
+        assertEquals(List.of("TestController#list", "unmapped"),
+            latencies.stream().map(HandlerLatency::getHandler).toList());
+        assertEquals(0, latencies.get(0).getWindow().getCount());
+
+        requestMetricsService.rotate();
+
+        HandlerLatency latency = requestMetricsService.getHandlerLatencies().get(0);
+        assertEquals(100, latency.getWindow().getCount());
+        assertEquals(50, latency.getWindow().getP50(), 1);
+        assertEquals(99, latency.getWindow().getP99(), 1);
+        assertEquals(100, latency.getWindow().getMax(), 1);
+        assertEquals(100, latency.getTotal().getCount());
+    }
+
+    @Test
+    void testGetSlowRequests_SlowestOfCurrentAndLastWindow() {
+        requestMetricsService.record(request("/a", null), 200, 30);
+        requestMetricsService.record(request("/b", null), 200, 10);
+        requestMetricsService.rotate();
+        requestMetricsService.record(request("/c", null), 500, 20);
+        requestMetricsService.record(request("/d", null), 200, 5);
+
+        assertEquals(List.of("/a", "/c"),
+            requestMetricsService.getSlowRequests().stream().map(SlowRequest::getUri).toList());
+
+        requestMetricsService.rotate();
+        requestMetricsService.rotate();
+        assertTrue(requestMetricsService.getSlowRequests().isEmpty());
+    }
+
+    private static MockHttpServletRequest request(String uri, HandlerMethod handler) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (handler != null) {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+        }
+        return request;
+    }
+
+    static class TestController {
+
+        public String list() {
+            return "list";
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.metrics;
+
+import com.rslakra.healthcare.routinecheckup.service.metrics.SlowRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SlowRequestReservoir
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+class SlowRequestReservoirTest {
+
+    @Test
+    void testOffer_KeepsSlowestRequests() {
+        SlowRequestReservoir reservoir = new SlowRequestReservoir(3);
+
+        for (long duration : new long[] {5, 1, 9, 3, 7, 2}) {
+            reservoir.offer(request(duration));
+        }
+
+        assertEquals(List.of(5L, 7L, 9L), durations(reservoir));
+        assertFalse(reservoir.accepts(5));
+        assertTrue(reservoir.accepts(6));
+    }
+
+    @Test
+    void testAccepts_AnyRequestWhileNotFull() {
+        SlowRequestReservoir reservoir = new SlowRequestReservoir(2);
+        reservoir.offer(request(10));
+
+        assertTrue(reservoir.accepts(1));
+        assertFalse(new SlowRequestReservoir(0).accepts(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testOffer_Concurrent() throws InterruptedException {
+        SlowRequestReservoir reservoir = new SlowRequestReservoir(10);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            int offset = thread;
+            executor.execute(() -> LongStream.range(0, 10_000)
+                .map(i -> i * 4 + offset)
+                .filter(reservoir::accepts)
+                .forEach(duration -> reservoir.offer(request(duration))));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(LongStream.range(39_990, 40_000).boxed().toList(), durations(reservoir));
+    }
+
+    private static SlowRequest request(long durationNanos) {
+        return new SlowRequest(Instant.now(), "TestController#test", "GET", "/test", 200, durationNanos);
+    }
+
+    private static List<Long> durations(SlowRequestReservoir reservoir) {
+        return reservoir.getRequests().stream().map(SlowRequest::getDurationNanos).sorted().toList();
+    }
+}
@@ -0,0 +1,114 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.security;
+
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.CsrfConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CsrfTokenStoreImpl
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@ExtendWith(MockitoExtension.class)
+class CsrfTokenStoreImplTest {
+
+    @Mock
+    private CsrfConstants csrfConstants;
+
+    private CsrfTokenStoreImpl csrfTokenStore;
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        when(csrfConstants.getMaxTokens()).thenReturn(10);
+        csrfTokenStore = new CsrfTokenStoreImpl(csrfConstants);
+        registry = new SimpleMeterRegistry();
+        csrfTokenStore.bindTo(registry);
+    }
+
+    @Test
+    void testGetToken_StoredUntilSessionExpiry() {
+        CsrfToken token = csrfToken("csrf");
+        csrfTokenStore.saveToken("jwt", token, expiringIn(60_000));
+        csrfTokenStore.saveToken("expired", csrfToken("old"), expiringIn(-1_000));
+
+        assertSame(token, csrfTokenStore.getToken("jwt").orElse(null));
+        assertTrue(csrfTokenStore.getToken("expired").isEmpty());
+        assertTrue(csrfTokenStore.getToken("unknown").isEmpty());
+        assertEquals(1, evictions("expired"));
+    }
+
+    @Test
+    void testRemoveToken() {
+        csrfTokenStore.saveToken("jwt", csrfToken("csrf"), expiringIn(60_000));
+
+        csrfTokenStore.removeToken("jwt");
+
+        assertTrue(csrfTokenStore.getToken("jwt").isEmpty());
+        assertEquals(0, size());
+    }
+
+    @Test
+    void testSaveToken_CappedAtMaxTokens() {
+        for (int i = 0; i < 10; i++) {
+            csrfTokenStore.saveToken("jwt" + i, csrfToken("csrf" + i), expiringIn(60_000 + i * 1_000L));
+        }
+        csrfTokenStore.saveToken("newest", csrfToken("newest"), expiringIn(120_000));
+
+        assertEquals(10, size());
+        assertEquals(1, evictions("size"));
+        assertTrue(csrfTokenStore.getToken("jwt0").isEmpty());
+        assertTrue(csrfTokenStore.getToken("jwt9").isPresent());
+        assertTrue(csrfTokenStore.getToken("newest").isPresent());
+    }
+
+    @Test
+    void testSweep_DropsTokensOfExpiredSessions() {
+        csrfTokenStore.saveToken("expired1", csrfToken("csrf1"), expiringIn(-1_000));
+        csrfTokenStore.saveToken("expired2", csrfToken("csrf2"), expiringIn(-1_000));
+        csrfTokenStore.saveToken("valid", csrfToken("csrf3"), expiringIn(60_000));
+
+        csrfTokenStore.sweep();
+
+        assertEquals(1, size());
+        assertEquals(2, evictions("expired"));
+        assertEquals(0, evictions("size"));
+        assertTrue(csrfTokenStore.getToken("valid").isPresent());
+    }
+
+    @Test
+    void testSweep_ScheduledAtSweepInterval() throws NoSuchMethodException {
+        Scheduled scheduled = CsrfTokenStoreImpl.class.getMethod("sweep").getAnnotation(Scheduled.class);
+
+        assertNotNull(scheduled);
+        assertEquals("${security.csrf.sweep_interval_ms}", scheduled.fixedDelayString());
+    }
+
+    private double size() {
+        return registry.get("routinecheckup.csrf.tokens.size").gauge().value();
+    }
+
+    private double evictions(String reason) {
+        return registry.get("routinecheckup.csrf.tokens.evictions").tag("reason", reason).functionCounter().count();
+    }
+
+    private static CsrfToken csrfToken(String value) {
+        return new DefaultCsrfToken("csrf_token", "csrf_token", value);
+    }
+
+    private static long expiringIn(long millis) {
+        return System.currentTimeMillis() + millis;
+    }
+}
@@ -0,0 +1,138 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.security;
+
+import com.rslakra.healthcare.routinecheckup.exceptions.JwtTokenExpiredException;
+import com.rslakra.healthcare.routinecheckup.service.security.TokenService;
+import com.rslakra.healthcare.routinecheckup.service.security.VerifiedTokenCache;
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.CsrfConstants;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.csrf.CsrfToken;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CustomCsrfTokenRepository
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CustomCsrfTokenRepositoryTest {
+
+    private static final String JWT = "header.payload.signature";
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private CsrfConstants csrfConstants;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private CsrfTokenStoreImpl csrfTokenStore;
+
+    private CustomCsrfTokenRepository csrfTokenRepository;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        when(csrfConstants.getMaxTokens()).thenReturn(10);
+        when(csrfConstants.getCsrfHeaderName()).thenReturn("csrf_token");
+        when(csrfConstants.getCsrfParameterName()).thenReturn("csrf_token");
+        csrfTokenStore = new CsrfTokenStoreImpl(csrfConstants);
+        csrfTokenRepository = new CustomCsrfTokenRepository(tokenService, csrfConstants, csrfTokenStore, verifiedTokenCache);
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+        when(tokenService.getTokenFromRequest(any())).thenReturn(Optional.of(JWT));
+        when(verifiedTokenCache.getExpirationMs(any())).thenReturn(OptionalLong.empty());
+    }
+
+    @Test
+    void testSaveToken_VerifiedJwt_StoredUntilExpiry() {
+        when(tokenService.parse(JWT)).thenReturn(claimsExpiringIn(60_000));
+        CsrfToken token = csrfTokenRepository.generateToken(request);
+
+        csrfTokenRepository.saveToken(token, request, response);
+
+        assertSame(token, csrfTokenRepository.loadToken(request));
+        assertEquals("csrf_token", token.getHeaderName());
+        assertEquals("csrf_token", token.getParameterName());
+    }
+
+    @Test
+    void testSaveToken_CachedJwt_NotVerifiedAgain() {
+        when(verifiedTokenCache.getExpirationMs(JWT)).thenReturn(OptionalLong.of(System.currentTimeMillis() + 60_000));
+        CsrfToken token = csrfTokenRepository.generateToken(request);
+
+        csrfTokenRepository.saveToken(token, request, response);
+
+        assertSame(token, csrfTokenRepository.loadToken(request));
+        verify(tokenService, never()).parse(any());
+    }
+
+    @Test
+    void testSaveToken_Null_RemovesToken() {
+        when(tokenService.parse(JWT)).thenReturn(claimsExpiringIn(60_000));
+        csrfTokenRepository.saveToken(csrfTokenRepository.generateToken(request), request, response);
+
+        csrfTokenRepository.saveToken(null, request, response);
+
+        assertNull(csrfTokenRepository.loadToken(request));
+        assertTrue(csrfTokenStore.getToken(JWT).isEmpty());
+    }
+
+    @Test
+    void testSaveToken_UnverifiedJwt_NotStored() {
+        when(tokenService.parse(JWT)).thenThrow(new SignatureException("Invalid signature"));
+
+        csrfTokenRepository.saveToken(csrfTokenRepository.generateToken(request), request, response);
+
+        assertNull(csrfTokenRepository.loadToken(request));
+    }
+
+    @Test
+    void testSaveToken_ExpiredJwt_NotStored() {
+        when(tokenService.parse(JWT)).thenThrow(new JwtTokenExpiredException("Token expired"));
+
+        csrfTokenRepository.saveToken(csrfTokenRepository.generateToken(request), request, response);
+
+        assertNull(csrfTokenRepository.loadToken(request));
+    }
+
+    @Test
+    void testSaveToken_NoJwt_Ignored() {
+        when(tokenService.getTokenFromRequest(any())).thenReturn(Optional.empty());
+
+        csrfTokenRepository.saveToken(csrfTokenRepository.generateToken(request), request, response);
+        csrfTokenRepository.saveToken(null, request, response);
+
+        assertNull(csrfTokenRepository.loadToken(request));
+        verify(tokenService, never()).parse(any());
+    }
+
+    private DefaultClaims claimsExpiringIn(long millis) {
+        return new DefaultClaims(Map.of(Claims.EXPIRATION, new Date(System.currentTimeMillis() + millis)));
+    }
+}
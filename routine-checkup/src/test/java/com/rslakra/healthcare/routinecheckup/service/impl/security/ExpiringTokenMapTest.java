@@ -0,0 +1,74 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExpiringTokenMap
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+class ExpiringTokenMapTest {
+
+    private static final long NOW = 1_000_000L;
+
+    @Test
+    void testPut_WhenFull_EvictsDownToLowWaterMark() {
+        ExpiringTokenMap<String> tokens = new ExpiringTokenMap<>(100);
+        IntStream.range(0, 100).forEach(i -> tokens.put("token" + i, "value" + i, NOW + 1_000 + i, NOW));
+
+        tokens.put("newest", "newest", NOW + 10_000, NOW);
+
+        // 10 dropped to the low-water mark of 90, then the new one added
+        assertEquals(91, tokens.size());
+        assertEquals(10, tokens.getEvictedCount());
+        IntStream.range(0, 10).forEach(i -> assertNull(tokens.get("token" + i, NOW)));
+        IntStream.range(10, 100).forEach(i -> assertEquals("value" + i, tokens.get("token" + i, NOW)));
+        assertEquals("newest", tokens.get("newest", NOW));
+    }
+
+    @Test
+    void testPut_AfterEviction_DoesNotEvictUntilFullAgain() {
+        ExpiringTokenMap<String> tokens = new ExpiringTokenMap<>(100);
+        IntStream.range(0, 101).forEach(i -> tokens.put("token" + i, "value", NOW + 1_000 + i, NOW));
+        assertEquals(10, tokens.getEvictedCount());
+
+        IntStream.range(0, 9).forEach(i -> tokens.put("more" + i, "value", NOW + 5_000, NOW));
+        assertEquals(100, tokens.size());
+        assertEquals(10, tokens.getEvictedCount());
+
+        tokens.put("last", "value", NOW + 5_000, NOW);
+        assertEquals(91, tokens.size());
+        assertEquals(20, tokens.getEvictedCount());
+    }
+
+    @Test
+    void testPut_WhenFull_DropsExpiredFirst() {
+        ExpiringTokenMap<String> tokens = new ExpiringTokenMap<>(10);
+        IntStream.range(0, 5).forEach(i -> tokens.put("expired" + i, "value", NOW - 1, NOW));
+        IntStream.range(0, 5).forEach(i -> tokens.put("valid" + i, "value", NOW + 1_000, NOW));
+
+        tokens.put("newest", "value", NOW + 1_000, NOW);
+
+        assertEquals(6, tokens.size());
+        assertEquals(5, tokens.getExpiredCount());
+        assertEquals(0, tokens.getEvictedCount());
+        IntStream.range(0, 5).forEach(i -> assertEquals("value", tokens.get("valid" + i, NOW)));
+    }
+
+    @Test
+    void testSweep_DropsOnlyExpired() {
+        ExpiringTokenMap<String> tokens = new ExpiringTokenMap<>(10);
+        tokens.put("expired", "value", NOW - 1, NOW - 10);
+        tokens.put("valid", "value", NOW + 1, NOW - 10);
+
+        assertEquals(1, tokens.sweep(NOW));
+        assertEquals(1, tokens.size());
+        assertEquals(1, tokens.getExpiredCount());
+        assertEquals("value", tokens.get("valid", NOW));
+    }
+}
@@ -0,0 +1,65 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JwtKeySet
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+class JwtKeySetTest {
+
+    private static final String OLD_KEY = "old_key_0123456789012345678901234567890123456789012345678901234567890123";
+    private static final String NEW_KEY = "new_key_0123456789012345678901234567890123456789012345678901234567890123";
+    private static final String OTHER_KEY = "other_key_01234567890123456789012345678901234567890123456789012345678901";
+
+    @Test
+    void testSignAndParse_WithKeyIdHeader() {
+        JwtKeySet keySet = new JwtKeySet(NEW_KEY);
+
+        String token = keySet.sign(Map.of("login", "testuser"), expiration());
+
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+            StandardCharsets.UTF_8);
+        assertTrue(header.contains("\"kid\":\"" + keySet.getCurrentKeyId() + "\""), header);
+        assertEquals("testuser", keySet.parse(token).get("login", String.class));
+    }
+
+    @Test
+    void testParse_TokenSignedWithPreviousKey() {
+        String oldToken = new JwtKeySet(OLD_KEY).sign(Map.of("login", "testuser"), expiration());
+
+        JwtKeySet rotated = new JwtKeySet(NEW_KEY, OLD_KEY);
+
+        assertEquals("testuser", rotated.parse(oldToken).get("login", String.class));
+        assertThrows(UnsupportedJwtException.class, () -> new JwtKeySet(NEW_KEY).parse(oldToken));
+    }
+
+    @Test
+    void testParse_TokenWithoutKeyIdUsesCurrentKey() {
+        String legacyToken = Jwts.builder()
+            .claims(Map.of("login", "testuser"))
+            .expiration(expiration())
+            .signWith(Keys.hmacShaKeyFor(NEW_KEY.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+
+        assertEquals("testuser", new JwtKeySet(NEW_KEY, OLD_KEY).parse(legacyToken).get("login", String.class));
+        assertThrows(SignatureException.class, () -> new JwtKeySet(OTHER_KEY).parse(legacyToken));
+    }
+
+    private Date expiration() {
+        return new Date(System.currentTimeMillis() + 60_000);
+    }
+}
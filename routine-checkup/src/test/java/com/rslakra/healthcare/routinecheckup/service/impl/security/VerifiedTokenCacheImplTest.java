@@ -0,0 +1,150 @@
+package com.rslakra.healthcare.routinecheckup.service.impl.security;
+
+import com.rslakra.healthcare.routinecheckup.utils.components.holder.JwtConstants;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for VerifiedTokenCacheImpl
+ *
+ * @author Rohtash Lakra
+ * @created 10/18/26
+ */
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheImplTest {
+
+    @Mock
+    private JwtConstants jwtConstants;
+
+    private VerifiedTokenCacheImpl verifiedTokenCache;
+
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtConstants.getCacheMaxSize()).thenReturn(10);
+        verifiedTokenCache = new VerifiedTokenCacheImpl(jwtConstants);
+        userDetails = User.withUsername("testuser").password("password").roles("USER").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testGetUserDetails_CachedUntilExpiry() {
+        put("valid", claimsExpiringIn(60_000), userDetails);
+        put("expired", claimsExpiringIn(-1_000), userDetails);
+
+        assertSame(userDetails, verifiedTokenCache.getUserDetails("valid").orElse(null));
+        assertTrue(verifiedTokenCache.getUserDetails("expired").isEmpty());
+        assertTrue(verifiedTokenCache.getUserDetails("unknown").isEmpty());
+        assertEquals(1, verifiedTokenCache.size());
+    }
+
+    @Test
+    void testGetExpirationMs_OnlyForCachedTokens() {
+        DefaultClaims claims = claimsExpiringIn(60_000);
+        put("valid", claims, userDetails);
+        put("expired", claimsExpiringIn(-1_000), userDetails);
+
+        assertEquals(claims.getExpiration().getTime(), verifiedTokenCache.getExpirationMs("valid").getAsLong());
+        assertTrue(verifiedTokenCache.getExpirationMs("expired").isEmpty());
+        assertTrue(verifiedTokenCache.getExpirationMs("unknown").isEmpty());
+    }
+
+    @Test
+    void testInvalidateTokenAndUser() {
+        UserDetails otherUser = User.withUsername("otheruser").password("password").roles("USER").build();
+
+        put("first", claimsExpiringIn(60_000), userDetails);
+        put("second", claimsExpiringIn(60_000), userDetails);
+        put("other", claimsExpiringIn(60_000), otherUser);
+
+        verifiedTokenCache.invalidateToken("first");
+        assertTrue(verifiedTokenCache.getUserDetails("first").isEmpty());
+        assertTrue(verifiedTokenCache.getUserDetails("second").isPresent());
+
+        verifiedTokenCache.invalidateUser("testuser");
+        assertTrue(verifiedTokenCache.getUserDetails("second").isEmpty());
+        assertTrue(verifiedTokenCache.getUserDetails("other").isPresent());
+    }
+
+    @Test
+    void testInvalidateUser_AfterCommit() {
+        put("token", claimsExpiringIn(60_000), userDetails);
+
+        TransactionSynchronizationManager.initSynchronization();
+        verifiedTokenCache.invalidateUser("testuser");
+        assertTrue(verifiedTokenCache.getUserDetails("token").isPresent());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(verifiedTokenCache.getUserDetails("token").isEmpty());
+    }
+
+    @Test
+    void testInvalidateUser_RolledBack() {
+        put("token", claimsExpiringIn(60_000), userDetails);
+
+        TransactionSynchronizationManager.initSynchronization();
+        verifiedTokenCache.invalidateUser("testuser");
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertTrue(verifiedTokenCache.getUserDetails("token").isPresent());
+    }
+
+    @Test
+    void testPut_UserInvalidatedDuringLoad_IsNotCached() {
+        long generation = verifiedTokenCache.generation();
+        // The user is changed and committed while the request loads its details
+        verifiedTokenCache.invalidateUser("testuser");
+        verifiedTokenCache.put("token", claimsExpiringIn(60_000), userDetails, generation);
+
+        assertTrue(verifiedTokenCache.getUserDetails("token").isEmpty());
+        assertEquals(0, verifiedTokenCache.size());
+
+        put("token", claimsExpiringIn(60_000), userDetails);
+        assertTrue(verifiedTokenCache.getUserDetails("token").isPresent());
+    }
+
+    @Test
+    void testPut_EvictsClosestToExpiryWhenFull() {
+        for (int i = 0; i < 10; i++) {
+            put("token" + i, claimsExpiringIn(60_000 + i * 1_000L), userDetails);
+        }
+        put("newest", claimsExpiringIn(120_000), userDetails);
+
+        assertTrue(verifiedTokenCache.size() <= 10);
+        assertTrue(verifiedTokenCache.getUserDetails("token0").isEmpty());
+        assertTrue(verifiedTokenCache.getUserDetails("token9").isPresent());
+        assertTrue(verifiedTokenCache.getUserDetails("newest").isPresent());
+    }
+
+    private void put(String token, DefaultClaims claims, UserDetails user) {
+        verifiedTokenCache.put(token, claims, user, verifiedTokenCache.generation());
+    }
+
+    private DefaultClaims claimsExpiringIn(long millis) {
+        return new DefaultClaims(Map.of(Claims.EXPIRATION, new Date(System.currentTimeMillis() + millis)));
+    }
+}